@@ -0,0 +1,103 @@
+package io.github.alecredmond.benchmark;
+
+import io.github.alecredmond.export.inference.InferenceAlgorithm;
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.Separator;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeAlgorithm;
+import io.github.alecredmond.internal.method.junctiontree.MessagePasser;
+import io.github.alecredmond.internal.method.probabilitytables.tabletransfer.TableTransfer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the junction tree engine used for inference: each kind of {@link TableTransfer},
+ * {@link MessagePasser} collection and distribution, a full {@code observeNetwork} pass, and a
+ * posterior query through the public {@link InferenceEngine}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JunctionTreeBenchmark {
+  private JunctionTreeAlgorithm jta;
+  private Clique root;
+  private List<TableTransfer> cptReaders;
+  private List<TableTransfer> cptWriters;
+  private List<TableTransfer> observedWriters;
+  private List<TableTransfer> messagePassers;
+  private InferenceEngine engine;
+  private ScenarioState state;
+
+  @Setup(Level.Trial)
+  public void setUp(ScenarioState state) {
+    this.state = state;
+    jta =
+        JunctionTreeAlgorithm.buildForInference(
+            state.network.getNetworkData(), InferenceAlgorithm.JUNCTION_TREE_ALGORITHM);
+    Clique[] cliques = jta.getData().getCliques();
+    root = cliques[0];
+    cptReaders = collect(cliques, Clique::getWriteFromCPTs);
+    cptWriters = collect(cliques, Clique::getWriteToCPTs);
+    observedWriters = collect(cliques, Clique::getWriteToObserved);
+    messagePassers =
+        Arrays.stream(jta.getData().getSeparators())
+            .map(Separator::getMessagePassers)
+            .flatMap(passers -> passers.values().stream())
+            .toList();
+    engine = state.network.buildInferenceEngine();
+  }
+
+  private static List<TableTransfer> collect(
+      Clique[] cliques, Function<Clique, List<TableTransfer>> getter) {
+    return Arrays.stream(cliques).flatMap(clique -> getter.apply(clique).stream()).toList();
+  }
+
+  @Benchmark
+  public void transferFromCpts() {
+    cptReaders.forEach(TableTransfer::transfer);
+  }
+
+  @Benchmark
+  public void transferToCpts() {
+    cptWriters.forEach(TableTransfer::transfer);
+  }
+
+  @Benchmark
+  public void transferToObserved() {
+    observedWriters.forEach(TableTransfer::transfer);
+  }
+
+  @Benchmark
+  public void transferAcrossSeparators() {
+    messagePassers.forEach(TableTransfer::transfer);
+  }
+
+  @Benchmark
+  public void collectMessages() {
+    jta.getMessagePasser().collectMessages(root);
+  }
+
+  @Benchmark
+  public void distributeMessages() {
+    jta.getMessagePasser().distributeMessages(root);
+  }
+
+  @Benchmark
+  public void observeNetwork() {
+    jta.observeNetwork(Map.of(state.evidence.getNode(), state.evidence));
+  }
+
+  @Benchmark
+  public void getPosteriorProbability(Blackhole blackhole) {
+    engine.observeNetwork(state.evidence);
+    blackhole.consume(engine.getPosteriorProbability(state.query));
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.alecredmond.benchmark;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.internal.fileio.NetworkFileIO;
+import io.github.alecredmond.internal.serialization.BayesianNetworkSerializer;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Measures saving a solved network to disk and loading it back with {@link NetworkFileIO}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NetworkFileIOBenchmark {
+  private NetworkFileIO fileIO;
+  private BayesianNetwork network;
+  private File file;
+
+  @Setup(Level.Trial)
+  public void setUp(ScenarioState state) throws IOException {
+    fileIO = new NetworkFileIO(new BayesianNetworkSerializer());
+    network = state.network;
+    file = Files.createTempFile("benchmark", ".bayes").toFile();
+    file.deleteOnExit();
+    fileIO.saveNetwork(network, file);
+  }
+
+  @Benchmark
+  public boolean saveNetwork() {
+    return fileIO.saveNetwork(network, file);
+  }
+
+  @Benchmark
+  public BayesianNetwork loadNetwork() {
+    return fileIO.loadNetwork(file);
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.alecredmond.benchmark;
+
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.SampleCollection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@code LikelihoodWeightingSampler.generateSamples}, with and without an observation,
+ * for a range of sample counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SamplerBenchmark {
+
+  @Param({"1000", "100000"})
+  public int samples;
+
+  private MonteCarloSampler sampler;
+  private ScenarioState state;
+
+  @Setup(Level.Trial)
+  public void setUp(ScenarioState state) {
+    this.state = state;
+    sampler = state.network.buildSampler();
+  }
+
+  @Benchmark
+  public SampleCollection generateSamples() {
+    return sampler.generateSamples(samples);
+  }
+
+  @Benchmark
+  public SampleCollection generateObservedSamples() {
+    return sampler.generateSamples(List.of(state.evidence), samples);
+  }
+}
@@ -0,0 +1,74 @@
+package io.github.alecredmond.benchmark;
+
+import io.github.alecredmond.export.method.network.NetworkScenario;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkGenerator;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared benchmark state holding one solved network, either from {@link NetworkScenario} or a
+ * synthetic network from {@link BayesianNetworkGenerator}. Every benchmark in this package is
+ * parameterized over the scenario name, so results are directly comparable.
+ */
+@State(Scope.Benchmark)
+public class ScenarioState {
+  private static final long SYNTHETIC_SEED = 42L;
+
+  @Param({
+    "RAIN_NETWORK",
+    "ASIA_NETWORK",
+    "CAR_TRIMS",
+    "WEATHER_NETWORK",
+    "FANTASY_GRAPH",
+    "SYNTHETIC_1K",
+    "SYNTHETIC_10K"
+  })
+  public String scenario;
+
+  public BayesianNetwork network;
+  public NodeState evidence;
+  public NodeState query;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    network = buildNetwork(scenario);
+    network.solveNetwork();
+    List<Node> nodes = List.copyOf(network.getNetworkData().getNodes());
+    evidence = nodes.getLast().getNodeStates().getFirst();
+    query = nodes.getFirst().getNodeStates().getFirst();
+  }
+
+  /**
+   * Builds the network for a scenario name. {@code SYNTHETIC_1K} and {@code SYNTHETIC_10K} are
+   * generated with a fixed seed, two to three states per node, an in-degree of at most three and a
+   * treewidth of at most four, so they stay reproducible across runs. Every other name is a {@link
+   * NetworkScenario}.
+   *
+   * @param scenario the scenario name.
+   * @return a new, unsolved network for the scenario.
+   */
+  public static BayesianNetwork buildNetwork(String scenario) {
+    return switch (scenario) {
+      case "SYNTHETIC_1K" -> synthetic(1_000);
+      case "SYNTHETIC_10K" -> synthetic(10_000);
+      default -> NetworkScenario.valueOf(scenario).get();
+    };
+  }
+
+  private static BayesianNetwork synthetic(int nodeCount) {
+    return new BayesianNetworkGenerator(SYNTHETIC_SEED)
+        .setNetworkName("SYNTHETIC_" + nodeCount)
+        .setNodeCount(nodeCount)
+        .setStateCountRange(2, 3)
+        .setMaxInDegree(3)
+        .setTargetTreewidth(4)
+        .generate();
+  }
+}
@@ -0,0 +1,48 @@
+package io.github.alecredmond.benchmark;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.solver.BayesSolver;
+import io.github.alecredmond.export.solver.SolverAlgorithm;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures a full cold {@link BayesSolver#forceSolve(SolverAlgorithm)} for every {@link
+ * SolverAlgorithm}. Each invocation starts from uniform CPTs, so the result is the end-to-end time
+ * to fit all constraints, including junction tree construction.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+  @Param({
+    "RAIN_NETWORK",
+    "ASIA_NETWORK",
+    "CAR_TRIMS",
+    "WEATHER_NETWORK",
+    "FANTASY_GRAPH",
+    "SYNTHETIC_1K",
+    "SYNTHETIC_10K"
+  })
+  public String scenario;
+
+  @Param({"SINGLE_TABLE_IPFP", "JUNCTION_TREE_IPFP", "JUNCTION_TREE_LBFGS"})
+  public String algorithm;
+
+  private BayesSolver solver;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    BayesianNetwork network = ScenarioState.buildNetwork(scenario);
+    solver = BayesSolver.create(network.buildNetworkData());
+  }
+
+  @Benchmark
+  public boolean forceSolve() {
+    return solver.forceSolve(SolverAlgorithm.valueOf(algorithm));
+  }
+}
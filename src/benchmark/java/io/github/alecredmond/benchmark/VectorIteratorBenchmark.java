@@ -0,0 +1,56 @@
+package io.github.alecredmond.benchmark;
+
+import io.github.alecredmond.export.inference.InferenceAlgorithm;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeAlgorithm;
+import io.github.alecredmond.internal.method.vectoriterator.misciterators.JunctionTableSummer;
+import io.github.alecredmond.internal.method.vectoriterator.misciterators.TableNormalizer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the two {@code VectorIterator} access patterns over every clique table: a full
+ * outer/inner walk ({@link TableNormalizer}), and a filtered outer walk that only descends into
+ * positions matching a requested state ({@link JunctionTableSummer}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VectorIteratorBenchmark {
+  private List<TableNormalizer> normalizers;
+  private List<JunctionTableSummer> summers;
+  private List<List<NodeState>> requests;
+
+  @Setup(Level.Trial)
+  public void setUp(ScenarioState state) {
+    JunctionTreeAlgorithm jta =
+        JunctionTreeAlgorithm.buildForInference(
+            state.network.getNetworkData(), InferenceAlgorithm.JUNCTION_TREE_ALGORITHM);
+    List<Clique> cliques = List.of(jta.getData().getCliques());
+    normalizers = cliques.stream().map(clique -> new TableNormalizer(clique.getTable())).toList();
+    summers = cliques.stream().map(clique -> new JunctionTableSummer(clique.getTable())).toList();
+    requests =
+        cliques.stream()
+            .map(clique -> clique.getNodes().iterator().next().getNodeStates().getFirst())
+            .map(List::of)
+            .toList();
+  }
+
+  @Benchmark
+  public void iterateOuterAndInner() {
+    normalizers.forEach(TableNormalizer::normalize);
+  }
+
+  @Benchmark
+  public void iterateOuterFiltered(Blackhole blackhole) {
+    for (int i = 0; i < summers.size(); i++) {
+      blackhole.consume(summers.get(i).sum(requests.get(i)));
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package io.github.alecredmond.export.execution;
+
+import static io.github.alecredmond.internal.method.utils.AppProperty.EXECUTION_PARALLELISM;
+import static io.github.alecredmond.internal.method.utils.AppProperty.EXECUTION_SEQUENTIAL_THRESHOLD;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.solver.BayesSolver;
+import io.github.alecredmond.internal.method.utils.PropertiesLoader;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Controls where the internal parallel work of a {@link BayesSolver} or {@link InferenceEngine} is
+ * executed. An {@code ExecutionContext} pairs a {@link ForkJoinPool} with a sequential threshold;
+ * collections smaller than the threshold are always processed on the calling thread, and larger
+ * collections are split across the pool.
+ *
+ * <p>A context can be set on an individual {@link BayesSolver} or {@link InferenceEngine} instance,
+ * or globally via {@link #setGlobal(ExecutionContext)}. Instances without their own context use the
+ * global context, which is built on first use from {@code app.bayes.execution.parallelism} and
+ * {@code app.bayes.execution.sequentialThreshold} in {@code app.properties}. A parallelism of
+ * {@code 0} (default) uses the JVM-wide common {@link ForkJoinPool}, a parallelism of {@code 1}
+ * runs everything sequentially, and any larger value creates a dedicated pool of that size.
+ *
+ * <p>Contexts created with {@link #dedicated(int, int)} own their pool, which is shut down by
+ * {@link #close()}. Pools passed to {@link #of(ForkJoinPool, int)} remain the caller's
+ * responsibility.
+ *
+ * @see BayesSolver#setExecutionContext(ExecutionContext)
+ * @see InferenceEngine#setExecutionContext(ExecutionContext)
+ * @author Alec Redmond
+ */
+public final class ExecutionContext implements AutoCloseable {
+  private static volatile ExecutionContext global;
+  private final ForkJoinPool pool;
+  private final int sequentialThreshold;
+  private final boolean ownsPool;
+
+  private ExecutionContext(ForkJoinPool pool, int sequentialThreshold, boolean ownsPool) {
+    if (sequentialThreshold < 1) {
+      throw new IllegalArgumentException("Sequential Threshold must be greater than zero!");
+    }
+    this.pool = pool;
+    this.sequentialThreshold = sequentialThreshold;
+    this.ownsPool = ownsPool;
+  }
+
+  /**
+   * Creates a context that runs on the JVM-wide common {@link ForkJoinPool}.
+   *
+   * @param sequentialThreshold the minimum collection size that will be processed in parallel.
+   * @return a new {@code ExecutionContext}.
+   */
+  public static ExecutionContext commonPool(int sequentialThreshold) {
+    return new ExecutionContext(ForkJoinPool.commonPool(), sequentialThreshold, false);
+  }
+
+  /**
+   * Creates a context with its own {@link ForkJoinPool}, isolated from the common pool.
+   *
+   * @param parallelism the number of worker threads in the new pool.
+   * @param sequentialThreshold the minimum collection size that will be processed in parallel.
+   * @return a new {@code ExecutionContext} owning its pool.
+   */
+  public static ExecutionContext dedicated(int parallelism, int sequentialThreshold) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be greater than zero!");
+    }
+    return new ExecutionContext(new ForkJoinPool(parallelism), sequentialThreshold, true);
+  }
+
+  /**
+   * Creates a context running on an existing {@link ForkJoinPool}. The pool is not shut down by
+   * {@link #close()}.
+   *
+   * @param pool the pool to run parallel work on.
+   * @param sequentialThreshold the minimum collection size that will be processed in parallel.
+   * @return a new {@code ExecutionContext}.
+   */
+  public static ExecutionContext of(ForkJoinPool pool, int sequentialThreshold) {
+    return new ExecutionContext(pool, sequentialThreshold, false);
+  }
+
+  /**
+   * Creates a context that runs all work on the calling thread.
+   *
+   * @return a new sequential {@code ExecutionContext}.
+   */
+  public static ExecutionContext sequential() {
+    return new ExecutionContext(null, Integer.MAX_VALUE, false);
+  }
+
+  /**
+   * Returns the global context used by every instance without a context of its own. If none has
+   * been set, it is built from {@code app.properties} on first use.
+   *
+   * @return the global {@code ExecutionContext}.
+   */
+  public static ExecutionContext getGlobal() {
+    ExecutionContext context = global;
+    if (context != null) return context;
+    synchronized (ExecutionContext.class) {
+      if (global == null) global = loadFromProperties();
+      return global;
+    }
+  }
+
+  /**
+   * Replaces the global context. The previous global context is not closed.
+   *
+   * @param context the new global context, or {@code null} to rebuild it from {@code
+   *     app.properties} on next use.
+   */
+  public static synchronized void setGlobal(ExecutionContext context) {
+    global = context;
+  }
+
+  private static ExecutionContext loadFromProperties() {
+    PropertiesLoader loader = new PropertiesLoader();
+    int parallelism = loader.loadInt(EXECUTION_PARALLELISM);
+    int threshold = loader.loadInt(EXECUTION_SEQUENTIAL_THRESHOLD);
+    if (parallelism < 0) {
+      throw new IllegalArgumentException("Parallelism must not be negative!");
+    }
+    return switch (parallelism) {
+      case 0 -> commonPool(threshold);
+      case 1 -> sequential();
+      default -> dedicated(parallelism, threshold);
+    };
+  }
+
+  /**
+   * Returns the pool used for parallel work.
+   *
+   * @return the pool, or {@code null} if this context is sequential.
+   */
+  public ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * Returns the number of threads available to parallel work in this context.
+   *
+   * @return the pool's parallelism, or {@code 1} if this context is sequential.
+   */
+  public int getParallelism() {
+    return pool == null ? 1 : pool.getParallelism();
+  }
+
+  /**
+   * Returns the minimum collection size that will be processed in parallel.
+   *
+   * @return the sequential threshold.
+   */
+  public int getSequentialThreshold() {
+    return sequentialThreshold;
+  }
+
+  /**
+   * Returns whether collections of the given size will be processed on the calling thread.
+   *
+   * @param size the size of the collection to process.
+   * @return {@code true} if the work will run sequentially.
+   */
+  public boolean runsSequentially(int size) {
+    return pool == null || size < sequentialThreshold || pool.getParallelism() <= 1;
+  }
+
+  /** Shuts down the pool if it was created by {@link #dedicated(int, int)}. */
+  @Override
+  public void close() {
+    if (ownsPool) pool.shutdown();
+  }
+}
@@ -2,6 +2,8 @@ package io.github.alecredmond.export.inference;
 
 import io.github.alecredmond.exceptions.NetworkPrinterException;
 import io.github.alecredmond.exceptions.NodeStateConflictException;
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
 import io.github.alecredmond.export.probabilitytables.ObservedTable;
@@ -314,4 +316,32 @@ public interface InferenceEngine {
    * @return the {@link BayesianNetwork} associated with this {@code InferenceEngine}.
    */
   BayesianNetwork getNetwork();
+
+  /**
+   * Sets the {@link ExecutionContext} used for this instance's internal parallel work, including
+   * the writing of observed tables and any re-solving of a modified network. Passing {@code null}
+   * reverts to {@link ExecutionContext#getGlobal()}.
+   *
+   * @param context the context to use, or {@code null}.
+   * @return this instance for chaining.
+   */
+  InferenceEngine setExecutionContext(ExecutionContext context);
+
+  /**
+   * Enables or disables the collection of metrics on this instance, overriding {@code
+   * app.bayes.metrics.enabled} in {@code app.properties}. Counters already collected are kept.
+   *
+   * @param enabled {@code true} to collect metrics.
+   * @return this instance for chaining.
+   */
+  InferenceEngine setMetricsEnabled(boolean enabled);
+
+  /**
+   * Returns a copy of the metrics collected by this instance, including every propagation of
+   * observations and the messages passed while doing so. Metrics from re-solving a modified network
+   * are collected by the underlying {@link BayesSolver}.
+   *
+   * @return the current {@link MetricsSnapshot}.
+   */
+  MetricsSnapshot getMetrics();
 }
@@ -0,0 +1,41 @@
+package io.github.alecredmond.export.metrics;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.solver.BayesSolver;
+
+/**
+ * A point-in-time copy of the hot-path counters of a {@link BayesSolver}, {@link InferenceEngine}
+ * or {@link MonteCarloSampler}. Counters are only collected while metrics are enabled, either
+ * globally via {@code app.bayes.metrics.enabled} in {@code app.properties}, or per instance via
+ * {@code setMetricsEnabled(boolean)}. While disabled, every counter remains at zero.
+ *
+ * <p>Metrics instrumentation also emits Java Flight Recorder (JFR) events under the {@code
+ * io.github.alecredmond} category, covering junction tree compilation phases, solver cycles,
+ * propagations and sampling runs. These can be captured with any JFR recording while metrics are
+ * enabled.
+ *
+ * @see BayesSolver#getMetrics()
+ * @see InferenceEngine#getMetrics()
+ * @see MonteCarloSampler#getMetrics()
+ * @author Alec Redmond
+ * @param messagesPassed The number of messages passed between junction tree cliques.
+ * @param tableEntriesTouched The number of clique and separator table entries read or written
+ *     while passing messages.
+ * @param cacheHits The number of message passing schedules reused from cache rather than rebuilt.
+ * @param allocatedTableBytes The number of bytes allocated for clique and separator tables.
+ * @param solverCycles The number of solver cycles completed.
+ * @param propagations The number of times evidence was propagated through the junction tree.
+ * @param priorRestores The number of evidence-free propagations served by restoring the cached
+ *     prior clique and separator tables rather than passing messages.
+ * @param samplesDrawn The number of samples drawn.
+ */
+public record MetricsSnapshot(
+    long messagesPassed,
+    long tableEntriesTouched,
+    long cacheHits,
+    long allocatedTableBytes,
+    long solverCycles,
+    long propagations,
+    long priorRestores,
+    long samplesDrawn) {}
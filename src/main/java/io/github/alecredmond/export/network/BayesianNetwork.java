@@ -14,10 +14,13 @@ import io.github.alecredmond.export.inference.InferenceAlgorithm;
 import io.github.alecredmond.export.sampler.MonteCarloSampler;
 import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
 import io.github.alecredmond.internal.fileio.NetworkFileIO;
+import io.github.alecredmond.internal.fileio.NetworkImporter;
 import io.github.alecredmond.internal.method.network.BayesianNetworkImpl;
 import io.github.alecredmond.internal.serialization.BayesianNetworkSerializer;
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -137,6 +140,35 @@ public interface BayesianNetwork {
     return new BayesianNetworkSerializer().deSerialize(serializedNetwork);
   }
 
+  /**
+   * Imports a network written in a standard interchange format, inferring the format from the file
+   * extension: {@code .bif} for BIF, {@code .xml} or {@code .xmlbif} for XMLBIF and {@code .net}
+   * for Hugin.
+   *
+   * @param file the network file to import.
+   * @return a new {@code BayesianNetwork} holding the imported structure and tables.
+   * @throws IOException if the file cannot be read, has an unrecognised extension, or is malformed.
+   * @see #importNetwork(Path, NetworkFileFormat)
+   */
+  static BayesianNetwork importNetwork(Path file) throws IOException {
+    return new NetworkImporter(new BayesianNetworkSerializer()).importNetwork(file);
+  }
+
+  /**
+   * Imports a network written in a standard interchange format. The file is parsed as a stream and
+   * each probability table is read directly into its final array, so memory use is bounded by the
+   * size of the network rather than the size of the file. See {@link NetworkFileFormat} for how
+   * node and state IDs are assigned.
+   *
+   * @param file the network file to import.
+   * @param format the format the file is written in.
+   * @return a new {@code BayesianNetwork} holding the imported structure and tables.
+   * @throws IOException if the file cannot be read or is malformed.
+   */
+  static BayesianNetwork importNetwork(Path file, NetworkFileFormat format) throws IOException {
+    return new NetworkImporter(new BayesianNetworkSerializer()).importNetwork(file, format);
+  }
+
   // ----------------------------------------------------------------------------------------------
   // ----------------------------------NETWORK FILE IO---------------------------------------------
   // ----------------------------------------------------------------------------------------------
@@ -157,6 +189,29 @@ public interface BayesianNetwork {
    */
   boolean saveNetworkToFile(String filePath);
 
+  /**
+   * Serializes and saves this {@code BayesianNetwork} to the disk, optionally including its
+   * compiled junction tree. The stored tree holds the clique and separator layout and the
+   * calibrated prior clique tables, so that an {@link InferenceEngine} created on the loaded
+   * network can skip triangulation and the initial propagation. The stored tree is only used while
+   * the network's structure and CPTs are unchanged; otherwise it is rebuilt as normal.
+   *
+   * @param file the file to write.
+   * @param includeJunctionTree {@code true} to also store the compiled junction tree.
+   * @return {@code true} if the save operation was successful.
+   */
+  boolean saveNetworkToFile(File file, boolean includeJunctionTree);
+
+  /**
+   * Serializes and saves this {@code BayesianNetwork} to the disk, optionally including its
+   * compiled junction tree. See {@link #saveNetworkToFile(File, boolean)}.
+   *
+   * @param filePath path to the new file.
+   * @param includeJunctionTree {@code true} to also store the compiled junction tree.
+   * @return {@code true} if the save operation was successful.
+   */
+  boolean saveNetworkToFile(String filePath, boolean includeJunctionTree);
+
   /**
    * Serializes and saves this {@code BayesianNetwork} to the disk. This will open a {@link
    * JFileChooser} window.
@@ -0,0 +1,365 @@
+package io.github.alecredmond.export.network;
+
+import io.github.alecredmond.export.constraints.ConditionalConstraint;
+import io.github.alecredmond.export.constraints.JointProbabilityConstraint;
+import io.github.alecredmond.export.constraints.MarginalConstraint;
+import io.github.alecredmond.export.constraints.SumProbabilityConstraint;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.internal.method.network.RandomNetworkGenerator;
+
+/**
+ * Generates random, reproducible {@link BayesianNetwork}s of a configurable size and shape, for use
+ * in benchmarking, capacity planning and testing.
+ *
+ * <p>The generated graph is a random directed acyclic graph over {@code nodeCount} {@link Node}s,
+ * with identifiers {@code "N0"}, {@code "N1"}, ... and {@link NodeState} identifiers of the form
+ * {@code "N0:S0"}. Nodes are created in topological order, and every node after the first draws
+ * between one and {@code maxInDegree} parents from the {@code targetTreewidth} nodes created
+ * immediately before it. This keeps the network connected, and bounds the treewidth of its moral
+ * graph by {@code targetTreewidth}, regardless of the node count.
+ *
+ * <p>Each row of every Conditional Probability Table (CPT) is drawn from a symmetric Dirichlet
+ * distribution. A concentration of {@code 1.0} samples rows uniformly from the probability
+ * simplex, smaller values produce skewed rows, and larger values produce rows closer to uniform.
+ * Probabilities are rounded to multiples of {@code 2^-15}, so that every row sums to exactly one.
+ *
+ * <p>Optionally, random constraints of each kind may be added. Their probabilities are measured
+ * from the generated CPTs, so any combination of constraints is always satisfiable. If {@link
+ * #setIncludeCpts(boolean)} is {@code false}, the CPT constraints are removed once these have been
+ * measured, leaving only the random constraints for the solver to fit. The network's tables still
+ * hold the generated CPTs, which can be compared with the solver's result.
+ *
+ * <p>Generation is fully determined by the seed and the configuration, so the same settings always
+ * produce the same network. For example:
+ *
+ * <pre>{@code
+ * BayesianNetwork network =
+ *     new BayesianNetworkGenerator(42L)
+ *         .setNodeCount(10_000)
+ *         .setStateCountRange(2, 4)
+ *         .setMaxInDegree(3)
+ *         .setTargetTreewidth(5)
+ *         .setConditionalConstraintCount(200)
+ *         .setIncludeCpts(false)
+ *         .generate();
+ * }</pre>
+ *
+ * @see BayesianNetwork
+ * @see BayesianNetworkBuilder
+ * @author Alec Redmond
+ */
+@SuppressWarnings({"LombokGetterMayBeUsed", "unused"})
+public class BayesianNetworkGenerator {
+  private final long seed;
+  private String networkName;
+  private int nodeCount;
+  private int minStates;
+  private int maxStates;
+  private int maxInDegree;
+  private int targetTreewidth;
+  private double dirichletConcentration;
+  private boolean includeCpts;
+  private int marginalConstraintCount;
+  private int conditionalConstraintCount;
+  private int jointConstraintCount;
+  private int sumConstraintCount;
+
+  /**
+   * Constructs a generator with the given seed and the default configuration: 100 nodes with two
+   * states each, a maximum in-degree of 2, a target treewidth of 4, a Dirichlet concentration of
+   * {@code 1.0}, CPTs included, and no additional constraints.
+   *
+   * @param seed the seed of the random number generator.
+   */
+  public BayesianNetworkGenerator(long seed) {
+    this.seed = seed;
+    this.networkName = "GENERATED NETWORK " + seed;
+    this.nodeCount = 100;
+    this.minStates = 2;
+    this.maxStates = 2;
+    this.maxInDegree = 2;
+    this.targetTreewidth = 4;
+    this.dirichletConcentration = 1.0;
+    this.includeCpts = true;
+  }
+
+  /**
+   * Generates a new {@link BayesianNetwork} from the current configuration.
+   *
+   * @return the generated network.
+   */
+  public BayesianNetwork generate() {
+    return new RandomNetworkGenerator(this).generate();
+  }
+
+  /**
+   * Sets the name of the generated network.
+   *
+   * @param networkName the network name.
+   * @return this generator for method chaining.
+   */
+  public BayesianNetworkGenerator setNetworkName(String networkName) {
+    this.networkName = networkName;
+    return this;
+  }
+
+  /**
+   * Sets the number of {@link Node}s in the generated network.
+   *
+   * @param nodeCount the node count.
+   * @return this generator for method chaining.
+   * @throws IllegalArgumentException if {@code nodeCount} is less than 1.
+   */
+  public BayesianNetworkGenerator setNodeCount(int nodeCount) {
+    requireAtLeast("Node count", nodeCount, 1);
+    this.nodeCount = nodeCount;
+    return this;
+  }
+
+  /**
+   * Sets the range of the number of {@link NodeState}s per node. Each node draws its state count
+   * uniformly from this inclusive range.
+   *
+   * @param minStates the minimum number of states.
+   * @param maxStates the maximum number of states.
+   * @return this generator for method chaining.
+   * @throws IllegalArgumentException if {@code minStates} is less than 2, or greater than {@code
+   *     maxStates}.
+   */
+  public BayesianNetworkGenerator setStateCountRange(int minStates, int maxStates) {
+    requireAtLeast("Minimum state count", minStates, 2);
+    requireAtLeast("Maximum state count", maxStates, minStates);
+    this.minStates = minStates;
+    this.maxStates = maxStates;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of parents of any {@link Node}. The effective maximum is also limited
+   * by the target treewidth.
+   *
+   * @param maxInDegree the maximum in-degree.
+   * @return this generator for method chaining.
+   * @throws IllegalArgumentException if {@code maxInDegree} is less than 1.
+   */
+  public BayesianNetworkGenerator setMaxInDegree(int maxInDegree) {
+    requireAtLeast("Maximum in-degree", maxInDegree, 1);
+    this.maxInDegree = maxInDegree;
+    return this;
+  }
+
+  /**
+   * Sets the number of preceding nodes each {@link Node} may draw its parents from, which is an
+   * upper bound on the treewidth of the network's moral graph.
+   *
+   * @param targetTreewidth the target treewidth.
+   * @return this generator for method chaining.
+   * @throws IllegalArgumentException if {@code targetTreewidth} is less than 1.
+   */
+  public BayesianNetworkGenerator setTargetTreewidth(int targetTreewidth) {
+    requireAtLeast("Target treewidth", targetTreewidth, 1);
+    this.targetTreewidth = targetTreewidth;
+    return this;
+  }
+
+  /**
+   * Sets the concentration of the symmetric Dirichlet distribution each CPT row is drawn from.
+   *
+   * @param dirichletConcentration the concentration parameter.
+   * @return this generator for method chaining.
+   * @throws IllegalArgumentException if {@code dirichletConcentration} is not greater than zero.
+   */
+  public BayesianNetworkGenerator setDirichletConcentration(double dirichletConcentration) {
+    if (!(dirichletConcentration > 0)) {
+      throw new IllegalArgumentException("Dirichlet concentration must be greater than zero!");
+    }
+    this.dirichletConcentration = dirichletConcentration;
+    return this;
+  }
+
+  /**
+   * Sets whether the generated CPTs are kept as constraints on the network. When {@code false},
+   * only the random constraints remain.
+   *
+   * @param includeCpts {@code true} to keep the CPT constraints.
+   * @return this generator for method chaining.
+   */
+  public BayesianNetworkGenerator setIncludeCpts(boolean includeCpts) {
+    this.includeCpts = includeCpts;
+    return this;
+  }
+
+  /**
+   * Sets the number of random {@link MarginalConstraint}s, of the form {@code P(x)}.
+   *
+   * @param count the number of constraints.
+   * @return this generator for method chaining.
+   */
+  public BayesianNetworkGenerator setMarginalConstraintCount(int count) {
+    requireAtLeast("Constraint count", count, 0);
+    this.marginalConstraintCount = count;
+    return this;
+  }
+
+  /**
+   * Sets the number of random {@link ConditionalConstraint}s, of the form {@code P(x | Pa(X))}
+   * for one configuration of the node's parents.
+   *
+   * @param count the number of constraints.
+   * @return this generator for method chaining.
+   */
+  public BayesianNetworkGenerator setConditionalConstraintCount(int count) {
+    requireAtLeast("Constraint count", count, 0);
+    this.conditionalConstraintCount = count;
+    return this;
+  }
+
+  /**
+   * Sets the number of random {@link JointProbabilityConstraint}s, of the form {@code P(x, y)}
+   * where {@code Y} is a parent of {@code X}.
+   *
+   * @param count the number of constraints.
+   * @return this generator for method chaining.
+   */
+  public BayesianNetworkGenerator setJointConstraintCount(int count) {
+    requireAtLeast("Constraint count", count, 0);
+    this.jointConstraintCount = count;
+    return this;
+  }
+
+  /**
+   * Sets the number of random {@link SumProbabilityConstraint}s, of the form {@code P(x1 or x2)}.
+   * These are only generated for nodes with at least three states.
+   *
+   * @param count the number of constraints.
+   * @return this generator for method chaining.
+   */
+  public BayesianNetworkGenerator setSumConstraintCount(int count) {
+    requireAtLeast("Constraint count", count, 0);
+    this.sumConstraintCount = count;
+    return this;
+  }
+
+  private static void requireAtLeast(String type, int value, int minimum) {
+    if (value >= minimum) return;
+    throw new IllegalArgumentException("%s must be at least %d!".formatted(type, minimum));
+  }
+
+  /**
+   * Returns the seed of this generator.
+   *
+   * @return the seed.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Returns the name of the generated network.
+   *
+   * @return the network name.
+   */
+  public String getNetworkName() {
+    return networkName;
+  }
+
+  /**
+   * Returns the number of nodes in the generated network.
+   *
+   * @return the node count.
+   */
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * Returns the minimum number of states per node.
+   *
+   * @return the minimum state count.
+   */
+  public int getMinStates() {
+    return minStates;
+  }
+
+  /**
+   * Returns the maximum number of states per node.
+   *
+   * @return the maximum state count.
+   */
+  public int getMaxStates() {
+    return maxStates;
+  }
+
+  /**
+   * Returns the maximum number of parents of any node.
+   *
+   * @return the maximum in-degree.
+   */
+  public int getMaxInDegree() {
+    return maxInDegree;
+  }
+
+  /**
+   * Returns the target treewidth.
+   *
+   * @return the target treewidth.
+   */
+  public int getTargetTreewidth() {
+    return targetTreewidth;
+  }
+
+  /**
+   * Returns the Dirichlet concentration used for CPT rows.
+   *
+   * @return the concentration parameter.
+   */
+  public double getDirichletConcentration() {
+    return dirichletConcentration;
+  }
+
+  /**
+   * Returns whether the generated CPTs are kept as constraints.
+   *
+   * @return {@code true} if the CPT constraints are kept.
+   */
+  public boolean isIncludeCpts() {
+    return includeCpts;
+  }
+
+  /**
+   * Returns the number of random marginal constraints.
+   *
+   * @return the constraint count.
+   */
+  public int getMarginalConstraintCount() {
+    return marginalConstraintCount;
+  }
+
+  /**
+   * Returns the number of random conditional constraints.
+   *
+   * @return the constraint count.
+   */
+  public int getConditionalConstraintCount() {
+    return conditionalConstraintCount;
+  }
+
+  /**
+   * Returns the number of random joint constraints.
+   *
+   * @return the constraint count.
+   */
+  public int getJointConstraintCount() {
+    return jointConstraintCount;
+  }
+
+  /**
+   * Returns the number of random sum constraints.
+   *
+   * @return the constraint count.
+   */
+  public int getSumConstraintCount() {
+    return sumConstraintCount;
+  }
+}
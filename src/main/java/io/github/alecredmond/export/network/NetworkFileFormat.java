@@ -0,0 +1,39 @@
+package io.github.alecredmond.export.network;
+
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+
+/**
+ * The standard network interchange formats supported by {@link
+ * BayesianNetwork#importNetwork(java.nio.file.Path, NetworkFileFormat)}. Only discrete chance nodes
+ * are supported.
+ *
+ * <p>Imported networks use the variable names as {@code String} node identifiers. Since {@link
+ * NodeState} identifiers must be unique across a network, each state identifier is the node name
+ * and state name joined by a colon, e.g. {@code "SMOKER:TRUE"}. The CPT values are written directly
+ * into each {@link NetworkTable}, and the network is marked as solved. Each CPT entry is also kept
+ * as a constraint, so the imported tables are preserved when the network is edited and re-solved.
+ *
+ * @author Alec Redmond
+ */
+public enum NetworkFileFormat {
+  /**
+   * The Bayesian Interchange Format ({@code .bif}). Conditional probabilities may be given as rows
+   * keyed by parent states, as a {@code default} row, or as a single {@code table}. A {@code table}
+   * lists the values with the defined variable varying slowest and the last parent fastest.
+   */
+  BIF,
+
+  /**
+   * The XML Bayesian Interchange Format ({@code .xml}, {@code .xmlbif}). Each {@code TABLE} lists
+   * the values with the {@code FOR} variable varying fastest and the last {@code GIVEN} variable
+   * varying next fastest.
+   */
+  XMLBIF,
+
+  /**
+   * The Hugin network specification language ({@code .net}). Each {@code potential} lists its
+   * {@code data} with the child variable varying fastest and the last parent varying next fastest.
+   */
+  HUGIN
+}
@@ -0,0 +1,72 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+import io.github.alecredmond.internal.method.sampler.AdaptiveImportanceSamplerImpl;
+
+/**
+ * A {@link MonteCarloSampler} which draws samples by adaptive importance sampling, in the style of
+ * AIS-BN. Rather than sampling from the network's prior CPTs as likelihood weighting does, it
+ * samples from an <i>importance function</i>: modified copies of every {@link NetworkTable} which
+ * are learned from the weighted samples of a number of preliminary rounds. After each round, every
+ * row of the importance function moves toward the weighted state frequencies observed in that row,
+ * by a learning rate which decays from {@code 0.4} to {@code 0.14} over the rounds. The final
+ * samples are then drawn from the learned function and weighted by the ratio of their prior to
+ * their importance probability.
+ *
+ * <p>The importance function starts from the prior CPTs, with uniform rows for the parents of
+ * observed nodes. Every state with a non-zero prior probability keeps at least a small importance
+ * probability, so that the weights remain bounded. Under very unlikely observations, the learned
+ * function approaches the posterior distribution and the variance of the weights falls sharply,
+ * so that far fewer samples are needed than with likelihood weighting.
+ *
+ * <p>The number of learning rounds and the samples drawn per round default to {@code
+ * app.bayes.sampler.aisLearningRounds} (default: {@code 10}) and {@code
+ * app.bayes.sampler.aisSamplesPerRound} (default: {@code 2000}) in {@code app.properties}. The
+ * importance function is relearned for every request, from the sampler's seed when one is set.
+ *
+ * @see MonteCarloSampler
+ * @author Alec Redmond
+ */
+public interface AdaptiveImportanceSampler extends MonteCarloSampler {
+
+  /**
+   * Creates a new {@code AdaptiveImportanceSampler} for the given {@link BayesianNetwork}.
+   *
+   * @param network the {@link BayesianNetwork} to sample.
+   * @return a new {@code AdaptiveImportanceSampler} for the given network.
+   */
+  static AdaptiveImportanceSampler create(BayesianNetwork network) {
+    return new AdaptiveImportanceSamplerImpl(network);
+  }
+
+  /**
+   * Sets the number of rounds used to learn the importance function before sampling. With zero
+   * rounds, samples are drawn from the initial importance function.
+   *
+   * @param rounds the number of learning rounds; must not be negative.
+   * @return this instance for chaining.
+   */
+  AdaptiveImportanceSampler setLearningRounds(int rounds);
+
+  /**
+   * Sets the number of samples drawn in each learning round.
+   *
+   * @param samples the samples per round; must be greater than zero.
+   * @return this instance for chaining.
+   */
+  AdaptiveImportanceSampler setSamplesPerRound(int samples);
+
+  @Override
+  AdaptiveImportanceSampler setSeed(Long seed);
+
+  @Override
+  AdaptiveImportanceSampler setExecutionContext(ExecutionContext context);
+
+  @Override
+  AdaptiveImportanceSampler setSamplingMode(SamplingMode mode);
+
+  @Override
+  AdaptiveImportanceSampler setMetricsEnabled(boolean enabled);
+}
@@ -0,0 +1,29 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import java.util.Map;
+
+/**
+ * Convergence diagnostics for the chains of a {@link GibbsSampler} run. For every unobserved {@link
+ * Node}, the Gelman-Rubin potential scale reduction factor (R-hat) is computed for the indicator of
+ * each of its states across chains, and the largest value is kept. Values close to {@code 1.0}
+ * suggest the chains have mixed; values above roughly {@code 1.01} suggest a longer burn-in or more
+ * samples are needed. R-hat is {@link Double#NaN} when fewer than two chains were run.
+ *
+ * @param chains the number of chains run.
+ * @param rHat the largest R-hat across the states of each unobserved node.
+ * @see GibbsSampler
+ * @author Alec Redmond
+ */
+public record ChainDiagnostics(int chains, Map<Node, Double> rHat) {
+
+  /**
+   * Returns the largest R-hat across every unobserved node, or {@link Double#NaN} if there are none
+   * or fewer than two chains were run.
+   *
+   * @return the largest R-hat of the run.
+   */
+  public double maxRHat() {
+    return rHat.values().stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN);
+  }
+}
@@ -0,0 +1,91 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.internal.method.sampler.GibbsSamplerImpl;
+
+/**
+ * A {@link MonteCarloSampler} which draws samples by Markov blanket Gibbs sampling. Each chain
+ * starts from a forward sample consistent with the observations, then repeatedly resamples every
+ * unobserved {@link Node} from its distribution conditional on its Markov blanket: its parents, its
+ * children, and its children's other parents. Only the network's CPTs are read, so memory use is
+ * linear in the size of the network regardless of its treewidth. This makes {@code GibbsSampler}
+ * suitable for networks too large to compile into a junction tree, under observations too unlikely
+ * for likelihood weighting.
+ *
+ * <p>The requested samples are split evenly across a number of independent chains, which may run in
+ * parallel on the configured {@link ExecutionContext}. Each chain discards a number of burn-in
+ * sweeps before its first sample, and performs a number of sweeps between consecutive samples. The
+ * defaults are set in {@code app.properties} by {@code app.bayes.sampler.gibbsBurnIn} (default:
+ * {@code 500}), {@code app.bayes.sampler.gibbsThinning} (default: {@code 1}) and {@code
+ * app.bayes.sampler.gibbsChains} (default: {@code 4}). After each run, {@link #getDiagnostics()}
+ * reports the R-hat of every unobserved node across chains. When sampling to a {@link
+ * PrecisionTarget}, the sample budget is split across the chains in the same way, and the target is
+ * checked only between whole chains, so each chain pays its burn-in once.
+ *
+ * <p>Samples drawn by consecutive sweeps of a chain are correlated, and a chain may fail to mix in
+ * networks with deterministic (zero-probability) CPT entries. Every sample carries full weight.
+ * Chains always sweep with pseudo-random variates, so the {@link SamplingMode} has no effect on a
+ * {@code GibbsSampler}.
+ *
+ * @see MonteCarloSampler
+ * @see ChainDiagnostics
+ * @author Alec Redmond
+ */
+public interface GibbsSampler extends MonteCarloSampler {
+
+  /**
+   * Creates a new {@code GibbsSampler} for the given {@link BayesianNetwork}.
+   *
+   * @param network the {@link BayesianNetwork} to sample.
+   * @return a new {@code GibbsSampler} for the given network.
+   */
+  static GibbsSampler create(BayesianNetwork network) {
+    return new GibbsSamplerImpl(network);
+  }
+
+  /**
+   * Sets the number of sweeps each chain discards before its first sample.
+   *
+   * @param sweeps the number of burn-in sweeps; must not be negative.
+   * @return this instance for chaining.
+   */
+  GibbsSampler setBurnIn(int sweeps);
+
+  /**
+   * Sets the number of sweeps each chain performs per sample kept.
+   *
+   * @param sweeps the number of sweeps per sample; must be greater than zero.
+   * @return this instance for chaining.
+   */
+  GibbsSampler setThinning(int sweeps);
+
+  /**
+   * Sets the number of independent chains the requested samples are split across.
+   *
+   * @param chains the number of chains; must be greater than zero.
+   * @return this instance for chaining.
+   */
+  GibbsSampler setChains(int chains);
+
+  /**
+   * Returns the convergence diagnostics of the most recent call to {@code generateSamples}, or
+   * {@code null} if no samples have been generated yet. Streamed samples are not included.
+   *
+   * @return the most recent {@link ChainDiagnostics}, or {@code null}.
+   */
+  ChainDiagnostics getDiagnostics();
+
+  @Override
+  GibbsSampler setSeed(Long seed);
+
+  @Override
+  GibbsSampler setExecutionContext(ExecutionContext context);
+
+  @Override
+  GibbsSampler setSamplingMode(SamplingMode mode);
+
+  @Override
+  GibbsSampler setMetricsEnabled(boolean enabled);
+}
@@ -0,0 +1,31 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.node.NodeState;
+
+/**
+ * The estimated posterior probability of a {@link NodeState} from a {@link
+ * MonteCarloSampler#generateSamplesUntil} run, with its confidence interval. The estimate is the
+ * weighted fraction of samples containing the state. The interval is a Wilson score interval over
+ * the effective number of samples implied by the estimate's delta-method variance, so it remains
+ * informative for weighted samples and for states not yet seen.
+ *
+ * @param state the {@link NodeState} estimated.
+ * @param estimate the estimated probability of {@code state}.
+ * @param lower the lower bound of the confidence interval.
+ * @param upper the upper bound of the confidence interval.
+ * @param effectiveSampleSize the Kish effective sample size of the run's weights.
+ * @see PrecisionTarget
+ * @author Alec Redmond
+ */
+public record IntervalEstimate(
+    NodeState state, double estimate, double lower, double upper, double effectiveSampleSize) {
+
+  /**
+   * Returns half the width of the confidence interval.
+   *
+   * @return the margin of error of this estimate.
+   */
+  public double marginOfError() {
+    return (upper - lower) / 2;
+  }
+}
@@ -4,11 +4,18 @@ import io.github.alecredmond.exceptions.NodeStateConflictException;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
 import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.internal.method.inference.InferenceEngineImpl;
+import io.github.alecredmond.internal.method.sampler.JunctionTreeSampler;
 import io.github.alecredmond.internal.method.sampler.LikelihoodWeightingSampler;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.Collection;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
 
 /**
  * A Monte Carlo sampler for a {@link BayesianNetwork} which generates random samples from the
@@ -16,16 +23,32 @@ import java.util.Random;
  * SampleCollection} of {@link Sample} objects. Each {@link Sample} contains a unique combination of
  * {@link NodeState} values and the frequency of its occurrence.
  *
- * <p>The only sampling algorithm currently available is <i>Likelihood Weighting Sampling (LWS)</i>.
- * LWS performs a random walk down each CPT in the {@link BayesianNetwork}, selecting each new
- * {@link NodeState} according to its weighted probability. When the algorithm reaches a {@link
- * Node} constrained to a specific {@link NodeState}, the weight of the sample is multiplied by the
- * conditional probability of that state given the sample's current configuration. At the end of the
- * run, the weighted samples are normalized and proportionally correct frequencies are assigned.
+ * <p>Three sampling algorithms are available. {@link #create(BayesianNetwork)} uses <i>Likelihood
+ * Weighting Sampling (LWS)</i>. LWS performs a random walk down each CPT in the {@link
+ * BayesianNetwork}, selecting each new {@link NodeState} according to its weighted probability.
+ * When the algorithm reaches a {@link Node} constrained to a specific {@link NodeState}, the weight
+ * of the sample is multiplied by the conditional probability of that state given the sample's
+ * current configuration. At the end of the run, the weighted samples are normalized and
+ * proportionally correct frequencies are assigned.
+ * LWS degrades under unlikely observations, as most samples are then given a weight near zero.
  *
- * <p>Monte Carlo sampling is a form of indirect inference. It relies on Java's built-in {@link
- * Random} functionality and does not produce exact or deterministic results. The margin of error is
- * proportional to {@code 1 / sqrt(n)}, where {@code n} is the number of samples generated.
+ * <p>{@link #create(InferenceEngine)} instead draws exact, independent samples from the calibrated
+ * junction tree of an {@link InferenceEngine}. A root clique is sampled from its table, then each
+ * neighbouring clique is sampled conditional on the states already drawn for its separator. Every
+ * sample carries full weight, so far fewer samples are needed for the same accuracy under rare
+ * observations, at the cost of maintaining the engine's junction tree.
+ * Networks too large to compile into a junction tree can instead be sampled by Markov chain
+ * Monte Carlo with a {@link GibbsSampler}, or by adaptive importance sampling with an {@link
+ * AdaptiveImportanceSampler}.
+ *
+ * <p>Monte Carlo sampling is a form of indirect inference and does not produce exact results. The
+ * margin of error is proportional to {@code 1 / sqrt(n)}, where {@code n} is the number of samples
+ * generated, unless a stratified or quasi-random {@link SamplingMode} is set with {@link
+ * #setSamplingMode(SamplingMode)}. Samples are drawn in fixed-size chunks, each with its own
+ * {@link SplittableRandom} split from a single root generator, and the chunks may be run in
+ * parallel on the configured {@link ExecutionContext}. When a seed is set with {@link
+ * #setSeed(Long)}, the same seed, network and request always produce the same {@link
+ * SampleCollection}, regardless of the number of threads used.
  *
  * @see InferenceEngine
  * @see BayesianNetwork
@@ -43,6 +66,18 @@ public interface MonteCarloSampler {
     return new LikelihoodWeightingSampler(network);
   }
 
+  /**
+   * Creates a new {@code MonteCarloSampler} which draws exact samples from the junction tree of the
+   * given {@link InferenceEngine}. The engine's current observations are replaced by those of each
+   * sampling request, and remain applied once the request completes.
+   *
+   * @param engine the {@link InferenceEngine} whose junction tree is sampled.
+   * @return a new junction tree {@code MonteCarloSampler} for the engine's network.
+   */
+  static MonteCarloSampler create(InferenceEngine engine) {
+    return new JunctionTreeSampler((InferenceEngineImpl) engine);
+  }
+
   /**
    * Runs the sampler for the given number of cycles and returns a {@link SampleCollection}
    * containing the results. No observations are applied, so the resulting sample set will converge
@@ -107,10 +142,131 @@ public interface MonteCarloSampler {
   <T extends Serializable> SampleCollection generateSamplesById(
       Collection<T> observedStateIds, int numberOfSamples);
 
+  /**
+   * Samples in batches until the posterior probability of every queried {@link NodeState} is known
+   * to within the {@link PrecisionTarget}, or until its sample budget is spent. The given observed
+   * {@link NodeState} values are applied as conditions, as in {@link #generateSamples(Collection,
+   * int)}. Batches start at 4096 samples and double in size up to a limit, so a target met early
+   * costs little more than the samples it needed. For a given seed, the number of samples drawn
+   * does not depend on the number of threads used.
+   *
+   * <p>The returned {@link SampleCollection} reports an {@link IntervalEstimate} for each queried
+   * state through {@link SampleCollection#getIntervalEstimates()}. The intervals treat draws as
+   * independent. They are conservative for stratified and quasi-random {@link SamplingMode}s, and
+   * optimistic for the correlated draws of a {@link GibbsSampler}.
+   *
+   * @param observedStates the {@link NodeState} values to treat as observations.
+   * @param queryStates the {@link NodeState} values whose posterior probabilities must meet the
+   *     target.
+   * @param target the margin of error, confidence level and sample budget of the run.
+   * @return a new {@link SampleCollection} holding every sample drawn.
+   * @throws NodeStateConflictException if two or more {@link NodeState}s in {@code observedStates}
+   *     belong to the same {@link Node}.
+   * @throws IllegalArgumentException if a queried state does not belong to the sampled network.
+   */
+  SampleCollection generateSamplesUntil(
+      Collection<NodeState> observedStates,
+      Collection<NodeState> queryStates,
+      PrecisionTarget target);
+
+  /**
+   * Returns a lazy {@link Stream} of {@code numberOfSamples} unaggregated draws from the prior
+   * distribution of the {@link BayesianNetwork}. Draws are generated only as the stream is
+   * consumed, so memory use does not grow with {@code numberOfSamples}.
+   *
+   * @param numberOfSamples the number of draws to generate.
+   * @return a sequential, ordered stream of {@link WeightedSample} draws.
+   * @see #streamSamples(Collection, long)
+   */
+  Stream<WeightedSample> streamSamples(long numberOfSamples);
+
+  /**
+   * Returns a lazy {@link Stream} of unaggregated draws, with the given {@link NodeState} values
+   * applied as observations. Draws are generated only as the stream is consumed, so memory use
+   * does not grow with {@code numberOfSamples}. Draws whose weight is zero are skipped, so the
+   * stream may hold fewer than {@code numberOfSamples} elements.
+   *
+   * <p>The returned stream is sequential, but splits cleanly on chunk boundaries when made {@link
+   * Stream#parallel() parallel}. For a given seed, the stream holds the same draws in the same
+   * order as those aggregated by {@link #generateSamples(Collection, int)}.
+   *
+   * @param observedStates the {@link NodeState} values to treat as observations.
+   * @param numberOfSamples the number of draws to generate.
+   * @return a sequential, ordered stream of {@link WeightedSample} draws.
+   * @throws NodeStateConflictException if two or more {@link NodeState}s in {@code observedStates}
+   *     belong to the same {@link Node}.
+   */
+  Stream<WeightedSample> streamSamples(Collection<NodeState> observedStates, long numberOfSamples);
+
+  /**
+   * Draws samples as {@link #streamSamples(Collection, long)} does and writes each draw directly
+   * to {@code file} in the given {@link SampleFileFormat}, through a fixed-size buffer. An existing
+   * file is overwritten.
+   *
+   * @param observedStates the {@link NodeState} values to treat as observations.
+   * @param numberOfSamples the number of draws to generate.
+   * @param file the file to write.
+   * @param format the format to write.
+   * @return the number of records written.
+   * @throws IOException if the file cannot be written.
+   */
+  long writeSamples(
+      Collection<NodeState> observedStates,
+      long numberOfSamples,
+      Path file,
+      SampleFileFormat format)
+      throws IOException;
+
   /**
    * Returns the {@link BayesianNetwork} sampled by this {@code MonteCarloSampler}.
    *
    * @return the {@link BayesianNetwork} used by this {@code MonteCarloSampler}.
    */
   BayesianNetwork getNetwork();
+
+  /**
+   * Sets the seed used to derive the random generators of every subsequent run. Passing {@code
+   * null} (the default) draws a fresh seed for each run.
+   *
+   * @param seed the seed to use, or {@code null}.
+   * @return this instance for chaining.
+   */
+  MonteCarloSampler setSeed(Long seed);
+
+  /**
+   * Sets the {@link ExecutionContext} used to draw sample chunks in parallel. Passing {@code null}
+   * reverts to {@link ExecutionContext#getGlobal()}. The context does not affect the samples
+   * produced for a given seed.
+   *
+   * @param context the context to use, or {@code null}.
+   * @return this instance for chaining.
+   */
+  MonteCarloSampler setExecutionContext(ExecutionContext context);
+
+  /**
+   * Sets the {@link SamplingMode} that supplies the uniform variates of every subsequent run.
+   * Passing {@code null} reverts to {@link SamplingMode#RANDOM} (the default). Runs with the same
+   * seed and mode always produce the same {@link SampleCollection}.
+   *
+   * @param mode the mode to use, or {@code null}.
+   * @return this instance for chaining.
+   */
+  MonteCarloSampler setSamplingMode(SamplingMode mode);
+
+  /**
+   * Enables or disables the collection of metrics on this instance, overriding {@code
+   * app.bayes.metrics.enabled} in {@code app.properties}. Counters already collected are kept.
+   *
+   * @param enabled {@code true} to collect metrics.
+   * @return this instance for chaining.
+   */
+  MonteCarloSampler setMetricsEnabled(boolean enabled);
+
+  /**
+   * Returns a copy of the metrics collected by this instance, including the number of samples
+   * drawn across every run.
+   *
+   * @return the current {@link MetricsSnapshot}.
+   */
+  MetricsSnapshot getMetrics();
 }
@@ -0,0 +1,37 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.node.NodeState;
+
+/**
+ * The stopping rule of a {@link MonteCarloSampler#generateSamplesUntil} run. Sampling stops as soon
+ * as the confidence interval of every queried {@link NodeState} is no wider than {@code
+ * marginOfError} either side of its estimate, or once {@code maxSamples} samples have been drawn.
+ *
+ * @param marginOfError the largest acceptable half-width of each interval, between {@code 0} and
+ *     {@code 1} exclusive.
+ * @param confidenceLevel the coverage of each interval, between {@code 0} and {@code 1} exclusive,
+ *     for example {@code 0.95}.
+ * @param maxSamples the largest number of samples to draw.
+ * @see IntervalEstimate
+ * @author Alec Redmond
+ */
+public record PrecisionTarget(double marginOfError, double confidenceLevel, int maxSamples) {
+
+  /**
+   * Validates the target.
+   *
+   * @throws IllegalArgumentException if {@code marginOfError} or {@code confidenceLevel} is not
+   *     strictly between {@code 0} and {@code 1}, or {@code maxSamples} is not positive.
+   */
+  public PrecisionTarget {
+    if (!(marginOfError > 0.0 && marginOfError < 1.0)) {
+      throw new IllegalArgumentException("Margin of error must be between 0 and 1!");
+    }
+    if (!(confidenceLevel > 0.0 && confidenceLevel < 1.0)) {
+      throw new IllegalArgumentException("Confidence level must be between 0 and 1!");
+    }
+    if (maxSamples <= 0) {
+      throw new IllegalArgumentException("Maximum samples must be greater than zero!");
+    }
+  }
+}
@@ -56,6 +56,24 @@ public interface SampleCollection {
    */
   int countSamples();
 
+  /**
+   * Returns the {@link IntervalEstimate} of each queried {@link NodeState}, in query order, if this
+   * {@code SampleCollection} was created by {@link MonteCarloSampler#generateSamplesUntil}.
+   *
+   * @return an unmodifiable map of the interval estimate of each queried state, or an empty map if
+   *     this collection was generated with a fixed number of samples.
+   */
+  Map<NodeState, IntervalEstimate> getIntervalEstimates();
+
+  /**
+   * Returns {@code true} if this {@code SampleCollection} was created by {@link
+   * MonteCarloSampler#generateSamplesUntil} and met its {@link PrecisionTarget} before reaching the
+   * sample budget.
+   *
+   * @return {@code true} if every queried state met the target margin of error.
+   */
+  boolean isPrecisionTargetMet();
+
   /**
    * Returns the combined frequency of all {@link Sample}s in this {@code SampleCollection} that
    * contain every {@link NodeState} in the given collection. This is equivalent to {@code P(X|obs)
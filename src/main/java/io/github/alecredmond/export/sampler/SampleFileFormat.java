@@ -0,0 +1,27 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.network.BayesianNetworkData;
+
+/**
+ * The file formats supported by {@link MonteCarloSampler#writeSamples}. Both formats write one
+ * record per {@link WeightedSample}, in draw order, with nodes in the order of {@link
+ * BayesianNetworkData#getNodes()}.
+ *
+ * @author Alec Redmond
+ */
+public enum SampleFileFormat {
+  /**
+   * A big-endian binary file. The header holds the magic number {@code 0x4C575353}, the format
+   * version, the node count, and the state count of each node, all as 32-bit integers. Each record
+   * that follows holds one 32-bit state index per node followed by the weight as a 64-bit double.
+   * Records continue to the end of the file.
+   */
+  BINARY,
+
+  /**
+   * A UTF-8 CSV file with a header row of node IDs followed by a {@code weight} column. Each row
+   * holds the ID of the drawn state of every node followed by the weight. Values containing commas,
+   * quotes or line breaks are quoted.
+   */
+  CSV
+}
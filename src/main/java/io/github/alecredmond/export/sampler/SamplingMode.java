@@ -0,0 +1,32 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.node.Node;
+
+/**
+ * The source of the uniform variates a {@link MonteCarloSampler} uses to choose the state of each
+ * sampled {@link Node}. Every mode is randomized independently for each chunk of samples, so each
+ * draw remains an unbiased sample and the variation between chunks remains a valid estimate of the
+ * sampling error.
+ *
+ * @see MonteCarloSampler#setSamplingMode(SamplingMode)
+ * @author Alec Redmond
+ */
+public enum SamplingMode {
+  /** Independent pseudo-random variates. The error scales as {@code 1 / sqrt(n)}. */
+  RANDOM,
+
+  /**
+   * Latin hypercube stratification. Within each chunk of {@code m} samples, the variates consumed
+   * for any one node fall into each of the {@code m} equal-width strata of {@code [0, 1)} exactly
+   * once, in an independently shuffled order per node. This removes most of the error in the
+   * marginal distributions of root and shallow nodes.
+   */
+  STRATIFIED,
+
+  /**
+   * A randomized Halton low-discrepancy sequence, using a distinct prime base per node, random
+   * digit permutations, and a random shift per chunk. For networks of low effective dimension, the
+   * error approaches {@code 1 / n}.
+   */
+  QUASI_RANDOM
+}
@@ -0,0 +1,46 @@
+package io.github.alecredmond.export.sampler;
+
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import java.util.Arrays;
+
+/**
+ * A single weighted draw produced by {@link MonteCarloSampler#streamSamples(long)}. Unlike a {@link
+ * Sample}, a {@code WeightedSample} is not aggregated with other draws and holds no {@link
+ * NodeState} references, so that very large sample runs can be consumed in constant memory.
+ *
+ * <p>{@code states[i]} is the index, within {@link Node#getNodeStates()}, of the state drawn for
+ * the {@code i}-th {@link Node} of {@link BayesianNetworkData#getNodes()}. {@code weight} is the
+ * likelihood weight of the draw: the product of the conditional probabilities of every observed
+ * state given its parents, or {@code 1.0} when there are no observations.
+ *
+ * <p>Every element of a sample stream holds its own {@code states} array, which the sampler never
+ * reuses or modifies after the element is emitted, so elements may be retained or shared across
+ * threads. The array is not copied on access; callers that modify it change this sample. Equality,
+ * hashing and {@link #toString()} compare {@code states} by content.
+ *
+ * @param states the state index drawn for each node, in network node order.
+ * @param weight the likelihood weight of the draw.
+ * @see MonteCarloSampler
+ * @author Alec Redmond
+ */
+public record WeightedSample(int[] states, double weight) {
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof WeightedSample other)) return false;
+    return Double.compare(weight, other.weight) == 0 && Arrays.equals(states, other.states);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(states) + Double.hashCode(weight);
+  }
+
+  @Override
+  public String toString() {
+    return "WeightedSample[states=" + Arrays.toString(states) + ", weight=" + weight + "]";
+  }
+}
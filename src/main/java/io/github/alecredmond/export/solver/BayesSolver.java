@@ -3,12 +3,15 @@ package io.github.alecredmond.export.solver;
 import io.github.alecredmond.export.constraints.ConditionalConstraint;
 import io.github.alecredmond.export.constraints.MarginalConstraint;
 import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
 import io.github.alecredmond.export.probabilitytables.ConditionalTable;
 import io.github.alecredmond.export.probabilitytables.RootNodeTable;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.internal.method.solver.BayesSolverImpl;
+import java.nio.file.Path;
 
 /**
  * A solver that provides the best fit solution for a {@link BayesianNetwork} given its constraints.
@@ -24,10 +27,28 @@ import io.github.alecredmond.internal.method.solver.BayesSolverImpl;
  *
  * <p>Additional solver properties - including the maximum number of cycles, time limits, and
  * convergence thresholds - are configurable under the {@code app.bayes.solver} section of {@code
- * app.properties}.
+ * app.properties}. Setting {@code app.bayes.solver.warmStart} to {@code true} makes every run on
+ * an instance behave as {@link #warmSolve()}.
+ *
+ * <p>If the network's graph, together with the links implied by its constraints, splits into
+ * several disconnected components, each component is solved independently and in parallel, with
+ * its own convergence test. Components without any constraints are left untouched. The results of
+ * every component are merged into a single {@link SolverResults}. Checkpointed and resumed runs
+ * always solve the network as a single junction tree.
+ *
+ * <p>Progress can be monitored by registering a {@link SolverListener}, and a run can be stopped
+ * early from another thread by attaching a {@link SolverCancellationToken}. Long runs can be
+ * checkpointed to disk with {@link #setCheckpointFile(Path)} and continued later with {@link
+ * #resume(SolverCheckpoint)}.
+ *
+ * <p>Opt-in instrumentation, enabled by {@code app.bayes.metrics.enabled} or {@link
+ * #setMetricsEnabled(boolean)}, counts messages passed, table entries touched and table memory
+ * allocated, and emits Java Flight Recorder events for junction tree compilation and every cycle.
+ * The counters are read with {@link #getMetrics()}.
  *
  * @see SolverResults
  * @see SolverAlgorithm
+ * @see SolverListener
  * @author Alec Redmond
  */
 public interface BayesSolver {
@@ -79,6 +100,11 @@ public interface BayesSolver {
    * network's CPTs. To force the use of an IPFP variant, use the method {@link
    * #forceSolve(SolverAlgorithm)}.</i>
    *
+   * <p>If only some CPT rows can be mapped directly, those rows are written once and frozen when no
+   * other kind of constraint involves their node or any of its descendants. Their constraints are
+   * left out of IPFP, reported with zero error, and the remaining parameters are fitted around
+   * them.
+   *
    * @return {@code true} if the solver completes successfully; {@code false} if an error was
    *     encountered.
    */
@@ -86,8 +112,9 @@ public interface BayesSolver {
 
   /**
    * Runs the solver using the specified IPFP variant, regardless of whether the network has already
-   * been solved. Any exception thrown during the solving process is caught and logged rather than
-   * propagated.
+   * been solved. The network's CPTs are reset to a uniform distribution before solving, unless
+   * {@code app.bayes.solver.warmStart} is enabled. Any exception thrown during the solving process
+   * is caught and logged rather than propagated.
    *
    * @param solverAlgorithm the IPFP variant to use.
    * @return {@code true} if the solver completes successfully; {@code false} if an error was
@@ -95,6 +122,43 @@ public interface BayesSolver {
    */
   boolean forceSolve(SolverAlgorithm solverAlgorithm);
 
+  /**
+   * Runs the solver using the IPFP variant configured in {@code app.properties}, starting from the
+   * network's current CPTs rather than a uniform distribution. If the network structure is
+   * unchanged since the previous run on this instance, and every constraint still fits within the
+   * previous junction tree, the previous clique tables are reused as the starting point instead.
+   * Small edits to constraint probabilities will therefore typically converge in far fewer cycles
+   * than a cold solve. Any exception thrown during the solving process is caught and logged rather
+   * than propagated.
+   *
+   * <p><i>Note: As with {@link #forceSolve()}, this method will first call {@link
+   * #writeCPTsFromConstraints()}, which will run in place of the IPFP algorithm in cases where all
+   * constraints can be mapped directly to the network's CPTs.</i>
+   *
+   * @return {@code true} if the solver completes successfully; {@code false} if an error was
+   *     encountered.
+   */
+  boolean warmSolve();
+
+  /**
+   * Continues a run from a {@link SolverCheckpoint}, using the checkpoint's {@link
+   * SolverAlgorithm}. The junction tree is rebuilt from the network, its clique and separator tables
+   * are replaced with those held in the checkpoint, and cycling continues from the first cycle the
+   * checkpoint did not complete. Error histories carry over, so the resulting {@link SolverResults}
+   * cover the whole run. The cycle limit applies to the total number of cycles, while the time limit
+   * applies afresh to the resumed run. Any exception thrown during the solving process is caught and
+   * logged rather than propagated.
+   *
+   * <p>A checkpoint is refused, and {@code false} returned, if its structure fingerprint does not
+   * match the network. CPT rows frozen by an earlier run on this instance stay frozen, and are
+   * restored once the resumed run ends, if the checkpoint also froze their constraints.
+   *
+   * @param checkpoint the checkpoint to continue from.
+   * @return {@code true} if the solver completes successfully; {@code false} if the checkpoint does
+   *     not match the network, or an error was encountered.
+   */
+  boolean resume(SolverCheckpoint checkpoint);
+
   /**
    * Returns whether the network has already been solved.
    *
@@ -124,6 +188,76 @@ public interface BayesSolver {
    */
   boolean writeCPTsFromConstraints();
 
+  /**
+   * Registers a {@link SolverListener} that will be notified at the end of every cycle, and when
+   * each solver run finishes. Listeners are called on the solving thread.
+   *
+   * @param listener the listener to add.
+   * @return this instance for chaining.
+   */
+  BayesSolver addListener(SolverListener listener);
+
+  /**
+   * Removes a previously registered {@link SolverListener}.
+   *
+   * @param listener the listener to remove.
+   * @return {@code true} if the listener was registered on this instance.
+   */
+  boolean removeListener(SolverListener listener);
+
+  /**
+   * Attaches a {@link SolverCancellationToken} to this instance, which is checked at the end of
+   * every cycle. Once the token is cancelled, the run stops and the lowest-error state reached so
+   * far is written back to the network's CPTs, which are then marked as solved. Passing {@code
+   * null} detaches the current token.
+   *
+   * @param token the token to attach, or {@code null}.
+   * @return this instance for chaining.
+   */
+  BayesSolver setCancellationToken(SolverCancellationToken token);
+
+  /**
+   * Sets the {@link ExecutionContext} used for this instance's internal parallel work, including
+   * direct CPT mapping, per-cycle constraint adjustments, and the solving of independent network
+   * components. Passing {@code null} reverts to {@link ExecutionContext#getGlobal()}.
+   *
+   * @param context the context to use, or {@code null}.
+   * @return this instance for chaining.
+   */
+  BayesSolver setExecutionContext(ExecutionContext context);
+
+  /**
+   * Sets the file that this instance periodically writes a {@link SolverCheckpoint} to while
+   * cycling, at the interval set by {@code app.bayes.solver.checkpointIntervalSeconds}. A final
+   * checkpoint is written if a run stops before converging. Each file is replaced atomically, so an
+   * interrupted write never leaves a partial checkpoint. While a file is set, the network is solved
+   * as a single junction tree rather than as independent components. Passing {@code null} disables
+   * checkpointing.
+   *
+   * @param file the checkpoint file, or {@code null}.
+   * @return this instance for chaining.
+   */
+  BayesSolver setCheckpointFile(Path file);
+
+  /**
+   * Enables or disables the collection of metrics on this instance, overriding {@code
+   * app.bayes.metrics.enabled} in {@code app.properties}. Junction trees built after this call
+   * also inherit the setting for their compilation phase events. Counters already collected are
+   * kept.
+   *
+   * @param enabled {@code true} to collect metrics.
+   * @return this instance for chaining.
+   */
+  BayesSolver setMetricsEnabled(boolean enabled);
+
+  /**
+   * Returns a copy of the metrics collected by this instance across every run, including the
+   * compilation of its junction trees, its solver cycles and its message passing.
+   *
+   * @return the current {@link MetricsSnapshot}.
+   */
+  MetricsSnapshot getMetrics();
+
   /**
    * Returns the results of the most recent solver run on this instance, including per-cycle error
    * and loss information for every {@link ProbabilityConstraint} on the network.
@@ -7,7 +7,7 @@ package io.github.alecredmond.export.solver;
  * manually specified, the solver will use the default variant in {@code app.properties} under
  * {@code app.bayes.solver.defaultSolverAlgorithm}.
  *
- * <p>There are two IPFP variants:
+ * <p>There are two IPFP variants, and one quasi-Newton alternative:
  *
  * <ul>
  *   <li>
@@ -31,6 +31,12 @@ package io.github.alecredmond.export.solver;
  *       count, typically yielding an exponential speed improvement over {@link
  *       SolverAlgorithm#SINGLE_TABLE_IPFP} as nodes are added. It is also the only option for
  *       networks whose full joint Cartesian product would exceed 2<sup>31</sup>&minus;1 entries.
+ *   <li><b>JUNCTION_TREE_LBFGS</b> uses the same junction tree, but fits every constraint at once
+ *       by minimizing the convex dual of the maximum-entropy problem with L-BFGS. Gradients are
+ *       read from the calibrated clique tables, and any residual error is then removed by {@link
+ *       SolverAlgorithm#JUNCTION_TREE_IPFP} cycles.
+ *       <p>This variant typically needs far fewer passes over the tree than {@link
+ *       SolverAlgorithm#JUNCTION_TREE_IPFP} when many constraints overlap the same nodes.
  * </ul>
  */
 public enum SolverAlgorithm {
@@ -63,5 +69,25 @@ public enum SolverAlgorithm {
    * SolverAlgorithm#SINGLE_TABLE_IPFP} as nodes are added. It is also the only option for networks
    * whose full joint Cartesian product would exceed 2<sup>31</sup>&minus;1 entries.
    */
-  JUNCTION_TREE_IPFP
+  JUNCTION_TREE_IPFP,
+  /**
+   * <b>JUNCTION_TREE_LBFGS</b> builds the same junction tree as {@link
+   * SolverAlgorithm#JUNCTION_TREE_IPFP}, but treats each constraint as a linear moment condition
+   * on the joint distribution and minimizes the convex dual of the maximum-entropy problem with the
+   * L-BFGS quasi-Newton method. Each dual variable scales its constraint's entries within a single
+   * clique, and the gradient is read from the clique tables after calibration through the
+   * separators.
+   *
+   * <p>Constraints with a probability of exactly 0 or 1 have no finite dual solution, so they are
+   * applied to the starting tables before the dual is minimized. A final set of {@link
+   * SolverAlgorithm#JUNCTION_TREE_IPFP} cycles then removes any residual error, and the returned
+   * {@link SolverResults} cover those cycles.
+   *
+   * <p><b>Time complexity: O(k &times; c &times; 2<sup>t</sup>), where k is the number of
+   * gradient evaluations.</b>
+   *
+   * <p>When constraints overlap heavily, k is typically a few dozen, compared with the hundreds or
+   * thousands of cycles needed by {@link SolverAlgorithm#JUNCTION_TREE_IPFP}.
+   */
+  JUNCTION_TREE_LBFGS
 }
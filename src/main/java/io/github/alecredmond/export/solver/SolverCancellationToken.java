@@ -0,0 +1,38 @@
+package io.github.alecredmond.export.solver;
+
+/**
+ * A token used to cooperatively cancel a running {@link BayesSolver}. The token is attached with
+ * {@link BayesSolver#setCancellationToken(SolverCancellationToken)} and may be cancelled from any
+ * thread. The solver checks the token at the end of every cycle.
+ *
+ * <p>While a token is attached, the solver keeps a copy of the lowest-error state reached so far.
+ * If the run is cancelled, or stops on a time or cycle limit before converging, that state is
+ * written back to the network's CPTs rather than the state of the final cycle.
+ *
+ * <p>A token cannot be reset once cancelled; a new token should be attached for each run.
+ *
+ * @see BayesSolver
+ * @author Alec Redmond
+ */
+public final class SolverCancellationToken {
+  private volatile boolean cancelled;
+
+  /** Creates a new, uncancelled token. */
+  public SolverCancellationToken() {
+    this.cancelled = false;
+  }
+
+  /** Requests that the solver stop at the end of its current cycle. */
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  /**
+   * Returns whether {@link #cancel()} has been called on this token.
+   *
+   * @return {@code true} if cancellation has been requested.
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+}
@@ -0,0 +1,70 @@
+package io.github.alecredmond.export.solver;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.internal.fileio.SolverCheckpointFileIO;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A snapshot of a {@link BayesSolver} run, written periodically to disk while the solver cycles.
+ * A checkpoint holds the junction tree's clique and separator tables, the number of cycles
+ * completed, and the error history of every constraint, so that a run which was interrupted, timed
+ * out, or was cancelled can later be continued with {@link BayesSolver#resume(SolverCheckpoint)}.
+ *
+ * <p>Checkpointing is enabled on a solver instance with {@link
+ * BayesSolver#setCheckpointFile(Path)}. The interval between writes is controlled by {@code
+ * app.bayes.solver.checkpointIntervalSeconds} in {@code app.properties} (default: {@code 60}). A
+ * final checkpoint is also written whenever a run stops before converging.
+ *
+ * <p>Every checkpoint records a fingerprint of the structure of the {@link BayesianNetwork} it was
+ * taken from - its nodes, their states and parents, and the scope of each constraint. Constraint
+ * probabilities are not part of the fingerprint, so a checkpoint may be resumed after they have
+ * been edited. A checkpoint will not be resumed against a network with a different fingerprint.
+ *
+ * @see BayesSolver
+ * @author Alec Redmond
+ */
+public interface SolverCheckpoint {
+
+  /**
+   * Reads a checkpoint previously written by a {@link BayesSolver}. The file is memory-mapped
+   * rather than streamed, so large checkpoints are loaded without an intermediate copy.
+   *
+   * @param file the checkpoint file to read.
+   * @return the checkpoint held in the file.
+   * @throws IOException if the file cannot be read, is not a recognised checkpoint, or is truncated
+   *     or corrupt.
+   */
+  static SolverCheckpoint read(Path file) throws IOException {
+    return new SolverCheckpointFileIO().read(file);
+  }
+
+  /**
+   * Returns the fingerprint of the network structure this checkpoint was taken from.
+   *
+   * @return the structure fingerprint.
+   */
+  long getStructureFingerprint();
+
+  /**
+   * Returns the {@link SolverAlgorithm} of the run this checkpoint was taken from. A resumed run
+   * always continues with the same algorithm.
+   *
+   * @return the checkpoint's solver algorithm.
+   */
+  SolverAlgorithm getSolverAlgorithm();
+
+  /**
+   * Returns the number of cycles completed before this checkpoint was written.
+   *
+   * @return the completed cycle count.
+   */
+  int getCompletedCycles();
+
+  /**
+   * Returns the aggregate error at the end of every completed cycle, in cycle order.
+   *
+   * @return a copy of the checkpoint's error history.
+   */
+  double[] getErrorHistory();
+}
@@ -0,0 +1,35 @@
+package io.github.alecredmond.export.solver;
+
+/**
+ * Receives progress updates from a {@link BayesSolver} while it runs. Listeners are registered with
+ * {@link BayesSolver#addListener(SolverListener)}, and are called synchronously on the solving
+ * thread, so implementations should return quickly. When a network is solved as several
+ * independent components, {@link #onCycleComplete(SolverProgress)} is called for the cycles of
+ * every component. These calls may come from different threads but never overlap, and each
+ * {@link SolverProgress#component()} identifies the component the cycle belongs to.
+ *
+ * <p>Both methods have empty default implementations, so only the callbacks of interest need to be
+ * overridden.
+ *
+ * @see SolverProgress
+ * @see SolverCancellationToken
+ * @author Alec Redmond
+ */
+public interface SolverListener {
+
+  /**
+   * Called at the end of every Iterative Proportional Fitting Procedure (IPFP) cycle.
+   *
+   * @param progress the cycle number, error, convergence delta, elapsed time, and per-clique timing
+   *     of the cycle that has just completed.
+   */
+  default void onCycleComplete(SolverProgress progress) {}
+
+  /**
+   * Called once the solver has written its results back to the network's CPTs, whether it
+   * converged, reached a limit, or was cancelled.
+   *
+   * @param results the results of the run.
+   */
+  default void onSolverFinished(SolverResults results) {}
+}
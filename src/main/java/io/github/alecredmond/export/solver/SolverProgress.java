@@ -0,0 +1,32 @@
+package io.github.alecredmond.export.solver;
+
+import io.github.alecredmond.export.node.Node;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A snapshot of a {@link BayesSolver} run, passed to every registered {@link SolverListener} at the
+ * end of each Iterative Proportional Fitting Procedure (IPFP) cycle.
+ *
+ * @see SolverListener
+ * @see BayesSolver
+ * @author Alec Redmond
+ * @param cycle The index of the cycle that has just completed, starting from {@code 0}.
+ * @param error The aggregate R-squared error measured across all constraints during the cycle.
+ * @param convergenceDelta The change in aggregate error from the previous cycle. The solver stops
+ *     once the absolute value of this falls below {@code app.bayes.solver.convergeThreshold}.
+ * @param elapsed The time elapsed since the solver run started.
+ * @param cliqueDurations The time spent on each clique's step of the cycle, keyed by the set of
+ *     {@link Node}s contained in the clique. Each step fits every constraint once and then
+ *     propagates from that clique.
+ * @param component The index of the independent network component the cycle belongs to. Always
+ *     {@code 0} when the network is solved as a single junction tree.
+ */
+public record SolverProgress(
+    int cycle,
+    double error,
+    double convergenceDelta,
+    Duration elapsed,
+    Map<Set<Node>, Duration> cliqueDurations,
+    int component) {}
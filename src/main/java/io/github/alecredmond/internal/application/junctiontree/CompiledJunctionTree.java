@@ -0,0 +1,13 @@
+package io.github.alecredmond.internal.application.junctiontree;
+
+import io.github.alecredmond.export.inference.InferenceAlgorithm;
+import java.io.Serializable;
+import java.util.List;
+
+public record CompiledJunctionTree(
+    InferenceAlgorithm inferenceAlgorithm,
+    long networkFingerprint,
+    List<List<Serializable>> cliqueNodeIds,
+    int[][] separatorCliques,
+    double[][] priorCliqueTables,
+    double[][] priorSeparatorTables) {}
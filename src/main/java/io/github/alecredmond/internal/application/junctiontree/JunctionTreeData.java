@@ -1,14 +1,19 @@
 package io.github.alecredmond.internal.application.junctiontree;
 
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
 import io.github.alecredmond.export.probabilitytables.ObservedTable;
 import io.github.alecredmond.export.inference.InferenceAlgorithm;
 import io.github.alecredmond.export.solver.SolverAlgorithm;
 import io.github.alecredmond.internal.method.constraints.strategy.ConstraintSolver;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,6 +26,8 @@ public class JunctionTreeData {
   private Clique[] cliques;
   private Separator[] separators;
   private Map<Clique, List<ConstraintSolver>> solversPerClique;
+  private Set<ProbabilityConstraint> frozenConstraints;
+  private Map<Node, NetworkTable> sourceTables;
   private Map<Node, ObservedTable> observedTablesMap;
   private Map<Node, NodeState> observedEvidence;
   private boolean solverConfig;
@@ -28,6 +35,10 @@ public class JunctionTreeData {
   private SolverAlgorithm solverAlgorithm;
   private InferenceAlgorithm inferenceAlgorithm;
   private double equivalentTreeWidth;
+  private ExecutionContext executionContext;
+  private MetricsRecorder metrics = MetricsRecorder.disabled();
   private Runnable[][] collectionRuns;
   private Runnable[][] distributionRuns;
+  private double[][] priorCliqueTables;
+  private double[][] priorSeparatorTables;
 }
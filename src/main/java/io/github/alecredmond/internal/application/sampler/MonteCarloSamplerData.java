@@ -0,0 +1,28 @@
+package io.github.alecredmond.internal.application.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.SamplingMode;
+import io.github.alecredmond.internal.method.sampler.SampleDrawerFactory;
+import io.github.alecredmond.internal.method.sampler.SampleImpl;
+import io.github.alecredmond.internal.method.sampler.SampleKeyCodec;
+import io.github.alecredmond.internal.method.sampler.WeightedSampleMap;
+import java.util.Map;
+import lombok.Data;
+
+@Data
+public class MonteCarloSamplerData {
+  private final Node[] nodes;
+  private Map<Node, NodeState> observations;
+  private int numberOfSamples;
+  private long runSeed;
+  private SamplingMode samplingMode;
+  private SampleDrawerFactory drawerFactory;
+  private SampleKeyCodec codec;
+  private WeightedSampleMap weightedSamples;
+  private Map<SampleImpl, Integer> distributedSamples;
+
+  public MonteCarloSamplerData(Node[] nodes) {
+    this.nodes = nodes;
+  }
+}
@@ -2,7 +2,9 @@ package io.github.alecredmond.internal.application.sampler;
 
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.IntervalEstimate;
 import io.github.alecredmond.export.sampler.Sample;
+import io.github.alecredmond.internal.method.sampler.SampleColumns;
 import java.util.*;
 
 import lombok.Builder;
@@ -15,4 +17,7 @@ public class SampleCollectionData {
   private final List<Sample> samples;
   private final Map<Node, NodeState> networkObservations;
   private final Node[] nodes;
+  private final SampleColumns columns;
+  private final Map<NodeState, IntervalEstimate> intervalEstimates;
+  private final boolean precisionTargetMet;
 }
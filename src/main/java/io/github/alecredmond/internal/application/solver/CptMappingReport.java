@@ -11,6 +11,7 @@ public class CptMappingReport {
   private final NetworkTable networkTable;
   private final List<ProbabilityConstraint> initialConstraints;
   private final List<ProbabilityConstraint> addedConstraints;
+  private final List<MappedCptRow> mappedRows;
   private int rowsChecked;
   private int rowsMapped;
   private boolean allCptEntriesMapped;
@@ -20,6 +21,7 @@ public class CptMappingReport {
     this.networkTable = networkTable;
     this.initialConstraints = constraints.stream().map(ProbabilityConstraint.class::cast).toList();
     this.addedConstraints = new ArrayList<>();
+    this.mappedRows = new ArrayList<>();
     this.rowsChecked = 0;
     this.rowsMapped = 0;
     this.allCptEntriesMapped = true;
@@ -36,4 +38,8 @@ public class CptMappingReport {
   public <P extends ProbabilityConstraint> void addConstraint(P constraint) {
     addedConstraints.add(constraint);
   }
+
+  public void addMappedRow(MappedCptRow mappedRow) {
+    mappedRows.add(mappedRow);
+  }
 }
@@ -0,0 +1,11 @@
+package io.github.alecredmond.internal.application.solver;
+
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+import java.util.List;
+
+public record MappedCptRow(
+    NetworkTable networkTable,
+    int rowStartIndex,
+    double[] probabilities,
+    List<ProbabilityConstraint> constraints) {}
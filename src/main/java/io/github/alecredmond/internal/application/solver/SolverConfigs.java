@@ -18,6 +18,8 @@ public class SolverConfigs {
   private int logIntervalSeconds;
   private double convergeThreshold;
   private boolean logSolverProgress;
+  private boolean warmStart;
+  private int checkpointIntervalSeconds;
 
   public SolverConfigs() {
     updateConfigs();
@@ -31,6 +33,8 @@ public class SolverConfigs {
     setLogIntervalSeconds(l.loadInt(SOLVER_LOG_INTERVAL_SECONDS));
     setConvergeThreshold(l.loadDouble(SOLVER_CONVERGE_THRESHOLD));
     setLogSolverProgress(l.loadBoolean(SOLVER_LOG_PROGRESS));
+    setWarmStart(l.loadBoolean(SOLVER_WARM_START));
+    setCheckpointIntervalSeconds(l.loadInt(SOLVER_CHECKPOINT_INTERVAL_SECONDS));
   }
 
   private void loadSolverAlgorithm(String algorithmName) {
@@ -53,6 +57,11 @@ public class SolverConfigs {
     this.logIntervalSeconds = logIntervalSeconds;
   }
 
+  private void setCheckpointIntervalSeconds(int checkpointIntervalSeconds) {
+    assureGreaterThanZero("Solver Checkpoint Interval", checkpointIntervalSeconds);
+    this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+  }
+
   private void setConvergeThreshold(double convergeThreshold) {
     assureGreaterThanZero("Solver Converge Threshold", convergeThreshold);
     this.convergeThreshold = convergeThreshold;
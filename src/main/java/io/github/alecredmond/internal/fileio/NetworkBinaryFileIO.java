@@ -0,0 +1,575 @@
+package io.github.alecredmond.internal.fileio;
+
+import io.github.alecredmond.export.constraints.serialized.*;
+import io.github.alecredmond.export.inference.InferenceAlgorithm;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import io.github.alecredmond.export.node.serialized.SerializedNode;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+import io.github.alecredmond.export.probabilitytables.serialized.SerializedNetworkTable;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
+import io.github.alecredmond.internal.method.inference.InferenceEngineFactory;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeCompiler;
+import io.github.alecredmond.internal.serialization.DoubleBufferList;
+import io.github.alecredmond.internal.serialization.structure.NodeSerializer;
+import io.github.alecredmond.internal.serialization.structure.ProbabilityConstraintSerializer;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class NetworkBinaryFileIO {
+  private static final int MAGIC = 0x424E4554;
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 24;
+  private static final int FLAG_SOLVED = 1;
+  private static final int FLAG_JUNCTION_TREE = 2;
+  private static final int WRITE_BUFFER_BYTES = 1 << 16;
+  private static final byte TAG_STRING = 1;
+  private static final byte TAG_INTEGER = 2;
+  private static final byte TAG_LONG = 3;
+  private static final byte TAG_DOUBLE = 4;
+  private static final byte TAG_BOOLEAN = 5;
+  private static final byte TAG_CHARACTER = 6;
+  private static final byte MARGINAL = 1;
+  private static final byte CONDITIONAL = 2;
+  private static final byte JOINT = 3;
+  private static final byte SUM = 4;
+
+  public boolean isBinaryNetwork(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      while (magic.hasRemaining() && channel.read(magic) >= 0) {}
+      return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    }
+  }
+
+  public void write(BayesianNetwork network, Path file) throws IOException {
+    write(network, file, false);
+  }
+
+  public void write(BayesianNetwork network, Path file, boolean includeJunctionTree)
+      throws IOException {
+    if (!network.isSolved()) network.solveNetwork();
+    BayesianNetworkData data = network.getNetworkData();
+    List<SerializedNode> nodes = new NodeSerializer().serializeAllNodes(data);
+    List<NetworkTable> tables =
+        data.getNodes().stream().map(node -> data.getNetworkTablesMap().get(node)).toList();
+    List<SerializedProbabilityConstraint> constraints =
+        new ProbabilityConstraintSerializer().serializeAll(data);
+
+    ByteBuffer structure = encodeStructure(data.getNetworkName(), nodes, tables, constraints);
+    ByteBuffer junctionTree = includeJunctionTree ? encodeJunctionTree(data) : null;
+    long cptOffset = align(HEADER_BYTES + (long) structure.remaining());
+    int flags = data.isSolved() ? FLAG_SOLVED : 0;
+    if (junctionTree != null) flags |= FLAG_JUNCTION_TREE;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(MAGIC).putInt(VERSION).putInt(flags);
+    header.putInt(structure.remaining()).putLong(cptOffset).flip();
+
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(channel, header);
+      writeFully(channel, structure);
+      writeFully(channel, ByteBuffer.allocate((int) (cptOffset - channel.position())));
+      writeProbabilities(channel, tables);
+      if (junctionTree != null) writeFully(channel, junctionTree);
+      channel.force(true);
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private ByteBuffer encodeStructure(
+      String networkName,
+      List<SerializedNode> nodes,
+      List<NetworkTable> tables,
+      List<SerializedProbabilityConstraint> constraints)
+      throws IOException {
+    Map<Serializable, Integer> dictionary = new LinkedHashMap<>();
+    Map<Serializable, Integer> nodeOrdinals = new HashMap<>();
+    nodes.forEach(node -> nodeOrdinals.put(node.id(), nodeOrdinals.size()));
+
+    StructureBuffer body = new StructureBuffer();
+    body.putInt(intern(dictionary, networkName));
+    body.putInt(nodes.size());
+    for (SerializedNode node : nodes) {
+      body.putInt(intern(dictionary, node.id()));
+      putIds(body, node.stateIds(), dictionary);
+      putIndexes(body, node.parentIds(), nodeOrdinals);
+      putIndexes(body, node.childIds(), nodeOrdinals);
+    }
+    body.putInt(tables.size());
+    long firstValue = 0;
+    for (NetworkTable table : tables) {
+      body.putInt(nodeOrdinals.get(table.getNetworkNode().getId()));
+      body.putInt(table.getConditions().size());
+      table.getConditions().forEach(node -> body.putInt(nodeOrdinals.get(node.getId())));
+      body.putInt(intern(dictionary, table.getTableName()));
+      body.putLong(firstValue);
+      body.putInt(table.getProbabilities().length);
+      firstValue += table.getProbabilities().length;
+    }
+    body.putInt(constraints.size());
+    for (SerializedProbabilityConstraint constraint : constraints) {
+      putConstraint(body, constraint, dictionary);
+    }
+
+    StructureBuffer out = new StructureBuffer();
+    out.putInt(dictionary.size());
+    for (Serializable value : dictionary.keySet()) putValue(out, value);
+    return out.put(body.flip()).flip();
+  }
+
+  private ByteBuffer encodeJunctionTree(BayesianNetworkData data) {
+    InferenceAlgorithm algorithm = new InferenceEngineFactory().getDefaultInferenceAlgorithm();
+    CompiledJunctionTree compiled = new JunctionTreeCompiler().compile(data, algorithm);
+    Map<Serializable, Integer> nodeOrdinals = new HashMap<>();
+    data.getNodes().forEach(node -> nodeOrdinals.put(node.getId(), nodeOrdinals.size()));
+
+    StructureBuffer out = new StructureBuffer();
+    byte[] algorithmName = algorithm.name().getBytes(StandardCharsets.UTF_8);
+    out.putInt(algorithmName.length).put(algorithmName);
+    out.putLong(compiled.networkFingerprint());
+    out.putInt(compiled.cliqueNodeIds().size());
+    compiled.cliqueNodeIds().forEach(ids -> putIndexes(out, ids, nodeOrdinals));
+    out.putInt(compiled.separatorCliques().length);
+    for (int[] pair : compiled.separatorCliques()) out.putInt(pair[0]).putInt(pair[1]);
+    for (double[] prior : compiled.priorCliqueTables()) out.putInt(prior.length).putDoubles(prior);
+    for (double[] prior : compiled.priorSeparatorTables()) {
+      out.putInt(prior.length).putDoubles(prior);
+    }
+    return out.flip();
+  }
+
+  private int intern(Map<Serializable, Integer> dictionary, Serializable value)
+      throws NotSerializableException {
+    Integer index = dictionary.get(value);
+    if (index != null) return index;
+    if (!(value instanceof String
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Double
+        || value instanceof Boolean
+        || value instanceof Character)) {
+      throw new NotSerializableException(
+          "Identifier %s of type %s cannot be written in the binary network format"
+              .formatted(value, value == null ? null : value.getClass().getName()));
+    }
+    dictionary.put(value, dictionary.size());
+    return dictionary.size() - 1;
+  }
+
+  private void putValue(StructureBuffer out, Serializable value) {
+    switch (value) {
+      case String string -> {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.put(TAG_STRING).putInt(bytes.length).put(bytes);
+      }
+      case Integer integer -> out.put(TAG_INTEGER).putInt(integer);
+      case Long longValue -> out.put(TAG_LONG).putLong(longValue);
+      case Double doubleValue -> out.put(TAG_DOUBLE).putDouble(doubleValue);
+      case Boolean bool -> out.put(TAG_BOOLEAN).put((byte) (bool ? 1 : 0));
+      case Character character -> out.put(TAG_CHARACTER).putInt(character);
+      default -> throw new IllegalStateException("Unexpected identifier " + value);
+    }
+  }
+
+  private void putIds(
+      StructureBuffer out, List<Serializable> ids, Map<Serializable, Integer> dictionary)
+      throws NotSerializableException {
+    out.putInt(ids.size());
+    for (Serializable id : ids) out.putInt(intern(dictionary, id));
+  }
+
+  private void putIndexes(
+      StructureBuffer out, List<Serializable> ids, Map<Serializable, Integer> ordinals) {
+    out.putInt(ids.size());
+    ids.forEach(id -> out.putInt(ordinals.get(id)));
+  }
+
+  private void putConstraint(
+      StructureBuffer out,
+      SerializedProbabilityConstraint constraint,
+      Map<Serializable, Integer> dictionary)
+      throws NotSerializableException {
+    switch (constraint) {
+      case SerializedMarginalConstraint marginal -> {
+        out.put(MARGINAL).putInt(intern(dictionary, marginal.eventStateId()));
+        out.putDouble(marginal.probability());
+      }
+      case SerializedConditionalConstraint conditional -> {
+        out.put(CONDITIONAL).putInt(intern(dictionary, conditional.eventStateId()));
+        putIds(out, conditional.conditionStateIds(), dictionary);
+        out.putDouble(conditional.probability());
+      }
+      case SerializedJointProbabilityConstraint joint -> {
+        out.put(JOINT);
+        putIds(out, joint.eventIds(), dictionary);
+        putIds(out, joint.conditionIds(), dictionary);
+        out.putDouble(joint.probability());
+      }
+      case SerializedSumConstraint sum -> {
+        out.put(SUM);
+        putIds(out, sum.eventIds(), dictionary);
+        putIds(out, sum.conditionIds(), dictionary);
+        out.putDouble(sum.probability());
+      }
+      default ->
+          throw new NotSerializableException(
+              "Constraint type %s cannot be written in the binary network format"
+                  .formatted(constraint.getClass().getName()));
+    }
+  }
+
+  private void writeProbabilities(FileChannel channel, List<NetworkTable> tables)
+      throws IOException {
+    ByteBuffer buffer =
+        ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    DoubleBuffer doubles = buffer.asDoubleBuffer();
+    for (NetworkTable table : tables) {
+      double[] probabilities = table.getProbabilities();
+      for (int offset = 0; offset < probabilities.length; ) {
+        int count = Math.min(doubles.remaining(), probabilities.length - offset);
+        doubles.put(probabilities, offset, count);
+        offset += count;
+        if (!doubles.hasRemaining()) flush(channel, buffer, doubles);
+      }
+    }
+    flush(channel, buffer, doubles);
+  }
+
+  private void flush(FileChannel channel, ByteBuffer buffer, DoubleBuffer doubles)
+      throws IOException {
+    buffer.position(0).limit(doubles.position() * Double.BYTES);
+    writeFully(channel, buffer);
+    buffer.clear();
+    doubles.clear();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) channel.write(buffer);
+  }
+
+  private static long align(long position) {
+    return (position + Double.BYTES - 1) & -Double.BYTES;
+  }
+
+  public BinaryNetwork read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES) throw new IOException("%s is truncated".formatted(file));
+      ByteBuffer header =
+          channel
+              .map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+              .order(ByteOrder.LITTLE_ENDIAN);
+      if (header.getInt() != MAGIC) {
+        throw new IOException("%s is not a binary network file".formatted(file));
+      }
+      int version = header.getInt();
+      if (version < 1 || version > VERSION) {
+        throw new IOException("Unsupported binary network version %d".formatted(version));
+      }
+      int flags = header.getInt();
+      boolean solved = (flags & FLAG_SOLVED) != 0;
+      int structureBytes = header.getInt();
+      long cptOffset = header.getLong();
+      if (structureBytes < 0 || cptOffset < HEADER_BYTES + (long) structureBytes) {
+        throw new IOException("%s has a corrupt header".formatted(file));
+      }
+      ByteBuffer structure =
+          channel
+              .map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, structureBytes)
+              .order(ByteOrder.LITTLE_ENDIAN);
+      SerializedBayesianNetwork network =
+          readStructure(structure, solved, new CptSection(channel, cptOffset, size));
+      if ((flags & FLAG_JUNCTION_TREE) == 0) return new BinaryNetwork(network, null);
+      long cptValues =
+          network.serializedCPTs().stream().mapToLong(t -> t.probabilities().size()).sum();
+      long treeOffset = cptOffset + cptValues * Double.BYTES;
+      if (treeOffset > size || size - treeOffset > Integer.MAX_VALUE) {
+        throw new IOException("%s has a corrupt junction tree section".formatted(file));
+      }
+      ByteBuffer junctionTree =
+          channel
+              .map(FileChannel.MapMode.READ_ONLY, treeOffset, size - treeOffset)
+              .order(ByteOrder.LITTLE_ENDIAN);
+      return new BinaryNetwork(network, readJunctionTree(junctionTree, network));
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("Binary network file %s is truncated or corrupt".formatted(file), e);
+    }
+  }
+
+  private SerializedBayesianNetwork readStructure(
+      ByteBuffer in, boolean solved, CptSection cpts) throws IOException {
+    Serializable[] dictionary = new Serializable[count(in)];
+    for (int i = 0; i < dictionary.length; i++) dictionary[i] = readValue(in);
+    String networkName = dictionary[in.getInt()].toString();
+
+    int nodeCount = count(in);
+    Serializable[] nodeIds = new Serializable[nodeCount];
+    int[][] stateIndexes = new int[nodeCount][];
+    int[][] parentOrdinals = new int[nodeCount][];
+    int[][] childOrdinals = new int[nodeCount][];
+    for (int n = 0; n < nodeCount; n++) {
+      nodeIds[n] = dictionary[in.getInt()];
+      stateIndexes[n] = readInts(in);
+      parentOrdinals[n] = readInts(in);
+      childOrdinals[n] = readInts(in);
+    }
+    List<SerializedNode> nodes = new ArrayList<>(nodeCount);
+    for (int n = 0; n < nodeCount; n++) {
+      nodes.add(
+          new SerializedNode(
+              nodeIds[n],
+              lookup(dictionary, stateIndexes[n]),
+              lookup(nodeIds, parentOrdinals[n]),
+              lookup(nodeIds, childOrdinals[n])));
+    }
+
+    int tableCount = count(in);
+    List<SerializedNetworkTable> tables = new ArrayList<>(tableCount);
+    for (int t = 0; t < tableCount; t++) {
+      int node = in.getInt();
+      int[] conditions = readInts(in);
+      Serializable tableName = dictionary[in.getInt()];
+      long firstValue = in.getLong();
+      int length = in.getInt();
+      long expected = stateIndexes[node].length;
+      for (int condition : conditions) expected *= stateIndexes[condition].length;
+      if (expected != length) {
+        throw new IOException("CPT of node %s has %d values".formatted(nodeIds[node], length));
+      }
+      tables.add(
+          new SerializedNetworkTable(
+              nodeIds[node],
+              lookup(nodeIds, conditions),
+              tableName,
+              new DoubleBufferList(cpts.slice(firstValue, length))));
+    }
+
+    int constraintCount = count(in);
+    List<SerializedProbabilityConstraint> constraints = new ArrayList<>(constraintCount);
+    for (int c = 0; c < constraintCount; c++) constraints.add(readConstraint(in, dictionary));
+    return new SerializedBayesianNetwork(networkName, nodes, tables, constraints, solved);
+  }
+
+  private CompiledJunctionTree readJunctionTree(ByteBuffer in, SerializedBayesianNetwork network)
+      throws IOException {
+    byte[] algorithmName = new byte[count(in)];
+    in.get(algorithmName);
+    InferenceAlgorithm algorithm =
+        InferenceAlgorithm.valueOf(new String(algorithmName, StandardCharsets.UTF_8));
+    long fingerprint = in.getLong();
+    List<SerializedNode> nodes = network.serializedNodes();
+    int cliqueCount = count(in);
+    List<List<Serializable>> cliqueNodeIds = new ArrayList<>(cliqueCount);
+    List<Set<Integer>> cliqueOrdinals = new ArrayList<>(cliqueCount);
+    for (int c = 0; c < cliqueCount; c++) {
+      Set<Integer> ordinals = new LinkedHashSet<>();
+      for (int ordinal : readInts(in)) ordinals.add(ordinal);
+      cliqueOrdinals.add(ordinals);
+      cliqueNodeIds.add(ordinals.stream().map(ordinal -> nodes.get(ordinal).id()).toList());
+    }
+    int[][] separatorCliques = new int[count(in)][];
+    for (int s = 0; s < separatorCliques.length; s++) {
+      separatorCliques[s] = new int[] {in.getInt(), in.getInt()};
+      for (int clique : separatorCliques[s]) {
+        if (clique < 0 || clique >= cliqueCount) {
+          throw new IOException("Separator references unknown clique %d".formatted(clique));
+        }
+      }
+    }
+    double[][] cliqueTables = new double[cliqueCount][];
+    for (int c = 0; c < cliqueCount; c++) {
+      cliqueTables[c] = readDoubles(in, tableLength(cliqueOrdinals.get(c), nodes));
+    }
+    double[][] separatorTables = new double[separatorCliques.length][];
+    for (int s = 0; s < separatorTables.length; s++) {
+      Set<Integer> common = new HashSet<>(cliqueOrdinals.get(separatorCliques[s][0]));
+      common.retainAll(cliqueOrdinals.get(separatorCliques[s][1]));
+      separatorTables[s] = readDoubles(in, tableLength(common, nodes));
+    }
+    return new CompiledJunctionTree(
+        algorithm,
+        fingerprint,
+        Collections.unmodifiableList(cliqueNodeIds),
+        separatorCliques,
+        cliqueTables,
+        separatorTables);
+  }
+
+  private static long tableLength(Set<Integer> ordinals, List<SerializedNode> nodes) {
+    long length = 1;
+    for (int ordinal : ordinals) length *= nodes.get(ordinal).stateIds().size();
+    return length;
+  }
+
+  private static double[] readDoubles(ByteBuffer in, long expectedLength) throws IOException {
+    int length = in.getInt();
+    if (length != expectedLength || (long) length * Double.BYTES > in.remaining()) {
+      throw new IOException("Invalid prior table length %d".formatted(length));
+    }
+    double[] values = new double[length];
+    in.asDoubleBuffer().get(values);
+    in.position(in.position() + length * Double.BYTES);
+    return values;
+  }
+
+  private SerializedProbabilityConstraint readConstraint(ByteBuffer in, Serializable[] dictionary)
+      throws IOException {
+    byte kind = in.get();
+    return switch (kind) {
+      case MARGINAL -> new SerializedMarginalConstraint(dictionary[in.getInt()], in.getDouble());
+      case CONDITIONAL ->
+          new SerializedConditionalConstraint(
+              dictionary[in.getInt()], lookup(dictionary, readInts(in)), in.getDouble());
+      case JOINT ->
+          new SerializedJointProbabilityConstraint(
+              lookup(dictionary, readInts(in)), lookup(dictionary, readInts(in)), in.getDouble());
+      case SUM ->
+          new SerializedSumConstraint(
+              lookup(dictionary, readInts(in)), lookup(dictionary, readInts(in)), in.getDouble());
+      default -> throw new IOException("Unknown constraint kind %d".formatted(kind));
+    };
+  }
+
+  private Serializable readValue(ByteBuffer in) throws IOException {
+    byte tag = in.get();
+    return switch (tag) {
+      case TAG_STRING -> {
+        byte[] bytes = new byte[count(in)];
+        in.get(bytes);
+        yield new String(bytes, StandardCharsets.UTF_8);
+      }
+      case TAG_INTEGER -> in.getInt();
+      case TAG_LONG -> in.getLong();
+      case TAG_DOUBLE -> in.getDouble();
+      case TAG_BOOLEAN -> in.get() != 0;
+      case TAG_CHARACTER -> (char) in.getInt();
+      default -> throw new IOException("Unknown identifier tag %d".formatted(tag));
+    };
+  }
+
+  private static int count(ByteBuffer in) throws IOException {
+    int count = in.getInt();
+    if (count < 0 || count > in.remaining()) {
+      throw new IOException("Invalid element count %d".formatted(count));
+    }
+    return count;
+  }
+
+  private static int[] readInts(ByteBuffer in) throws IOException {
+    int[] values = new int[count(in)];
+    for (int i = 0; i < values.length; i++) values[i] = in.getInt();
+    return values;
+  }
+
+  private static List<Serializable> lookup(Serializable[] values, int[] indexes) {
+    List<Serializable> list = new ArrayList<>(indexes.length);
+    for (int index : indexes) list.add(values[index]);
+    return Collections.unmodifiableList(list);
+  }
+
+  public record BinaryNetwork(
+      SerializedBayesianNetwork network, CompiledJunctionTree junctionTree) {}
+
+  private static class StructureBuffer {
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 12).order(ByteOrder.LITTLE_ENDIAN);
+
+    private StructureBuffer ensure(int bytes) {
+      if (buffer.remaining() >= bytes) return this;
+      int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+      ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+      buffer = grown.put(buffer.flip());
+      return this;
+    }
+
+    StructureBuffer put(byte value) {
+      ensure(Byte.BYTES).buffer.put(value);
+      return this;
+    }
+
+    StructureBuffer put(byte[] values) {
+      ensure(values.length).buffer.put(values);
+      return this;
+    }
+
+    StructureBuffer put(ByteBuffer values) {
+      ensure(values.remaining()).buffer.put(values);
+      return this;
+    }
+
+    StructureBuffer putInt(int value) {
+      ensure(Integer.BYTES).buffer.putInt(value);
+      return this;
+    }
+
+    StructureBuffer putLong(long value) {
+      ensure(Long.BYTES).buffer.putLong(value);
+      return this;
+    }
+
+    StructureBuffer putDouble(double value) {
+      ensure(Double.BYTES).buffer.putDouble(value);
+      return this;
+    }
+
+    StructureBuffer putDoubles(double[] values) {
+      ensure(values.length * Double.BYTES).buffer.asDoubleBuffer().put(values);
+      buffer.position(buffer.position() + values.length * Double.BYTES);
+      return this;
+    }
+
+    ByteBuffer flip() {
+      return buffer.flip();
+    }
+  }
+
+  private static class CptSection {
+    private final FileChannel channel;
+    private final long offset;
+    private final long values;
+    private final DoubleBuffer mapped;
+
+    CptSection(FileChannel channel, long offset, long fileSize) throws IOException {
+      this.channel = channel;
+      this.offset = offset;
+      this.values = Math.max(0, (fileSize - offset) / Double.BYTES);
+      long bytes = values * Double.BYTES;
+      this.mapped =
+          bytes <= Integer.MAX_VALUE
+              ? channel
+                  .map(FileChannel.MapMode.READ_ONLY, offset, bytes)
+                  .order(ByteOrder.LITTLE_ENDIAN)
+                  .asDoubleBuffer()
+              : null;
+    }
+
+    DoubleBuffer slice(long firstValue, int length) throws IOException {
+      if (firstValue < 0 || firstValue + length > values) {
+        throw new IOException("CPT values lie outside the file");
+      }
+      if (mapped != null) return mapped.slice((int) firstValue, length);
+      return channel
+          .map(FileChannel.MapMode.READ_ONLY, offset + firstValue * Double.BYTES, length * 8L)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .asDoubleBuffer();
+    }
+  }
+}
@@ -4,17 +4,25 @@ import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
 import io.github.alecredmond.internal.serialization.BayesianNetworkSerializer;
 import java.io.*;
+import java.nio.file.Path;
+import java.util.Set;
 import javax.swing.*;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class NetworkFileIO {
+  private static final Set<String> LEGACY_PACKAGES = Set.of("java.lang", "java.util", "java.time");
+  private static final String EXPORT_PACKAGE = "io.github.alecredmond.export";
+  private static final int LEGACY_MAX_DEPTH = 64;
+  private static final int LEGACY_MAX_REFERENCES = 1_000_000;
   private final BayesianNetworkSerializer mapper;
   private final NetworkFileIoProperties properties;
+  private final NetworkBinaryFileIO binaryFileIO;
 
   public NetworkFileIO(BayesianNetworkSerializer mapper) {
     this.mapper = mapper;
     this.properties = new NetworkFileIoProperties();
+    this.binaryFileIO = new NetworkBinaryFileIO();
   }
 
   public boolean saveNetwork(BayesianNetwork network) {
@@ -27,10 +35,36 @@ public class NetworkFileIO {
   }
 
   public boolean saveNetwork(BayesianNetwork network, File selectedFile) {
+    return saveNetwork(network, selectedFile, false);
+  }
+
+  public boolean saveNetwork(
+      BayesianNetwork network, File selectedFile, boolean includeJunctionTree) {
     selectedFile = checkAddExtension(selectedFile);
-    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(selectedFile))) {
+    try {
+      binaryFileIO.write(network, selectedFile.toPath(), includeJunctionTree);
+      log.info("Network saved to {}", selectedFile.getPath());
+      return true;
+    } catch (NotSerializableException e) {
+      log.warn("Falling back to Java serialization: {}", e.getMessage());
+    } catch (IOException e) {
+      log.error("Exception attempting to save network to file: {}", e.getMessage());
+      return false;
+    }
+    return saveSerializedNetwork(network, selectedFile);
+  }
+
+  private boolean saveSerializedNetwork(BayesianNetwork network, File selectedFile) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new LegacyObjectOutputStream(bytes)) {
       SerializedBayesianNetwork sto = mapper.serialize(network);
       out.writeObject(sto);
+    } catch (IOException e) {
+      log.error("Exception attempting to save network to file: {}", e.getMessage());
+      return false;
+    }
+    try (OutputStream out = new FileOutputStream(selectedFile)) {
+      bytes.writeTo(out);
       log.info("Network saved to {}", selectedFile.getPath());
     } catch (IOException e) {
       log.error("Exception attempting to save network to file: {}", e.getMessage());
@@ -39,6 +73,29 @@ public class NetworkFileIO {
     return true;
   }
 
+  // Enums and records are restored by name and canonical constructor rather than by a readObject
+  // hook, so identifiers of those types are safe to admit alongside the JDK value packages.
+  static boolean isLegacyClass(Class<?> type) {
+    while (type.isArray()) type = type.getComponentType();
+    String packageName = type.getPackageName();
+    return type.isPrimitive()
+        || type.isEnum()
+        || type.isRecord()
+        || LEGACY_PACKAGES.contains(packageName)
+        || packageName.equals(EXPORT_PACKAGE)
+        || packageName.startsWith(EXPORT_PACKAGE + ".");
+  }
+
+  static ObjectInputFilter.Status checkLegacyInput(ObjectInputFilter.FilterInfo info) {
+    if (info.depth() > LEGACY_MAX_DEPTH || info.references() > LEGACY_MAX_REFERENCES) {
+      return ObjectInputFilter.Status.REJECTED;
+    }
+    if (info.serialClass() == null) return ObjectInputFilter.Status.UNDECIDED;
+    return isLegacyClass(info.serialClass())
+        ? ObjectInputFilter.Status.ALLOWED
+        : ObjectInputFilter.Status.REJECTED;
+  }
+
   private File checkAddExtension(File file) {
     String fileName = file.getAbsolutePath();
     String extension = properties.getExtension();
@@ -54,7 +111,22 @@ public class NetworkFileIO {
   }
 
   public BayesianNetwork loadNetwork(File selectedFile) {
+    Path path = selectedFile.toPath();
+    try {
+      if (binaryFileIO.isBinaryNetwork(path)) {
+        NetworkBinaryFileIO.BinaryNetwork loaded = binaryFileIO.read(path);
+        return mapper.deSerialize(loaded.network(), loaded.junctionTree());
+      }
+    } catch (IOException e) {
+      log.error("IOException attempting to load network {}", e.getMessage());
+      return null;
+    }
+    return loadSerializedNetwork(selectedFile);
+  }
+
+  private BayesianNetwork loadSerializedNetwork(File selectedFile) {
     try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(selectedFile))) {
+      in.setObjectInputFilter(NetworkFileIO::checkLegacyInput);
       SerializedBayesianNetwork sto = (SerializedBayesianNetwork) in.readObject();
       return mapper.deSerialize(sto);
     } catch (IOException e) {
@@ -74,4 +146,19 @@ public class NetworkFileIO {
     }
     return null;
   }
+
+  private static class LegacyObjectOutputStream extends ObjectOutputStream {
+    LegacyObjectOutputStream(OutputStream out) throws IOException {
+      super(out);
+    }
+
+    @Override
+    protected void annotateClass(Class<?> type) throws IOException {
+      if (!isLegacyClass(type) && !Throwable.class.isAssignableFrom(type)) {
+        throw new NotSerializableException(
+            "%s would be rejected when loading; use a String, boxed primitive, enum or record"
+                .formatted(type.getName()));
+      }
+    }
+  }
 }
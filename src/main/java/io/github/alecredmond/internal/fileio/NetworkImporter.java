@@ -0,0 +1,68 @@
+package io.github.alecredmond.internal.fileio;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.NetworkFileFormat;
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import io.github.alecredmond.internal.fileio.importer.BifNetworkReader;
+import io.github.alecredmond.internal.fileio.importer.HuginNetworkReader;
+import io.github.alecredmond.internal.fileio.importer.XmlBifNetworkReader;
+import io.github.alecredmond.internal.serialization.BayesianNetworkSerializer;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public class NetworkImporter {
+  private final BayesianNetworkSerializer mapper;
+
+  public NetworkImporter(BayesianNetworkSerializer mapper) {
+    this.mapper = mapper;
+  }
+
+  public BayesianNetwork importNetwork(Path file) throws IOException {
+    return importNetwork(file, detectFormat(file));
+  }
+
+  public BayesianNetwork importNetwork(Path file, NetworkFileFormat format) throws IOException {
+    return mapper.deSerialize(read(file, format));
+  }
+
+  public SerializedBayesianNetwork read(Path file, NetworkFileFormat format) throws IOException {
+    String defaultName = stem(file);
+    return switch (format) {
+      case BIF -> {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+          yield new BifNetworkReader(reader, defaultName).read();
+        }
+      }
+      case XMLBIF -> {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+          yield new XmlBifNetworkReader(input, defaultName).read();
+        }
+      }
+      case HUGIN -> {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+          yield new HuginNetworkReader(reader, defaultName).read();
+        }
+      }
+    };
+  }
+
+  public static NetworkFileFormat detectFormat(Path file) throws IOException {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    if (name.endsWith(".bif")) return NetworkFileFormat.BIF;
+    if (name.endsWith(".xml") || name.endsWith(".xmlbif")) return NetworkFileFormat.XMLBIF;
+    if (name.endsWith(".net")) return NetworkFileFormat.HUGIN;
+    throw new IOException("Cannot infer the network format of " + file.getFileName());
+  }
+
+  private static String stem(Path file) {
+    String name = file.getFileName().toString();
+    int dot = name.lastIndexOf('.');
+    return dot > 0 ? name.substring(0, dot) : name;
+  }
+}
@@ -0,0 +1,125 @@
+package io.github.alecredmond.internal.fileio;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.SampleFileFormat;
+import io.github.alecredmond.export.sampler.WeightedSample;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class SampleFileWriter {
+  private static final int MAGIC = 0x4C575353;
+  private static final int VERSION = 1;
+  private static final int BUFFER_BYTES = 1 << 16;
+  private final Node[] nodes;
+  private final String[][] stateIds;
+  private final ByteBuffer buffer;
+
+  public SampleFileWriter(Node[] nodes) {
+    this.nodes = nodes;
+    this.stateIds = new String[nodes.length][];
+    this.buffer =
+        ByteBuffer.allocateDirect(
+            Math.max(BUFFER_BYTES, (3 + nodes.length) * Integer.BYTES + Double.BYTES));
+    for (int i = 0; i < nodes.length; i++) {
+      stateIds[i] =
+          nodes[i].getNodeStates().stream()
+              .map(NodeState::getId)
+              .map(id -> escape(id.toString()))
+              .toArray(String[]::new);
+    }
+  }
+
+  public long write(Stream<WeightedSample> samples, Path file, SampleFileFormat format)
+      throws IOException {
+    long written = 0;
+    buffer.clear();
+    try (FileChannel channel =
+            FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        samples) {
+      Iterator<WeightedSample> iterator = samples.sequential().iterator();
+      if (format == SampleFileFormat.BINARY) {
+        writeBinaryHeader(channel);
+        while (iterator.hasNext()) {
+          writeBinaryRecord(channel, iterator.next());
+          written++;
+        }
+      } else {
+        writeCsvHeader(channel);
+        while (iterator.hasNext()) {
+          writeCsvRecord(channel, iterator.next());
+          written++;
+        }
+      }
+      flush(channel);
+    }
+    return written;
+  }
+
+  private void writeBinaryHeader(FileChannel channel) throws IOException {
+    ensureCapacity(channel, (3 + nodes.length) * Integer.BYTES);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(nodes.length);
+    for (Node node : nodes) buffer.putInt(node.getNodeStates().size());
+  }
+
+  private void writeBinaryRecord(FileChannel channel, WeightedSample sample) throws IOException {
+    ensureCapacity(channel, nodes.length * Integer.BYTES + Double.BYTES);
+    for (int state : sample.states()) buffer.putInt(state);
+    buffer.putDouble(sample.weight());
+  }
+
+  private void writeCsvHeader(FileChannel channel) throws IOException {
+    StringBuilder row = new StringBuilder();
+    for (Node node : nodes) row.append(escape(node.getId().toString())).append(',');
+    writeCsvRow(channel, row.append("weight\n"));
+  }
+
+  private void writeCsvRecord(FileChannel channel, WeightedSample sample) throws IOException {
+    StringBuilder row = new StringBuilder();
+    int[] states = sample.states();
+    for (int i = 0; i < states.length; i++) row.append(stateIds[i][states[i]]).append(',');
+    writeCsvRow(channel, row.append(sample.weight()).append('\n'));
+  }
+
+  private void writeCsvRow(FileChannel channel, StringBuilder row) throws IOException {
+    byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > buffer.capacity()) {
+      flush(channel);
+      writeFully(channel, ByteBuffer.wrap(bytes));
+      return;
+    }
+    ensureCapacity(channel, bytes.length);
+    buffer.put(bytes);
+  }
+
+  private void ensureCapacity(FileChannel channel, int bytes) throws IOException {
+    if (buffer.remaining() < bytes) flush(channel);
+  }
+
+  private void flush(FileChannel channel) throws IOException {
+    buffer.flip();
+    writeFully(channel, buffer);
+    buffer.clear();
+  }
+
+  private void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+    while (source.hasRemaining()) channel.write(source);
+  }
+
+  private static String escape(String value) {
+    if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
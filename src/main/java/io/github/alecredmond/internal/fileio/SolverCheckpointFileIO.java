@@ -0,0 +1,133 @@
+package io.github.alecredmond.internal.fileio;
+
+import io.github.alecredmond.export.solver.SolverAlgorithm;
+import io.github.alecredmond.internal.method.solver.SolverCheckpointImpl;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class SolverCheckpointFileIO {
+  private static final int MAGIC = 0x4152434B;
+  private static final int VERSION = 1;
+
+  public void write(SolverCheckpointImpl checkpoint, Path file) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(measure(checkpoint));
+    buffer.putInt(MAGIC).putInt(VERSION).putLong(checkpoint.getStructureFingerprint());
+    byte[] algorithm = checkpoint.getSolverAlgorithm().name().getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(algorithm.length).put(algorithm);
+    buffer.putInt(checkpoint.getCompletedCycles());
+    putDoubles(buffer, checkpoint.getCycleErrors());
+    int[] frozen = checkpoint.getFrozenConstraintIndexes();
+    buffer.putInt(frozen.length);
+    buffer.asIntBuffer().put(frozen);
+    buffer.position(buffer.position() + frozen.length * Integer.BYTES);
+    putMatrix(buffer, checkpoint.getCliqueTables());
+    putMatrix(buffer, checkpoint.getSeparatorTables());
+    putMatrix(buffer, checkpoint.getConstraintErrors());
+    buffer.flip();
+
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) channel.write(buffer);
+      channel.force(true);
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public SolverCheckpointImpl read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return readCheckpoint(buffer, file);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Checkpoint file %s is truncated or corrupt".formatted(file), e);
+    }
+  }
+
+  private SolverCheckpointImpl readCheckpoint(ByteBuffer buffer, Path file) throws IOException {
+    if (buffer.getInt() != MAGIC) {
+      throw new IOException("%s is not a solver checkpoint".formatted(file));
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported checkpoint version %d in %s".formatted(version, file));
+    }
+    long fingerprint = buffer.getLong();
+    byte[] algorithm = new byte[count(buffer, Byte.BYTES)];
+    buffer.get(algorithm);
+    int completedCycles = buffer.getInt();
+    double[] cycleErrors = getDoubles(buffer);
+    int[] frozen = new int[count(buffer, Integer.BYTES)];
+    buffer.asIntBuffer().get(frozen);
+    buffer.position(buffer.position() + frozen.length * Integer.BYTES);
+    return new SolverCheckpointImpl(
+        fingerprint,
+        SolverAlgorithm.valueOf(new String(algorithm, StandardCharsets.UTF_8)),
+        completedCycles,
+        cycleErrors,
+        frozen,
+        getMatrix(buffer),
+        getMatrix(buffer),
+        getMatrix(buffer));
+  }
+
+  private int measure(SolverCheckpointImpl checkpoint) {
+    long bytes = 5L * Integer.BYTES + Long.BYTES;
+    bytes += checkpoint.getSolverAlgorithm().name().getBytes(StandardCharsets.UTF_8).length;
+    bytes += Integer.BYTES + (long) checkpoint.getCycleErrors().length * Double.BYTES;
+    bytes += (long) checkpoint.getFrozenConstraintIndexes().length * Integer.BYTES;
+    bytes += measureMatrix(checkpoint.getCliqueTables());
+    bytes += measureMatrix(checkpoint.getSeparatorTables());
+    bytes += measureMatrix(checkpoint.getConstraintErrors());
+    return Math.toIntExact(bytes);
+  }
+
+  private long measureMatrix(double[][] matrix) {
+    long bytes = Integer.BYTES;
+    for (double[] row : matrix) bytes += Integer.BYTES + (long) row.length * Double.BYTES;
+    return bytes;
+  }
+
+  private void putMatrix(ByteBuffer buffer, double[][] matrix) {
+    buffer.putInt(matrix.length);
+    for (double[] row : matrix) putDoubles(buffer, row);
+  }
+
+  private void putDoubles(ByteBuffer buffer, double[] values) {
+    buffer.putInt(values.length);
+    buffer.asDoubleBuffer().put(values);
+    buffer.position(buffer.position() + values.length * Double.BYTES);
+  }
+
+  private double[][] getMatrix(ByteBuffer buffer) throws IOException {
+    double[][] matrix = new double[count(buffer, Integer.BYTES)][];
+    for (int i = 0; i < matrix.length; i++) matrix[i] = getDoubles(buffer);
+    return matrix;
+  }
+
+  private double[] getDoubles(ByteBuffer buffer) throws IOException {
+    double[] values = new double[count(buffer, Double.BYTES)];
+    buffer.asDoubleBuffer().get(values);
+    buffer.position(buffer.position() + values.length * Double.BYTES);
+    return values;
+  }
+
+  private static int count(ByteBuffer buffer, int elementBytes) throws IOException {
+    int count = buffer.getInt();
+    if (count < 0 || (long) count * elementBytes > buffer.remaining()) {
+      throw new IOException("Invalid element count %d".formatted(count));
+    }
+    return count;
+  }
+}
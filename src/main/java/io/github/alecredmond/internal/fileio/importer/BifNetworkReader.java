@@ -0,0 +1,153 @@
+package io.github.alecredmond.internal.fileio.importer;
+
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BifNetworkReader {
+  private final ImportedNetworkAssembler assembler = new ImportedNetworkAssembler();
+  private final NetworkTokenizer tokenizer;
+  private String networkName;
+
+  public BifNetworkReader(Reader reader, String defaultName) {
+    this.tokenizer = new NetworkTokenizer(reader, false);
+    this.networkName = defaultName;
+  }
+
+  public SerializedBayesianNetwork read() throws IOException {
+    tokenizer.advance();
+    while (tokenizer.type() != NetworkTokenizer.EOF) {
+      if (tokenizer.isWord("network")) readNetwork();
+      else if (tokenizer.isWord("variable")) readVariable();
+      else if (tokenizer.isWord("probability")) readProbability();
+      else throw tokenizer.fail("Unexpected '%s'".formatted(tokenizer.text()));
+    }
+    return assembler.build(networkName);
+  }
+
+  private void readNetwork() throws IOException {
+    tokenizer.advance();
+    networkName = tokenizer.expectName();
+    tokenizer.expect('{');
+    while (!tokenizer.isSymbol('}')) tokenizer.skipStatement();
+    tokenizer.advance();
+  }
+
+  private void readVariable() throws IOException {
+    tokenizer.advance();
+    String node = tokenizer.expectName();
+    tokenizer.expect('{');
+    List<String> states = null;
+    while (!tokenizer.isSymbol('}')) {
+      if (tokenizer.isWord("type")) {
+        states = readStates();
+      } else {
+        tokenizer.skipStatement();
+      }
+    }
+    tokenizer.advance();
+    if (states == null) throw tokenizer.fail("Variable '%s' has no type".formatted(node));
+    assembler.declareNode(node, states);
+  }
+
+  private List<String> readStates() throws IOException {
+    tokenizer.advance();
+    tokenizer.expectWord("discrete");
+    tokenizer.expect('[');
+    int declared = (int) tokenizer.number();
+    tokenizer.advance();
+    tokenizer.expect(']');
+    tokenizer.expect('{');
+    List<String> states = new ArrayList<>(declared);
+    while (!tokenizer.isSymbol('}')) {
+      states.add(tokenizer.expectName());
+      if (tokenizer.isSymbol(',')) tokenizer.advance();
+    }
+    tokenizer.advance();
+    tokenizer.expect(';');
+    if (states.size() != declared) {
+      throw tokenizer.fail("Expected %d states but found %d".formatted(declared, states.size()));
+    }
+    return states;
+  }
+
+  private void readProbability() throws IOException {
+    tokenizer.advance();
+    tokenizer.expect('(');
+    String node = tokenizer.expectName();
+    List<String> parents = new ArrayList<>();
+    while (!tokenizer.isSymbol(')')) {
+      if (tokenizer.isSymbol('|') || tokenizer.isSymbol(',')) tokenizer.advance();
+      else parents.add(tokenizer.expectName());
+    }
+    tokenizer.advance();
+    tokenizer.expect('{');
+
+    int states = assembler.stateCount(node);
+    double[] values = new double[assembler.tableLength(node, parents)];
+    boolean[] rowSet = new boolean[values.length / states];
+    double[] defaultRow = null;
+    while (!tokenizer.isSymbol('}')) {
+      if (tokenizer.isSymbol('(')) {
+        int row = readRowIndex(parents);
+        readValues(values, row * states, states);
+        rowSet[row] = true;
+      } else if (tokenizer.isWord("table")) {
+        tokenizer.advance();
+        readTable(values, states);
+        Arrays.fill(rowSet, true);
+      } else if (tokenizer.isWord("default")) {
+        tokenizer.advance();
+        defaultRow = new double[states];
+        readValues(defaultRow, 0, states);
+      } else {
+        tokenizer.skipStatement();
+      }
+    }
+    tokenizer.advance();
+    for (int row = 0; row < rowSet.length; row++) {
+      if (rowSet[row]) continue;
+      if (defaultRow == null) {
+        throw tokenizer.fail("CPT of '%s' is missing row %d".formatted(node, row));
+      }
+      System.arraycopy(defaultRow, 0, values, row * states, states);
+    }
+    assembler.addTable(node, parents, values);
+  }
+
+  private int readRowIndex(List<String> parents) throws IOException {
+    tokenizer.advance();
+    int row = 0;
+    for (int p = 0; p < parents.size(); p++) {
+      if (p > 0 && tokenizer.isSymbol(',')) tokenizer.advance();
+      String parent = parents.get(p);
+      String state = tokenizer.expectName();
+      row = row * assembler.stateCount(parent) + assembler.stateIndex(parent, state);
+    }
+    tokenizer.expect(')');
+    return row;
+  }
+
+  private void readValues(double[] target, int offset, int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      if (i > 0 && tokenizer.isSymbol(',')) tokenizer.advance();
+      target[offset + i] = tokenizer.number();
+      tokenizer.advance();
+    }
+    tokenizer.expect(';');
+  }
+
+  // A BIF table varies the defined node slowest, while the network table varies it fastest.
+  private void readTable(double[] values, int states) throws IOException {
+    int rows = values.length / states;
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0 && tokenizer.isSymbol(',')) tokenizer.advance();
+      values[(i % rows) * states + i / rows] = tokenizer.number();
+      tokenizer.advance();
+    }
+    tokenizer.expect(';');
+  }
+}
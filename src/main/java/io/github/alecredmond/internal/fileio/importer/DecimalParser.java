@@ -0,0 +1,80 @@
+package io.github.alecredmond.internal.fileio.importer;
+
+public class DecimalParser {
+  private static final int MAX_MANTISSA_DIGITS = 18;
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private DecimalParser() {}
+
+  // Clinger's fast path: a mantissa below 2^53 scaled by an exact power of ten is correctly rounded
+  // by a single multiplication or division. Anything else falls back to Double.parseDouble.
+  public static double parse(CharSequence text) {
+    int length = text.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+      negative = text.charAt(0) == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean seenDigit = false;
+    boolean seenPoint = false;
+    for (; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '.' && !seenPoint) {
+        seenPoint = true;
+      } else if (c >= '0' && c <= '9') {
+        seenDigit = true;
+        if (mantissa == 0 && c == '0') {
+          if (seenPoint) exponent--;
+        } else if (digits < MAX_MANTISSA_DIGITS) {
+          mantissa = mantissa * 10 + (c - '0');
+          digits++;
+          if (seenPoint) exponent--;
+        } else {
+          return Double.parseDouble(text.toString());
+        }
+      } else {
+        break;
+      }
+    }
+    if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      int exponentEnd = parseExponent(text, i + 1);
+      if (exponentEnd < 0) return Double.parseDouble(text.toString());
+      exponent += exponentValue(text, i + 1, exponentEnd);
+      i = exponentEnd;
+    }
+    if (i != length || !seenDigit || mantissa >= MAX_EXACT_MANTISSA) {
+      return Double.parseDouble(text.toString());
+    }
+    if (mantissa == 0) return negative ? -0.0 : 0.0;
+    if (Math.abs(exponent) >= POWERS_OF_TEN.length) return Double.parseDouble(text.toString());
+    double value =
+        exponent < 0
+            ? mantissa / POWERS_OF_TEN[-exponent]
+            : mantissa * POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  private static int parseExponent(CharSequence text, int start) {
+    int i = start;
+    if (i < text.length() && (text.charAt(i) == '-' || text.charAt(i) == '+')) i++;
+    int digitsStart = i;
+    while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') i++;
+    return i == digitsStart || i - digitsStart > 4 ? -1 : i;
+  }
+
+  private static int exponentValue(CharSequence text, int start, int end) {
+    boolean negative = text.charAt(start) == '-';
+    int i = text.charAt(start) == '-' || text.charAt(start) == '+' ? start + 1 : start;
+    int value = 0;
+    for (; i < end; i++) value = value * 10 + (text.charAt(i) - '0');
+    return negative ? -value : value;
+  }
+}
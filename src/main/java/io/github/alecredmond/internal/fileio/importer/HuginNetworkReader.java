@@ -0,0 +1,128 @@
+package io.github.alecredmond.internal.fileio.importer;
+
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class HuginNetworkReader {
+  private static final Set<String> UNSUPPORTED =
+      Set.of("class", "continuous", "decision", "utility", "function");
+  private final ImportedNetworkAssembler assembler = new ImportedNetworkAssembler();
+  private final NetworkTokenizer tokenizer;
+  private String networkName;
+
+  public HuginNetworkReader(Reader reader, String defaultName) {
+    this.tokenizer = new NetworkTokenizer(reader, true);
+    this.networkName = defaultName;
+  }
+
+  public SerializedBayesianNetwork read() throws IOException {
+    tokenizer.advance();
+    while (tokenizer.type() != NetworkTokenizer.EOF) {
+      if (tokenizer.isWord("net")) {
+        readNet();
+      } else if (tokenizer.isWord("discrete")) {
+        tokenizer.advance();
+      } else if (tokenizer.isWord("node")) {
+        readNode();
+      } else if (tokenizer.isWord("potential")) {
+        readPotential();
+      } else if (tokenizer.type() == NetworkTokenizer.WORD
+          && UNSUPPORTED.contains(tokenizer.text())) {
+        throw tokenizer.fail("Unsupported Hugin construct '%s'".formatted(tokenizer.text()));
+      } else {
+        throw tokenizer.fail("Unexpected '%s'".formatted(tokenizer.text()));
+      }
+    }
+    return assembler.build(networkName);
+  }
+
+  private void readNet() throws IOException {
+    tokenizer.advance();
+    tokenizer.expect('{');
+    while (!tokenizer.isSymbol('}')) {
+      if (tokenizer.isWord("name")) {
+        tokenizer.advance();
+        tokenizer.expect('=');
+        networkName = tokenizer.expectName();
+        tokenizer.expect(';');
+      } else {
+        tokenizer.skipStatement();
+      }
+    }
+    tokenizer.advance();
+  }
+
+  private void readNode() throws IOException {
+    tokenizer.advance();
+    String node = tokenizer.expectName();
+    tokenizer.expect('{');
+    List<String> states = null;
+    while (!tokenizer.isSymbol('}')) {
+      if (tokenizer.isWord("states")) {
+        tokenizer.advance();
+        tokenizer.expect('=');
+        tokenizer.expect('(');
+        states = new ArrayList<>();
+        while (!tokenizer.isSymbol(')')) states.add(tokenizer.expectName());
+        tokenizer.advance();
+        tokenizer.expect(';');
+      } else {
+        tokenizer.skipStatement();
+      }
+    }
+    tokenizer.advance();
+    if (states == null) throw tokenizer.fail("Node '%s' has no states".formatted(node));
+    assembler.declareNode(node, states);
+  }
+
+  private void readPotential() throws IOException {
+    tokenizer.advance();
+    tokenizer.expect('(');
+    String node = tokenizer.expectName();
+    List<String> parents = new ArrayList<>();
+    if (tokenizer.isSymbol('|')) {
+      tokenizer.advance();
+      while (!tokenizer.isSymbol(')')) parents.add(tokenizer.expectName());
+    }
+    tokenizer.expect(')');
+    tokenizer.expect('{');
+    double[] values = null;
+    while (!tokenizer.isSymbol('}')) {
+      if (tokenizer.isWord("data")) {
+        tokenizer.advance();
+        tokenizer.expect('=');
+        values = new double[assembler.tableLength(node, parents)];
+        readData(values);
+        tokenizer.expect(';');
+      } else {
+        tokenizer.skipStatement();
+      }
+    }
+    tokenizer.advance();
+    if (values == null) throw tokenizer.fail("Potential of '%s' has no data".formatted(node));
+    assembler.addTable(node, parents, values);
+  }
+
+  private void readData(double[] values) throws IOException {
+    int depth = 0;
+    int count = 0;
+    do {
+      if (tokenizer.isSymbol('(')) {
+        depth++;
+      } else if (tokenizer.isSymbol(')')) {
+        depth--;
+      } else {
+        if (count == values.length) throw tokenizer.fail("Potential has too many values");
+        values[count++] = tokenizer.number();
+      }
+      tokenizer.advance();
+    } while (depth > 0);
+    if (count != values.length) {
+      throw tokenizer.fail("Expected %d values but found %d".formatted(values.length, count));
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package io.github.alecredmond.internal.fileio.importer;
+
+import io.github.alecredmond.export.constraints.serialized.SerializedConditionalConstraint;
+import io.github.alecredmond.export.constraints.serialized.SerializedMarginalConstraint;
+import io.github.alecredmond.export.constraints.serialized.SerializedProbabilityConstraint;
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import io.github.alecredmond.export.node.serialized.SerializedNode;
+import io.github.alecredmond.export.probabilitytables.serialized.SerializedNetworkTable;
+import io.github.alecredmond.internal.method.probabilitytables.TableUtils;
+import io.github.alecredmond.internal.serialization.DoubleBufferList;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.util.*;
+
+public class ImportedNetworkAssembler {
+  private final Map<String, List<String>> nodeStates = new LinkedHashMap<>();
+  private final Map<String, Map<String, Integer>> stateIndexes = new HashMap<>();
+  private final Map<String, ImportedTable> tables = new HashMap<>();
+
+  public void declareNode(String node, List<String> states) throws IOException {
+    if (states.isEmpty()) throw new IOException("Node '%s' has no states".formatted(node));
+    if (nodeStates.putIfAbsent(node, List.copyOf(states)) != null) {
+      throw new IOException("Node '%s' is declared more than once".formatted(node));
+    }
+    Map<String, Integer> indexes = new HashMap<>();
+    for (String state : states) {
+      if (indexes.putIfAbsent(state, indexes.size()) != null) {
+        throw new IOException("Node '%s' declares state '%s' twice".formatted(node, state));
+      }
+    }
+    stateIndexes.put(node, indexes);
+  }
+
+  public int stateCount(String node) throws IOException {
+    return states(node).size();
+  }
+
+  public int stateIndex(String node, String state) throws IOException {
+    states(node);
+    Integer index = stateIndexes.get(node).get(state);
+    if (index == null) {
+      throw new IOException("Node '%s' has no state '%s'".formatted(node, state));
+    }
+    return index;
+  }
+
+  private List<String> states(String node) throws IOException {
+    List<String> states = nodeStates.get(node);
+    if (states == null) throw new IOException("Node '%s' has not been declared".formatted(node));
+    return states;
+  }
+
+  public int tableLength(String node, List<String> parents) throws IOException {
+    long length = stateCount(node);
+    for (String parent : parents) {
+      length *= stateCount(parent);
+      if (length > Integer.MAX_VALUE) {
+        throw new IOException("CPT of node '%s' exceeds 2^31 - 1 entries".formatted(node));
+      }
+    }
+    return (int) length;
+  }
+
+  public void addTable(String node, List<String> parents, double[] values) throws IOException {
+    if (values.length != tableLength(node, parents)) {
+      throw new IOException(
+          "CPT of node '%s' requires %d values, but has %d"
+              .formatted(node, tableLength(node, parents), values.length));
+    }
+    if (new HashSet<>(parents).size() != parents.size() || parents.contains(node)) {
+      throw new IOException("CPT of node '%s' has repeated parents".formatted(node));
+    }
+    if (tables.putIfAbsent(node, new ImportedTable(List.copyOf(parents), values)) != null) {
+      throw new IOException("Node '%s' has more than one CPT".formatted(node));
+    }
+  }
+
+  public SerializedBayesianNetwork build(String networkName) throws IOException {
+    for (String node : nodeStates.keySet()) {
+      if (!tables.containsKey(node)) throw new IOException("Node '%s' has no CPT".formatted(node));
+    }
+    Map<String, List<Serializable>> children = new HashMap<>();
+    nodeStates.keySet().forEach(node -> children.put(node, new ArrayList<>()));
+    for (String node : nodeStates.keySet()) {
+      for (String parent : tables.get(node).parents()) children.get(parent).add(node);
+    }
+    Map<String, List<Serializable>> stateIds = new HashMap<>();
+    nodeStates.keySet().forEach(node -> stateIds.put(node, stateIds(node)));
+    List<SerializedNode> nodes = new ArrayList<>(nodeStates.size());
+    List<SerializedNetworkTable> networkTables = new ArrayList<>(nodeStates.size());
+    List<SerializedProbabilityConstraint> constraints = new ArrayList<>();
+    Map<String, Integer> layers = new HashMap<>();
+    for (String node : topologicalOrder(children)) {
+      List<Serializable> parents = List.copyOf(tables.get(node).parents());
+      nodes.add(new SerializedNode(node, stateIds.get(node), parents, children.get(node)));
+      addConstraints(node, stateIds, constraints);
+      ImportedTable table = orderByLayer(node, tables.get(node), layers);
+      List<Serializable> conditions = List.copyOf(table.parents());
+      networkTables.add(
+          new SerializedNetworkTable(
+              node,
+              conditions,
+              TableUtils.buildTableName(List.of(node), conditions),
+              new DoubleBufferList(DoubleBuffer.wrap(table.values()))));
+    }
+    return new SerializedBayesianNetwork(networkName, nodes, networkTables, constraints, true);
+  }
+
+  // Each CPT entry becomes a constraint, as BayesianNetworkBuilder does, so the imported tables
+  // survive later edits that reset the network before it is solved again.
+  private void addConstraints(
+      String node,
+      Map<String, List<Serializable>> stateIds,
+      List<SerializedProbabilityConstraint> constraints)
+      throws IOException {
+    ImportedTable table = tables.get(node);
+    List<Serializable> events = stateIds.get(node);
+    double[] values = table.values();
+    int[] parentStates = new int[table.parents().size()];
+    for (int offset = 0; offset < values.length; offset += events.size()) {
+      List<Serializable> condition = new ArrayList<>(parentStates.length);
+      for (int p = 0; p < parentStates.length; p++) {
+        condition.add(stateIds.get(table.parents().get(p)).get(parentStates[p]));
+      }
+      for (int s = 0; s < events.size(); s++) {
+        double probability = values[offset + s];
+        if (!(probability >= 0.0 && probability <= 1.0)) {
+          throw new IOException(
+              "CPT of node '%s' has probability %s outside [0, 1]".formatted(node, probability));
+        }
+        constraints.add(
+            condition.isEmpty()
+                ? new SerializedMarginalConstraint(events.get(s), probability)
+                : new SerializedConditionalConstraint(events.get(s), condition, probability));
+      }
+      for (int p = parentStates.length - 1; p >= 0; p--) {
+        if (++parentStates[p] < nodeStates.get(table.parents().get(p)).size()) break;
+        parentStates[p] = 0;
+      }
+    }
+  }
+
+  // Network tables list their conditions by layer, as NetworkDataBuilder orders them, so the
+  // file's parent order is permuted to match before the values are stored.
+  private ImportedTable orderByLayer(
+      String node, ImportedTable table, Map<String, Integer> layers) {
+    List<String> parents = table.parents();
+    layers.put(node, parents.stream().mapToInt(layers::get).map(l -> l + 1).max().orElse(0));
+    List<String> ordered = parents.stream().sorted(Comparator.comparingInt(layers::get)).toList();
+    if (ordered.equals(parents)) return table;
+
+    int[] strides = new int[parents.size()];
+    int stride = nodeStates.get(node).size();
+    for (int p = parents.size() - 1; p >= 0; p--) {
+      strides[p] = stride;
+      stride *= nodeStates.get(parents.get(p)).size();
+    }
+    int[] orderedStrides = ordered.stream().mapToInt(p -> strides[parents.indexOf(p)]).toArray();
+    int[] parentStates = new int[ordered.size()];
+    int events = nodeStates.get(node).size();
+    double[] values = table.values();
+    double[] orderedValues = new double[values.length];
+    for (int offset = 0; offset < values.length; offset += events) {
+      int source = 0;
+      for (int p = 0; p < parentStates.length; p++) source += parentStates[p] * orderedStrides[p];
+      System.arraycopy(values, source, orderedValues, offset, events);
+      for (int p = parentStates.length - 1; p >= 0; p--) {
+        if (++parentStates[p] < nodeStates.get(ordered.get(p)).size()) break;
+        parentStates[p] = 0;
+      }
+    }
+    return new ImportedTable(ordered, orderedValues);
+  }
+
+  private List<Serializable> stateIds(String node) {
+    return nodeStates.get(node).stream().map(state -> (Serializable) (node + ":" + state)).toList();
+  }
+
+  private List<String> topologicalOrder(Map<String, List<Serializable>> children)
+      throws IOException {
+    Map<String, Integer> unvisitedParents = new HashMap<>();
+    Deque<String> ready = new ArrayDeque<>();
+    for (String node : nodeStates.keySet()) {
+      int parentCount = tables.get(node).parents().size();
+      unvisitedParents.put(node, parentCount);
+      if (parentCount == 0) ready.add(node);
+    }
+    List<String> order = new ArrayList<>(nodeStates.size());
+    while (!ready.isEmpty()) {
+      String node = ready.poll();
+      order.add(node);
+      for (Serializable child : children.get(node)) {
+        if (unvisitedParents.merge((String) child, -1, Integer::sum) == 0) {
+          ready.add((String) child);
+        }
+      }
+    }
+    if (order.size() != nodeStates.size()) {
+      throw new IOException("Imported network contains a directed cycle");
+    }
+    return order;
+  }
+
+  private record ImportedTable(List<String> parents, double[] values) {}
+}
@@ -0,0 +1,174 @@
+package io.github.alecredmond.internal.fileio.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public class NetworkTokenizer {
+  public static final int EOF = 0;
+  public static final int WORD = 1;
+  public static final int STRING = 2;
+  public static final int SYMBOL = 3;
+  private static final String SYMBOLS = "{}()[];,|=";
+  private final Reader reader;
+  private final boolean percentComments;
+  private final char[] buffer = new char[1 << 13];
+  private final StringBuilder text = new StringBuilder();
+  private int position;
+  private int limit;
+  private int line = 1;
+  private int type;
+  private char symbol;
+
+  public NetworkTokenizer(Reader reader, boolean percentComments) {
+    this.reader = reader;
+    this.percentComments = percentComments;
+  }
+
+  public int advance() throws IOException {
+    text.setLength(0);
+    int c = skipWhitespaceAndComments();
+    if (c < 0) return type = EOF;
+    if (SYMBOLS.indexOf(c) >= 0) {
+      symbol = (char) c;
+      return type = SYMBOL;
+    }
+    if (c == '"') {
+      readString();
+      return type = STRING;
+    }
+    text.append((char) c);
+    for (c = peekChar(); c >= 0 && isWordChar(c); c = peekChar()) text.append((char) readChar());
+    return type = WORD;
+  }
+
+  private int skipWhitespaceAndComments() throws IOException {
+    while (true) {
+      int c = readChar();
+      if (c < 0) return c;
+      if (Character.isWhitespace(c)) continue;
+      if (percentComments && c == '%') {
+        skipLine();
+      } else if (!percentComments && c == '/' && peekChar() == '/') {
+        skipLine();
+      } else if (!percentComments && c == '/' && peekChar() == '*') {
+        readChar();
+        skipBlockComment();
+      } else {
+        return c;
+      }
+    }
+  }
+
+  private void skipLine() throws IOException {
+    for (int c = readChar(); c >= 0 && c != '\n'; c = readChar()) {}
+  }
+
+  private void skipBlockComment() throws IOException {
+    int previous = 0;
+    for (int c = readChar(); c >= 0; c = readChar()) {
+      if (previous == '*' && c == '/') return;
+      previous = c;
+    }
+    throw fail("Unterminated comment");
+  }
+
+  private void readString() throws IOException {
+    for (int c = readChar(); c != '"'; c = readChar()) {
+      if (c < 0) throw fail("Unterminated string");
+      if (c == '\\') c = readChar();
+      text.append((char) c);
+    }
+  }
+
+  private boolean isWordChar(int c) {
+    return !Character.isWhitespace(c)
+        && SYMBOLS.indexOf(c) < 0
+        && c != '"'
+        && !(percentComments && c == '%');
+  }
+
+  private int readChar() throws IOException {
+    if (position == limit && !fill()) return -1;
+    char c = buffer[position++];
+    if (c == '\n') line++;
+    return c;
+  }
+
+  private int peekChar() throws IOException {
+    if (position == limit && !fill()) return -1;
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+    limit = reader.read(buffer, 0, buffer.length);
+    position = 0;
+    if (limit > 0) return true;
+    limit = 0;
+    return false;
+  }
+
+  public int type() {
+    return type;
+  }
+
+  public boolean isSymbol(char expected) {
+    return type == SYMBOL && symbol == expected;
+  }
+
+  public boolean isWord(String keyword) {
+    return type == WORD && keyword.contentEquals(text);
+  }
+
+  public boolean isName() {
+    return type == WORD || type == STRING;
+  }
+
+  public String text() {
+    return type == SYMBOL ? String.valueOf(symbol) : type == EOF ? "end of file" : text.toString();
+  }
+
+  public double number() throws IOException {
+    if (type != WORD) throw fail("Expected a number but found '%s'".formatted(text()));
+    try {
+      return DecimalParser.parse(text);
+    } catch (NumberFormatException e) {
+      throw fail("Expected a number but found '%s'".formatted(text()));
+    }
+  }
+
+  public void expect(char expected) throws IOException {
+    if (!isSymbol(expected)) {
+      throw fail("Expected '%s' but found '%s'".formatted(expected, text()));
+    }
+    advance();
+  }
+
+  public String expectName() throws IOException {
+    if (!isName()) throw fail("Expected a name but found '%s'".formatted(text()));
+    String name = text();
+    advance();
+    return name;
+  }
+
+  public void expectWord(String keyword) throws IOException {
+    if (!isWord(keyword)) {
+      throw fail("Expected '%s' but found '%s'".formatted(keyword, text()));
+    }
+    advance();
+  }
+
+  public void skipStatement() throws IOException {
+    int depth = 0;
+    while (depth > 0 || !isSymbol(';')) {
+      if (type == EOF) throw fail("Unexpected end of file");
+      if (isSymbol('{') || isSymbol('(')) depth++;
+      if (isSymbol('}') || isSymbol(')')) depth--;
+      advance();
+    }
+    advance();
+  }
+
+  public IOException fail(String message) {
+    return new IOException("Line %d: %s".formatted(line, message));
+  }
+}
@@ -0,0 +1,139 @@
+package io.github.alecredmond.internal.fileio.importer;
+
+import static javax.xml.stream.XMLStreamConstants.*;
+
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+public class XmlBifNetworkReader {
+  private final ImportedNetworkAssembler assembler = new ImportedNetworkAssembler();
+  private final InputStream input;
+  private String networkName;
+
+  public XmlBifNetworkReader(InputStream input, String defaultName) {
+    this.input = input;
+    this.networkName = defaultName;
+  }
+
+  public SerializedBayesianNetwork read() throws IOException {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    try {
+      XMLStreamReader reader = factory.createXMLStreamReader(input);
+      try {
+        readDocument(reader);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("Malformed XMLBIF: " + e.getMessage(), e);
+    }
+    return assembler.build(networkName);
+  }
+
+  private void readDocument(XMLStreamReader reader) throws XMLStreamException, IOException {
+    while (reader.hasNext()) {
+      if (reader.next() != START_ELEMENT) continue;
+      String element = reader.getLocalName();
+      if (element.equalsIgnoreCase("NAME")) networkName = reader.getElementText().trim();
+      else if (element.equalsIgnoreCase("VARIABLE")) readVariable(reader);
+      else if (element.equalsIgnoreCase("DEFINITION")) readDefinition(reader);
+      else if (element.equalsIgnoreCase("PROBABILITY")) readDefinition(reader);
+    }
+  }
+
+  private void readVariable(XMLStreamReader reader) throws XMLStreamException, IOException {
+    String type = reader.getAttributeValue(null, "TYPE");
+    if (type != null && !type.equalsIgnoreCase("nature")) {
+      throw fail(reader, "Unsupported variable type '%s'".formatted(type));
+    }
+    String node = null;
+    List<String> states = new ArrayList<>();
+    while (reader.nextTag() == START_ELEMENT) {
+      String element = reader.getLocalName();
+      if (element.equalsIgnoreCase("NAME")) node = reader.getElementText().trim();
+      else if (element.equalsIgnoreCase("OUTCOME")) states.add(reader.getElementText().trim());
+      else skipElement(reader);
+    }
+    if (node == null) throw fail(reader, "Variable has no NAME");
+    assembler.declareNode(node, states);
+  }
+
+  private void readDefinition(XMLStreamReader reader) throws XMLStreamException, IOException {
+    String node = null;
+    List<String> parents = new ArrayList<>();
+    double[] values = null;
+    while (reader.nextTag() == START_ELEMENT) {
+      String element = reader.getLocalName();
+      if (element.equalsIgnoreCase("FOR")) {
+        node = reader.getElementText().trim();
+      } else if (element.equalsIgnoreCase("GIVEN")) {
+        parents.add(reader.getElementText().trim());
+      } else if (element.equalsIgnoreCase("TABLE")) {
+        if (node == null) throw fail(reader, "TABLE appears before FOR");
+        values = new double[assembler.tableLength(node, parents)];
+        readTable(reader, values);
+      } else {
+        skipElement(reader);
+      }
+    }
+    if (values == null) throw fail(reader, "Definition of '%s' has no TABLE".formatted(node));
+    assembler.addTable(node, parents, values);
+  }
+
+  private void readTable(XMLStreamReader reader, double[] values)
+      throws XMLStreamException, IOException {
+    StringBuilder token = new StringBuilder();
+    int count = 0;
+    for (int event = reader.next(); event != END_ELEMENT; event = reader.next()) {
+      if (event == START_ELEMENT) throw fail(reader, "Unexpected element inside TABLE");
+      if (event != CHARACTERS && event != CDATA && event != SPACE) continue;
+      char[] characters = reader.getTextCharacters();
+      int end = reader.getTextStart() + reader.getTextLength();
+      for (int i = reader.getTextStart(); i < end; i++) {
+        char c = characters[i];
+        if (Character.isWhitespace(c) || c == ',') {
+          count = appendValue(reader, token, values, count);
+        } else {
+          token.append(c);
+        }
+      }
+    }
+    count = appendValue(reader, token, values, count);
+    if (count != values.length) {
+      throw fail(reader, "Expected %d values but found %d".formatted(values.length, count));
+    }
+  }
+
+  private int appendValue(XMLStreamReader reader, StringBuilder token, double[] values, int count)
+      throws IOException {
+    if (token.isEmpty()) return count;
+    if (count == values.length) throw fail(reader, "TABLE has too many values");
+    try {
+      values[count] = DecimalParser.parse(token);
+    } catch (NumberFormatException e) {
+      throw fail(reader, "Expected a number but found '%s'".formatted(token));
+    }
+    token.setLength(0);
+    return count + 1;
+  }
+
+  private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    for (int depth = 1; depth > 0; ) {
+      int event = reader.next();
+      if (event == START_ELEMENT) depth++;
+      else if (event == END_ELEMENT) depth--;
+    }
+  }
+
+  private IOException fail(XMLStreamReader reader, String message) {
+    return new IOException("Line %d: %s".formatted(reader.getLocation().getLineNumber(), message));
+  }
+}
@@ -6,6 +6,7 @@ import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.NodeState;
 import io.github.alecredmond.internal.application.constraint.ConstraintFactoryOutput;
 import io.github.alecredmond.internal.method.node.NodeUtils;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
 import java.util.*;
 import java.util.function.Predicate;
 import lombok.NonNull;
@@ -85,9 +86,9 @@ public class NetworkConstraintHandler {
 
   public ProbabilityConstraint getConstraint(
       Set<NodeState> eventStates, Set<NodeState> conditionStates) {
-    return networkData.getConstraints().parallelStream()
-        .filter(exactMatch(eventStates, conditionStates))
-        .findFirst()
-        .orElse(null);
+    return ParallelTasks.run(
+        null,
+        networkData.getConstraints(),
+        stream -> stream.filter(exactMatch(eventStates, conditionStates)).findFirst().orElse(null));
   }
 }
@@ -17,6 +17,7 @@ import io.github.alecredmond.internal.method.vectoriterator.iteratorutils.update
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -25,13 +26,25 @@ public class ConstraintSolverBase
   protected final VectorIterator<VectorOdometer> iterator;
   protected final ProbabilityConstraint constraint;
   protected final List<Double> errors = new ArrayList<>();
-  protected final boolean[] outerIterationIsEvidence;
   protected final Accumulators acm = new Accumulators();
+  private final TableIndexSet eventIndexes;
+  private final TableIndexSet complementIndexes;
 
   public ConstraintSolverBase(ProbabilityConstraint constraint, JunctionTreeTable table) {
     this.constraint = constraint;
     this.iterator = new VectorIterator<>(table.getVector(), this, VectorOdometer::new);
-    this.outerIterationIsEvidence = ResetLogicUtils.preBuildEvidenceCheckArray(iterator);
+    boolean[] outerIterationIsEvidence = ResetLogicUtils.preBuildEvidenceCheckArray(iterator);
+    IntStream.Builder events = IntStream.builder();
+    IntStream.Builder complements = IntStream.builder();
+    int[] outerIterationIndex = {0};
+    iterator.iterateOuter(
+        () -> {
+          boolean isEventPosition = outerIterationIsEvidence[outerIterationIndex[0]++];
+          IntStream.Builder target = isEventPosition ? events : complements;
+          iterator.iterateInner((o, i) -> target.add(i));
+        });
+    this.eventIndexes = TableIndexSet.of(events.build().toArray());
+    this.complementIndexes = TableIndexSet.of(complements.build().toArray());
   }
 
   @Override
@@ -66,24 +79,64 @@ public class ConstraintSolverBase
     return storeError(Math.pow(actualProb - expectedProb, 2));
   }
 
+  @Override
+  public double measureError() {
+    acm.resetAccumulators();
+    calculateProbability(iterator.getController().getOdometer().getProbabilities());
+    double actualProb = getRatio(acm.eventJointProb, acm.conditionJointProb);
+    return Math.pow(actualProb - constraint.getProbability(), 2);
+  }
+
+  @Override
+  public double measureDualGradient() {
+    acm.resetAccumulators();
+    calculateProbability(iterator.getController().getOdometer().getProbabilities());
+    return acm.eventJointProb - constraint.getProbability() * acm.conditionJointProb;
+  }
+
+  @Override
+  public void applyDualFactor(double lambda) {
+    double expectedProb = constraint.getProbability();
+    double[] probabilities = iterator.getController().getOdometer().getProbabilities();
+    adjustToRatio(
+        dualRatio(lambda, 1 - expectedProb), dualRatio(lambda, -expectedProb), probabilities);
+  }
+
+  private double dualRatio(double lambda, double moment) {
+    return moment == 0 ? 1.0 : Math.exp(lambda * moment);
+  }
+
+  @Override
+  public ProbabilityConstraint getConstraint() {
+    return constraint;
+  }
+
   public void updateResults(
       Map<ProbabilityConstraint, double[]> results, int lastCycle, Set<Clique> cliques) {
-    int runsPerCycle = cliques.size();
-    double[] errorArray = new double[lastCycle + 1];
-    int cycle = 0;
-    int run = 0;
-    for (double error : errors) {
-      errorArray[cycle] += error;
-      run++;
-      if (run == runsPerCycle) {
-        run = 0;
-        cycle++;
-      }
-    }
+    double[] errorArray = getCycleErrors(lastCycle + 1, cliques.size());
     if (constraintInMapWithHigherError(results, constraint, errorArray)) return;
     results.put(constraint, errorArray);
   }
 
+  @Override
+  public double[] getCycleErrors(int cycles, int runsPerCycle) {
+    double[] errorArray = new double[cycles];
+    int runs = Math.min(errors.size(), cycles * runsPerCycle);
+    for (int run = 0; run < runs; run++) {
+      errorArray[run / runsPerCycle] += errors.get(run);
+    }
+    return errorArray;
+  }
+
+  @Override
+  public void restoreCycleErrors(double[] cycleErrors, int runsPerCycle) {
+    errors.clear();
+    for (double error : cycleErrors) {
+      errors.add(error);
+      for (int run = 1; run < runsPerCycle; run++) errors.add(0.0);
+    }
+  }
+
   private boolean constraintInMapWithHigherError(
       Map<ProbabilityConstraint, double[]> results,
       ProbabilityConstraint constraint,
@@ -95,13 +148,9 @@ public class ConstraintSolverBase
   }
 
   private void calculateProbability(double[] probabilities) {
-    acm.resetIndex();
-    iterator.iterateOuter(
-        () -> {
-          acm.partialSum = 0;
-          iterator.iterateInner((o, i) -> acm.partialSum += probabilities[i]);
-          addToCorrectAccumulators(acm.partialSum);
-        });
+    acm.eventJointProb = eventIndexes.sum(probabilities);
+    acm.complementJointProb = complementIndexes.sum(probabilities);
+    acm.conditionJointProb = acm.eventJointProb + acm.complementJointProb;
   }
 
   protected double getRatio(double targetProb, double actualProb) {
@@ -114,23 +163,8 @@ public class ConstraintSolverBase
   }
 
   protected void adjustToRatio(double ratioIfEvent, double ratioOtherwise, double[] probabilities) {
-    acm.resetIndex();
-    iterator.iterateOuter(
-        () -> {
-          boolean isEventPosition = outerIterationIsEvidence[acm.outerIterationIndex++];
-          double ratio = isEventPosition ? ratioIfEvent : ratioOtherwise;
-          iterator.iterateInner((o, i) -> probabilities[i] *= ratio);
-        });
-  }
-
-  protected void addToCorrectAccumulators(double partialSum) {
-    boolean isEventPosition = outerIterationIsEvidence[acm.outerIterationIndex++];
-    acm.conditionJointProb += partialSum;
-    if (isEventPosition) {
-      acm.eventJointProb += partialSum;
-    } else {
-      acm.complementJointProb += partialSum;
-    }
+    eventIndexes.scale(probabilities, ratioIfEvent);
+    complementIndexes.scale(probabilities, ratioOtherwise);
   }
 
   @Override
@@ -150,18 +184,11 @@ public class ConstraintSolverBase
     protected double eventJointProb = 0;
     protected double conditionJointProb = 0;
     protected double complementJointProb = 0;
-    protected double partialSum = 0;
-    protected int outerIterationIndex = 0;
 
     protected void resetAccumulators() {
       eventJointProb = 0;
       conditionJointProb = 0;
       complementJointProb = 0;
-      partialSum = 0;
-    }
-
-    protected void resetIndex() {
-      outerIterationIndex = 0;
     }
   }
 }
@@ -8,6 +8,7 @@ import io.github.alecredmond.export.node.NodeState;
 import io.github.alecredmond.internal.application.constraint.ConstraintBuilderData;
 import io.github.alecredmond.internal.method.constraints.strategy.ValidatedConstraint;
 import io.github.alecredmond.internal.method.node.NodeUtils;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -107,9 +108,13 @@ public abstract class ConstraintValidatorBase<
     Set<NodeState> eventStates = constraint.getEventStates();
     Set<NodeState> conditionStates = constraint.getConditionStates();
     boolean parametersAreUnique =
-        networkData.getConstraints().parallelStream()
-            .filter(c -> eventStates.equals(c.getEventStates()))
-            .noneMatch(c -> conditionStates.equals(c.getConditionStates()));
+        ParallelTasks.run(
+            null,
+            networkData.getConstraints(),
+            stream ->
+                stream
+                    .filter(c -> eventStates.equals(c.getEventStates()))
+                    .noneMatch(c -> conditionStates.equals(c.getConditionStates())));
     if (parametersAreUnique) {
       return;
     }
@@ -0,0 +1,63 @@
+package io.github.alecredmond.internal.method.constraints.base;
+
+import java.util.Arrays;
+
+final class TableIndexSet {
+  private final int[] indexes;
+  private final int[] runStarts;
+  private final int[] runEnds;
+
+  private TableIndexSet(int[] indexes, int[] runStarts, int[] runEnds) {
+    this.indexes = indexes;
+    this.runStarts = runStarts;
+    this.runEnds = runEnds;
+  }
+
+  static TableIndexSet of(int[] unsortedIndexes) {
+    int[] sorted = unsortedIndexes.clone();
+    Arrays.sort(sorted);
+    int runs = countRuns(sorted);
+    if (runs * 2 > sorted.length) {
+      return new TableIndexSet(sorted, null, null);
+    }
+    int[] runStarts = new int[runs];
+    int[] runEnds = new int[runs];
+    int run = -1;
+    for (int i = 0; i < sorted.length; i++) {
+      if (i == 0 || sorted[i] != sorted[i - 1] + 1) runStarts[++run] = sorted[i];
+      runEnds[run] = sorted[i] + 1;
+    }
+    return new TableIndexSet(null, runStarts, runEnds);
+  }
+
+  private static int countRuns(int[] sorted) {
+    int runs = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (i == 0 || sorted[i] != sorted[i - 1] + 1) runs++;
+    }
+    return runs;
+  }
+
+  double sum(double[] probabilities) {
+    double sum = 0;
+    if (indexes != null) {
+      for (int index : indexes) sum += probabilities[index];
+      return sum;
+    }
+    for (int run = 0; run < runStarts.length; run++) {
+      for (int index = runStarts[run]; index < runEnds[run]; index++) sum += probabilities[index];
+    }
+    return sum;
+  }
+
+  void scale(double[] probabilities, double ratio) {
+    if (ratio == 1.0) return;
+    if (indexes != null) {
+      for (int index : indexes) probabilities[index] *= ratio;
+      return;
+    }
+    for (int run = 0; run < runStarts.length; run++) {
+      for (int index = runStarts[run]; index < runEnds[run]; index++) probabilities[index] *= ratio;
+    }
+  }
+}
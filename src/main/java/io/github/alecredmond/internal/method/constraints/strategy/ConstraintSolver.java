@@ -9,5 +9,17 @@ import java.util.Set;
 public interface ConstraintSolver {
   double adjustAndReturnError();
 
+  double measureError();
+
+  double measureDualGradient();
+
+  void applyDualFactor(double lambda);
+
+  ProbabilityConstraint getConstraint();
+
   void updateResults(Map<ProbabilityConstraint, double[]> results, int cycle, Set<Clique> cliques);
+
+  double[] getCycleErrors(int cycles, int runsPerCycle);
+
+  void restoreCycleErrors(double[] cycleErrors, int runsPerCycle);
 }
@@ -7,7 +7,11 @@ import io.github.alecredmond.export.solver.BayesSolver;
 import io.github.alecredmond.export.inference.InferenceAlgorithm;
 import io.github.alecredmond.export.inference.InferenceEngine;
 import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
 import io.github.alecredmond.internal.method.junctiontree.JunctionTreeAlgorithm;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeCompiler;
+import io.github.alecredmond.internal.method.network.BayesianNetworkImpl;
 import io.github.alecredmond.internal.method.utils.PropertiesLoader;
 import java.util.Arrays;
 import java.util.stream.Collectors;
@@ -19,7 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 public class InferenceEngineFactory {
 
   public InferenceEngine create(BayesianNetwork network) {
-    return create(network, getInferenceAlgorithm());
+    return create(network, getDefaultInferenceAlgorithm());
   }
 
   public InferenceEngine create(BayesianNetwork network, InferenceAlgorithm inferenceAlgorithm) {
@@ -29,13 +33,22 @@ public class InferenceEngineFactory {
       return null;
     }
     return new InferenceEngineImpl(
-        network,
-        solver,
-        JunctionTreeAlgorithm.buildForInference(network.getNetworkData(), inferenceAlgorithm),
-        inferenceAlgorithm);
+        network, solver, buildJunctionTree(network, inferenceAlgorithm), inferenceAlgorithm);
   }
 
-  private InferenceAlgorithm getInferenceAlgorithm() {
+  private JunctionTreeAlgorithm buildJunctionTree(
+      BayesianNetwork network, InferenceAlgorithm inferenceAlgorithm) {
+    BayesianNetworkData bnd = network.getNetworkData();
+    if (network instanceof BayesianNetworkImpl impl) {
+      CompiledJunctionTree compiled = impl.getCompiledJunctionTree();
+      if (new JunctionTreeCompiler().matches(compiled, bnd, inferenceAlgorithm)) {
+        return JunctionTreeAlgorithm.restoreForInference(bnd, compiled);
+      }
+    }
+    return JunctionTreeAlgorithm.buildForInference(bnd, inferenceAlgorithm);
+  }
+
+  public InferenceAlgorithm getDefaultInferenceAlgorithm() {
     String inferenceTypeString =
         new PropertiesLoader()
                 .loadString(INFERENCE_ALGORITHM)
@@ -1,7 +1,9 @@
 package io.github.alecredmond.internal.method.inference;
 
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.inference.InferenceAlgorithm;
 import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
@@ -66,6 +68,24 @@ public class InferenceEngineImpl implements InferenceEngine {
     return false;
   }
 
+  @Override
+  public InferenceEngine setExecutionContext(ExecutionContext context) {
+    junctionTree.getData().setExecutionContext(context);
+    solver.setExecutionContext(context);
+    return this;
+  }
+
+  @Override
+  public InferenceEngine setMetricsEnabled(boolean enabled) {
+    junctionTree.getData().getMetrics().setEnabled(enabled);
+    return this;
+  }
+
+  @Override
+  public MetricsSnapshot getMetrics() {
+    return junctionTree.getData().getMetrics().snapshot();
+  }
+
   @Override
   public InferenceEngine observeNetwork(NodeState observedState) {
     return observeNetwork(List.of(observedState));
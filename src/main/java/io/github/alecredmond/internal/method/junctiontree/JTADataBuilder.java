@@ -8,11 +8,14 @@ import io.github.alecredmond.export.probabilitytables.ObservedTable;
 import io.github.alecredmond.export.inference.InferenceAlgorithm;
 import io.github.alecredmond.internal.application.solver.SolverConfigs;
 import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
 import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
 import io.github.alecredmond.internal.method.probabilitytables.JunctionTreeTable;
 import io.github.alecredmond.internal.method.constraints.ConstraintRegistry;
 import io.github.alecredmond.internal.method.constraints.strategy.ConstraintSolver;
 import io.github.alecredmond.internal.method.junctiontree.treebuilding.CliqueBuilder;
+import io.github.alecredmond.internal.method.junctiontree.treebuilding.CliqueRestorer;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
 import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.ObservedTableBuilder;
 import io.github.alecredmond.internal.method.probabilitytables.tabletransfer.factory.TransferIteratorFactory;
 import java.util.*;
@@ -28,16 +31,28 @@ import lombok.extern.slf4j.Slf4j;
 public class JTADataBuilder {
 
   public JunctionTreeData buildNewSolverConfiguration(
-      BayesianNetworkData bayesianNetworkData, SolverConfigs configs) {
+      BayesianNetworkData bayesianNetworkData,
+      SolverConfigs configs,
+      Set<ProbabilityConstraint> frozenConstraints,
+      MetricsRecorder metrics) {
     JunctionTreeData junctionTreeData = new JunctionTreeData();
+    junctionTreeData.setMetrics(metrics);
     junctionTreeData.setSolverConfig(true);
+    junctionTreeData.setFrozenConstraints(frozenConstraints);
     junctionTreeData.setSolverAlgorithm(configs.getSolverAlgorithm());
     buildCommon(junctionTreeData, bayesianNetworkData);
     buildSolversPerClique(junctionTreeData, bayesianNetworkData);
+    junctionTreeData.setSourceTables(new HashMap<>(bayesianNetworkData.getNetworkTablesMap()));
     logBuilt(bayesianNetworkData, "SOLVER", junctionTreeData);
     return junctionTreeData;
   }
 
+  public void rebuildSolverConfiguration(
+      JunctionTreeData jtd, Set<ProbabilityConstraint> frozenConstraints) {
+    jtd.setFrozenConstraints(frozenConstraints);
+    buildSolversPerClique(jtd, jtd.getNetworkData());
+  }
+
   private void buildCommon(
       JunctionTreeData junctionTreeData, BayesianNetworkData bayesianNetworkData) {
     junctionTreeData.setNetworkData(bayesianNetworkData);
@@ -47,7 +62,9 @@ public class JTADataBuilder {
   }
 
   private void buildSolversPerClique(JunctionTreeData jtd, BayesianNetworkData bnd) {
-    Collection<ProbabilityConstraint> constraints = bnd.getConstraints();
+    Set<ProbabilityConstraint> frozen = jtd.getFrozenConstraints();
+    List<ProbabilityConstraint> constraints =
+        bnd.getConstraints().stream().filter(c -> !frozen.contains(c)).toList();
     Map<Clique, List<ConstraintSolver>> map =
         Arrays.stream(jtd.getCliques())
             .map(clique -> Map.entry(clique, matchConstraints(clique, constraints)))
@@ -122,6 +139,7 @@ public class JTADataBuilder {
   public JunctionTreeData buildNewInferenceConfiguration(
       BayesianNetworkData bayesianNetworkData, InferenceAlgorithm inferenceAlgorithm) {
     JunctionTreeData junctionTreeData = new JunctionTreeData();
+    junctionTreeData.setMetrics(MetricsRecorder.fromProperties());
     buildInferenceConfiguration(junctionTreeData, bayesianNetworkData, inferenceAlgorithm);
     return junctionTreeData;
   }
@@ -130,11 +148,30 @@ public class JTADataBuilder {
       JunctionTreeData jtd, BayesianNetworkData bnd, InferenceAlgorithm inferenceAlgorithm) {
     jtd.setSolverConfig(false);
     jtd.setInferenceAlgorithm(inferenceAlgorithm);
+    jtd.setPriorCliqueTables(null);
+    jtd.setPriorSeparatorTables(null);
     buildObserved(jtd, bnd);
     buildCommon(jtd, bnd);
     logBuilt(bnd, "INFERENCE", jtd);
   }
 
+  public JunctionTreeData restoreInferenceConfiguration(
+      BayesianNetworkData bnd, CompiledJunctionTree compiled) {
+    JunctionTreeData jtd = new JunctionTreeData();
+    jtd.setMetrics(MetricsRecorder.fromProperties());
+    jtd.setSolverConfig(false);
+    jtd.setInferenceAlgorithm(compiled.inferenceAlgorithm());
+    jtd.setNetworkData(bnd);
+    buildObserved(jtd, bnd);
+    new CliqueRestorer().restoreCliques(jtd, compiled);
+    buildExternalMessagePassers(jtd, bnd);
+    buildCollectionDistributionPlaceHolders(jtd);
+    jtd.setPriorCliqueTables(compiled.priorCliqueTables());
+    jtd.setPriorSeparatorTables(compiled.priorSeparatorTables());
+    logBuilt(bnd, "RESTORED INFERENCE", jtd);
+    return jtd;
+  }
+
   private void buildObserved(JunctionTreeData jtd, BayesianNetworkData bnd) {
     ObservedTableBuilder builder = new ObservedTableBuilder();
     jtd.setObservedEvidence(new HashMap<>());
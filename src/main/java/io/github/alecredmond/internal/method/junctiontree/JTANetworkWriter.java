@@ -1,5 +1,6 @@
 package io.github.alecredmond.internal.method.junctiontree;
 
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
@@ -11,6 +12,7 @@ import io.github.alecredmond.internal.method.node.NodeUtils;
 import io.github.alecredmond.internal.method.probabilitytables.TableUtils;
 import io.github.alecredmond.internal.method.probabilitytables.ObservedTableImpl;
 import io.github.alecredmond.internal.method.probabilitytables.tabletransfer.TableTransfer;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
 import java.util.*;
 import lombok.extern.slf4j.Slf4j;
 
@@ -58,13 +60,15 @@ class JTANetworkWriter {
   public void writeObservations() {
     BayesianNetworkData networkData = jtd.getNetworkData();
 
-    Arrays.stream(jtd.getCliques())
-        .map(Clique::getWriteToObserved)
-        .flatMap(Collection::stream)
-        .parallel()
-        .forEach(TableTransfer::transfer);
-
-    jtd.getObservedTablesMap().values().parallelStream().forEach(ProbabilityTable::normalizeTable);
+    ExecutionContext context = jtd.getExecutionContext();
+    List<TableTransfer> transfers =
+        Arrays.stream(jtd.getCliques())
+            .map(Clique::getWriteToObserved)
+            .flatMap(Collection::stream)
+            .toList();
+    ParallelTasks.forEach(context, transfers, TableTransfer::transfer);
+    ParallelTasks.forEach(
+        context, jtd.getObservedTablesMap().values(), ProbabilityTable::normalizeTable);
 
     Map<Node, NodeState> observationMap = Collections.unmodifiableMap(jtd.getObservedEvidence());
     networkData.getNodes().forEach(node -> updateObservedTables(node, observationMap));
@@ -82,11 +86,11 @@ class JTANetworkWriter {
 
     BayesianNetworkData bnd = jtd.getNetworkData();
 
-    Arrays.stream(jtd.getCliques())
-        .flatMap(c -> c.getWriteToCPTs().stream())
-        .parallel()
-        .forEach(TableTransfer::transfer);
-
-    bnd.getNetworkTablesMap().values().parallelStream().forEach(ProbabilityTable::normalizeTable);
+    ExecutionContext context = jtd.getExecutionContext();
+    List<TableTransfer> transfers =
+        Arrays.stream(jtd.getCliques()).flatMap(c -> c.getWriteToCPTs().stream()).toList();
+    ParallelTasks.forEach(context, transfers, TableTransfer::transfer);
+    ParallelTasks.forEach(
+        context, bnd.getNetworkTablesMap().values(), ProbabilityTable::normalizeTable);
   }
 }
@@ -1,18 +1,25 @@
 package io.github.alecredmond.internal.method.junctiontree;
 
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
 import io.github.alecredmond.export.inference.InferenceAlgorithm;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
 import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
 import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
 import io.github.alecredmond.internal.application.junctiontree.Separator;
 import io.github.alecredmond.internal.application.solver.SolverConfigs;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
+import io.github.alecredmond.internal.method.metrics.PropagationEvent;
 import io.github.alecredmond.internal.method.node.NodeUtils;
 import io.github.alecredmond.internal.method.probabilitytables.JunctionTreeTable;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.Getter;
 
 @Getter
@@ -29,9 +36,12 @@ public class JunctionTreeAlgorithm {
   }
 
   public static JunctionTreeAlgorithm buildForSolver(
-      BayesianNetworkData bnd, SolverConfigs configs) {
+      BayesianNetworkData bnd,
+      SolverConfigs configs,
+      Set<ProbabilityConstraint> frozen,
+      MetricsRecorder metrics) {
     return new JunctionTreeAlgorithm(
-        new JTADataBuilder().buildNewSolverConfiguration(bnd, configs));
+        new JTADataBuilder().buildNewSolverConfiguration(bnd, configs, frozen, metrics));
   }
 
   public static JunctionTreeAlgorithm buildForInference(
@@ -40,18 +50,61 @@ public class JunctionTreeAlgorithm {
         new JTADataBuilder().buildNewInferenceConfiguration(bnd, inferenceAlgorithm));
   }
 
+  public static JunctionTreeAlgorithm restoreForInference(
+      BayesianNetworkData bnd, CompiledJunctionTree compiled) {
+    return new JunctionTreeAlgorithm(
+        new JTADataBuilder().restoreInferenceConfiguration(bnd, compiled));
+  }
+
+  public boolean canWarmStart(BayesianNetworkData bnd, SolverConfigs configs) {
+    return data.isSolverConfig()
+        && data.getNetworkData() == bnd
+        && data.getSolverAlgorithm() == configs.getSolverAlgorithm()
+        && sourceTablesUnchanged(bnd.getNetworkTablesMap())
+        && bnd.getConstraints().stream()
+            .allMatch(c -> Arrays.stream(data.getCliques()).anyMatch(coversScope(c.getAllNodes())));
+  }
+
+  private boolean sourceTablesUnchanged(Map<Node, NetworkTable> networkTables) {
+    Map<Node, NetworkTable> sourceTables = data.getSourceTables();
+    return sourceTables.size() == networkTables.size()
+        && networkTables.entrySet().stream()
+            .allMatch(e -> sourceTables.get(e.getKey()) == e.getValue());
+  }
+
+  private Predicate<Clique> coversScope(Set<Node> scope) {
+    return clique -> clique.getNodes().containsAll(scope);
+  }
+
+  public void rebuildForWarmStart(Set<ProbabilityConstraint> frozen) {
+    new JTADataBuilder().rebuildSolverConfiguration(data, frozen);
+  }
+
   public void rebuildJTA(BayesianNetworkData bnd, InferenceAlgorithm inferenceAlgorithm) {
     new JTADataBuilder().buildInferenceConfiguration(data, bnd, inferenceAlgorithm);
     networkWriter.initializeJunctionTreeFromNetwork();
   }
 
   public void observeNetwork(Map<Node, NodeState> observed) {
+    MetricsRecorder metrics = data.getMetrics();
+    PropagationEvent event =
+        metrics.begin(
+            () -> new PropagationEvent(data.getNetworkData().getNetworkName(), observed.size()));
     resetObservations();
-    if (observed.isEmpty()) passMessages(data.getCliques()[0]);
-    else applyObservations(observed);
+    if (observed.isEmpty() && data.getPriorCliqueTables() != null) {
+      restorePriors();
+    } else {
+      Set<Clique> calibrated = applyObservations(observed);
+      findTreeRoots().stream()
+          .filter(root -> !calibrated.contains(root))
+          .forEach(this::passMessages);
+      if (observed.isEmpty()) capturePriors();
+    }
     data.setObservedEvidence(observed);
     data.setJointProbability(getJointProbOfMeasured(new HashSet<>()));
     networkWriter.writeObservations();
+    metrics.countPropagation();
+    MetricsRecorder.commit(event);
   }
 
   private void resetObservations() {
@@ -59,20 +112,78 @@ public class JunctionTreeAlgorithm {
     Arrays.stream(data.getSeparators()).forEach(Separator::resetSeparator);
   }
 
+  private void restorePriors() {
+    restoreTables(data.getPriorCliqueTables(), cliqueTables());
+    restoreTables(data.getPriorSeparatorTables(), separatorTables());
+    data.getMetrics().countPriorRestore();
+  }
+
+  private void capturePriors() {
+    data.setPriorCliqueTables(snapshotTables(cliqueTables()));
+    data.setPriorSeparatorTables(snapshotTables(separatorTables()));
+  }
+
+  private Stream<JunctionTreeTable> cliqueTables() {
+    return Arrays.stream(data.getCliques()).map(Clique::getTable);
+  }
+
+  private Stream<JunctionTreeTable> separatorTables() {
+    return Arrays.stream(data.getSeparators()).map(Separator::getTable);
+  }
+
+  private void restoreTables(double[][] priors, Stream<JunctionTreeTable> tables) {
+    List<JunctionTreeTable> tableList = tables.toList();
+    for (int i = 0; i < priors.length; i++) {
+      System.arraycopy(priors[i], 0, tableList.get(i).getProbabilities(), 0, priors[i].length);
+    }
+  }
+
+  private double[][] snapshotTables(Stream<JunctionTreeTable> tables) {
+    return tables.map(table -> table.getProbabilities().clone()).toArray(double[][]::new);
+  }
+
   private void passMessages(Clique clique) {
     messagePasser.collectMessages(clique);
     messagePasser.distributeMessages(clique);
   }
 
-  private void applyObservations(Map<Node, NodeState> observed) {
+  private Set<Clique> applyObservations(Map<Node, NodeState> observed) {
     Set<Node> nodesRemaining = new HashSet<>(observed.keySet());
+    Set<Clique> calibrated = new HashSet<>();
     while (!nodesRemaining.isEmpty()) {
       ObservationOverlap overlap = findLargestOverlap(nodesRemaining, observed);
       nodesRemaining.removeAll(overlap.nodeOverlap);
       Clique clique = overlap.clique;
       clique.setObserved(overlap.evidenceStates);
       passMessages(clique);
+      calibrated.add(findTreeRoot(clique));
     }
+    return calibrated;
+  }
+
+  public List<Clique> findTreeRoots() {
+    Set<Clique> visited = new HashSet<>();
+    List<Clique> roots = new ArrayList<>();
+    for (Clique clique : data.getCliques()) {
+      if (visited.contains(clique)) continue;
+      roots.add(clique);
+      visited.addAll(collectTree(clique));
+    }
+    return roots;
+  }
+
+  private Clique findTreeRoot(Clique clique) {
+    Set<Clique> tree = collectTree(clique);
+    return Arrays.stream(data.getCliques()).filter(tree::contains).findFirst().orElseThrow();
+  }
+
+  private Set<Clique> collectTree(Clique start) {
+    Set<Clique> tree = new HashSet<>(Set.of(start));
+    Queue<Clique> queue = new ArrayDeque<>(tree);
+    while (!queue.isEmpty()) {
+      queue.poll().getSeparatorMap().keySet().stream().filter(tree::add).forEach(queue::add);
+    }
+    return tree;
   }
 
   public double getJointProbOfMeasured(Collection<NodeState> newEvidence) {
@@ -120,6 +231,10 @@ public class JunctionTreeAlgorithm {
     return data.getJointProbability();
   }
 
+  public void calibrate() {
+    findTreeRoots().forEach(messagePasser::distributeMessages);
+  }
+
   public void sumTransfer(Clique clique) {
     messagePasser.distributeMessages(clique);
   }
@@ -0,0 +1,52 @@
+package io.github.alecredmond.internal.method.junctiontree;
+
+import io.github.alecredmond.export.inference.InferenceAlgorithm;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
+import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
+import io.github.alecredmond.internal.application.junctiontree.Separator;
+import io.github.alecredmond.internal.method.solver.StructureFingerprint;
+import java.io.Serializable;
+import java.util.*;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class JunctionTreeCompiler {
+  public CompiledJunctionTree compile(
+      BayesianNetworkData bnd, InferenceAlgorithm inferenceAlgorithm) {
+    JunctionTreeAlgorithm jta = JunctionTreeAlgorithm.buildForInference(bnd, inferenceAlgorithm);
+    jta.observeNetwork(Map.of());
+    JunctionTreeData jtd = jta.getData();
+    Clique[] cliques = jtd.getCliques();
+    List<List<Serializable>> cliqueNodeIds =
+        Arrays.stream(cliques)
+            .map(clique -> bnd.getNodes().stream().filter(clique.getNodes()::contains))
+            .map(nodes -> nodes.map(Node::getId).toList())
+            .toList();
+    int[][] separatorCliques =
+        Arrays.stream(jtd.getSeparators()).map(this::separatorCliques).toArray(int[][]::new);
+    return new CompiledJunctionTree(
+        inferenceAlgorithm,
+        StructureFingerprint.withTables(bnd),
+        cliqueNodeIds,
+        separatorCliques,
+        jtd.getPriorCliqueTables(),
+        jtd.getPriorSeparatorTables());
+  }
+
+  private int[] separatorCliques(Separator separator) {
+    return separator.getConnected().keySet().stream()
+        .mapToInt(Clique::getCliqueIndex)
+        .sorted()
+        .toArray();
+  }
+
+  public boolean matches(
+      CompiledJunctionTree compiled, BayesianNetworkData bnd, InferenceAlgorithm algorithm) {
+    return compiled != null
+        && compiled.inferenceAlgorithm() == algorithm
+        && compiled.networkFingerprint() == StructureFingerprint.withTables(bnd);
+  }
+}
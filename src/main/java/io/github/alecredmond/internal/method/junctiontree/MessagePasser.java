@@ -3,6 +3,7 @@ package io.github.alecredmond.internal.method.junctiontree;
 import io.github.alecredmond.internal.application.junctiontree.Clique;
 import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
 import io.github.alecredmond.internal.application.junctiontree.Separator;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
 import java.util.*;
 import java.util.function.Function;
 import lombok.AllArgsConstructor;
@@ -21,20 +22,24 @@ public class MessagePasser {
     if (toRun == null) {
       toRun = buildIfNull.apply(origin);
       nestedArray[origin.getCliqueIndex()] = toRun;
+    } else {
+      data.getMetrics().countCacheHit();
     }
     Arrays.stream(toRun).forEach(Runnable::run);
   }
 
   private Runnable[] buildCollectionRuns(Clique startClique) {
-    RunBuilder rb = (clique, nextClique, separator) -> () -> separator.passMessageFrom(nextClique);
+    RunBuilder<Runnable> rb =
+        (clique, nextClique, separator) ->
+            countedRun(() -> separator.passMessageFrom(nextClique), nextClique, clique, separator);
     List<Runnable> collectionRuns = buildRuns(startClique, rb);
     return collectionRuns.reversed().toArray(Runnable[]::new);
   }
 
-  private List<Runnable> buildRuns(Clique startClique, RunBuilder runBuilder) {
+  private <T> List<T> buildRuns(Clique startClique, RunBuilder<T> runBuilder) {
     Queue<Clique> queue = new ArrayDeque<>();
     Set<Clique> visited = new HashSet<>();
-    List<Runnable> runs = new ArrayList<>();
+    List<T> runs = new ArrayList<>();
     queue.add(startClique);
     while (!queue.isEmpty()) {
       Clique clique = queue.poll();
@@ -55,14 +60,32 @@ public class MessagePasser {
     runMessagePassers(distributeFrom, data.getDistributionRuns(), this::buildDistributionRuns);
   }
 
+  public <T> List<T> mapDistributionOrder(Clique distributeFrom, RunBuilder<T> stepBuilder) {
+    return buildRuns(distributeFrom, stepBuilder);
+  }
+
   private Runnable[] buildDistributionRuns(Clique startClique) {
-    RunBuilder rb = (clique, nextClique, separator) -> () -> separator.passMessageFrom(clique);
+    RunBuilder<Runnable> rb =
+        (clique, nextClique, separator) ->
+            countedRun(() -> separator.passMessageFrom(clique), clique, nextClique, separator);
     List<Runnable> distributionRuns = buildRuns(startClique, rb);
     return distributionRuns.toArray(Runnable[]::new);
   }
 
+  private Runnable countedRun(Runnable pass, Clique from, Clique to, Separator separator) {
+    MetricsRecorder metrics = data.getMetrics();
+    long entries =
+        from.getTable().getProbabilities().length
+            + 2L * separator.getTable().getProbabilities().length
+            + to.getTable().getProbabilities().length;
+    return () -> {
+      pass.run();
+      metrics.countMessage(entries);
+    };
+  }
+
   @FunctionalInterface
-  interface RunBuilder {
-    Runnable apply(Clique clique, Clique nextClique, Separator separator);
+  public interface RunBuilder<T> {
+    T apply(Clique clique, Clique nextClique, Separator separator);
   }
 }
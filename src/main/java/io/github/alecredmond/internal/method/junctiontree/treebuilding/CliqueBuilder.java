@@ -1,17 +1,20 @@
 package io.github.alecredmond.internal.method.junctiontree.treebuilding;
 
 import static io.github.alecredmond.export.inference.InferenceAlgorithm.JUNCTION_TREE_ALGORITHM;
-import static io.github.alecredmond.export.solver.SolverAlgorithm.JUNCTION_TREE_IPFP;
+import static io.github.alecredmond.export.solver.SolverAlgorithm.SINGLE_TABLE_IPFP;
 
 import io.github.alecredmond.export.constraints.ProbabilityConstraint;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.internal.application.junctiontree.Clique;
 import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
+import io.github.alecredmond.internal.method.metrics.CompilePhaseEvent;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
 import io.github.alecredmond.internal.method.probabilitytables.JunctionTreeTable;
 import io.github.alecredmond.internal.method.node.NodeUtils;
 import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.JunctionTreeTableBuilder;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NoArgsConstructor;
@@ -23,7 +26,38 @@ public class CliqueBuilder {
     if (checkUseJta(jtd)) buildJtaCliques(jtd);
     else buildIPFPClique(jtd);
     indexCliques(jtd);
-    new CliqueJoiner().joinCliques(jtd);
+    runPhase(jtd, "JOIN_CLIQUES", () -> new CliqueJoiner().joinCliques(jtd));
+    countAllocatedTables(jtd);
+  }
+
+  private void runPhase(JunctionTreeData jtd, String phase, Runnable step) {
+    runPhase(
+        jtd,
+        phase,
+        () -> {
+          step.run();
+          return null;
+        });
+  }
+
+  private <T> T runPhase(JunctionTreeData jtd, String phase, Supplier<T> step) {
+    BayesianNetworkData bnd = jtd.getNetworkData();
+    CompilePhaseEvent event =
+        jtd.getMetrics()
+            .begin(
+                () -> new CompilePhaseEvent(bnd.getNetworkName(), phase, bnd.getNodes().size()));
+    T result = step.get();
+    MetricsRecorder.commit(event);
+    return result;
+  }
+
+  private void countAllocatedTables(JunctionTreeData jtd) {
+    MetricsRecorder metrics = jtd.getMetrics();
+    if (!metrics.isEnabled()) return;
+    Arrays.stream(jtd.getCliques())
+        .forEach(c -> metrics.countAllocatedTable(c.getTable().getProbabilities().length));
+    Arrays.stream(jtd.getSeparators())
+        .forEach(s -> metrics.countAllocatedTable(s.getTable().getProbabilities().length));
   }
 
   private void indexCliques(JunctionTreeData jtd) {
@@ -41,7 +75,7 @@ public class CliqueBuilder {
 
   private boolean checkUseJta(JunctionTreeData jtd) {
     return jtd.isSolverConfig()
-        ? jtd.getSolverAlgorithm().equals(JUNCTION_TREE_IPFP)
+        ? !jtd.getSolverAlgorithm().equals(SINGLE_TABLE_IPFP)
         : jtd.getInferenceAlgorithm().equals(JUNCTION_TREE_ALGORITHM);
   }
 
@@ -50,19 +84,26 @@ public class CliqueBuilder {
     Clique[] cliques = new Clique[1];
     Set<Node> linkedNodes = new LinkedHashSet<>(bnd.getNodes());
     new TreewidthValidator().verifyClique(linkedNodes, jtd);
-    JunctionTreeTable jointTable = new JunctionTreeTableBuilder().buildTable(linkedNodes, bnd);
-    cliques[0] = new Clique(linkedNodes, jointTable);
+    runPhase(
+        jtd,
+        "TABLE_ALLOCATION",
+        () -> {
+          JunctionTreeTable jointTable =
+              new JunctionTreeTableBuilder().buildTable(linkedNodes, bnd);
+          cliques[0] = new Clique(linkedNodes, jointTable);
+        });
     jtd.setCliques(cliques);
   }
 
   private void buildJtaCliques(JunctionTreeData jtd) {
     BayesianNetworkData bnd = jtd.getNetworkData();
     Map<Node, Set<Node>> edgeGraph = initializeGraph(bnd);
-    moralizeGraph(edgeGraph, bnd);
-    triangulate(edgeGraph);
-    Set<Set<Node>> maximalSets = findMaximalCliques(edgeGraph);
+    runPhase(jtd, "MORALIZE", () -> moralizeGraph(edgeGraph, bnd));
+    runPhase(jtd, "TRIANGULATE", () -> triangulate(edgeGraph));
+    Set<Set<Node>> maximalSets =
+        runPhase(jtd, "CLIQUE_SEARCH", () -> findMaximalCliques(edgeGraph));
     new TreewidthValidator().verifyCliques(maximalSets, jtd);
-    jtd.setCliques(buildCliqueArray(maximalSets, bnd));
+    runPhase(jtd, "TABLE_ALLOCATION", () -> jtd.setCliques(buildCliqueArray(maximalSets, bnd)));
   }
 
   private Clique[] buildCliqueArray(Set<Set<Node>> maximalCliques, BayesianNetworkData bnd) {
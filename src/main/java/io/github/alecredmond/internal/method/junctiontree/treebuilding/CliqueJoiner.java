@@ -37,7 +37,7 @@ public class CliqueJoiner {
 
       if (rootOfB.equals(rootOfA)) continue;
 
-      branchRoots.put(cliqueA, cliqueB);
+      branchRoots.put(rootOfA, rootOfB);
       finalSeparators.add(separatorFactory.buildSeparator(cliqueA, cliqueB));
       edgesAdded++;
     }
@@ -0,0 +1,57 @@
+package io.github.alecredmond.internal.method.junctiontree.treebuilding;
+
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
+import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
+import io.github.alecredmond.internal.application.junctiontree.Separator;
+import io.github.alecredmond.internal.method.metrics.CompilePhaseEvent;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
+import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.JunctionTreeTableBuilder;
+import java.io.Serializable;
+import java.util.*;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class CliqueRestorer {
+
+  public void restoreCliques(JunctionTreeData jtd, CompiledJunctionTree compiled) {
+    BayesianNetworkData bnd = jtd.getNetworkData();
+    CompilePhaseEvent event =
+        jtd.getMetrics()
+            .begin(
+                () ->
+                    new CompilePhaseEvent(
+                        bnd.getNetworkName(), "RESTORE_CLIQUES", bnd.getNodes().size()));
+    List<Set<Node>> nodeSets =
+        compiled.cliqueNodeIds().stream().map(ids -> resolveNodes(ids, bnd)).toList();
+    new TreewidthValidator().verifyCliques(nodeSets, jtd);
+    JunctionTreeTableBuilder tableBuilder = new JunctionTreeTableBuilder();
+    Clique[] cliques = new Clique[nodeSets.size()];
+    for (int i = 0; i < cliques.length; i++) {
+      cliques[i] = new Clique(nodeSets.get(i), tableBuilder.buildTable(nodeSets.get(i), bnd));
+      cliques[i].setCliqueIndex(i);
+    }
+    jtd.setCliques(cliques);
+    SeparatorFactory separatorFactory = new SeparatorFactory(jtd);
+    jtd.setSeparators(
+        Arrays.stream(compiled.separatorCliques())
+            .map(pair -> separatorFactory.buildSeparator(cliques[pair[0]], cliques[pair[1]]))
+            .toArray(Separator[]::new));
+    MetricsRecorder.commit(event);
+  }
+
+  private Set<Node> resolveNodes(List<Serializable> ids, BayesianNetworkData bnd) {
+    Set<Node> nodes = new HashSet<>();
+    for (Serializable id : ids) {
+      Node node = bnd.getNodeIDsMap().get(id);
+      if (node == null) {
+        throw new IllegalArgumentException(
+            "Compiled junction tree references unknown node '%s'!".formatted(id));
+      }
+      nodes.add(node);
+    }
+    return nodes;
+  }
+}
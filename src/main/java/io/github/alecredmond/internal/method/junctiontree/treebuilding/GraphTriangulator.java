@@ -10,10 +10,22 @@ import java.util.*;
  * graph, Theoretical Computer Science, Volume 795, 2019, Pages 1-8, ISSN 0304-3975.</i>
  *
  * <p>The algorithm has been annotated with numbers corresponding to the numbered steps in the GMT
- * section.
+ * section. GMT assumes a connected graph, so each connected component is triangulated separately.
  */
 public class GraphTriangulator<T> {
   public Map<T, List<T>> getFillInEdges(Map<T, ? extends Collection<T>> edges) {
+    Map<T, Set<T>> graph = new HashMap<>();
+    edges.forEach((t, tEdges) -> graph.put(t, new HashSet<>(tEdges)));
+    Map<T, List<T>> fillInEdges = new HashMap<>();
+    for (Set<T> component : findConnectedComponents(graph.keySet(), graph)) {
+      Map<T, Set<T>> subGraph = new HashMap<>();
+      component.forEach(t -> subGraph.put(t, graph.get(t)));
+      fillInEdges.putAll(getComponentFillInEdges(subGraph));
+    }
+    return fillInEdges;
+  }
+
+  private Map<T, List<T>> getComponentFillInEdges(Map<T, ? extends Collection<T>> edges) {
     // 1.
     Map<T, Set<T>> graph = new HashMap<>();
     Map<T, Integer> labels = new HashMap<>();
@@ -0,0 +1,28 @@
+package io.github.alecredmond.internal.method.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.alecredmond.CompilePhase")
+@Label("Junction Tree Compile Phase")
+@Category({"io.github.alecredmond", "Junction Tree"})
+@Description("A single phase of building a junction tree from a network")
+public class CompilePhaseEvent extends Event {
+  @Label("Network")
+  public String networkName;
+
+  @Label("Phase")
+  public String phase;
+
+  @Label("Node Count")
+  public int nodeCount;
+
+  public CompilePhaseEvent(String networkName, String phase, int nodeCount) {
+    this.networkName = networkName;
+    this.phase = phase;
+    this.nodeCount = nodeCount;
+  }
+}
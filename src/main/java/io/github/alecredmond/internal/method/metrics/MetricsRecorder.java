@@ -0,0 +1,105 @@
+package io.github.alecredmond.internal.method.metrics;
+
+import static io.github.alecredmond.internal.method.utils.AppProperty.METRICS_ENABLED;
+
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
+import io.github.alecredmond.internal.method.utils.PropertiesLoader;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import jdk.jfr.Event;
+
+public class MetricsRecorder {
+  private final LongAdder messagesPassed = new LongAdder();
+  private final LongAdder tableEntriesTouched = new LongAdder();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder allocatedTableBytes = new LongAdder();
+  private final LongAdder solverCycles = new LongAdder();
+  private final LongAdder propagations = new LongAdder();
+  private final LongAdder priorRestores = new LongAdder();
+  private final LongAdder samplesDrawn = new LongAdder();
+  private volatile boolean enabled;
+
+  public MetricsRecorder(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public static MetricsRecorder fromProperties() {
+    return new MetricsRecorder(new PropertiesLoader().loadBoolean(METRICS_ENABLED));
+  }
+
+  public static MetricsRecorder disabled() {
+    return new MetricsRecorder(false);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public <E extends Event> E begin(Supplier<E> eventFactory) {
+    if (!enabled) return null;
+    E event = eventFactory.get();
+    event.begin();
+    return event;
+  }
+
+  public static void commit(Event event) {
+    if (event != null) event.commit();
+  }
+
+  public void countMessage(long entriesTouched) {
+    if (!enabled) return;
+    messagesPassed.increment();
+    tableEntriesTouched.add(entriesTouched);
+  }
+
+  public void countCacheHit() {
+    if (enabled) cacheHits.increment();
+  }
+
+  public void countAllocatedTable(int entries) {
+    if (enabled) allocatedTableBytes.add((long) entries * Double.BYTES);
+  }
+
+  public void countSolverCycle() {
+    if (enabled) solverCycles.increment();
+  }
+
+  public void countPropagation() {
+    if (enabled) propagations.increment();
+  }
+
+  public void countPriorRestore() {
+    if (enabled) priorRestores.increment();
+  }
+
+  public void countSamples(long samples) {
+    if (enabled) samplesDrawn.add(samples);
+  }
+
+  public MetricsSnapshot snapshot() {
+    return new MetricsSnapshot(
+        messagesPassed.sum(),
+        tableEntriesTouched.sum(),
+        cacheHits.sum(),
+        allocatedTableBytes.sum(),
+        solverCycles.sum(),
+        propagations.sum(),
+        priorRestores.sum(),
+        samplesDrawn.sum());
+  }
+
+  public void reset() {
+    messagesPassed.reset();
+    tableEntriesTouched.reset();
+    cacheHits.reset();
+    allocatedTableBytes.reset();
+    solverCycles.reset();
+    propagations.reset();
+    priorRestores.reset();
+    samplesDrawn.reset();
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.alecredmond.internal.method.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.alecredmond.Propagation")
+@Label("Evidence Propagation")
+@Category({"io.github.alecredmond", "Inference"})
+@Description("Propagation of a set of observations through a junction tree")
+public class PropagationEvent extends Event {
+  @Label("Network")
+  public String networkName;
+
+  @Label("Observed Nodes")
+  public int observedNodes;
+
+  public PropagationEvent(String networkName, int observedNodes) {
+    this.networkName = networkName;
+    this.observedNodes = observedNodes;
+  }
+}
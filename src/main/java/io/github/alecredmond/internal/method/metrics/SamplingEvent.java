@@ -0,0 +1,28 @@
+package io.github.alecredmond.internal.method.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.alecredmond.Sampling")
+@Label("Sampling Run")
+@Category({"io.github.alecredmond", "Sampler"})
+@Description("A single call generating a collection of samples")
+public class SamplingEvent extends Event {
+  @Label("Network")
+  public String networkName;
+
+  @Label("Samples")
+  public int samples;
+
+  @Label("Observed Nodes")
+  public int observedNodes;
+
+  public SamplingEvent(String networkName, int samples, int observedNodes) {
+    this.networkName = networkName;
+    this.samples = samples;
+    this.observedNodes = observedNodes;
+  }
+}
@@ -0,0 +1,27 @@
+package io.github.alecredmond.internal.method.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.alecredmond.SolverCycle")
+@Label("Solver Cycle")
+@Category({"io.github.alecredmond", "Solver"})
+@Description("A single fitting cycle of a BayesSolver run")
+public class SolverCycleEvent extends Event {
+  @Label("Network")
+  public String networkName;
+
+  @Label("Cycle")
+  public int cycle;
+
+  @Label("Error")
+  public double error;
+
+  public SolverCycleEvent(String networkName, int cycle) {
+    this.networkName = networkName;
+    this.cycle = cycle;
+  }
+}
@@ -13,6 +13,7 @@ import io.github.alecredmond.export.solver.BayesSolver;
 import io.github.alecredmond.export.inference.InferenceEngine;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
 import io.github.alecredmond.internal.application.network.NetworkErrorPolicy;
 import io.github.alecredmond.internal.fileio.NetworkFileIO;
 import io.github.alecredmond.internal.method.constraints.NetworkConstraintHandler;
@@ -30,6 +31,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Getter
@@ -38,6 +40,7 @@ public class BayesianNetworkImpl implements BayesianNetwork, PropertyChangeListe
   private final BayesianNetworkData networkData;
   private final NetworkErrorPolicy policy = new NetworkErrorPolicy();
   private final NetworkConstraintHandler networkConstraintHandler;
+  @Setter private CompiledJunctionTree compiledJunctionTree;
 
   // ----------------------------------------------------------------------------------------------
   // ----------------------------------CONSTRUCTORS------------------------------------------------
@@ -83,6 +86,15 @@ public class BayesianNetworkImpl implements BayesianNetwork, PropertyChangeListe
     return new NetworkFileIO(new BayesianNetworkSerializer()).saveNetwork(this, filePath);
   }
 
+  public boolean saveNetworkToFile(File file, boolean includeJunctionTree) {
+    return new NetworkFileIO(new BayesianNetworkSerializer())
+        .saveNetwork(this, file, includeJunctionTree);
+  }
+
+  public boolean saveNetworkToFile(String filePath, boolean includeJunctionTree) {
+    return saveNetworkToFile(new File(filePath), includeJunctionTree);
+  }
+
   public boolean saveNetworkToFile() {
     return new NetworkFileIO(new BayesianNetworkSerializer()).saveNetwork(this);
   }
@@ -7,6 +7,7 @@ import io.github.alecredmond.export.probabilitytables.ProbabilityVector;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.internal.method.node.NodeUtils;
 import io.github.alecredmond.internal.method.probabilitytables.probabilityvector.ProbabilityVectorFactory;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
 import io.github.alecredmond.internal.method.vectoriterator.misciterators.ConstraintBuilderIterator;
 import java.util.*;
 import lombok.extern.slf4j.Slf4j;
@@ -38,12 +39,16 @@ public class NetworkInputBuilder {
   }
 
   private void createCptConstraints() {
-    nodeInputs.parallelStream()
-        .filter(ni -> ni.getCptValues() != null)
-        .map(this::buildConstraintBuilderIterator)
-        .map(ConstraintBuilderIterator::buildConstraints)
-        .flatMap(Collection::stream)
-        .sequential()
+    ParallelTasks.run(
+            null,
+            nodeInputs,
+            stream ->
+                stream
+                    .filter(ni -> ni.getCptValues() != null)
+                    .map(this::buildConstraintBuilderIterator)
+                    .map(ConstraintBuilderIterator::buildConstraints)
+                    .flatMap(Collection::stream)
+                    .toList())
         .forEach(bayesianNetwork.getNetworkData().getConstraints()::add);
   }
 
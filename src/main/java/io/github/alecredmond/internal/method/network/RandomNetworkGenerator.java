@@ -0,0 +1,269 @@
+package io.github.alecredmond.internal.method.network;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkBuilder;
+import io.github.alecredmond.export.network.BayesianNetworkGenerator;
+import java.util.*;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RandomNetworkGenerator {
+  private static final int MAX_ATTEMPTS_PER_CONSTRAINT = 20;
+  private static final long PROBABILITY_RESOLUTION = 1L << 15;
+  private final BayesianNetworkGenerator config;
+  private final SplittableRandom random;
+  private final Set<String> usedConstraintKeys = new HashSet<>();
+  private final List<GeneratedConstraint> constraints = new ArrayList<>();
+  private int[] stateCounts;
+  private int[][] parents;
+  private double[][] cpts;
+  private InferenceEngine engine;
+
+  public RandomNetworkGenerator(BayesianNetworkGenerator config) {
+    this.config = config;
+    this.random = new SplittableRandom(config.getSeed());
+  }
+
+  public BayesianNetwork generate() {
+    generateStructure();
+    generateCpts();
+    BayesianNetwork network = buildNetwork();
+    if (requiresEngine() || !config.isIncludeCpts()) {
+      network.solveNetwork();
+    }
+    if (requiresEngine()) {
+      engine = network.buildInferenceEngine();
+    }
+    generateConstraints();
+    if (!config.isIncludeCpts()) {
+      network.removeAllConstraints();
+    }
+    constraints.forEach(
+        c -> network.addConstraint(c.eventIds(), c.conditionIds(), c.probability()));
+    log.info(
+        "GENERATED NETWORK WITH {} NODES AND {} RANDOM CONSTRAINTS",
+        config.getNodeCount(),
+        constraints.size());
+    return network;
+  }
+
+  private boolean requiresEngine() {
+    return config.getMarginalConstraintCount() > 0
+        || config.getJointConstraintCount() > 0
+        || config.getSumConstraintCount() > 0;
+  }
+
+  private void generateStructure() {
+    int nodeCount = config.getNodeCount();
+    stateCounts = new int[nodeCount];
+    parents = new int[nodeCount][];
+    for (int i = 0; i < nodeCount; i++) {
+      stateCounts[i] = random.nextInt(config.getMinStates(), config.getMaxStates() + 1);
+      parents[i] = chooseParents(i);
+    }
+  }
+
+  private int[] chooseParents(int node) {
+    if (node == 0) return new int[0];
+    int windowStart = Math.max(0, node - config.getTargetTreewidth());
+    int window = node - windowStart;
+    int parentCount = random.nextInt(1, Math.min(config.getMaxInDegree(), window) + 1);
+    int[] candidates = new int[window];
+    for (int i = 0; i < window; i++) {
+      candidates[i] = windowStart + i;
+    }
+    for (int i = 0; i < parentCount; i++) {
+      int swap = random.nextInt(i, window);
+      int temp = candidates[i];
+      candidates[i] = candidates[swap];
+      candidates[swap] = temp;
+    }
+    int[] chosen = Arrays.copyOf(candidates, parentCount);
+    Arrays.sort(chosen);
+    return chosen;
+  }
+
+  private void generateCpts() {
+    cpts = new double[stateCounts.length][];
+    for (int i = 0; i < stateCounts.length; i++) {
+      int rows = parentConfigurations(i);
+      int states = stateCounts[i];
+      double[] cpt = new double[rows * states];
+      for (int row = 0; row < rows; row++) {
+        fillDirichletRow(cpt, row * states, states);
+      }
+      cpts[i] = cpt;
+    }
+  }
+
+  private int parentConfigurations(int node) {
+    int rows = 1;
+    for (int parent : parents[node]) {
+      rows *= stateCounts[parent];
+    }
+    return rows;
+  }
+
+  private void fillDirichletRow(double[] cpt, int offset, int states) {
+    double sum = 0;
+    for (int s = 0; s < states; s++) {
+      cpt[offset + s] = sampleGamma(config.getDirichletConcentration());
+      sum += cpt[offset + s];
+    }
+    if (sum == 0) {
+      cpt[offset + random.nextInt(states)] = 1.0;
+      return;
+    }
+    quantizeRow(cpt, offset, states, sum);
+  }
+
+  private static void quantizeRow(double[] cpt, int offset, int states, double sum) {
+    long remaining = PROBABILITY_RESOLUTION;
+    int largest = offset;
+    for (int i = offset; i < offset + states; i++) {
+      long units = Math.round(cpt[i] / sum * PROBABILITY_RESOLUTION);
+      cpt[i] = units;
+      remaining -= units;
+      if (cpt[i] > cpt[largest]) largest = i;
+    }
+    cpt[largest] += remaining;
+    for (int i = offset; i < offset + states; i++) {
+      cpt[i] /= PROBABILITY_RESOLUTION;
+    }
+  }
+
+  private double sampleGamma(double shape) {
+    if (shape < 1) {
+      return sampleGamma(shape + 1) * Math.pow(random.nextDouble(), 1 / shape);
+    }
+    double d = shape - 1.0 / 3;
+    double c = 1 / Math.sqrt(9 * d);
+    while (true) {
+      double x = random.nextGaussian();
+      double v = 1 + c * x;
+      if (v <= 0) continue;
+      v = v * v * v;
+      double u = random.nextDouble();
+      if (Math.log(u) < 0.5 * x * x + d - d * v + d * Math.log(v)) {
+        return d * v;
+      }
+    }
+  }
+
+  private BayesianNetwork buildNetwork() {
+    BayesianNetworkBuilder builder = new BayesianNetworkBuilder(config.getNetworkName());
+    for (int i = 0; i < stateCounts.length; i++) {
+      List<String> cptNodeOrder = new ArrayList<>(parents[i].length + 1);
+      for (int parent : parents[i]) {
+        cptNodeOrder.add(nodeId(parent));
+      }
+      cptNodeOrder.add(nodeId(i));
+      builder.addNode(nodeId(i), stateIds(i), cptNodeOrder, cpts[i]);
+    }
+    return builder.build();
+  }
+
+  private static String nodeId(int node) {
+    return "N" + node;
+  }
+
+  private static String stateId(int node, int state) {
+    return "N" + node + ":S" + state;
+  }
+
+  private List<String> stateIds(int node) {
+    List<String> ids = new ArrayList<>(stateCounts[node]);
+    for (int s = 0; s < stateCounts[node]; s++) {
+      ids.add(stateId(node, s));
+    }
+    return ids;
+  }
+
+  private void generateConstraints() {
+    addRandomConstraints(config.getMarginalConstraintCount(), this::randomMarginal);
+    addRandomConstraints(config.getConditionalConstraintCount(), this::randomConditional);
+    addRandomConstraints(config.getJointConstraintCount(), this::randomJoint);
+    addRandomConstraints(config.getSumConstraintCount(), this::randomSum);
+  }
+
+  private void addRandomConstraints(int count, ConstraintSupplier supplier) {
+    int added = 0;
+    int attempts = count * MAX_ATTEMPTS_PER_CONSTRAINT;
+    while (added < count && attempts-- > 0) {
+      GeneratedConstraint constraint = supplier.next();
+      if (constraint == null || !usedConstraintKeys.add(constraint.key())) continue;
+      constraints.add(constraint);
+      added++;
+    }
+    if (added < count) {
+      log.warn("ONLY {} OF {} REQUESTED CONSTRAINTS COULD BE GENERATED", added, count);
+    }
+  }
+
+  private GeneratedConstraint randomMarginal() {
+    int node = random.nextInt(stateCounts.length);
+    String eventId = stateId(node, random.nextInt(stateCounts[node]));
+    return new GeneratedConstraint(
+        List.of(eventId), List.of(), engine.getPosteriorProbabilityById(eventId));
+  }
+
+  private GeneratedConstraint randomConditional() {
+    int node = randomChildNode();
+    if (node < 0) return null;
+    int states = stateCounts[node];
+    int row = random.nextInt(parentConfigurations(node));
+    int state = random.nextInt(states);
+    List<String> conditionIds = new ArrayList<>(parents[node].length);
+    int remainder = row;
+    for (int p = parents[node].length - 1; p >= 0; p--) {
+      int parent = parents[node][p];
+      conditionIds.addFirst(stateId(parent, remainder % stateCounts[parent]));
+      remainder /= stateCounts[parent];
+    }
+    return new GeneratedConstraint(
+        List.of(stateId(node, state)), conditionIds, cpts[node][row * states + state]);
+  }
+
+  private GeneratedConstraint randomJoint() {
+    int node = randomChildNode();
+    if (node < 0) return null;
+    int parent = parents[node][random.nextInt(parents[node].length)];
+    List<String> eventIds =
+        List.of(
+            stateId(parent, random.nextInt(stateCounts[parent])),
+            stateId(node, random.nextInt(stateCounts[node])));
+    return new GeneratedConstraint(
+        eventIds, List.of(), engine.getPosteriorProbabilityById(eventIds));
+  }
+
+  private GeneratedConstraint randomSum() {
+    int node = random.nextInt(stateCounts.length);
+    int states = stateCounts[node];
+    if (states < 3) return null;
+    int first = random.nextInt(states);
+    int second = (first + random.nextInt(1, states)) % states;
+    String firstId = stateId(node, Math.min(first, second));
+    String secondId = stateId(node, Math.max(first, second));
+    double probability =
+        engine.getPosteriorProbabilityById(firstId) + engine.getPosteriorProbabilityById(secondId);
+    return new GeneratedConstraint(List.of(firstId, secondId), List.of(), probability);
+  }
+
+  private int randomChildNode() {
+    if (stateCounts.length < 2) return -1;
+    return random.nextInt(1, stateCounts.length);
+  }
+
+  @FunctionalInterface
+  private interface ConstraintSupplier {
+    GeneratedConstraint next();
+  }
+
+  private record GeneratedConstraint(
+      List<String> eventIds, List<String> conditionIds, double probability) {
+    String key() {
+      return eventIds + "|" + conditionIds;
+    }
+  }
+}
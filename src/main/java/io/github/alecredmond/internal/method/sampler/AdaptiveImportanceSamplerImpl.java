@@ -0,0 +1,80 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static io.github.alecredmond.internal.method.utils.AppProperty.*;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.AdaptiveImportanceSampler;
+import io.github.alecredmond.export.sampler.SamplingMode;
+import io.github.alecredmond.internal.method.utils.PropertiesLoader;
+import java.util.Map;
+
+public class AdaptiveImportanceSamplerImpl extends MonteCarloSamplerImpl
+    implements AdaptiveImportanceSampler {
+  private int learningRounds;
+  private int samplesPerRound;
+
+  public AdaptiveImportanceSamplerImpl(BayesianNetwork network) {
+    super(network);
+    PropertiesLoader loader = new PropertiesLoader();
+    setLearningRounds(loader.loadInt(SAMPLER_AIS_LEARNING_ROUNDS));
+    setSamplesPerRound(loader.loadInt(SAMPLER_AIS_SAMPLES_PER_ROUND));
+  }
+
+  @Override
+  public AdaptiveImportanceSampler setLearningRounds(int rounds) {
+    if (rounds < 0) {
+      throw new IllegalArgumentException("Learning rounds must not be negative!");
+    }
+    this.learningRounds = rounds;
+    return this;
+  }
+
+  @Override
+  public AdaptiveImportanceSampler setSamplesPerRound(int samples) {
+    if (samples < 1) {
+      throw new IllegalArgumentException("Samples per round must be greater than zero!");
+    }
+    this.samplesPerRound = samples;
+    return this;
+  }
+
+  @Override
+  public AdaptiveImportanceSampler setSeed(Long seed) {
+    super.setSeed(seed);
+    return this;
+  }
+
+  @Override
+  public AdaptiveImportanceSampler setExecutionContext(ExecutionContext context) {
+    super.setExecutionContext(context);
+    return this;
+  }
+
+  @Override
+  public AdaptiveImportanceSampler setSamplingMode(SamplingMode mode) {
+    super.setSamplingMode(mode);
+    return this;
+  }
+
+  @Override
+  public AdaptiveImportanceSampler setMetricsEnabled(boolean enabled) {
+    super.setMetricsEnabled(enabled);
+    return this;
+  }
+
+  @Override
+  protected SampleDrawerFactory buildDrawerFactory(
+      Map<Node, NodeState> observations, long runSeed) {
+    ImportanceFunction importance =
+        new ImportanceFunction(
+            nodes,
+            network.getNetworkData().getNetworkTablesMap(),
+            buildObservedOrdinals(observations));
+    // Chunk -1 keeps the learning rounds' generator apart from every sampling chunk's generator.
+    importance.learn(learningRounds, samplesPerRound, chunkRandom(runSeed, -1));
+    return SampleDrawerFactory.shared(importance::draw);
+  }
+}
@@ -0,0 +1,55 @@
+package io.github.alecredmond.internal.method.sampler;
+
+public class AliasTable {
+  private final int rowWidth;
+  private final double[] probabilities;
+  private final double[] acceptance;
+  private final int[] aliases;
+
+  public AliasTable(double[] probabilities, int rowWidth) {
+    this.rowWidth = rowWidth;
+    this.probabilities = probabilities;
+    this.acceptance = new double[probabilities.length];
+    this.aliases = new int[probabilities.length];
+    for (int row = 0; row < probabilities.length; row += rowWidth) {
+      buildRow(row);
+    }
+  }
+
+  private void buildRow(int offset) {
+    double sum = 0;
+    for (int i = 0; i < rowWidth; i++) sum += probabilities[offset + i];
+    int[] small = new int[rowWidth];
+    int[] large = new int[rowWidth];
+    int smallSize = 0;
+    int largeSize = 0;
+    for (int i = 0; i < rowWidth; i++) {
+      double scaled = sum > 0 ? probabilities[offset + i] * rowWidth / sum : 1.0;
+      acceptance[offset + i] = scaled;
+      aliases[offset + i] = i;
+      if (scaled < 1.0) small[smallSize++] = i;
+      else large[largeSize++] = i;
+    }
+    while (smallSize > 0 && largeSize > 0) {
+      int less = small[--smallSize];
+      int more = large[--largeSize];
+      aliases[offset + less] = more;
+      acceptance[offset + more] += acceptance[offset + less] - 1.0;
+      if (acceptance[offset + more] < 1.0) small[smallSize++] = more;
+      else large[largeSize++] = more;
+    }
+    while (largeSize > 0) acceptance[offset + large[--largeSize]] = 1.0;
+    while (smallSize > 0) acceptance[offset + small[--smallSize]] = 1.0;
+  }
+
+  public int draw(int rowOffset, double uniform) {
+    double scaled = uniform * rowWidth;
+    int column = Math.min((int) scaled, rowWidth - 1);
+    int index = rowOffset + column;
+    return scaled - column < acceptance[index] ? column : aliases[index];
+  }
+
+  public double probability(int rowOffset, int column) {
+    return probabilities[rowOffset + column];
+  }
+}
@@ -0,0 +1,87 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.probabilitytables.ProbabilityVector;
+import java.util.*;
+
+public class CliqueAliasTable {
+  private final int[] fixedPositions;
+  private final int[][] fixedOffsets;
+  private final int[] freePositions;
+  private final int[][] freeStates;
+  private final AliasTable rows;
+
+  public CliqueAliasTable(
+      ProbabilityVector vector, Set<Node> fixedNodes, Map<Node, Integer> nodePositions) {
+    List<Node> fixed = new ArrayList<>();
+    List<Node> free = new ArrayList<>();
+    for (Node node : vector.getNodeArray()) (fixedNodes.contains(node) ? fixed : free).add(node);
+    int width = stateProduct(free);
+    int rowCount = stateProduct(fixed);
+
+    this.fixedPositions = positions(fixed, nodePositions);
+    this.fixedOffsets = new int[fixed.size()][];
+    int rowStride = width;
+    for (int f = fixed.size() - 1; f >= 0; f--) {
+      int states = fixed.get(f).getNodeStates().size();
+      fixedOffsets[f] = new int[states];
+      for (int s = 0; s < states; s++) fixedOffsets[f][s] = s * rowStride;
+      rowStride *= states;
+    }
+
+    this.freePositions = positions(free, nodePositions);
+    this.freeStates = new int[width][free.size()];
+    for (int column = 0; column < width; column++) decode(column, free, freeStates[column]);
+
+    double[] probabilities = new double[rowCount * width];
+    int[] fixedRow = new int[fixed.size()];
+    for (int row = 0; row < rowCount; row++) {
+      decode(row, fixed, fixedRow);
+      int base = tableOffset(vector, fixed, fixedRow);
+      for (int column = 0; column < width; column++) {
+        probabilities[row * width + column] =
+            vector.getProbabilities()[base + tableOffset(vector, free, freeStates[column])];
+      }
+    }
+    this.rows = new AliasTable(probabilities, width);
+  }
+
+  private static int stateProduct(List<Node> nodes) {
+    return nodes.stream()
+        .mapToInt(node -> node.getNodeStates().size())
+        .reduce(1, Math::multiplyExact);
+  }
+
+  private static int[] positions(List<Node> nodes, Map<Node, Integer> nodePositions) {
+    return nodes.stream().mapToInt(nodePositions::get).toArray();
+  }
+
+  private static void decode(int index, List<Node> nodes, int[] states) {
+    for (int n = nodes.size() - 1; n >= 0; n--) {
+      int count = nodes.get(n).getNodeStates().size();
+      states[n] = index % count;
+      index /= count;
+    }
+  }
+
+  private static int tableOffset(ProbabilityVector vector, List<Node> nodes, int[] states) {
+    int offset = 0;
+    for (int n = 0; n < nodes.size(); n++) {
+      Node node = nodes.get(n);
+      NodeState state = node.getNodeStates().get(states[n]);
+      int stride = vector.getStrideLengths()[vector.getNodeIndexMap().get(node)];
+      offset += stride * vector.getStateValueMap().get(state);
+    }
+    return offset;
+  }
+
+  public void draw(double uniform, int[] sample) {
+    int rowOffset = 0;
+    for (int f = 0; f < fixedPositions.length; f++) {
+      rowOffset += fixedOffsets[f][sample[fixedPositions[f]]];
+    }
+    int[] states = freeStates[rows.draw(rowOffset, uniform)];
+    for (int n = 0; n < freePositions.length; n++) sample[freePositions[n]] = states[n];
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+import io.github.alecredmond.export.probabilitytables.ProbabilityVector;
+import java.util.*;
+import java.util.stream.IntStream;
+import lombok.Getter;
+
+public class CptAliasTable {
+  @Getter private final int stateCount;
+  private final int[] parentPositions;
+  private final int[][] parentOffsets;
+  private final AliasTable rows;
+
+  public CptAliasTable(NetworkTable table, Map<Node, Integer> nodePositions) {
+    this(table, table.getProbabilities(), nodePositions);
+  }
+
+  public CptAliasTable(
+      NetworkTable table, double[] probabilities, Map<Node, Integer> nodePositions) {
+    Node node = table.getNetworkNode();
+    ProbabilityVector vector = table.getVector();
+    List<Node> parents = table.getConditions().stream().toList();
+    this.parentPositions = new int[parents.size()];
+    this.parentOffsets = new int[parents.size()][];
+    for (int p = 0; p < parents.size(); p++) {
+      Node parent = parents.get(p);
+      int stride = vector.getStrideLengths()[vector.getNodeIndexMap().get(parent)];
+      List<NodeState> parentStates = parent.getNodeStates();
+      parentPositions[p] = nodePositions.get(parent);
+      parentOffsets[p] = new int[parentStates.size()];
+      for (int s = 0; s < parentStates.size(); s++) {
+        parentOffsets[p][s] = stride * vector.getStateValueMap().get(parentStates.get(s));
+      }
+    }
+    this.stateCount = node.getNodeStates().size();
+    this.rows = new AliasTable(probabilities, stateCount);
+  }
+
+  public static CptAliasTable[] forNetwork(Node[] nodes, Map<Node, NetworkTable> networkTables) {
+    Map<Node, Integer> positions = new HashMap<>();
+    IntStream.range(0, nodes.length).forEach(i -> positions.put(nodes[i], i));
+    return Arrays.stream(nodes)
+        .map(node -> new CptAliasTable(networkTables.get(node), positions))
+        .toArray(CptAliasTable[]::new);
+  }
+
+  public int rowOffset(int[] sample) {
+    int offset = 0;
+    for (int p = 0; p < parentPositions.length; p++) {
+      offset += parentOffsets[p][sample[parentPositions[p]]];
+    }
+    return offset;
+  }
+
+  public int draw(int rowOffset, double uniform) {
+    return rows.draw(rowOffset, uniform);
+  }
+
+  public double probability(int rowOffset, int state) {
+    return rows.probability(rowOffset, state);
+  }
+}
@@ -0,0 +1,84 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import lombok.Getter;
+
+@Getter
+public class GibbsChain implements SampleDrawer {
+  private static final int MAX_INITIALIZATION_ATTEMPTS = 1000;
+  private final GibbsRun run;
+  private final SplittableRandom random;
+  private final double[] conditional;
+  private final long[] stateCounts;
+  private final boolean valid;
+  private long draws;
+
+  public GibbsChain(GibbsRun run, SplittableRandom random, int[] sample) {
+    this.run = run;
+    this.random = random;
+    int[] stateOffsets = run.getStateOffsets();
+    int maxStates = 0;
+    for (int i = 0; i + 1 < stateOffsets.length; i++) {
+      maxStates = Math.max(maxStates, stateOffsets[i + 1] - stateOffsets[i]);
+    }
+    this.conditional = new double[maxStates];
+    this.stateCounts = new long[stateOffsets[stateOffsets.length - 1]];
+    this.valid = initialize(random, sample);
+    if (!valid) return;
+    for (int sweep = 0; sweep < run.getBurnIn(); sweep++) sweep(random, sample);
+  }
+
+  private boolean initialize(SplittableRandom random, int[] sample) {
+    for (int attempt = 0; attempt < MAX_INITIALIZATION_ATTEMPTS; attempt++) {
+      double weight =
+          LikelihoodWeightingSampler.drawSample(
+              run.getObserved(), run.getAliasTables(), random, sample);
+      if (weight > 0.0) return true;
+    }
+    return false;
+  }
+
+  @Override
+  public double draw(RandomGenerator uniforms, int[] sample) {
+    if (!valid) return 0.0;
+    for (int sweep = 0; sweep < run.getThinning(); sweep++) sweep(random, sample);
+    int[] stateOffsets = run.getStateOffsets();
+    for (int i = 0; i < sample.length; i++) stateCounts[stateOffsets[i] + sample[i]]++;
+    draws++;
+    return 1.0;
+  }
+
+  private void sweep(SplittableRandom random, int[] sample) {
+    int[] observed = run.getObserved();
+    CptAliasTable[] aliasTables = run.getAliasTables();
+    int[][] children = run.getChildren();
+    for (int i = 0; i < sample.length; i++) {
+      if (observed[i] >= 0) continue;
+      CptAliasTable own = aliasTables[i];
+      int ownRow = own.rowOffset(sample);
+      int current = sample[i];
+      double total = 0.0;
+      for (int s = 0; s < own.getStateCount(); s++) {
+        sample[i] = s;
+        double weight = own.probability(ownRow, s);
+        for (int c = 0; c < children[i].length && weight > 0.0; c++) {
+          CptAliasTable child = aliasTables[children[i][c]];
+          weight *= child.probability(child.rowOffset(sample), sample[children[i][c]]);
+        }
+        conditional[s] = weight;
+        total += weight;
+      }
+      sample[i] = total > 0.0 ? pick(total * random.nextDouble(), own.getStateCount()) : current;
+    }
+  }
+
+  private int pick(double target, int stateCount) {
+    double cumulative = 0.0;
+    for (int s = 0; s < stateCount - 1; s++) {
+      cumulative += conditional[s];
+      if (target < cumulative) return s;
+    }
+    return stateCount - 1;
+  }
+}
@@ -0,0 +1,84 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.sampler.ChainDiagnostics;
+import java.util.*;
+import lombok.Getter;
+
+@Getter
+public class GibbsRun implements SampleDrawerFactory {
+  private final int[] observed;
+  private final CptAliasTable[] aliasTables;
+  private final int[][] children;
+  private final int[] stateOffsets;
+  private final int burnIn;
+  private final int thinning;
+  private final GibbsChain[] chains;
+
+  public GibbsRun(
+      int[] observed,
+      CptAliasTable[] aliasTables,
+      int[][] children,
+      int burnIn,
+      int thinning,
+      int chains) {
+    this.observed = observed;
+    this.aliasTables = aliasTables;
+    this.children = children;
+    this.burnIn = burnIn;
+    this.thinning = thinning;
+    this.chains = new GibbsChain[chains];
+    this.stateOffsets = new int[observed.length + 1];
+    for (int i = 0; i < observed.length; i++) {
+      stateOffsets[i + 1] = stateOffsets[i] + aliasTables[i].getStateCount();
+    }
+  }
+
+  @Override
+  public SampleDrawer forChunk(long chunk, SplittableRandom random, int[] sample) {
+    GibbsChain chain = new GibbsChain(this, random, sample);
+    if (chunk < chains.length) chains[(int) chunk] = chain;
+    return chain;
+  }
+
+  public ChainDiagnostics diagnose(Node[] nodes) {
+    GibbsChain[] completed =
+        Arrays.stream(chains).filter(Objects::nonNull).toArray(GibbsChain[]::new);
+    Map<Node, Double> rHat = new LinkedHashMap<>();
+    for (int i = 0; i < nodes.length; i++) {
+      if (observed[i] >= 0) continue;
+      double worst = Double.NaN;
+      for (int s = stateOffsets[i]; s < stateOffsets[i + 1]; s++) {
+        double value = potentialScaleReduction(completed, s);
+        if (Double.isNaN(worst) || value > worst) worst = value;
+      }
+      rHat.put(nodes[i], worst);
+    }
+    return new ChainDiagnostics(completed.length, rHat);
+  }
+
+  private double potentialScaleReduction(GibbsChain[] completed, int stateIndex) {
+    int m = completed.length;
+    if (m < 2) return Double.NaN;
+    double meanLength = 0;
+    double grandMean = 0;
+    double within = 0;
+    double[] means = new double[m];
+    for (int c = 0; c < m; c++) {
+      long n = completed[c].getDraws();
+      means[c] = n == 0 ? 0.0 : (double) completed[c].getStateCounts()[stateIndex] / n;
+      within += n > 1 ? means[c] * (1 - means[c]) * n / (n - 1) : 0.0;
+      grandMean += means[c];
+      meanLength += n;
+    }
+    within /= m;
+    grandMean /= m;
+    meanLength /= m;
+    double between = 0;
+    for (double mean : means) between += (mean - grandMean) * (mean - grandMean);
+    between /= m - 1;
+    if (within == 0.0) return between == 0.0 ? 1.0 : Double.POSITIVE_INFINITY;
+    double pooled = (meanLength - 1) / meanLength * within + between;
+    return Math.sqrt(pooled / within);
+  }
+}
@@ -0,0 +1,129 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static io.github.alecredmond.internal.method.utils.AppProperty.*;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+import io.github.alecredmond.export.sampler.ChainDiagnostics;
+import io.github.alecredmond.export.sampler.GibbsSampler;
+import io.github.alecredmond.export.sampler.SamplingMode;
+import io.github.alecredmond.internal.method.utils.PropertiesLoader;
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class GibbsSamplerImpl extends MonteCarloSamplerImpl implements GibbsSampler {
+  private int burnIn;
+  private int thinning;
+  private int chains;
+  private volatile ChainDiagnostics diagnostics;
+
+  public GibbsSamplerImpl(BayesianNetwork network) {
+    super(network);
+    PropertiesLoader loader = new PropertiesLoader();
+    setBurnIn(loader.loadInt(SAMPLER_GIBBS_BURN_IN));
+    setThinning(loader.loadInt(SAMPLER_GIBBS_THINNING));
+    setChains(loader.loadInt(SAMPLER_GIBBS_CHAINS));
+  }
+
+  @Override
+  public GibbsSampler setBurnIn(int sweeps) {
+    if (sweeps < 0) {
+      throw new IllegalArgumentException("Burn-in sweeps must not be negative!");
+    }
+    this.burnIn = sweeps;
+    return this;
+  }
+
+  @Override
+  public GibbsSampler setThinning(int sweeps) {
+    if (sweeps < 1) {
+      throw new IllegalArgumentException("Thinning sweeps must be greater than zero!");
+    }
+    this.thinning = sweeps;
+    return this;
+  }
+
+  @Override
+  public GibbsSampler setChains(int chains) {
+    if (chains < 1) {
+      throw new IllegalArgumentException("Number of chains must be greater than zero!");
+    }
+    this.chains = chains;
+    return this;
+  }
+
+  @Override
+  public ChainDiagnostics getDiagnostics() {
+    return diagnostics;
+  }
+
+  @Override
+  public GibbsSampler setSeed(Long seed) {
+    super.setSeed(seed);
+    return this;
+  }
+
+  @Override
+  public GibbsSampler setExecutionContext(ExecutionContext context) {
+    super.setExecutionContext(context);
+    return this;
+  }
+
+  @Override
+  public GibbsSampler setSamplingMode(SamplingMode mode) {
+    super.setSamplingMode(mode);
+    return this;
+  }
+
+  @Override
+  public GibbsSampler setMetricsEnabled(boolean enabled) {
+    super.setMetricsEnabled(enabled);
+    return this;
+  }
+
+  @Override
+  protected int samplesPerChunk(long numberOfSamples) {
+    return Math.clamp(Math.ceilDiv(numberOfSamples, chains), 1, Integer.MAX_VALUE);
+  }
+
+  @Override
+  protected int precisionSamplesPerChunk(int maxSamples) {
+    return samplesPerChunk(maxSamples);
+  }
+
+  @Override
+  protected SampleDrawerFactory buildDrawerFactory(
+      Map<Node, NodeState> observations, long runSeed) {
+    Map<Node, NetworkTable> networkTables = network.getNetworkData().getNetworkTablesMap();
+    return new GibbsRun(
+        buildObservedOrdinals(observations),
+        CptAliasTable.forNetwork(nodes, networkTables),
+        buildChildren(networkTables),
+        burnIn,
+        thinning,
+        chains);
+  }
+
+  private int[][] buildChildren(Map<Node, NetworkTable> networkTables) {
+    Map<Node, Integer> positions = new HashMap<>();
+    IntStream.range(0, nodes.length).forEach(i -> positions.put(nodes[i], i));
+    List<List<Integer>> children = new ArrayList<>();
+    IntStream.range(0, nodes.length).forEach(i -> children.add(new ArrayList<>()));
+    for (int i = 0; i < nodes.length; i++) {
+      for (Node parent : networkTables.get(nodes[i]).getConditions()) {
+        children.get(positions.get(parent)).add(i);
+      }
+    }
+    return children.stream()
+        .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+        .toArray(int[][]::new);
+  }
+
+  @Override
+  protected void onSamplesGenerated(SampleDrawerFactory drawerFactory) {
+    diagnostics = ((GibbsRun) drawerFactory).diagnose(nodes);
+  }
+}
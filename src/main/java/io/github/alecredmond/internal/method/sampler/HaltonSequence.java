@@ -0,0 +1,63 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.SplittableRandom;
+
+public class HaltonSequence extends UniformSequence {
+  private final int[] bases;
+  private final int[][] digitPermutations;
+  private final long[] permutationSeeds;
+  private final double[] shifts;
+
+  public HaltonSequence(SplittableRandom random, int dimensions) {
+    super(random, dimensions);
+    this.bases = new int[dimensions];
+    this.digitPermutations = new int[dimensions][];
+    this.permutationSeeds = new long[dimensions];
+    this.shifts = new double[dimensions];
+    for (int d = 0; d < dimensions; d++) {
+      permutationSeeds[d] = random.nextLong();
+      shifts[d] = random.nextDouble();
+    }
+  }
+
+  @Override
+  protected double coordinate(int dimension) {
+    if (digitPermutations[dimension] == null) initDimension(dimension);
+    int base = bases[dimension];
+    int[] permutation = digitPermutations[dimension];
+    double inverseBase = 1.0 / base;
+    double factor = inverseBase;
+    double value = 0.0;
+    for (int n = point; n > 0; n /= base) {
+      value += permutation[n % base] * factor;
+      factor *= inverseBase;
+    }
+    value += shifts[dimension];
+    return value >= 1.0 ? value - 1.0 : value;
+  }
+
+  private void initDimension(int dimension) {
+    for (int d = 0; d <= dimension; d++) {
+      if (bases[d] == 0) bases[d] = nextPrime(d == 0 ? 1 : bases[d - 1]);
+    }
+    int base = bases[dimension];
+    int[] permutation = new int[base];
+    for (int digit = 0; digit < base; digit++) permutation[digit] = digit;
+    SplittableRandom shuffle = new SplittableRandom(permutationSeeds[dimension]);
+    for (int digit = base - 1; digit > 1; digit--) {
+      int swap = 1 + shuffle.nextInt(digit);
+      int held = permutation[digit];
+      permutation[digit] = permutation[swap];
+      permutation[swap] = held;
+    }
+    digitPermutations[dimension] = permutation;
+  }
+
+  private static int nextPrime(int after) {
+    for (int candidate = after + 1; ; candidate++) {
+      boolean prime = true;
+      for (int f = 2; f * f <= candidate && prime; f++) prime = candidate % f != 0;
+      if (prime) return candidate;
+    }
+  }
+}
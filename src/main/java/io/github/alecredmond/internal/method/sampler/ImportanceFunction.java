@@ -0,0 +1,134 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.probabilitytables.NetworkTable;
+import java.util.*;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+public class ImportanceFunction {
+  private static final double INITIAL_LEARNING_RATE = 0.4;
+  private static final double FINAL_LEARNING_RATE = 0.14;
+  private static final double PROBABILITY_FLOOR = 0.01;
+  private final NetworkTable[] tables;
+  private final Map<Node, Integer> positions;
+  private final int[] observed;
+  private final CptAliasTable[] prior;
+  private final double[][] importance;
+  private CptAliasTable[] proposal;
+
+  public ImportanceFunction(Node[] nodes, Map<Node, NetworkTable> networkTables, int[] observed) {
+    this.tables = Arrays.stream(nodes).map(networkTables::get).toArray(NetworkTable[]::new);
+    this.positions = new HashMap<>();
+    IntStream.range(0, nodes.length).forEach(i -> positions.put(nodes[i], i));
+    this.observed = observed;
+    this.prior = CptAliasTable.forNetwork(nodes, networkTables);
+    this.importance = new double[nodes.length][];
+    boolean[] evidenceParents = findEvidenceParents();
+    for (int i = 0; i < nodes.length; i++) {
+      importance[i] = tables[i].getProbabilities().clone();
+      if (evidenceParents[i]) flattenRows(i);
+      floorRows(i);
+    }
+    rebuildProposal();
+  }
+
+  private boolean[] findEvidenceParents() {
+    boolean[] evidenceParents = new boolean[tables.length];
+    for (int i = 0; i < tables.length; i++) {
+      if (observed[i] < 0) continue;
+      tables[i].getConditions().forEach(parent -> evidenceParents[positions.get(parent)] = true);
+    }
+    return evidenceParents;
+  }
+
+  private void flattenRows(int node) {
+    double[] priorRows = tables[node].getProbabilities();
+    for (int i = 0; i < importance[node].length; i++) {
+      importance[node][i] = priorRows[i] > 0.0 ? 1.0 : 0.0;
+    }
+  }
+
+  private void floorRows(int node) {
+    double[] priorRows = tables[node].getProbabilities();
+    double[] rows = importance[node];
+    int stateCount = prior[node].getStateCount();
+    for (int row = 0; row < rows.length; row += stateCount) {
+      double total = 0.0;
+      for (int s = row; s < row + stateCount; s++) {
+        if (priorRows[s] > 0.0) rows[s] = Math.max(rows[s], PROBABILITY_FLOOR);
+        total += rows[s];
+      }
+      if (total == 0.0) continue;
+      for (int s = row; s < row + stateCount; s++) rows[s] /= total;
+    }
+  }
+
+  private void rebuildProposal() {
+    CptAliasTable[] rebuilt = new CptAliasTable[tables.length];
+    for (int i = 0; i < tables.length; i++) {
+      rebuilt[i] = new CptAliasTable(tables[i], importance[i].clone(), positions);
+    }
+    this.proposal = rebuilt;
+  }
+
+  public void learn(int rounds, int samplesPerRound, SplittableRandom random) {
+    int[] sample = new int[tables.length];
+    int[] rowOffsets = new int[tables.length];
+    double[][] counts = new double[tables.length][];
+    for (int i = 0; i < tables.length; i++) counts[i] = new double[importance[i].length];
+    for (int round = 0; round < rounds; round++) {
+      for (double[] nodeCounts : counts) Arrays.fill(nodeCounts, 0.0);
+      for (int s = 0; s < samplesPerRound; s++) {
+        double weight = draw(random, sample, rowOffsets);
+        if (weight <= 0.0) continue;
+        for (int i = 0; i < tables.length; i++) {
+          if (observed[i] < 0) counts[i][rowOffsets[i] + sample[i]] += weight;
+        }
+      }
+      double rate =
+          INITIAL_LEARNING_RATE
+              * Math.pow(FINAL_LEARNING_RATE / INITIAL_LEARNING_RATE, (double) round / rounds);
+      for (int i = 0; i < tables.length; i++) {
+        if (observed[i] < 0) update(i, counts[i], rate);
+      }
+      rebuildProposal();
+    }
+  }
+
+  private void update(int node, double[] nodeCounts, double rate) {
+    double[] rows = importance[node];
+    int stateCount = prior[node].getStateCount();
+    for (int row = 0; row < rows.length; row += stateCount) {
+      double total = 0.0;
+      for (int s = row; s < row + stateCount; s++) total += nodeCounts[s];
+      if (total == 0.0) continue;
+      for (int s = row; s < row + stateCount; s++) {
+        rows[s] += rate * (nodeCounts[s] / total - rows[s]);
+      }
+    }
+    floorRows(node);
+  }
+
+  public double draw(RandomGenerator random, int[] sample) {
+    return draw(random, sample, null);
+  }
+
+  private double draw(RandomGenerator random, int[] sample, int[] rowOffsets) {
+    CptAliasTable[] current = proposal;
+    double weight = 1.0;
+    for (int i = 0; i < sample.length; i++) {
+      int row = prior[i].rowOffset(sample);
+      if (rowOffsets != null) rowOffsets[i] = row;
+      if (observed[i] >= 0) {
+        sample[i] = observed[i];
+        weight *= prior[i].probability(row, sample[i]);
+        continue;
+      }
+      sample[i] = current[i].draw(row, random.nextDouble());
+      double q = current[i].probability(row, sample[i]);
+      weight = q > 0.0 ? weight * prior[i].probability(row, sample[i]) / q : 0.0;
+    }
+    return weight;
+  }
+}
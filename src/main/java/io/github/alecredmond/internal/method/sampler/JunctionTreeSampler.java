@@ -0,0 +1,60 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.method.inference.InferenceEngineImpl;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeAlgorithm;
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class JunctionTreeSampler extends MonteCarloSamplerImpl {
+  private final InferenceEngineImpl engine;
+  private final Map<Node, Integer> nodePositions;
+
+  public JunctionTreeSampler(InferenceEngineImpl engine) {
+    super(engine.getNetwork());
+    this.engine = engine;
+    this.nodePositions = new HashMap<>();
+    IntStream.range(0, nodes.length).forEach(i -> nodePositions.put(nodes[i], i));
+  }
+
+  @Override
+  protected SampleDrawerFactory buildDrawerFactory(
+      Map<Node, NodeState> observations, long runSeed) {
+    synchronized (engine) {
+      if (!observations.equals(engine.getCurrentObservations())) {
+        engine.observeNetwork(observations.values());
+      }
+      JunctionTreeAlgorithm junctionTree = engine.getJunctionTree();
+      if (junctionTree.getJointProbability() == 0.0) {
+        return SampleDrawerFactory.shared((random, sample) -> 0.0);
+      }
+      CliqueAliasTable[] steps = buildSteps(junctionTree);
+      return SampleDrawerFactory.shared(
+          (random, sample) -> {
+            for (CliqueAliasTable step : steps) step.draw(random.nextDouble(), sample);
+            return 1.0;
+          });
+    }
+  }
+
+  private CliqueAliasTable[] buildSteps(JunctionTreeAlgorithm junctionTree) {
+    List<CliqueAliasTable> steps = new ArrayList<>();
+    for (Clique root : junctionTree.findTreeRoots()) {
+      steps.add(buildStep(root, Set.of()));
+      steps.addAll(
+          junctionTree
+              .getMessagePasser()
+              .mapDistributionOrder(
+                  root,
+                  (clique, nextClique, separator) ->
+                      buildStep(nextClique, separator.getNodes())));
+    }
+    return steps.toArray(CliqueAliasTable[]::new);
+  }
+
+  private CliqueAliasTable buildStep(Clique clique, Set<Node> fixedNodes) {
+    return new CliqueAliasTable(clique.getTable().getVector(), fixedNodes, nodePositions);
+  }
+}
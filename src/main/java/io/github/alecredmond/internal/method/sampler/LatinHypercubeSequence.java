@@ -0,0 +1,41 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.SplittableRandom;
+
+public class LatinHypercubeSequence extends UniformSequence {
+  private final int points;
+  private final int bits;
+  private final long mask;
+  private final long[] keys;
+
+  public LatinHypercubeSequence(SplittableRandom random, int dimensions, int points) {
+    super(random, dimensions);
+    this.points = Math.max(points, 1);
+    this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(this.points - 1));
+    this.mask = (1L << bits) - 1;
+    this.keys = new long[dimensions];
+    for (int d = 0; d < dimensions; d++) keys[d] = random.nextLong();
+  }
+
+  @Override
+  protected double coordinate(int dimension) {
+    return (stratum(point % points, keys[dimension]) + random.nextDouble()) / points;
+  }
+
+  private int stratum(int index, long key) {
+    long x = index;
+    do {
+      x = permute(x, key);
+    } while (x >= points);
+    return (int) x;
+  }
+
+  private long permute(long x, long key) {
+    int shift = (bits + 1) / 2;
+    x = ((x ^ key) * ((key >>> 32) | 1L)) & mask;
+    x ^= x >>> shift;
+    x = ((x ^ (key >>> 16)) * ((key << 1) | 1L)) & mask;
+    x ^= x >>> shift;
+    return x;
+  }
+}
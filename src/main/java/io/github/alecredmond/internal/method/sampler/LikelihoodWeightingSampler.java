@@ -1,149 +1,40 @@
 package io.github.alecredmond.internal.method.sampler;
 
 import io.github.alecredmond.export.network.BayesianNetwork;
-import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
-import io.github.alecredmond.export.probabilitytables.NetworkTable;
-import io.github.alecredmond.internal.application.sampler.LikelihoodWeightingSamplerData;
 import java.util.*;
-import java.util.stream.IntStream;
-import lombok.extern.slf4j.Slf4j;
+import java.util.random.RandomGenerator;
 
-@Slf4j
 public class LikelihoodWeightingSampler extends MonteCarloSamplerImpl {
-  private final LikelihoodWeightingSamplerData samplerData;
 
   public LikelihoodWeightingSampler(BayesianNetwork network) {
     super(network);
-    this.samplerData = buildSamplerData();
-  }
-
-  private LikelihoodWeightingSamplerData buildSamplerData() {
-    BayesianNetworkData networkData = network.getNetworkData();
-    Node[] nodes = networkData.getNodes().toArray(Node[]::new);
-    NetworkTable[] tables = new NetworkTable[nodes.length];
-    Map<Node, NetworkTable> networkTables = networkData.getNetworkTablesMap();
-    IntStream.range(0, nodes.length).forEach(i -> tables[i] = networkTables.get(nodes[i]));
-    return new LikelihoodWeightingSamplerData(nodes, tables);
   }
 
   @Override
-  public SampleCollectionImpl generateSamples(
-      Map<Node, NodeState> observations, int numberOfSamples) {
-    if (numberOfSamples < 0) {
-      log.error("Attempted to generate less than zero samples!");
-      return null;
-    }
-    initSamplerData(observations, numberOfSamples);
-    setHelperSafeMode(false);
-    generateWeightedStateSets();
-    setHelperSafeMode(true);
-    convertSetsToSamples();
-    distributeSamples();
-    return new SampleBuilder()
-        .build(
-            numberOfSamples,
-            samplerData.getDistributedSamples(),
-            observations,
-            samplerData.getNodes(),
-            network.getNetworkData());
-  }
-
-  private void initSamplerData(Map<Node, NodeState> observations, int numberOfSamples) {
-    samplerData.setObservations(observations);
-    samplerData.setNumberOfSamples(numberOfSamples);
-    samplerData.setDefaultSample(buildDefaultSample(observations, samplerData.getNodes()));
-    samplerData.setWeightedStateSets(new HashMap<>());
-    samplerData.setWeightedSamples(new HashMap<>());
-    samplerData.setDistributedSamples(new HashMap<>());
-  }
-
-  private void setHelperSafeMode(boolean safeMode) {
-    Arrays.stream(samplerData.getTables()).forEach(t -> t.setSafeMode(safeMode));
-  }
-
-  private void generateWeightedStateSets() {
-    NodeState[] defaultSample = samplerData.getDefaultSample();
-    Node[] nodes = samplerData.getNodes();
-    NetworkTable[] tables = samplerData.getTables();
-    Map<Set<NodeState>, Double> weightedStateSets = samplerData.getWeightedStateSets();
-
-    for (int s = 0; s < samplerData.getNumberOfSamples(); s++) {
-      Set<NodeState> newSet = new LinkedHashSet<>();
-      double weight = 1.0;
-      for (int i = 0; i < nodes.length; i++) {
-        weight *= selectNextState(newSet, defaultSample[i], tables[i]);
+  protected SampleDrawerFactory buildDrawerFactory(
+      Map<Node, NodeState> observations, long runSeed) {
+    int[] observed = buildObservedOrdinals(observations);
+    CptAliasTable[] aliasTables =
+        CptAliasTable.forNetwork(nodes, network.getNetworkData().getNetworkTablesMap());
+    return SampleDrawerFactory.shared(
+        (random, sample) -> drawSample(observed, aliasTables, random, sample));
+  }
+
+  static double drawSample(
+      int[] observed, CptAliasTable[] aliasTables, RandomGenerator random, int[] sample) {
+    double weight = 1.0;
+    for (int i = 0; i < observed.length; i++) {
+      CptAliasTable aliasTable = aliasTables[i];
+      int row = aliasTable.rowOffset(sample);
+      if (observed[i] >= 0) {
+        sample[i] = observed[i];
+        weight *= aliasTable.probability(row, sample[i]);
+      } else {
+        sample[i] = aliasTable.draw(row, random.nextDouble());
       }
-      weightedStateSets.putIfAbsent(newSet, 0.0);
-      weightedStateSets.put(newSet, weightedStateSets.get(newSet) + weight);
-    }
-  }
-
-  private void convertSetsToSamples() {
-    Map<SampleImpl, Double> weightedSamples = samplerData.getWeightedSamples();
-    Map<Set<NodeState>, Double> weightedStateSets = samplerData.getWeightedStateSets();
-    weightedStateSets.forEach(
-        (set, weight) -> {
-          if (weight <= 0.0) return;
-          weightedSamples.put(new SampleImpl(set.toArray(NodeState[]::new)), weight);
-        });
-  }
-
-  private void distributeSamples() {
-    Map<SampleImpl, Double> weightedSamples = samplerData.getWeightedSamples();
-    if (weightedSamples.isEmpty()) {
-      samplerData.setDistributedSamples(new HashMap<>());
-      return;
     }
-    int numberOfSamples = samplerData.getNumberOfSamples();
-    Map<SampleImpl, Integer> distributedSamples = samplerData.getDistributedSamples();
-    Map<SampleImpl, Double> remainderSamples = new HashMap<>();
-    double ratio = getRatio(weightedSamples, numberOfSamples);
-    int[] tally = {0};
-
-    weightedSamples.forEach(
-        (sample, weight) -> {
-          double adjusted = weight * ratio;
-          int distributed = (int) adjusted;
-          tally[0] += distributed;
-          distributedSamples.put(sample, distributed);
-          remainderSamples.put(sample, adjusted - distributed);
-        });
-
-    allocateRemainders(remainderSamples, numberOfSamples - tally[0], distributedSamples);
-  }
-
-  private NodeState[] buildDefaultSample(Map<Node, NodeState> observations, Node[] nodes) {
-    return Arrays.stream(nodes)
-        .map(node -> observations.getOrDefault(node, null))
-        .toArray(NodeState[]::new);
-  }
-
-  private double selectNextState(
-      Set<NodeState> newSample, NodeState observedNextState, NetworkTable table) {
-    if (observedNextState != null) {
-      newSample.add(observedNextState);
-      return table.getProbability(newSample);
-    }
-    Map<NodeState, Double> probabilityMap = table.getConditionalProb(newSample);
-    newSample.add(nextRandom(probabilityMap));
-    return 1.0;
-  }
-
-  private double getRatio(Map<SampleImpl, Double> weightedSamples, int numberOfSamples) {
-    double sum = weightedSamples.values().stream().mapToDouble(Double::doubleValue).sum();
-    return sum != 0.0 ? numberOfSamples / sum : 0.0;
-  }
-
-  private void allocateRemainders(
-      Map<SampleImpl, Double> remainderWeights,
-      int unallocated,
-      Map<SampleImpl, Integer> distributedWeights) {
-    remainderWeights.entrySet().stream()
-        .sorted(Comparator.comparingDouble(Map.Entry<SampleImpl, Double>::getValue).reversed())
-        .map(Map.Entry::getKey)
-        .limit(unallocated)
-        .forEach(key -> distributedWeights.put(key, distributedWeights.get(key) + 1));
+    return weight;
   }
 }
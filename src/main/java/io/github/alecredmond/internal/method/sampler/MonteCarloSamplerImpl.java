@@ -3,23 +3,109 @@ package io.github.alecredmond.internal.method.sampler;
 import io.github.alecredmond.exceptions.NodeStateConflictException;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.PrecisionTarget;
+import io.github.alecredmond.export.sampler.SampleFileFormat;
+import io.github.alecredmond.export.sampler.SamplingMode;
+import io.github.alecredmond.export.sampler.WeightedSample;
+import io.github.alecredmond.internal.application.sampler.MonteCarloSamplerData;
+import io.github.alecredmond.internal.fileio.SampleFileWriter;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
+import io.github.alecredmond.internal.method.metrics.SamplingEvent;
 import io.github.alecredmond.internal.method.node.NodeUtils;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Getter
 public abstract class MonteCarloSamplerImpl implements MonteCarloSampler {
-  protected static final Random RANDOM = new Random();
+  private static final int SAMPLES_PER_CHUNK = 1 << 16;
+  private static final int PRECISION_SAMPLES_PER_CHUNK = 1 << 12;
+  private static final int MAX_PRECISION_ROUND_CHUNKS = 16;
+  // Twice SplitMix's golden gamma: seeding at runSeed + chunk * stride and splitting once yields
+  // the same generator as the chunk-th split() of new SplittableRandom(runSeed).
+  private static final long CHUNK_SEED_STRIDE = 2 * 0x9E3779B97F4A7C15L;
   protected final BayesianNetwork network;
+  protected final MetricsRecorder metrics;
+  @Getter(AccessLevel.NONE)
+  protected final Node[] nodes;
+  protected Long seed;
+  protected ExecutionContext executionContext;
+  protected SamplingMode samplingMode = SamplingMode.RANDOM;
 
   protected MonteCarloSamplerImpl(BayesianNetwork network) {
     this.network = network;
+    this.metrics = MetricsRecorder.fromProperties();
+    this.nodes = network.getNetworkData().getNodes().toArray(Node[]::new);
+  }
+
+  protected abstract SampleDrawerFactory buildDrawerFactory(
+      Map<Node, NodeState> observations, long runSeed);
+
+  protected int[] buildObservedOrdinals(Map<Node, NodeState> observations) {
+    int[] observed = new int[nodes.length];
+    for (int i = 0; i < nodes.length; i++) {
+      NodeState state = observations.get(nodes[i]);
+      observed[i] = state == null ? -1 : nodes[i].getNodeStates().indexOf(state);
+    }
+    return observed;
+  }
+
+  protected int samplesPerChunk(long numberOfSamples) {
+    return SAMPLES_PER_CHUNK;
+  }
+
+  protected int precisionSamplesPerChunk(int maxSamples) {
+    return Math.min(samplesPerChunk(maxSamples), PRECISION_SAMPLES_PER_CHUNK);
+  }
+
+  protected void onSamplesGenerated(SampleDrawerFactory drawerFactory) {}
+
+  @Override
+  public MonteCarloSampler setSeed(Long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  @Override
+  public MonteCarloSampler setExecutionContext(ExecutionContext context) {
+    this.executionContext = context;
+    return this;
+  }
+
+  @Override
+  public MonteCarloSampler setSamplingMode(SamplingMode mode) {
+    this.samplingMode = mode == null ? SamplingMode.RANDOM : mode;
+    return this;
+  }
+
+  protected long nextRunSeed() {
+    return seed != null ? seed : ThreadLocalRandom.current().nextLong();
+  }
+
+  @Override
+  public MonteCarloSampler setMetricsEnabled(boolean enabled) {
+    metrics.setEnabled(enabled);
+    return this;
+  }
+
+  @Override
+  public MetricsSnapshot getMetrics() {
+    return metrics.snapshot();
   }
 
   @Override
@@ -27,26 +113,247 @@ public abstract class MonteCarloSamplerImpl implements MonteCarloSampler {
     return generateSamples(new HashMap<>(), numberOfSamples);
   }
 
-  protected abstract SampleCollectionImpl generateSamples(
-      Map<Node, NodeState> observations, int numberOfSamples);
+  protected SampleCollectionImpl generateSamples(
+      Map<Node, NodeState> observations, int numberOfSamples) {
+    if (numberOfSamples < 0) {
+      log.error("Attempted to generate less than zero samples!");
+      return null;
+    }
+    SamplingEvent event =
+        metrics.begin(
+            () ->
+                new SamplingEvent(
+                    network.getNetworkData().getNetworkName(),
+                    numberOfSamples,
+                    observations.size()));
+    MonteCarloSamplerData samplerData = initSamplerData(observations, numberOfSamples);
+    generateWeightedSamples(samplerData);
+    onSamplesGenerated(samplerData.getDrawerFactory());
+    distributeSamples(samplerData);
+    SampleCollectionImpl samples =
+        new SampleBuilder(executionContext)
+            .build(
+                numberOfSamples,
+                samplerData.getDistributedSamples(),
+                observations,
+                nodes,
+                network.getNetworkData());
+    metrics.countSamples(numberOfSamples);
+    MetricsRecorder.commit(event);
+    return samples;
+  }
 
-  public SampleCollectionImpl generateSamples(InferenceEngine engine, int numberOfSamples) {
-    return generateSamples(engine.getCurrentObservations(), numberOfSamples);
+  protected SampleCollectionImpl generateSamplesUntil(
+      Map<Node, NodeState> observations,
+      Collection<NodeState> queryStates,
+      PrecisionTarget target) {
+    int maxSamples = target.maxSamples();
+    SamplingEvent event =
+        metrics.begin(
+            () ->
+                new SamplingEvent(
+                    network.getNetworkData().getNetworkName(), maxSamples, observations.size()));
+    MonteCarloSamplerData samplerData = initSamplerData(observations, maxSamples);
+    RunningEstimates estimates = new RunningEstimates(nodes, queryStates);
+    double z = RunningEstimates.normalQuantile(0.5 + target.confidenceLevel() / 2);
+    WeightedSampleMap weightedSamples =
+        new WeightedSampleMap(samplerData.getCodec().getWordCount());
+    int samplesPerChunk = precisionSamplesPerChunk(maxSamples);
+    int drawn = 0;
+    int nextChunk = 0;
+    int roundChunks = 1;
+    boolean targetMet = false;
+    while (drawn < maxSamples && !targetMet) {
+      List<SampleChunk> chunks = new ArrayList<>();
+      for (int c = 0; c < roundChunks && drawn < maxSamples; c++, nextChunk++) {
+        int size = Math.min(samplesPerChunk, maxSamples - drawn);
+        chunks.add(
+            new SampleChunk(
+                nextChunk,
+                size,
+                chunkRandom(samplerData.getRunSeed(), nextChunk),
+                estimates.emptyCopy()));
+        drawn += size;
+      }
+      sampleChunks(samplerData, chunks, weightedSamples, estimates);
+      targetMet = estimates.meets(target.marginOfError(), z);
+      roundChunks = Math.min(2 * roundChunks, MAX_PRECISION_ROUND_CHUNKS);
+    }
+
+    samplerData.setNumberOfSamples(drawn);
+    samplerData.setWeightedSamples(weightedSamples);
+    onSamplesGenerated(samplerData.getDrawerFactory());
+    distributeSamples(samplerData);
+    SampleCollectionImpl samples =
+        new SampleBuilder(executionContext)
+            .build(
+                drawn,
+                samplerData.getDistributedSamples(),
+                observations,
+                nodes,
+                network.getNetworkData(),
+                estimates.estimates(z),
+                targetMet);
+    metrics.countSamples(drawn);
+    MetricsRecorder.commit(event);
+    return samples;
   }
 
-  protected <R, E extends Number> R nextRandom(Map<R, E> weights) {
-    if (weights.isEmpty()) {
-      return null;
+  protected Stream<WeightedSample> streamSamples(
+      Map<Node, NodeState> observations, long numberOfSamples) {
+    if (numberOfSamples < 0) {
+      log.error("Attempted to stream less than zero samples!");
+      return Stream.empty();
     }
+    long runSeed = nextRunSeed();
+    MonteCarloSpliterator spliterator =
+        new MonteCarloSpliterator(
+            buildDrawerFactory(observations, runSeed),
+            samplingMode,
+            nodes.length,
+            runSeed,
+            numberOfSamples,
+            samplesPerChunk(numberOfSamples));
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  protected Node[] getSampledNodes() {
+    return nodes.clone();
+  }
 
-    double totalWeight = weights.values().stream().mapToDouble(Number::doubleValue).sum();
-    double randomValue = RANDOM.nextDouble() * totalWeight;
+  static SplittableRandom chunkRandom(long runSeed, long chunk) {
+    return new SplittableRandom(runSeed + chunk * CHUNK_SEED_STRIDE).split();
+  }
+
+  static int chunkSize(long numberOfSamples, int samplesPerChunk, long chunk) {
+    return (int) Math.min(samplesPerChunk, numberOfSamples - chunk * samplesPerChunk);
+  }
 
-    for (Map.Entry<R, E> entry : weights.entrySet()) {
-      randomValue -= entry.getValue().doubleValue();
-      if (randomValue <= 0.0) return entry.getKey();
+  private MonteCarloSamplerData initSamplerData(
+      Map<Node, NodeState> observations, int numberOfSamples) {
+    MonteCarloSamplerData samplerData = new MonteCarloSamplerData(nodes);
+    samplerData.setObservations(observations);
+    samplerData.setNumberOfSamples(numberOfSamples);
+    samplerData.setRunSeed(nextRunSeed());
+    samplerData.setSamplingMode(samplingMode);
+    samplerData.setDrawerFactory(buildDrawerFactory(observations, samplerData.getRunSeed()));
+    samplerData.setCodec(new SampleKeyCodec(nodes));
+    samplerData.setDistributedSamples(new LinkedHashMap<>());
+    return samplerData;
+  }
+
+  private void generateWeightedSamples(MonteCarloSamplerData samplerData) {
+    List<SampleChunk> chunks =
+        buildChunks(samplerData.getNumberOfSamples(), samplerData.getRunSeed());
+    WeightedSampleMap weightedSamples =
+        new WeightedSampleMap(samplerData.getCodec().getWordCount());
+    sampleChunks(samplerData, chunks, weightedSamples, null);
+    samplerData.setWeightedSamples(weightedSamples);
+  }
+
+  private void sampleChunks(
+      MonteCarloSamplerData samplerData,
+      List<SampleChunk> chunks,
+      WeightedSampleMap weightedSamples,
+      RunningEstimates estimates) {
+    List<WeightedSampleMap> chunkResults =
+        ParallelTasks.run(
+            executionContext,
+            chunks,
+            stream -> stream.map(chunk -> sampleChunk(samplerData, chunk)).toList());
+    chunkResults.forEach(weightedSamples::addAll);
+    if (estimates != null) chunks.forEach(chunk -> estimates.addAll(chunk.estimates()));
+  }
+
+  private List<SampleChunk> buildChunks(int numberOfSamples, long runSeed) {
+    int samplesPerChunk = samplesPerChunk(numberOfSamples);
+    List<SampleChunk> chunks = new ArrayList<>();
+    for (int chunk = 0; (long) chunk * samplesPerChunk < numberOfSamples; chunk++) {
+      chunks.add(
+          new SampleChunk(
+              chunk,
+              chunkSize(numberOfSamples, samplesPerChunk, chunk),
+              chunkRandom(runSeed, chunk),
+              null));
+    }
+    return chunks;
+  }
+
+  private WeightedSampleMap sampleChunk(MonteCarloSamplerData samplerData, SampleChunk chunk) {
+    SampleKeyCodec codec = samplerData.getCodec();
+    WeightedSampleMap weightedSamples = new WeightedSampleMap(codec.getWordCount());
+    SplittableRandom random = chunk.random();
+    int[] sample = new int[nodes.length];
+    long[] key = new long[codec.getWordCount()];
+    SampleDrawer drawer = samplerData.getDrawerFactory().forChunk(chunk.index(), random, sample);
+    UniformSequence uniforms =
+        UniformSequence.create(
+            samplerData.getSamplingMode(), random, nodes.length, chunk.samples());
+
+    for (int s = 0; s < chunk.samples(); s++) {
+      uniforms.nextPoint();
+      double weight = drawer.draw(uniforms, sample);
+      if (weight <= 0.0) continue;
+      if (chunk.estimates() != null) chunk.estimates().add(sample, weight);
+      codec.encode(sample, key);
+      weightedSamples.add(key, 0, weight);
+    }
+    return weightedSamples;
+  }
+
+  private void distributeSamples(MonteCarloSamplerData samplerData) {
+    WeightedSampleMap weightedSamples = samplerData.getWeightedSamples();
+    if (weightedSamples.size() == 0) return;
+    int numberOfSamples = samplerData.getNumberOfSamples();
+    double total = weightedSamples.totalWeight();
+    double ratio = total != 0.0 ? numberOfSamples / total : 0.0;
+
+    int[] slots = new int[weightedSamples.size()];
+    int[] counts = new int[slots.length];
+    double[] remainders = new double[slots.length];
+    int distinct = 0;
+    int tally = 0;
+    for (int slot = 0; slot < weightedSamples.capacity(); slot++) {
+      if (!weightedSamples.isUsed(slot)) continue;
+      double adjusted = weightedSamples.weightAt(slot) * ratio;
+      slots[distinct] = slot;
+      counts[distinct] = (int) adjusted;
+      remainders[distinct] = adjusted - counts[distinct];
+      tally += counts[distinct];
+      distinct++;
+    }
+
+    allocateRemainders(remainders, numberOfSamples - tally, counts);
+    materializeSamples(samplerData, slots, counts);
+  }
+
+  private void allocateRemainders(double[] remainders, int unallocated, int[] counts) {
+    IntStream.range(0, remainders.length)
+        .boxed()
+        .sorted(Comparator.comparingDouble((Integer i) -> remainders[i]).reversed())
+        .limit(Math.max(unallocated, 0))
+        .forEach(i -> counts[i]++);
+  }
+
+  private void materializeSamples(MonteCarloSamplerData samplerData, int[] slots, int[] counts) {
+    WeightedSampleMap weightedSamples = samplerData.getWeightedSamples();
+    NodeState[][] nodeStates =
+        Arrays.stream(nodes)
+            .map(node -> node.getNodeStates().toArray(NodeState[]::new))
+            .toArray(NodeState[][]::new);
+    SampleKeyCodec codec = samplerData.getCodec();
+    Map<SampleImpl, Integer> distributedSamples = samplerData.getDistributedSamples();
+    int[] sample = new int[nodes.length];
+    for (int i = 0; i < slots.length; i++) {
+      codec.decode(weightedSamples.getKeys(), weightedSamples.keyOffset(slots[i]), sample);
+      NodeState[] states = new NodeState[nodes.length];
+      for (int n = 0; n < nodes.length; n++) states[n] = nodeStates[n][sample[n]];
+      distributedSamples.put(new SampleImpl(states), counts[i]);
     }
-    return null;
+  }
+
+  public SampleCollectionImpl generateSamples(InferenceEngine engine, int numberOfSamples) {
+    return generateSamples(engine.getCurrentObservations(), numberOfSamples);
   }
 
   @Override
@@ -62,9 +369,57 @@ public abstract class MonteCarloSamplerImpl implements MonteCarloSampler {
     }
   }
 
+  @Override
+  public Stream<WeightedSample> streamSamples(long numberOfSamples) {
+    return streamSamples(new HashMap<>(), numberOfSamples);
+  }
+
+  @Override
+  public Stream<WeightedSample> streamSamples(
+      Collection<NodeState> observedStates, long numberOfSamples) {
+    try {
+      return streamSamples(
+          NodeUtils.generateOrderedRequest(observedStates, network.getNetworkData().getNodes()),
+          numberOfSamples);
+    } catch (NodeStateConflictException e) {
+      log.error(e.getMessage());
+      return Stream.empty();
+    }
+  }
+
+  @Override
+  public long writeSamples(
+      Collection<NodeState> observedStates,
+      long numberOfSamples,
+      Path file,
+      SampleFileFormat format)
+      throws IOException {
+    return new SampleFileWriter(getSampledNodes())
+        .write(streamSamples(observedStates, numberOfSamples), file, format);
+  }
+
+  @Override
+  public SampleCollectionImpl generateSamplesUntil(
+      Collection<NodeState> observedStates,
+      Collection<NodeState> queryStates,
+      PrecisionTarget target) {
+    try {
+      return generateSamplesUntil(
+          NodeUtils.generateOrderedRequest(observedStates, network.getNetworkData().getNodes()),
+          queryStates,
+          target);
+    } catch (NodeStateConflictException e) {
+      log.error(e.getMessage());
+      return null;
+    }
+  }
+
   @Override
   public <T extends Serializable> SampleCollectionImpl generateSamplesById(
       Collection<T> observedStateIds, int numberOfSamples) {
     return generateSamples(network.getNodeStates(observedStateIds), numberOfSamples);
   }
+
+  private record SampleChunk(
+      int index, int samples, SplittableRandom random, RunningEstimates estimates) {}
 }
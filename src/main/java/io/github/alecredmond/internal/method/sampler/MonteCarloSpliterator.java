@@ -0,0 +1,114 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static io.github.alecredmond.internal.method.sampler.MonteCarloSamplerImpl.*;
+
+import io.github.alecredmond.export.sampler.SamplingMode;
+import io.github.alecredmond.export.sampler.WeightedSample;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class MonteCarloSpliterator implements Spliterator<WeightedSample> {
+  private final SampleDrawerFactory drawerFactory;
+  private final SamplingMode samplingMode;
+  private final long runSeed;
+  private final long numberOfSamples;
+  private final int samplesPerChunk;
+  private final long endChunk;
+  private final int[] sample;
+  private long nextChunk;
+  private UniformSequence uniforms;
+  private SampleDrawer chunkDrawer;
+  private int remainingInChunk;
+
+  public MonteCarloSpliterator(
+      SampleDrawerFactory drawerFactory,
+      SamplingMode samplingMode,
+      int nodeCount,
+      long runSeed,
+      long numberOfSamples,
+      int samplesPerChunk) {
+    this(
+        drawerFactory,
+        samplingMode,
+        nodeCount,
+        runSeed,
+        numberOfSamples,
+        samplesPerChunk,
+        0,
+        Math.ceilDiv(numberOfSamples, samplesPerChunk));
+  }
+
+  private MonteCarloSpliterator(
+      SampleDrawerFactory drawerFactory,
+      SamplingMode samplingMode,
+      int nodeCount,
+      long runSeed,
+      long numberOfSamples,
+      int samplesPerChunk,
+      long nextChunk,
+      long endChunk) {
+    this.drawerFactory = drawerFactory;
+    this.samplingMode = samplingMode;
+    this.runSeed = runSeed;
+    this.numberOfSamples = numberOfSamples;
+    this.samplesPerChunk = samplesPerChunk;
+    this.nextChunk = nextChunk;
+    this.endChunk = endChunk;
+    this.sample = new int[nodeCount];
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super WeightedSample> action) {
+    while (remainingInChunk > 0 || startNextChunk()) {
+      remainingInChunk--;
+      uniforms.nextPoint();
+      double weight = chunkDrawer.draw(uniforms, sample);
+      if (weight <= 0.0) continue;
+      action.accept(new WeightedSample(sample.clone(), weight));
+      return true;
+    }
+    return false;
+  }
+
+  private boolean startNextChunk() {
+    if (nextChunk >= endChunk) return false;
+    SplittableRandom random = chunkRandom(runSeed, nextChunk);
+    remainingInChunk = chunkSize(numberOfSamples, samplesPerChunk, nextChunk);
+    chunkDrawer = drawerFactory.forChunk(nextChunk, random, sample);
+    uniforms = UniformSequence.create(samplingMode, random, sample.length, remainingInChunk);
+    nextChunk++;
+    return true;
+  }
+
+  @Override
+  public Spliterator<WeightedSample> trySplit() {
+    long unstarted = endChunk - nextChunk;
+    if (remainingInChunk > 0 || unstarted < 2) return null;
+    long mid = nextChunk + unstarted / 2;
+    MonteCarloSpliterator prefix =
+        new MonteCarloSpliterator(
+            drawerFactory,
+            samplingMode,
+            sample.length,
+            runSeed,
+            numberOfSamples,
+            samplesPerChunk,
+            nextChunk,
+            mid);
+    nextChunk = mid;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    if (nextChunk >= endChunk) return remainingInChunk;
+    long unstarted = Math.min(numberOfSamples, endChunk * samplesPerChunk);
+    return remainingInChunk + unstarted - nextChunk * samplesPerChunk;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+}
@@ -0,0 +1,20 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.SplittableRandom;
+
+public class RandomSequence extends UniformSequence {
+
+  public RandomSequence(SplittableRandom random) {
+    super(random, 0);
+  }
+
+  @Override
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+
+  @Override
+  protected double coordinate(int dimension) {
+    return random.nextDouble();
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+
+public class RowBitmap {
+  private static final int ARRAY_LIMIT = 4096;
+  private static final int BLOCK_WORDS = 1024;
+  private final int[] keys;
+  private final char[][] arrays;
+  private final long[][] bitmaps;
+  private final int cardinality;
+
+  public RowBitmap(int[] sortedRows) {
+    int blocks = 0;
+    for (int i = 0; i < sortedRows.length; i++) {
+      if (i == 0 || high(sortedRows[i]) != high(sortedRows[i - 1])) blocks++;
+    }
+    this.keys = new int[blocks];
+    this.arrays = new char[blocks][];
+    this.bitmaps = new long[blocks][];
+    this.cardinality = sortedRows.length;
+    int start = 0;
+    for (int block = 0; block < blocks; block++) {
+      int end = start;
+      while (end < sortedRows.length && high(sortedRows[end]) == high(sortedRows[start])) end++;
+      keys[block] = high(sortedRows[start]);
+      if (end - start <= ARRAY_LIMIT) {
+        arrays[block] = new char[end - start];
+        for (int i = start; i < end; i++) arrays[block][i - start] = (char) sortedRows[i];
+      } else {
+        bitmaps[block] = new long[BLOCK_WORDS];
+        for (int i = start; i < end; i++) {
+          bitmaps[block][(char) sortedRows[i] >>> 6] |= 1L << sortedRows[i];
+        }
+      }
+      start = end;
+    }
+  }
+
+  private static int high(int row) {
+    return row >>> 16;
+  }
+
+  public int getCardinality() {
+    return cardinality;
+  }
+
+  public static void forEachIntersecting(RowBitmap[] bitmaps, IntConsumer action) {
+    if (bitmaps.length == 0) return;
+    RowBitmap[] ordered = bitmaps.clone();
+    Arrays.sort(ordered, Comparator.comparingInt(RowBitmap::getCardinality));
+    RowBitmap smallest = ordered[0];
+    int[] blocks = new int[ordered.length];
+    for (int block = 0; block < smallest.keys.length; block++) {
+      int key = smallest.keys[block];
+      if (findBlocks(ordered, key, blocks)) intersectBlock(ordered, blocks, key << 16, action);
+    }
+  }
+
+  private static boolean findBlocks(RowBitmap[] ordered, int key, int[] blocks) {
+    for (int m = 0; m < ordered.length; m++) {
+      blocks[m] = Arrays.binarySearch(ordered[m].keys, key);
+      if (blocks[m] < 0) return false;
+    }
+    return true;
+  }
+
+  private static void intersectBlock(
+      RowBitmap[] ordered, int[] blocks, int base, IntConsumer action) {
+    int driver = -1;
+    int driverSize = Integer.MAX_VALUE;
+    for (int m = 0; m < ordered.length; m++) {
+      char[] array = ordered[m].arrays[blocks[m]];
+      if (array != null && array.length < driverSize) {
+        driver = m;
+        driverSize = array.length;
+      }
+    }
+    if (driver < 0) {
+      intersectWords(ordered, blocks, base, action);
+      return;
+    }
+    for (char low : ordered[driver].arrays[blocks[driver]]) {
+      if (containsInBlock(ordered, blocks, driver, low)) action.accept(base | low);
+    }
+  }
+
+  private static void intersectWords(
+      RowBitmap[] ordered, int[] blocks, int base, IntConsumer action) {
+    for (int w = 0; w < BLOCK_WORDS; w++) {
+      long word = -1L;
+      for (int m = 0; m < ordered.length && word != 0; m++) {
+        word &= ordered[m].bitmaps[blocks[m]][w];
+      }
+      while (word != 0) {
+        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+  }
+
+  private static boolean containsInBlock(RowBitmap[] ordered, int[] blocks, int skip, char low) {
+    for (int m = 0; m < ordered.length; m++) {
+      if (m == skip) continue;
+      char[] array = ordered[m].arrays[blocks[m]];
+      boolean present =
+          array != null
+              ? Arrays.binarySearch(array, low) >= 0
+              : (ordered[m].bitmaps[blocks[m]][low >>> 6] & (1L << low)) != 0;
+      if (!present) return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,131 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.IntervalEstimate;
+import java.util.*;
+
+public class RunningEstimates {
+  private final NodeState[] queryStates;
+  private final int[] queryNodes;
+  private final int[] queryOrdinals;
+  private final double[] weightIncluding;
+  private final double[] squaredWeightIncluding;
+  private double totalWeight;
+  private double totalSquaredWeight;
+
+  public RunningEstimates(Node[] nodes, Collection<NodeState> queryStates) {
+    this.queryStates = new LinkedHashSet<>(queryStates).toArray(NodeState[]::new);
+    this.queryNodes = new int[this.queryStates.length];
+    this.queryOrdinals = new int[this.queryStates.length];
+    List<Node> nodeList = Arrays.asList(nodes);
+    for (int q = 0; q < this.queryStates.length; q++) {
+      Node node = this.queryStates[q].getNode();
+      queryNodes[q] = nodeList.indexOf(node);
+      if (queryNodes[q] < 0) {
+        throw new IllegalArgumentException(
+            "Query state %s is not in the sampled network!".formatted(this.queryStates[q]));
+      }
+      queryOrdinals[q] = node.getNodeStates().indexOf(this.queryStates[q]);
+    }
+    this.weightIncluding = new double[this.queryStates.length];
+    this.squaredWeightIncluding = new double[this.queryStates.length];
+  }
+
+  private RunningEstimates(RunningEstimates template) {
+    this.queryStates = template.queryStates;
+    this.queryNodes = template.queryNodes;
+    this.queryOrdinals = template.queryOrdinals;
+    this.weightIncluding = new double[queryStates.length];
+    this.squaredWeightIncluding = new double[queryStates.length];
+  }
+
+  public RunningEstimates emptyCopy() {
+    return new RunningEstimates(this);
+  }
+
+  public void add(int[] sample, double weight) {
+    double squared = weight * weight;
+    totalWeight += weight;
+    totalSquaredWeight += squared;
+    for (int q = 0; q < queryStates.length; q++) {
+      if (sample[queryNodes[q]] != queryOrdinals[q]) continue;
+      weightIncluding[q] += weight;
+      squaredWeightIncluding[q] += squared;
+    }
+  }
+
+  public void addAll(RunningEstimates other) {
+    totalWeight += other.totalWeight;
+    totalSquaredWeight += other.totalSquaredWeight;
+    for (int q = 0; q < queryStates.length; q++) {
+      weightIncluding[q] += other.weightIncluding[q];
+      squaredWeightIncluding[q] += other.squaredWeightIncluding[q];
+    }
+  }
+
+  public boolean meets(double marginOfError, double z) {
+    if (totalWeight <= 0.0) return false;
+    for (int q = 0; q < queryStates.length; q++) {
+      if (estimate(q, z).marginOfError() > marginOfError) return false;
+    }
+    return true;
+  }
+
+  public Map<NodeState, IntervalEstimate> estimates(double z) {
+    Map<NodeState, IntervalEstimate> estimates = new LinkedHashMap<>();
+    for (int q = 0; q < queryStates.length; q++) estimates.put(queryStates[q], estimate(q, z));
+    return Collections.unmodifiableMap(estimates);
+  }
+
+  private IntervalEstimate estimate(int q, double z) {
+    if (totalWeight <= 0.0) return new IntervalEstimate(queryStates[q], 0.0, 0.0, 1.0, 0.0);
+    double p = weightIncluding[q] / totalWeight;
+    double effectiveSize = totalWeight * totalWeight / totalSquaredWeight;
+    double variance =
+        (squaredWeightIncluding[q] * (1 - 2 * p) + p * p * totalSquaredWeight)
+            / (totalWeight * totalWeight);
+    double n = variance > 0.0 && p > 0.0 && p < 1.0 ? p * (1 - p) / variance : effectiveSize;
+    double zz = z * z;
+    double denominator = 1 + zz / n;
+    double center = (p + zz / (2 * n)) / denominator;
+    double halfWidth = z / denominator * Math.sqrt(p * (1 - p) / n + zz / (4 * n * n));
+    return new IntervalEstimate(
+        queryStates[q],
+        p,
+        Math.max(0.0, center - halfWidth),
+        Math.min(1.0, center + halfWidth),
+        effectiveSize);
+  }
+
+  // Acklam's rational approximation of the standard normal quantile, relative error below 1.2e-9.
+  public static double normalQuantile(double probability) {
+    double[] a = {
+      -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+      1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00
+    };
+    double[] b = {
+      -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+      6.680131188771972e+01, -1.328068155288572e+01
+    };
+    double[] c = {
+      -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+      -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00
+    };
+    double[] d = {
+      7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00
+    };
+    double low = 0.02425;
+    if (probability < low) {
+      double q = Math.sqrt(-2 * Math.log(probability));
+      return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+          / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+    }
+    if (probability > 1 - low) return -normalQuantile(1 - probability);
+    double q = probability - 0.5;
+    double r = q * q;
+    return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5])
+        * q
+        / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+  }
+}
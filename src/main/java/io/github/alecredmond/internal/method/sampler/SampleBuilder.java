@@ -1,20 +1,19 @@
 package io.github.alecredmond.internal.method.sampler;
 
-import io.github.alecredmond.exceptions.SampleValidationException;
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.IntervalEstimate;
 import io.github.alecredmond.export.sampler.Sample;
 import io.github.alecredmond.internal.application.sampler.SampleCollectionData;
-import io.github.alecredmond.internal.method.node.NodeUtils;
 import java.util.*;
 import java.util.stream.IntStream;
-import lombok.NoArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import lombok.AllArgsConstructor;
 
-@Slf4j
-@NoArgsConstructor
+@AllArgsConstructor
 public class SampleBuilder {
+  private final ExecutionContext executionContext;
 
   public SampleCollectionImpl build(
       int numberOfSamples,
@@ -22,16 +21,34 @@ public class SampleBuilder {
       Map<Node, NodeState> observations,
       Node[] nodeArray,
       BayesianNetworkData networkData) {
+    return build(
+        numberOfSamples, sampleMap, observations, nodeArray, networkData, Map.of(), false);
+  }
+
+  public SampleCollectionImpl build(
+      int numberOfSamples,
+      Map<SampleImpl, Integer> sampleMap,
+      Map<Node, NodeState> observations,
+      Node[] nodeArray,
+      BayesianNetworkData networkData,
+      Map<NodeState, IntervalEstimate> intervalEstimates,
+      boolean precisionTargetMet) {
 
     if (sampleMap.isEmpty()) numberOfSamples = 0;
     else setCounts(sampleMap);
 
+    List<Sample> unordered = new ArrayList<>(sampleMap.keySet());
+    SampleColumns columns = new SampleColumns(unordered, nodeArray);
+    List<Sample> samples = radixSort(unordered, columns, observations, nodeArray);
     SampleCollectionData collectionData =
         SampleCollectionData.builder()
             .totalSamples(numberOfSamples)
-            .samples(radixSort(sampleMap.keySet(), observations, nodeArray))
+            .samples(samples)
+            .columns(columns)
             .networkObservations(Collections.unmodifiableMap(observations))
             .nodes(nodeArray)
+            .intervalEstimates(intervalEstimates)
+            .precisionTargetMet(precisionTargetMet)
             .build();
 
     return new SampleCollectionImpl(collectionData, networkData);
@@ -41,25 +58,19 @@ public class SampleBuilder {
     sampleMap.forEach((sample, integer) -> sample.getSampleData().setCount(integer));
   }
 
-  private <T extends Sample> List<Sample> radixSort(
-      Collection<T> samples, Map<Node, NodeState> observations, Node[] nodeArray) {
-    try {
-      return samples.stream()
-          .map(Sample.class::cast)
-          .sorted(radixComparator(nodeArray, observations))
-          .toList();
-    } catch (SampleValidationException e) {
-      log.warn("{}, USING RANDOM ORDER...", e.getMessage());
-      return samples.stream().map(Sample.class::cast).toList();
-    }
-  }
-
-  private Comparator<Sample> radixComparator(Node[] nodeArray, Map<Node, NodeState> observations) {
-    Map<NodeState, Integer> stateIndexes = NodeUtils.buildStateIndexMap(nodeArray);
-    return IntStream.range(0, nodeArray.length)
-        .filter(i -> !observations.containsKey(nodeArray[i]))
-        .mapToObj(i -> Comparator.comparing((Sample s) -> stateIndexes.get(s.getAllStates()[i])))
-        .reduce(Comparator::thenComparing)
-        .orElseThrow(() -> new SampleValidationException("SAMPLES COULD NOT BE ORDERED"));
+  private List<Sample> radixSort(
+      List<Sample> samples,
+      SampleColumns columns,
+      Map<Node, NodeState> observations,
+      Node[] nodeArray) {
+    int[] sortNodes =
+        IntStream.range(0, nodeArray.length)
+            .filter(i -> !observations.containsKey(nodeArray[i]))
+            .toArray();
+    int[] order = new SampleRadixSort(columns, sortNodes, executionContext).sort();
+    columns.applyRowOrder(order);
+    Sample[] ordered = new Sample[order.length];
+    for (int row = 0; row < order.length; row++) ordered[row] = samples.get(order[row]);
+    return List.of(ordered);
   }
 }
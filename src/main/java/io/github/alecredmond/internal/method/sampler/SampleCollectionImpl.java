@@ -3,6 +3,7 @@ package io.github.alecredmond.internal.method.sampler;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.IntervalEstimate;
 import io.github.alecredmond.export.sampler.Sample;
 import io.github.alecredmond.export.sampler.SampleCollection;
 import io.github.alecredmond.internal.application.sampler.SampleCollectionData;
@@ -51,6 +52,18 @@ public class SampleCollectionImpl implements SampleCollection {
     return collectionData.getSamples();
   }
 
+  public Map<NodeState, IntervalEstimate> getIntervalEstimates() {
+    return collectionData.getIntervalEstimates();
+  }
+
+  public boolean isPrecisionTargetMet() {
+    return collectionData.isPrecisionTargetMet();
+  }
+
+  SampleColumns getColumns() {
+    return collectionData.getColumns();
+  }
+
   public <T extends Serializable> void setDisplayedNodesById(Collection<T> nodeIds) {
     Set<Node> nodes = NetworkDataUtils.getNodesByID(nodeIds, networkData);
     setDisplayedNodes(nodes);
@@ -0,0 +1,118 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.Sample;
+import io.github.alecredmond.internal.method.node.NodeUtils;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+public class SampleColumns {
+  private final Node[] nodes;
+  private final byte[][] narrowColumns;
+  private final short[][] wideColumns;
+  private long[] counts;
+  private final Map<NodeState, RowBitmap> stateIndex;
+
+  public SampleColumns(List<Sample> samples, Node[] nodes) {
+    int rows = samples.size();
+    this.nodes = nodes;
+    this.narrowColumns = new byte[nodes.length][];
+    this.wideColumns = new short[nodes.length][];
+    this.counts = new long[rows];
+    this.stateIndex = new HashMap<>();
+    for (int n = 0; n < nodes.length; n++) {
+      if (nodes[n].getNodeStates().size() <= 256) narrowColumns[n] = new byte[rows];
+      else wideColumns[n] = new short[rows];
+    }
+    Map<NodeState, Integer> stateIndexes = NodeUtils.buildStateIndexMap(nodes);
+    for (int row = 0; row < rows; row++) {
+      Sample sample = samples.get(row);
+      counts[row] = sample.count();
+      NodeState[] states = sample.getAllStates();
+      for (int n = 0; n < nodes.length; n++) {
+        int state = stateIndexes.get(states[n]);
+        if (narrowColumns[n] != null) narrowColumns[n][row] = (byte) state;
+        else wideColumns[n][row] = (short) state;
+      }
+    }
+  }
+
+  public void applyRowOrder(int[] order) {
+    long[] orderedCounts = new long[order.length];
+    for (int row = 0; row < order.length; row++) orderedCounts[row] = counts[order[row]];
+    counts = orderedCounts;
+    for (int n = 0; n < nodes.length; n++) {
+      if (narrowColumns[n] != null) narrowColumns[n] = reorder(narrowColumns[n], order);
+      else wideColumns[n] = reorder(wideColumns[n], order);
+      indexNode(n, nodes[n].getNodeStates(), order.length);
+    }
+  }
+
+  private static byte[] reorder(byte[] column, int[] order) {
+    byte[] ordered = new byte[order.length];
+    for (int row = 0; row < order.length; row++) ordered[row] = column[order[row]];
+    return ordered;
+  }
+
+  private static short[] reorder(short[] column, int[] order) {
+    short[] ordered = new short[order.length];
+    for (int row = 0; row < order.length; row++) ordered[row] = column[order[row]];
+    return ordered;
+  }
+
+  private void indexNode(int node, List<NodeState> states, int rows) {
+    int[] sizes = new int[states.size()];
+    for (int row = 0; row < rows; row++) sizes[stateAt(node, row)]++;
+    int[][] rowsPerState = new int[states.size()][];
+    for (int s = 0; s < sizes.length; s++) rowsPerState[s] = new int[sizes[s]];
+    int[] filled = new int[states.size()];
+    for (int row = 0; row < rows; row++) {
+      int state = stateAt(node, row);
+      rowsPerState[state][filled[state]++] = row;
+    }
+    for (int s = 0; s < sizes.length; s++) {
+      stateIndex.put(states.get(s), new RowBitmap(rowsPerState[s]));
+    }
+  }
+
+  public int stateAt(int node, int row) {
+    return narrowColumns[node] != null
+        ? Byte.toUnsignedInt(narrowColumns[node][row])
+        : Short.toUnsignedInt(wideColumns[node][row]);
+  }
+
+  public int getRowCount() {
+    return counts.length;
+  }
+
+  public int getStateCount(int node) {
+    return nodes[node].getNodeStates().size();
+  }
+
+  public long count(int row) {
+    return counts[row];
+  }
+
+  public long countRowsIncluding(Collection<NodeState> states) {
+    long[] total = new long[1];
+    forEachRowIncluding(states, row -> total[0] += counts[row]);
+    return total[0];
+  }
+
+  public void forEachRowIncluding(Collection<NodeState> states, IntConsumer action) {
+    Set<NodeState> distinct = new HashSet<>(states);
+    if (distinct.isEmpty()) {
+      for (int row = 0; row < counts.length; row++) action.accept(row);
+      return;
+    }
+    RowBitmap[] bitmaps = new RowBitmap[distinct.size()];
+    int i = 0;
+    for (NodeState state : distinct) {
+      RowBitmap bitmap = stateIndex.get(state);
+      if (bitmap == null) return;
+      bitmaps[i++] = bitmap;
+    }
+    RowBitmap.forEachIntersecting(bitmaps, action);
+  }
+}
@@ -0,0 +1,8 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.random.RandomGenerator;
+
+@FunctionalInterface
+public interface SampleDrawer {
+  double draw(RandomGenerator random, int[] sample);
+}
@@ -0,0 +1,12 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.SplittableRandom;
+
+@FunctionalInterface
+public interface SampleDrawerFactory {
+  SampleDrawer forChunk(long chunk, SplittableRandom random, int[] sample);
+
+  static SampleDrawerFactory shared(SampleDrawer drawer) {
+    return (chunk, random, sample) -> drawer;
+  }
+}
@@ -0,0 +1,47 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.node.Node;
+
+public class SampleKeyCodec {
+  private final int[] words;
+  private final int[] shifts;
+  private final long[] masks;
+  private final int wordCount;
+
+  public SampleKeyCodec(Node[] nodes) {
+    this.words = new int[nodes.length];
+    this.shifts = new int[nodes.length];
+    this.masks = new long[nodes.length];
+    int word = 0;
+    int shift = 0;
+    for (int i = 0; i < nodes.length; i++) {
+      int bits = 32 - Integer.numberOfLeadingZeros(nodes[i].getNodeStates().size() - 1);
+      if (shift + bits > Long.SIZE) {
+        word++;
+        shift = 0;
+      }
+      words[i] = word;
+      shifts[i] = shift;
+      masks[i] = bits == 0 ? 0L : -1L >>> (Long.SIZE - bits);
+      shift += bits;
+    }
+    this.wordCount = word + 1;
+  }
+
+  public int getWordCount() {
+    return wordCount;
+  }
+
+  public void encode(int[] sample, long[] key) {
+    for (int w = 0; w < wordCount; w++) key[w] = 0L;
+    for (int i = 0; i < sample.length; i++) {
+      key[words[i]] |= (long) sample[i] << shifts[i];
+    }
+  }
+
+  public void decode(long[] keys, int offset, int[] sample) {
+    for (int i = 0; i < sample.length; i++) {
+      sample[i] = (int) ((keys[offset + words[i]] >>> shifts[i]) & masks[i]);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class SampleRadixSort {
+  private static final int MAX_DIGIT_RADIX = 1 << 11;
+  private static final int MIN_PARTITION_ROWS = 1 << 15;
+  private final SampleColumns columns;
+  private final int[] sortNodes;
+  private final int[] radices;
+  private final ExecutionContext context;
+
+  public SampleRadixSort(SampleColumns columns, int[] sortNodes, ExecutionContext context) {
+    this.columns = columns;
+    this.sortNodes = sortNodes;
+    this.radices = Arrays.stream(sortNodes).map(columns::getStateCount).toArray();
+    this.context = context == null ? ExecutionContext.getGlobal() : context;
+  }
+
+  public int[] sort() {
+    int rows = columns.getRowCount();
+    int[] order = IntStream.range(0, rows).toArray();
+    if (rows < 2 || sortNodes.length == 0) return order;
+    int[] scratch = new int[rows];
+    int[][] partitions = partition(rows);
+    for (int[] digit : buildDigits()) {
+      countingSort(digit, order, scratch, partitions);
+      int[] swap = order;
+      order = scratch;
+      scratch = swap;
+    }
+    return order;
+  }
+
+  private List<int[]> buildDigits() {
+    List<int[]> digits = new ArrayList<>();
+    int end = sortNodes.length;
+    while (end > 0) {
+      int start = end - 1;
+      long radix = radices[start];
+      while (start > 0 && radix * radices[start - 1] <= MAX_DIGIT_RADIX) {
+        radix *= radices[--start];
+      }
+      digits.add(IntStream.range(start, end).toArray());
+      end = start;
+    }
+    return digits;
+  }
+
+  private int[][] partition(int rows) {
+    int parts = Math.max(1, Math.min(context.getParallelism(), rows / MIN_PARTITION_ROWS));
+    if (context.runsSequentially(parts)) parts = 1;
+    int[][] partitions = new int[parts][];
+    for (int p = 0; p < parts; p++) {
+      partitions[p] =
+          new int[] {(int) ((long) rows * p / parts), (int) ((long) rows * (p + 1) / parts)};
+    }
+    return partitions;
+  }
+
+  private void countingSort(int[] digit, int[] order, int[] target, int[][] partitions) {
+    int radix = 1;
+    for (int d : digit) radix *= radices[d];
+    int[][] offsets = new int[partitions.length][radix];
+    forEachPartition(
+        partitions,
+        p -> {
+          int[] histogram = offsets[p];
+          for (int i = partitions[p][0]; i < partitions[p][1]; i++) {
+            histogram[digitKey(digit, order[i])]++;
+          }
+        });
+
+    int running = 0;
+    for (int key = 0; key < radix; key++) {
+      for (int[] partitionOffsets : offsets) {
+        int size = partitionOffsets[key];
+        partitionOffsets[key] = running;
+        running += size;
+      }
+    }
+
+    forEachPartition(
+        partitions,
+        p -> {
+          int[] next = offsets[p];
+          for (int i = partitions[p][0]; i < partitions[p][1]; i++) {
+            int row = order[i];
+            target[next[digitKey(digit, row)]++] = row;
+          }
+        });
+  }
+
+  private int digitKey(int[] digit, int row) {
+    int key = 0;
+    for (int d : digit) key = key * radices[d] + columns.stateAt(sortNodes[d], row);
+    return key;
+  }
+
+  private void forEachPartition(int[][] partitions, IntConsumer action) {
+    if (partitions.length == 1) {
+      action.accept(0);
+      return;
+    }
+    ParallelTasks.forEach(
+        context, IntStream.range(0, partitions.length).boxed().toList(), action::accept);
+  }
+}
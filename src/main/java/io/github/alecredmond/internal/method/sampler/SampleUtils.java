@@ -6,7 +6,6 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class SampleUtils {
   private SampleUtils() {}
@@ -18,18 +17,17 @@ public class SampleUtils {
 
   public static int countSamplesIncludingStates(
       SampleCollectionImpl sampleCollection, Collection<NodeState> states) {
-    return streamAllContaining(sampleCollection, states).mapToInt(Sample::count).sum();
-  }
-
-  private static Stream<Sample> streamAllContaining(
-      SampleCollectionImpl sampleCollection, Collection<NodeState> states) {
-    Set<NodeState> stateSet = new HashSet<>(states);
-    return sampleCollection.getSamples().stream().filter(sample -> sample.containsAll(stateSet));
+    return Math.toIntExact(sampleCollection.getColumns().countRowsIncluding(states));
   }
 
   public static List<Sample> listSamplesIncludingStates(
       SampleCollectionImpl sampleCollection, Collection<NodeState> states) {
-    return streamAllContaining(sampleCollection, states).toList();
+    List<Sample> samples = sampleCollection.getSamples();
+    List<Sample> included = new ArrayList<>();
+    sampleCollection
+        .getColumns()
+        .forEachRowIncluding(states, row -> included.add(samples.get(row)));
+    return Collections.unmodifiableList(included);
   }
 
   public static <F extends E, E extends Collection<NodeState>> E stateArrayToCollection(
@@ -0,0 +1,44 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import io.github.alecredmond.export.sampler.SamplingMode;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+public abstract class UniformSequence implements RandomGenerator {
+  protected final SplittableRandom random;
+  protected final int dimensions;
+  protected int point = -1;
+  private int dimension;
+
+  protected UniformSequence(SplittableRandom random, int dimensions) {
+    this.random = random;
+    this.dimensions = dimensions;
+  }
+
+  public static UniformSequence create(
+      SamplingMode mode, SplittableRandom random, int dimensions, int points) {
+    return switch (mode) {
+      case RANDOM -> new RandomSequence(random);
+      case STRATIFIED -> new LatinHypercubeSequence(random, dimensions, points);
+      case QUASI_RANDOM -> new HaltonSequence(random, dimensions);
+    };
+  }
+
+  public void nextPoint() {
+    point++;
+    dimension = 0;
+  }
+
+  @Override
+  public double nextDouble() {
+    int d = dimension++;
+    return d < dimensions ? coordinate(d) : random.nextDouble();
+  }
+
+  @Override
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  protected abstract double coordinate(int dimension);
+}
@@ -0,0 +1,111 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import java.util.Arrays;
+
+public class WeightedSampleMap {
+  private static final int INITIAL_CAPACITY = 64;
+  private final int wordCount;
+  private long[] keys;
+  private double[] weights;
+  private boolean[] used;
+  private int size;
+
+  public WeightedSampleMap(int wordCount) {
+    this.wordCount = wordCount;
+    allocate(INITIAL_CAPACITY);
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity * wordCount];
+    weights = new double[capacity];
+    used = new boolean[capacity];
+    size = 0;
+  }
+
+  public void add(long[] key, int keyOffset, double weight) {
+    if (2 * (size + 1) > used.length) grow();
+    int mask = used.length - 1;
+    int slot = hash(key, keyOffset) & mask;
+    while (used[slot]) {
+      if (keyEquals(slot, key, keyOffset)) {
+        weights[slot] += weight;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    used[slot] = true;
+    System.arraycopy(key, keyOffset, keys, slot * wordCount, wordCount);
+    weights[slot] = weight;
+    size++;
+  }
+
+  public void addAll(WeightedSampleMap other) {
+    for (int slot = 0; slot < other.used.length; slot++) {
+      if (other.used[slot]) add(other.keys, slot * wordCount, other.weights[slot]);
+    }
+  }
+
+  private boolean keyEquals(int slot, long[] key, int keyOffset) {
+    int start = slot * wordCount;
+    for (int w = 0; w < wordCount; w++) {
+      if (keys[start + w] != key[keyOffset + w]) return false;
+    }
+    return true;
+  }
+
+  private int hash(long[] key, int keyOffset) {
+    long h = 0x9E3779B97F4A7C15L;
+    for (int w = 0; w < wordCount; w++) {
+      h = (h ^ key[keyOffset + w]) * 0xBF58476D1CE4E5B9L;
+      h ^= h >>> 31;
+    }
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    double[] oldWeights = weights;
+    boolean[] oldUsed = used;
+    allocate(oldUsed.length * 2);
+    for (int slot = 0; slot < oldUsed.length; slot++) {
+      if (oldUsed[slot]) add(oldKeys, slot * wordCount, oldWeights[slot]);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return used.length;
+  }
+
+  public boolean isUsed(int slot) {
+    return used[slot];
+  }
+
+  public double weightAt(int slot) {
+    return weights[slot];
+  }
+
+  public long[] getKeys() {
+    return keys;
+  }
+
+  public int keyOffset(int slot) {
+    return slot * wordCount;
+  }
+
+  public double totalWeight() {
+    double sum = 0;
+    for (int slot = 0; slot < used.length; slot++) {
+      if (used[slot]) sum += weights[slot];
+    }
+    return sum;
+  }
+
+  public void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+}
@@ -1,12 +1,20 @@
 package io.github.alecredmond.internal.method.solver;
 
+import io.github.alecredmond.exceptions.NetworkStructureException;
+import io.github.alecredmond.export.solver.SolverCheckpoint;
 import io.github.alecredmond.export.solver.SolverResults;
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.solver.BayesSolver;
 import io.github.alecredmond.export.solver.SolverAlgorithm;
+import io.github.alecredmond.export.solver.SolverCancellationToken;
+import io.github.alecredmond.export.solver.SolverListener;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.internal.application.solver.SolverConfigs;
 import io.github.alecredmond.internal.method.solver.cptmapper.DirectCptMapper;
+import java.nio.file.Path;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -40,7 +48,9 @@ public class BayesSolverImpl extends JTASolver implements BayesSolver {
       configs.updateConfigs();
       configs.setSolverAlgorithm(solverAlgorithm);
       validator.validateDataBuilt();
-      validator.resetNetworkTables();
+      if (!configs.isWarmStart()) validator.resetNetworkTables();
+      frozenConstraints = Set.of();
+      directCptMapper.clearFrozenRows();
       return forceSolveCommon();
     } catch (Exception e) {
       results = null;
@@ -49,6 +59,47 @@ public class BayesSolverImpl extends JTASolver implements BayesSolver {
     }
   }
 
+  @Override
+  public boolean warmSolve() {
+    try {
+      configs.updateConfigs();
+      configs.setWarmStart(true);
+      validator.validateDataBuilt();
+      if (tryDirectCPTInput()) return true;
+      frozenConstraints = directCptMapper.freezeMappedRows();
+      return forceSolveCommon();
+    } catch (Exception e) {
+      results = null;
+      log.error(e.getLocalizedMessage(), e);
+      return false;
+    }
+  }
+
+  @Override
+  public boolean resume(SolverCheckpoint checkpoint) {
+    try {
+      configs.updateConfigs();
+      configs.setSolverAlgorithm(checkpoint.getSolverAlgorithm());
+      validator.validateDataBuilt();
+      BayesianNetworkData data = network.getNetworkData();
+      if (checkpoint.getStructureFingerprint() != StructureFingerprint.of(data)) {
+        throw new NetworkStructureException(
+            "CHECKPOINT WAS TAKEN FROM A NETWORK WITH A DIFFERENT STRUCTURE");
+      }
+      resumeFrom = (SolverCheckpointImpl) checkpoint;
+      frozenConstraints =
+          CheckpointRecorder.constraintsAt(data, resumeFrom.getFrozenConstraintIndexes());
+      directCptMapper.retainFrozenRows(frozenConstraints);
+      return forceSolveCommon();
+    } catch (Exception e) {
+      results = null;
+      log.error(e.getLocalizedMessage(), e);
+      return false;
+    } finally {
+      resumeFrom = null;
+    }
+  }
+
   @Override
   public boolean isSolved() {
     return network.isSolved();
@@ -60,6 +111,7 @@ public class BayesSolverImpl extends JTASolver implements BayesSolver {
       configs.updateConfigs();
       validator.validateDataBuilt();
       if (tryDirectCPTInput()) return true;
+      frozenConstraints = directCptMapper.freezeMappedRows();
       return forceSolveCommon();
     } catch (Exception e) {
       results = null;
@@ -72,6 +124,7 @@ public class BayesSolverImpl extends JTASolver implements BayesSolver {
     boolean mapped = directCptMapper.tryDirectImpute();
     if (mapped) {
       network.getNetworkData().setSolved(true);
+      discardJunctionTree();
     }
     return mapped;
   }
@@ -80,6 +133,7 @@ public class BayesSolverImpl extends JTASolver implements BayesSolver {
     BayesianNetworkData data = network.getNetworkData();
     data.setSolved(false);
     results = solveNetwork();
+    directCptMapper.restoreFrozenRows();
     data.setSolved(true);
     return true;
   }
@@ -89,6 +143,47 @@ public class BayesSolverImpl extends JTASolver implements BayesSolver {
     return tryDirectCPTInput();
   }
 
+  @Override
+  public BayesSolver addListener(SolverListener listener) {
+    listeners.add(listener);
+    return this;
+  }
+
+  @Override
+  public boolean removeListener(SolverListener listener) {
+    return listeners.remove(listener);
+  }
+
+  @Override
+  public BayesSolver setCancellationToken(SolverCancellationToken token) {
+    this.cancellationToken = token;
+    return this;
+  }
+
+  @Override
+  public BayesSolver setExecutionContext(ExecutionContext context) {
+    this.executionContext = context;
+    directCptMapper.setExecutionContext(context);
+    return this;
+  }
+
+  @Override
+  public BayesSolver setCheckpointFile(Path file) {
+    this.checkpointFile = file;
+    return this;
+  }
+
+  @Override
+  public BayesSolver setMetricsEnabled(boolean enabled) {
+    metrics.setEnabled(enabled);
+    return this;
+  }
+
+  @Override
+  public MetricsSnapshot getMetrics() {
+    return metrics.snapshot();
+  }
+
   @Override
   public SolverResults getResults() {
     if (results == null) {
@@ -0,0 +1,54 @@
+package io.github.alecredmond.internal.method.solver;
+
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import java.util.Arrays;
+
+class BestErrorSnapshot {
+  private final Clique[] cliques;
+  private final double[][] probabilities;
+  private double bestError;
+  private double savedError;
+  private int savedCycle;
+  private int improvingStreak;
+
+  BestErrorSnapshot(Clique[] cliques) {
+    this.cliques = cliques;
+    this.probabilities =
+        Arrays.stream(cliques)
+            .map(clique -> new double[clique.getTable().getProbabilities().length])
+            .toArray(double[][]::new);
+    this.bestError = Double.MAX_VALUE;
+    this.savedError = Double.MAX_VALUE;
+    this.savedCycle = -1;
+  }
+
+  // Copies are taken at the 1st, 2nd, 4th, 8th... cycle of each improving streak, so a
+  // monotonically converging run copies the tables O(log n) times rather than every cycle.
+  void offer(int cycle, double postCycleError) {
+    if (!(postCycleError < bestError)) {
+      improvingStreak = 0;
+      return;
+    }
+    bestError = postCycleError;
+    if (Integer.bitCount(++improvingStreak) != 1) return;
+    savedError = postCycleError;
+    savedCycle = cycle;
+    for (int i = 0; i < cliques.length; i++) {
+      double[] source = cliques[i].getTable().getProbabilities();
+      System.arraycopy(source, 0, probabilities[i], 0, source.length);
+    }
+  }
+
+  boolean restoreIfBetter(double finalError) {
+    if (savedCycle < 0 || finalError <= savedError) return false;
+    for (int i = 0; i < cliques.length; i++) {
+      double[] target = cliques[i].getTable().getProbabilities();
+      System.arraycopy(probabilities[i], 0, target, 0, target.length);
+    }
+    return true;
+  }
+
+  int getSavedCycle() {
+    return savedCycle;
+  }
+}
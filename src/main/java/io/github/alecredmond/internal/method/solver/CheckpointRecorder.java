@@ -0,0 +1,156 @@
+package io.github.alecredmond.internal.method.solver;
+
+import io.github.alecredmond.exceptions.NetworkStructureException;
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.solver.SolverAlgorithm;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
+import io.github.alecredmond.internal.application.junctiontree.Separator;
+import io.github.alecredmond.internal.fileio.SolverCheckpointFileIO;
+import io.github.alecredmond.internal.method.constraints.strategy.ConstraintSolver;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class CheckpointRecorder {
+  private final Path file;
+  private final Duration interval;
+  private final long fingerprint;
+  private final SolverAlgorithm solverAlgorithm;
+  private final int[] frozenConstraintIndexes;
+  private final Clique[] cliques;
+  private final Separator[] separators;
+  private final List<ConstraintSolver> solvers;
+  private final int runsPerCycle;
+  private double[] cycleErrors;
+  private int completedCycles;
+  private Instant nextWrite;
+
+  CheckpointRecorder(
+      Path file,
+      Duration interval,
+      SolverAlgorithm solverAlgorithm,
+      Set<ProbabilityConstraint> frozenConstraints,
+      JunctionTreeData jtd,
+      Instant start) {
+    BayesianNetworkData bnd = jtd.getNetworkData();
+    this.file = file;
+    this.interval = interval;
+    this.fingerprint = StructureFingerprint.of(bnd);
+    this.solverAlgorithm = solverAlgorithm;
+    this.frozenConstraintIndexes = indexesOf(bnd, frozenConstraints);
+    this.cliques = jtd.getCliques();
+    this.separators = jtd.getSeparators();
+    this.solvers = orderSolvers(jtd);
+    this.runsPerCycle = jtd.getSolversPerClique().size();
+    this.cycleErrors = new double[64];
+    this.completedCycles = 0;
+    this.nextWrite = start.plus(interval);
+  }
+
+  static Set<ProbabilityConstraint> constraintsAt(BayesianNetworkData bnd, int[] indexes) {
+    List<ProbabilityConstraint> constraints = new ArrayList<>(bnd.getConstraints());
+    Set<ProbabilityConstraint> found = new HashSet<>();
+    for (int index : indexes) {
+      if (index < 0 || index >= constraints.size()) {
+        throw new NetworkStructureException("CHECKPOINT REFERS TO A MISSING CONSTRAINT " + index);
+      }
+      found.add(constraints.get(index));
+    }
+    return found;
+  }
+
+  private static int[] indexesOf(BayesianNetworkData bnd, Set<ProbabilityConstraint> constraints) {
+    List<ProbabilityConstraint> ordered = new ArrayList<>(bnd.getConstraints());
+    return constraints.stream().mapToInt(ordered::indexOf).filter(i -> i >= 0).sorted().toArray();
+  }
+
+  private static List<ConstraintSolver> orderSolvers(JunctionTreeData jtd) {
+    Map<Clique, List<ConstraintSolver>> solversPerClique = jtd.getSolversPerClique();
+    return Arrays.stream(jtd.getCliques())
+        .map(solversPerClique::get)
+        .filter(Objects::nonNull)
+        .flatMap(List::stream)
+        .toList();
+  }
+
+  int restore(SolverCheckpointImpl checkpoint) {
+    double[][] cliqueTables = checkpoint.getCliqueTables();
+    double[][] separatorTables = checkpoint.getSeparatorTables();
+    double[][] constraintErrors = checkpoint.getConstraintErrors();
+    int cycles = checkpoint.getCompletedCycles();
+    if (cliqueTables.length != cliques.length
+        || separatorTables.length != separators.length
+        || constraintErrors.length != solvers.size()
+        || checkpoint.getCycleErrors().length != cycles) {
+      throw new NetworkStructureException("CHECKPOINT DOES NOT MATCH THE NETWORK'S JUNCTION TREE");
+    }
+    for (int i = 0; i < cliques.length; i++) {
+      copyInto(cliqueTables[i], cliques[i].getTable().getProbabilities());
+    }
+    for (int i = 0; i < separators.length; i++) {
+      copyInto(separatorTables[i], separators[i].getTable().getProbabilities());
+    }
+    for (int i = 0; i < solvers.size(); i++) {
+      solvers.get(i).restoreCycleErrors(constraintErrors[i], runsPerCycle);
+    }
+    cycleErrors = Arrays.copyOf(checkpoint.getCycleErrors(), Math.max(cycles, 64));
+    completedCycles = cycles;
+    return cycles;
+  }
+
+  private void copyInto(double[] source, double[] target) {
+    if (source.length != target.length) {
+      throw new NetworkStructureException("CHECKPOINT DOES NOT MATCH THE NETWORK'S JUNCTION TREE");
+    }
+    System.arraycopy(source, 0, target, 0, source.length);
+  }
+
+  double lastError() {
+    return completedCycles == 0 ? Double.MAX_VALUE : cycleErrors[completedCycles - 1];
+  }
+
+  void record(int cycle, double error, Instant now) {
+    if (cycle >= cycleErrors.length) {
+      cycleErrors = Arrays.copyOf(cycleErrors, cycleErrors.length * 2);
+    }
+    cycleErrors[cycle] = error;
+    completedCycles = cycle + 1;
+    if (file == null || now.isBefore(nextWrite)) return;
+    nextWrite = now.plus(interval);
+    write();
+  }
+
+  void write() {
+    if (file == null) return;
+    try {
+      new SolverCheckpointFileIO().write(buildCheckpoint(), file);
+      log.info("CHECKPOINT WRITTEN AFTER {} CYCLES TO {}", completedCycles, file);
+    } catch (IOException e) {
+      log.warn("FAILED TO WRITE CHECKPOINT TO {} : {}", file, e.getMessage());
+    }
+  }
+
+  private SolverCheckpointImpl buildCheckpoint() {
+    return new SolverCheckpointImpl(
+        fingerprint,
+        solverAlgorithm,
+        completedCycles,
+        Arrays.copyOf(cycleErrors, completedCycles),
+        frozenConstraintIndexes.clone(),
+        Arrays.stream(cliques)
+            .map(clique -> clique.getTable().getProbabilities().clone())
+            .toArray(double[][]::new),
+        Arrays.stream(separators)
+            .map(separator -> separator.getTable().getProbabilities().clone())
+            .toArray(double[][]::new),
+        solvers.stream()
+            .map(solver -> solver.getCycleErrors(completedCycles, runsPerCycle))
+            .toArray(double[][]::new));
+  }
+}
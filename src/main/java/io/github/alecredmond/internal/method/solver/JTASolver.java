@@ -1,17 +1,31 @@
 package io.github.alecredmond.internal.method.solver;
 
 import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.solver.SolverAlgorithm;
+import io.github.alecredmond.export.solver.SolverCancellationToken;
+import io.github.alecredmond.export.solver.SolverListener;
+import io.github.alecredmond.export.solver.SolverProgress;
 import io.github.alecredmond.export.solver.SolverResults;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.internal.application.solver.SolverConfigs;
 import io.github.alecredmond.internal.application.junctiontree.Clique;
 import io.github.alecredmond.internal.method.constraints.strategy.ConstraintSolver;
 import io.github.alecredmond.internal.method.junctiontree.JunctionTreeAlgorithm;
+import io.github.alecredmond.internal.method.metrics.MetricsRecorder;
+import io.github.alecredmond.internal.method.metrics.SolverCycleEvent;
+import io.github.alecredmond.internal.method.network.BayesianNetworkImpl;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,14 +34,99 @@ import lombok.extern.slf4j.Slf4j;
 public class JTASolver {
   protected final BayesianNetwork network;
   protected final SolverConfigs configs;
+  protected final List<SolverListener> listeners;
   protected JunctionTreeAlgorithm jta;
+  protected SolverCancellationToken cancellationToken;
+  protected Set<ProbabilityConstraint> frozenConstraints;
+  protected ExecutionContext executionContext;
+  @Getter(AccessLevel.NONE)
+  protected MetricsRecorder metrics;
+  protected Path checkpointFile;
+  protected SolverCheckpointImpl resumeFrom;
+  protected int componentIndex;
+
+  protected final Map<Set<Node>, JTASolver> componentSolvers;
 
   protected JTASolver(BayesianNetwork network, SolverConfigs configs) {
     this.configs = configs;
     this.network = network;
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.componentSolvers = new HashMap<>();
+    this.frozenConstraints = Set.of();
+    this.metrics = MetricsRecorder.fromProperties();
   }
 
   protected SolverResults solveNetwork() {
+    NetworkComponentSplitter splitter = new NetworkComponentSplitter();
+    List<Set<Node>> components = splitter.findComponents(network.getNetworkData());
+    boolean checkpointing = checkpointFile != null || resumeFrom != null;
+    boolean split = components.size() > 1 && !checkpointing;
+    if (components.size() > 1 && checkpointing && configs.isLogSolverProgress()) {
+      log.info(
+          "CHECKPOINTING ENABLED; SOLVING {} INDEPENDENT COMPONENTS AS A SINGLE JUNCTION TREE",
+          components.size());
+    }
+    SolverResults solved = split ? solveComponents(components, splitter) : solveComponent();
+    SolverResults results = new SolverResultsBuilder().addFrozenResults(solved, frozenConstraints);
+    listeners.forEach(listener -> listener.onSolverFinished(results));
+    return results;
+  }
+
+  private SolverResults solveComponents(
+      List<Set<Node>> components, NetworkComponentSplitter splitter) {
+    Instant start = Instant.now();
+    BayesianNetworkData bnd = network.getNetworkData();
+    jta = null;
+    componentSolvers.keySet().retainAll(components);
+
+    List<JTASolver> solvers = new ArrayList<>();
+    for (int i = 0; i < components.size(); i++) {
+      Set<Node> component = components.get(i);
+      JTASolver solver = componentSolvers.computeIfAbsent(component, this::buildComponentSolver);
+      solver.cancellationToken = cancellationToken;
+      solver.frozenConstraints = frozenConstraints;
+      solver.executionContext = executionContext;
+      solver.metrics = metrics;
+      solver.componentIndex = i;
+      BayesianNetworkData componentData = solver.getNetwork().getNetworkData();
+      splitter.populateComponent(bnd, component, i, componentData);
+      if (hasFreeConstraints(componentData)) solvers.add(solver);
+    }
+
+    if (configs.isLogSolverProgress()) {
+      log.info(
+          "NETWORK '{}' SPLIT INTO {} INDEPENDENT COMPONENTS; {} WITH CONSTRAINTS",
+          bnd.getNetworkName(),
+          components.size(),
+          solvers.size());
+    }
+
+    List<SolverResults> componentResults =
+        ParallelTasks.run(
+            executionContext, solvers, stream -> stream.map(JTASolver::solveComponent).toList());
+    return new SolverResultsBuilder()
+        .mergeResults(componentResults, Duration.between(start, Instant.now()));
+  }
+
+  private boolean hasFreeConstraints(BayesianNetworkData bnd) {
+    return bnd.getConstraints().stream().anyMatch(c -> !frozenConstraints.contains(c));
+  }
+
+  private JTASolver buildComponentSolver(Set<Node> component) {
+    JTASolver solver = new JTASolver(new BayesianNetworkImpl(new BayesianNetworkData()), configs);
+    solver.listeners.add(
+        new SolverListener() {
+          @Override
+          public void onCycleComplete(SolverProgress progress) {
+            synchronized (listeners) {
+              listeners.forEach(listener -> listener.onCycleComplete(progress));
+            }
+          }
+        });
+    return solver;
+  }
+
+  private SolverResults solveComponent() {
     boolean writeLogs = configs.isLogSolverProgress();
     Instant start = Instant.now();
 
@@ -35,7 +134,8 @@ public class JTASolver {
       log.info("STARTING SOLVER IN MODE = {}", configs.getSolverAlgorithm());
     }
 
-    jta = JunctionTreeAlgorithm.buildForSolver(network.getNetworkData(), configs);
+    jta = prepareJunctionTree(writeLogs);
+    jta.getData().setExecutionContext(executionContext);
     jta.normalizeTables();
 
     double lastError;
@@ -47,21 +147,57 @@ public class JTASolver {
     Instant nextLogTime = now.plus(configs.getLogIntervalSeconds(), ChronoUnit.SECONDS);
 
     Map<Clique, List<ConstraintSolver>> solversPerClique = jta.getData().getSolversPerClique();
+    Clique[] cliques = jta.getData().getCliques();
+    long[] cliqueNanos = new long[cliques.length];
+    SolverCancellationToken token = cancellationToken;
+
+    CheckpointRecorder recorder = buildCheckpointRecorder(start);
+    int firstCycle = 0;
+    if (resumeFrom != null) {
+      firstCycle = recorder.restore(resumeFrom);
+      error = recorder.lastError();
+      if (writeLogs) {
+        log.info("RESUMING SOLVER FROM CHECKPOINT AFTER {} CYCLES", firstCycle);
+      }
+    } else if (configs.getSolverAlgorithm() == SolverAlgorithm.JUNCTION_TREE_LBFGS) {
+      optimizeDual(solversPerClique, endTime, token, writeLogs);
+    }
+    BestErrorSnapshot snapshot = token == null ? null : new BestErrorSnapshot(cliques);
+    double postCycleError = Double.NaN;
 
+    String networkName = network.getNetworkData().getNetworkName();
     boolean thresholdReached = false;
     boolean timeLimitReached = false;
+    boolean cancelled = false;
     int cycle;
 
-    for (cycle = 0; cycle < configs.getCyclesLimit(); cycle++) {
+    for (cycle = firstCycle; cycle < configs.getCyclesLimit(); cycle++) {
+      int cycleIndex = cycle;
+      SolverCycleEvent event =
+          metrics.begin(() -> new SolverCycleEvent(networkName, cycleIndex));
       lastError = error;
-      error = runSolverCycleAndReturnError(jta, solversPerClique);
+      error = runSolverCycleAndReturnError(jta, solversPerClique, cliqueNanos);
       converge = error - lastError;
+      metrics.countSolverCycle();
+      if (event != null) {
+        event.error = error;
+        event.commit();
+      }
 
       now = Instant.now();
       thresholdReached = Math.abs(converge) <= configs.getConvergeThreshold();
       timeLimitReached = now.isAfter(endTime);
 
-      if (thresholdReached || timeLimitReached || Double.isNaN(error)) {
+      if (snapshot != null) {
+        postCycleError = measurePostCycleError(solversPerClique);
+        snapshot.offer(cycle, postCycleError);
+      }
+      if (recorder != null) recorder.record(cycle, error, now);
+      Duration elapsed = Duration.between(start, now);
+      notifyCycleComplete(cycle, error, converge, elapsed, cliques, cliqueNanos);
+      cancelled = token != null && token.isCancelled();
+
+      if (thresholdReached || timeLimitReached || cancelled || Double.isNaN(error)) {
         break;
       }
 
@@ -75,21 +211,130 @@ public class JTASolver {
       logEndStatement(
           thresholdReached,
           timeLimitReached,
+          cancelled,
           cycle >= configs.getCyclesLimit(),
           now.toEpochMilli() - start.toEpochMilli());
       logCycleComplete(cycle, converge, error);
     }
 
+    if (!thresholdReached && recorder != null) {
+      recorder.write();
+    }
+
+    if (!thresholdReached && snapshot != null) {
+      restoreBestState(snapshot, postCycleError, writeLogs);
+    }
+
     jta.writeTablesToNetwork();
     return writeResults(solversPerClique, cycle, now, start);
   }
 
+  private CheckpointRecorder buildCheckpointRecorder(Instant start) {
+    if (checkpointFile == null && resumeFrom == null) return null;
+    return new CheckpointRecorder(
+        checkpointFile,
+        Duration.ofSeconds(configs.getCheckpointIntervalSeconds()),
+        configs.getSolverAlgorithm(),
+        frozenConstraints,
+        jta.getData(),
+        start);
+  }
+
+  private void optimizeDual(
+      Map<Clique, List<ConstraintSolver>> solversPerClique,
+      Instant endTime,
+      SolverCancellationToken token,
+      boolean writeLogs) {
+    MaxEntropyDual dual = new MaxEntropyDual(jta, solversPerClique);
+    if (dual.dimension() == 0) return;
+    double[] lambdas = new double[dual.dimension()];
+    LbfgsMinimizer minimizer =
+        new LbfgsMinimizer(
+            configs.getCyclesLimit(),
+            Math.sqrt(configs.getConvergeThreshold()),
+            endTime,
+            () -> token != null && token.isCancelled());
+    LbfgsMinimizer.Result result = minimizer.minimize(dual, lambdas);
+    dual.evaluate(lambdas, new double[lambdas.length]);
+    if (writeLogs) {
+      log.info(
+          "L-BFGS DUAL STAGE ENDED AFTER {} ITERATIONS, {} EVALUATIONS : MAX GRADIENT = {}",
+          result.iterations(),
+          result.evaluations(),
+          "%1.2e".formatted(result.maxGradient()));
+    }
+  }
+
+  private void restoreBestState(BestErrorSnapshot snapshot, double finalError, boolean writeLogs) {
+    if (!snapshot.restoreIfBetter(finalError)) return;
+    if (writeLogs) {
+      log.info("RESTORED LOWER ERROR STATE FROM CYCLE {}", snapshot.getSavedCycle());
+    }
+  }
+
+  private double measurePostCycleError(Map<Clique, List<ConstraintSolver>> solversPerClique) {
+    return ParallelTasks.run(
+        executionContext,
+        solversPerClique.values(),
+        stream ->
+            stream.flatMap(List::stream).mapToDouble(ConstraintSolver::measureError).sum());
+  }
+
+  private void notifyCycleComplete(
+      int cycle,
+      double error,
+      double converge,
+      Duration elapsed,
+      Clique[] cliques,
+      long[] cliqueNanos) {
+    if (listeners.isEmpty()) return;
+    Map<Set<Node>, Duration> cliqueDurations = new LinkedHashMap<>();
+    for (Clique clique : cliques) {
+      long nanos = cliqueNanos[clique.getCliqueIndex()];
+      cliqueDurations.put(clique.getNodes(), Duration.ofNanos(nanos));
+    }
+    SolverProgress progress =
+        new SolverProgress(
+            cycle,
+            error,
+            converge,
+            elapsed,
+            Collections.unmodifiableMap(cliqueDurations),
+            componentIndex);
+    listeners.forEach(listener -> listener.onCycleComplete(progress));
+  }
+
+  private JunctionTreeAlgorithm prepareJunctionTree(boolean writeLogs) {
+    BayesianNetworkData bnd = network.getNetworkData();
+    if (configs.isWarmStart() && jta != null && jta.canWarmStart(bnd, configs)) {
+      if (writeLogs) {
+        log.info("WARM STARTING SOLVER FROM PREVIOUS CLIQUE TABLES");
+      }
+      jta.rebuildForWarmStart(frozenConstraints);
+      return jta;
+    }
+    return JunctionTreeAlgorithm.buildForSolver(bnd, configs, frozenConstraints, metrics);
+  }
+
+  protected void discardJunctionTree() {
+    jta = null;
+    componentSolvers.clear();
+  }
+
   private double runSolverCycleAndReturnError(
-      JunctionTreeAlgorithm jta, Map<Clique, List<ConstraintSolver>> solversPerClique) {
+      JunctionTreeAlgorithm jta,
+      Map<Clique, List<ConstraintSolver>> solversPerClique,
+      long[] cliqueNanos) {
     double sum = 0;
     for (Clique clique : solversPerClique.keySet()) {
-      sum += solversPerClique.values().parallelStream().mapToDouble(this::solveForClique).sum();
+      long cliqueStart = System.nanoTime();
+      sum +=
+          ParallelTasks.run(
+              executionContext,
+              solversPerClique.values(),
+              stream -> stream.mapToDouble(this::solveForClique).sum());
       jta.sumTransfer(clique);
+      cliqueNanos[clique.getCliqueIndex()] = System.nanoTime() - cliqueStart;
     }
     return sum;
   }
@@ -102,6 +347,7 @@ public class JTASolver {
   private void logEndStatement(
       boolean thresholdReached,
       boolean timeLimitReached,
+      boolean cancelled,
       boolean cycleLimitReached,
       long runTimeMs) {
     String statement;
@@ -109,6 +355,9 @@ public class JTASolver {
     if (thresholdReached) {
       statement = "FOUND A SOLUTION";
       logType = log::info;
+    } else if (cancelled) {
+      statement = "WAS CANCELLED";
+      logType = log::warn;
     } else if (cycleLimitReached) {
       statement = "REACHED MAX CYCLES";
       logType = log::warn;
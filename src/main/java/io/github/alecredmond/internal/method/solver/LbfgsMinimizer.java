@@ -0,0 +1,132 @@
+package io.github.alecredmond.internal.method.solver;
+
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+class LbfgsMinimizer {
+  private static final int HISTORY_SIZE = 10;
+  private static final int MAX_LINE_SEARCH_STEPS = 40;
+  private static final double ARMIJO_FACTOR = 1e-4;
+  private static final double CURVATURE_EPSILON = 1e-16;
+  private final int maxIterations;
+  private final double gradientTolerance;
+  private final Instant deadline;
+  private final BooleanSupplier cancelled;
+
+  LbfgsMinimizer(
+      int maxIterations, double gradientTolerance, Instant deadline, BooleanSupplier cancelled) {
+    this.maxIterations = maxIterations;
+    this.gradientTolerance = gradientTolerance;
+    this.deadline = deadline;
+    this.cancelled = cancelled;
+  }
+
+  Result minimize(Objective objective, double[] x) {
+    int n = x.length;
+    double[][] sHistory = new double[HISTORY_SIZE][n];
+    double[][] yHistory = new double[HISTORY_SIZE][n];
+    double[] rho = new double[HISTORY_SIZE];
+    double[] alpha = new double[HISTORY_SIZE];
+    double[] gradient = new double[n];
+    double[] direction = new double[n];
+    double[] trialX = new double[n];
+    double[] trialGradient = new double[n];
+
+    double value = objective.evaluate(x, gradient);
+    int evaluations = 1;
+    int stored = 0;
+    int newest = -1;
+    int iteration = 0;
+
+    while (iteration < maxIterations && maxAbs(gradient) > gradientTolerance) {
+      if (Instant.now().isAfter(deadline) || cancelled.getAsBoolean()) break;
+      iteration++;
+
+      searchDirection(gradient, direction, sHistory, yHistory, rho, alpha, stored, newest);
+      double slope = dot(gradient, direction);
+      if (slope >= 0) {
+        stored = 0;
+        for (int i = 0; i < n; i++) direction[i] = -gradient[i];
+        slope = dot(gradient, direction);
+      }
+
+      double step = 1.0;
+      double trialValue = Double.NaN;
+      boolean accepted = false;
+      for (int s = 0; s < MAX_LINE_SEARCH_STEPS && !accepted; s++) {
+        for (int i = 0; i < n; i++) trialX[i] = x[i] + step * direction[i];
+        trialValue = objective.evaluate(trialX, trialGradient);
+        evaluations++;
+        accepted =
+            Double.isFinite(trialValue) && trialValue <= value + ARMIJO_FACTOR * step * slope;
+        if (!accepted) step *= 0.5;
+      }
+      if (!accepted) break;
+
+      double curvature = 0;
+      for (int i = 0; i < n; i++) {
+        curvature += (trialX[i] - x[i]) * (trialGradient[i] - gradient[i]);
+      }
+      if (curvature > CURVATURE_EPSILON) {
+        newest = (newest + 1) % HISTORY_SIZE;
+        for (int i = 0; i < n; i++) {
+          sHistory[newest][i] = trialX[i] - x[i];
+          yHistory[newest][i] = trialGradient[i] - gradient[i];
+        }
+        rho[newest] = 1.0 / curvature;
+        stored = Math.min(stored + 1, HISTORY_SIZE);
+      }
+
+      System.arraycopy(trialX, 0, x, 0, n);
+      System.arraycopy(trialGradient, 0, gradient, 0, n);
+      value = trialValue;
+    }
+    return new Result(iteration, evaluations, value, maxAbs(gradient));
+  }
+
+  private void searchDirection(
+      double[] gradient,
+      double[] direction,
+      double[][] sHistory,
+      double[][] yHistory,
+      double[] rho,
+      double[] alpha,
+      int stored,
+      int newest) {
+    int n = gradient.length;
+    for (int i = 0; i < n; i++) direction[i] = -gradient[i];
+    if (stored == 0) return;
+
+    for (int k = 0; k < stored; k++) {
+      int j = Math.floorMod(newest - k, HISTORY_SIZE);
+      alpha[j] = rho[j] * dot(sHistory[j], direction);
+      for (int i = 0; i < n; i++) direction[i] -= alpha[j] * yHistory[j][i];
+    }
+    double scale = 1.0 / (rho[newest] * dot(yHistory[newest], yHistory[newest]));
+    for (int i = 0; i < n; i++) direction[i] *= scale;
+    for (int k = stored - 1; k >= 0; k--) {
+      int j = Math.floorMod(newest - k, HISTORY_SIZE);
+      double beta = rho[j] * dot(yHistory[j], direction);
+      for (int i = 0; i < n; i++) direction[i] += (alpha[j] - beta) * sHistory[j][i];
+    }
+  }
+
+  private static double dot(double[] a, double[] b) {
+    double sum = 0;
+    for (int i = 0; i < a.length; i++) sum += a[i] * b[i];
+    return sum;
+  }
+
+  private static double maxAbs(double[] array) {
+    double max = 0;
+    for (double value : array) max = Math.max(max, Math.abs(value));
+    return max;
+  }
+
+  @FunctionalInterface
+  interface Objective {
+    double evaluate(double[] x, double[] gradient);
+  }
+
+  record Result(int iterations, int evaluations, double value, double maxGradient) {}
+}
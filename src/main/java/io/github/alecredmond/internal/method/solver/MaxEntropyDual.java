@@ -0,0 +1,89 @@
+package io.github.alecredmond.internal.method.solver;
+
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.method.constraints.strategy.ConstraintSolver;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeAlgorithm;
+import java.util.*;
+
+class MaxEntropyDual implements LbfgsMinimizer.Objective {
+  private final JunctionTreeAlgorithm jta;
+  private final Clique[] cliques;
+  private final double[][] baseTables;
+  private final Clique[] factorCliques;
+  private final int[][] factorIndexes;
+  private final ConstraintSolver[] solvers;
+
+  MaxEntropyDual(
+      JunctionTreeAlgorithm jta, Map<Clique, List<ConstraintSolver>> solversPerClique) {
+    this.jta = jta;
+    this.cliques = jta.getData().getCliques();
+    jta.calibrate();
+
+    Set<ProbabilityConstraint> seen = new HashSet<>();
+    List<ConstraintSolver> duals = new ArrayList<>();
+    Map<Clique, List<Integer>> indexesPerClique = new LinkedHashMap<>();
+    for (Clique clique : cliques) {
+      for (ConstraintSolver solver : solversPerClique.getOrDefault(clique, List.of())) {
+        ProbabilityConstraint constraint = solver.getConstraint();
+        if (!seen.add(constraint)) continue;
+        double probability = constraint.getProbability();
+        if (probability <= 0 || probability >= 1) {
+          applyHardConstraint(clique, solver, probability);
+          continue;
+        }
+        indexesPerClique.computeIfAbsent(clique, c -> new ArrayList<>()).add(duals.size());
+        duals.add(solver);
+      }
+    }
+    this.baseTables =
+        Arrays.stream(cliques)
+            .map(clique -> clique.getTable().getProbabilities().clone())
+            .toArray(double[][]::new);
+    this.solvers = duals.toArray(ConstraintSolver[]::new);
+    this.factorCliques = indexesPerClique.keySet().toArray(Clique[]::new);
+    this.factorIndexes =
+        indexesPerClique.values().stream()
+            .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+            .toArray(int[][]::new);
+  }
+
+  int dimension() {
+    return solvers.length;
+  }
+
+  @Override
+  public double evaluate(double[] lambdas, double[] gradient) {
+    for (int i = 0; i < cliques.length; i++) {
+      double[] base = baseTables[i];
+      System.arraycopy(base, 0, cliques[i].getTable().getProbabilities(), 0, base.length);
+    }
+
+    double logPartition = 0;
+    for (int c = 0; c < factorCliques.length; c++) {
+      Clique clique = factorCliques[c];
+      for (int k : factorIndexes[c]) solvers[k].applyDualFactor(lambdas[k]);
+      double mass = normalize(clique.getTable().getProbabilities());
+      if (!(mass > 0) || !Double.isFinite(mass)) return Double.POSITIVE_INFINITY;
+      logPartition += Math.log(mass);
+      jta.sumTransfer(clique);
+    }
+
+    for (int k = 0; k < solvers.length; k++) gradient[k] = solvers[k].measureDualGradient();
+    return logPartition;
+  }
+
+  private void applyHardConstraint(Clique clique, ConstraintSolver solver, double probability) {
+    solver.applyDualFactor(probability > 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+    double mass = normalize(clique.getTable().getProbabilities());
+    if (mass > 0 && Double.isFinite(mass)) jta.sumTransfer(clique);
+  }
+
+  private double normalize(double[] probabilities) {
+    double mass = 0;
+    for (double p : probabilities) mass += p;
+    if (!(mass > 0) || !Double.isFinite(mass)) return mass;
+    for (int i = 0; i < probabilities.length; i++) probabilities[i] /= mass;
+    return mass;
+  }
+}
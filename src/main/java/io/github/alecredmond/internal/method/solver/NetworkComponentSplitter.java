@@ -0,0 +1,66 @@
+package io.github.alecredmond.internal.method.solver;
+
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.internal.method.network.NetworkDataUtils;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class NetworkComponentSplitter {
+
+  public List<Set<Node>> findComponents(BayesianNetworkData bnd) {
+    Map<Node, Node> roots = new HashMap<>();
+    bnd.getNodes().forEach(node -> roots.put(node, node));
+    for (Node node : bnd.getNodes()) {
+      node.getParents().forEach(parent -> union(node, parent, roots));
+    }
+    for (ProbabilityConstraint constraint : bnd.getConstraints()) {
+      Iterator<Node> scope = constraint.getAllNodes().iterator();
+      Node first = scope.next();
+      scope.forEachRemaining(node -> union(first, node, roots));
+    }
+    Map<Node, Set<Node>> components = new LinkedHashMap<>();
+    bnd.getNodes()
+        .forEach(
+            node ->
+                components
+                    .computeIfAbsent(findRoot(node, roots), r -> new LinkedHashSet<>())
+                    .add(node));
+    return new ArrayList<>(components.values());
+  }
+
+  private void union(Node nodeA, Node nodeB, Map<Node, Node> roots) {
+    Node rootA = findRoot(nodeA, roots);
+    Node rootB = findRoot(nodeB, roots);
+    if (!rootA.equals(rootB)) roots.put(rootA, rootB);
+  }
+
+  private Node findRoot(Node node, Map<Node, Node> roots) {
+    Node parent = roots.get(node);
+    if (parent.equals(node)) return node;
+    Node root = findRoot(parent, roots);
+    roots.put(node, root);
+    return root;
+  }
+
+  public void populateComponent(
+      BayesianNetworkData source, Set<Node> component, int index, BayesianNetworkData target) {
+    NetworkDataUtils.resetAll(target);
+    target.setNetworkName("%s [COMPONENT %d]".formatted(source.getNetworkName(), index));
+    target.setSolved(false);
+    target.getNodes().addAll(component);
+    component.forEach(
+        node -> {
+          target.getNodeIDsMap().put(node.getId(), node);
+          node.getNodeStates().forEach(s -> target.getNodeStateIDsMap().put(s.getId(), s));
+          target.getNetworkTablesMap().put(node, source.getNetworkTablesMap().get(node));
+        });
+    target
+        .getConstraints()
+        .addAll(
+            source.getConstraints().stream()
+                .filter(c -> component.containsAll(c.getAllNodes()))
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+  }
+}
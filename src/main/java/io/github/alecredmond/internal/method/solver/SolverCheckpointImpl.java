@@ -0,0 +1,24 @@
+package io.github.alecredmond.internal.method.solver;
+
+import io.github.alecredmond.export.solver.SolverAlgorithm;
+import io.github.alecredmond.export.solver.SolverCheckpoint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SolverCheckpointImpl implements SolverCheckpoint {
+  private final long structureFingerprint;
+  private final SolverAlgorithm solverAlgorithm;
+  private final int completedCycles;
+  private final double[] cycleErrors;
+  private final int[] frozenConstraintIndexes;
+  private final double[][] cliqueTables;
+  private final double[][] separatorTables;
+  private final double[][] constraintErrors;
+
+  @Override
+  public double[] getErrorHistory() {
+    return cycleErrors.clone();
+  }
+}
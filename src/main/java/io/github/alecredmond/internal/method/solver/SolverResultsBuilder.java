@@ -5,8 +5,10 @@ import io.github.alecredmond.export.solver.SolverConstraintResult;
 import io.github.alecredmond.export.solver.SolverResults;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -27,6 +29,34 @@ public class SolverResultsBuilder {
     return new SolverResults(cycle, solverResultMap, lastError, duration);
   }
 
+  public SolverResults mergeResults(List<SolverResults> componentResults, Duration duration) {
+    Map<ProbabilityConstraint, SolverConstraintResult> solverResultMap =
+        componentResults.stream()
+            .flatMap(results -> results.constraintResults().entrySet().stream())
+            .sorted(byLastErrorReversed())
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey, Map.Entry::getValue, (x, y) -> y, LinkedHashMap::new));
+
+    int cycles = componentResults.stream().mapToInt(SolverResults::cycles).max().orElse(0);
+    double lastError = componentResults.stream().mapToDouble(SolverResults::finalError).sum();
+    return new SolverResults(cycles, solverResultMap, lastError, duration);
+  }
+
+  public SolverResults addFrozenResults(
+      SolverResults results, Collection<ProbabilityConstraint> frozenConstraints) {
+    if (frozenConstraints.isEmpty()) return results;
+    Map<ProbabilityConstraint, SolverConstraintResult> solverResultMap =
+        new LinkedHashMap<>(results.constraintResults());
+    frozenConstraints.forEach(
+        constraint ->
+            solverResultMap.putIfAbsent(
+                constraint,
+                buildConstraintResult(Map.entry(constraint, new double[results.cycles() + 1]))));
+    return new SolverResults(
+        results.cycles(), solverResultMap, results.finalError(), results.solverRunDuration());
+  }
+
   private SolverConstraintResult buildConstraintResult(
       Map.Entry<ProbabilityConstraint, double[]> entry) {
     ProbabilityConstraint constraint = entry.getKey();
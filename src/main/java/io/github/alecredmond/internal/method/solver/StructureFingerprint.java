@@ -0,0 +1,69 @@
+package io.github.alecredmond.internal.method.solver;
+
+import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+public class StructureFingerprint {
+
+  private StructureFingerprint() {}
+
+  public static long of(BayesianNetworkData bnd) {
+    StringBuilder sb = describeNodes(bnd);
+    for (ProbabilityConstraint constraint : bnd.getConstraints()) {
+      sb.append("C:").append(constraint.getClass().getSimpleName());
+      sb.append("|E:").append(joinStates(constraint.getEventStates()));
+      sb.append("|G:").append(joinStates(constraint.getConditionStates()));
+      sb.append('\n');
+    }
+    MessageDigest digest = sha256();
+    digest.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  public static long withTables(BayesianNetworkData bnd) {
+    MessageDigest digest = sha256();
+    digest.update(describeNodes(bnd).toString().getBytes(StandardCharsets.UTF_8));
+    for (Node node : bnd.getNodes()) {
+      double[] probabilities = bnd.getNetworkTablesMap().get(node).getProbabilities();
+      ByteBuffer buffer = ByteBuffer.allocate(probabilities.length * Double.BYTES);
+      buffer.asDoubleBuffer().put(probabilities);
+      digest.update(buffer.array());
+    }
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  private static StringBuilder describeNodes(BayesianNetworkData bnd) {
+    StringBuilder sb = new StringBuilder();
+    for (Node node : bnd.getNodes()) {
+      sb.append("N:").append(node.getId());
+      sb.append("|S:").append(join(node.getNodeStates().stream().map(NodeState::getId).toList()));
+      sb.append("|P:").append(join(node.getParents().stream().map(Node::getId).toList()));
+      sb.append('\n');
+    }
+    return sb;
+  }
+
+  private static String joinStates(Collection<NodeState> states) {
+    return join(states.stream().map(NodeState::getId).map(String::valueOf).sorted().toList());
+  }
+
+  private static String join(Collection<?> ids) {
+    return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -3,7 +3,9 @@ package io.github.alecredmond.internal.method.solver.cptmapper;
 import io.github.alecredmond.export.constraints.ConditionalConstraint;
 import io.github.alecredmond.export.constraints.MarginalConstraint;
 import io.github.alecredmond.export.constraints.ProbabilityConstraint;
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.probabilitytables.ConditionalTable;
 import io.github.alecredmond.export.probabilitytables.NetworkTable;
 import io.github.alecredmond.export.probabilitytables.RootNodeTable;
@@ -13,7 +15,10 @@ import io.github.alecredmond.internal.method.solver.cptmapper.iterator.Condition
 import io.github.alecredmond.internal.method.solver.cptmapper.iterator.CptMapperIterator;
 import io.github.alecredmond.internal.method.solver.cptmapper.iterator.RootCPTMapperIterator;
 import io.github.alecredmond.internal.application.solver.CptMappingReport;
+import io.github.alecredmond.internal.application.solver.MappedCptRow;
+import io.github.alecredmond.internal.method.utils.ParallelTasks;
 import java.util.*;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -21,15 +26,21 @@ public class DirectCptMapper {
   private final ConditionalConstraintValidator conditionalValidator;
   private final MarginalConstraintValidator marginalValidator;
   private final BayesianNetworkData networkData;
+  private final List<MappedCptRow> frozenRows;
+  private List<CptMappingReport> lastReports;
+  @Setter private ExecutionContext executionContext;
 
   public DirectCptMapper(BayesianNetworkData networkData) {
     this.networkData = networkData;
     this.conditionalValidator = new ConditionalConstraintValidator();
     this.marginalValidator = new MarginalConstraintValidator();
+    this.frozenRows = new ArrayList<>();
+    this.lastReports = List.of();
   }
 
   public boolean tryDirectImpute() {
     List<CptMappingReport> reports = performDirectImpute();
+    lastReports = reports;
     Collection<ProbabilityConstraint> constraints = networkData.getConstraints();
     int initialConstraintsSize = constraints.size();
     int enteredConstraints = 0;
@@ -60,11 +71,68 @@ public class DirectCptMapper {
     return allCorrect;
   }
 
+  public Set<ProbabilityConstraint> freezeMappedRows() {
+    frozenRows.clear();
+    Set<ProbabilityConstraint> cptConstraints = new HashSet<>();
+    lastReports.forEach(
+        report -> {
+          cptConstraints.addAll(report.getInitialConstraints());
+          cptConstraints.addAll(report.getAddedConstraints());
+        });
+    List<Set<Node>> freeScopes =
+        networkData.getConstraints().stream()
+            .filter(constraint -> !cptConstraints.contains(constraint))
+            .map(ProbabilityConstraint::getAllNodes)
+            .toList();
+    lastReports.stream()
+        .filter(report -> isUnreachableByFreeConstraints(report.getNetworkTable(), freeScopes))
+        .forEach(report -> frozenRows.addAll(report.getMappedRows()));
+
+    Set<ProbabilityConstraint> frozenConstraints = new HashSet<>();
+    frozenRows.forEach(row -> frozenConstraints.addAll(row.constraints()));
+    if (!frozenRows.isEmpty()) {
+      log.info(
+          "{} CPT ROWS FROZEN FOR NETWORK '{}'; {} CONSTRAINTS REMOVED FROM IPFP",
+          frozenRows.size(),
+          networkData.getNetworkName(),
+          frozenConstraints.size());
+    }
+    return frozenConstraints;
+  }
+
+  public void restoreFrozenRows() {
+    frozenRows.forEach(
+        row -> {
+          double[] values = row.probabilities();
+          double[] target = row.networkTable().getProbabilities();
+          System.arraycopy(values, 0, target, row.rowStartIndex(), values.length);
+        });
+  }
+
+  public void clearFrozenRows() {
+    frozenRows.clear();
+  }
+
+  public void retainFrozenRows(Set<ProbabilityConstraint> frozenConstraints) {
+    frozenRows.removeIf(row -> !frozenConstraints.containsAll(row.constraints()));
+  }
+
+  private boolean isUnreachableByFreeConstraints(NetworkTable table, List<Set<Node>> freeScopes) {
+    Set<Node> affected = new HashSet<>();
+    Deque<Node> queue = new ArrayDeque<>(List.of(table.getNetworkNode()));
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      if (affected.add(node)) queue.addAll(node.getChildren());
+    }
+    return freeScopes.stream().noneMatch(scope -> scope.stream().anyMatch(affected::contains));
+  }
+
   private List<CptMappingReport> performDirectImpute() {
-    return networkData.getNetworkTablesMap().values().parallelStream()
-        .map(this::buildMapperIterator)
-        .map(CptMapperIterator::directMapCPTs)
-        .toList();
+    return ParallelTasks.run(
+        executionContext,
+        networkData.getNetworkTablesMap().values(),
+        stream ->
+            stream.map(this::buildMapperIterator).map(CptMapperIterator::directMapCPTs).toList());
   }
 
   private boolean onlyConditionalAndMarginalConstraintsInNetwork() {
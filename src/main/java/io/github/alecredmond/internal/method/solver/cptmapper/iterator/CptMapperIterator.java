@@ -9,6 +9,7 @@ import io.github.alecredmond.internal.method.constraints.strategy.CPTConstraintV
 import io.github.alecredmond.internal.method.constraints.strategy.ValidatedConstraint;
 import io.github.alecredmond.internal.method.solver.cptmapper.constraintsorter.CptConstraintSorter;
 import io.github.alecredmond.internal.application.solver.CptMappingReport;
+import io.github.alecredmond.internal.application.solver.MappedCptRow;
 import io.github.alecredmond.internal.method.utils.DoublePrecision;
 import io.github.alecredmond.internal.method.vectoriterator.VectorIterator;
 import io.github.alecredmond.internal.method.vectoriterator.iteratorutils.resetlogictypes.OdometerResetOnlyOnBuild;
@@ -53,6 +54,7 @@ public abstract class CptMapperIterator<T extends NetworkTable, P extends Probab
           iterator.iterateInner((o, i) -> checkRowEntry(o, i, entryCheck));
           boolean canBeMapped = validateRowAndBuildMissing(entryCheck, addedConstraints, odom);
           report.incrementRow(canBeMapped);
+          if (canBeMapped) report.addMappedRow(buildMappedRow(entryCheck, odom));
         });
     addedConstraints.forEach(report::addConstraint);
     return report;
@@ -60,6 +62,19 @@ public abstract class CptMapperIterator<T extends NetworkTable, P extends Probab
 
   protected abstract P[] buildRowConstraintsArray();
 
+  private MappedCptRow buildMappedRow(MissingEntryCheck entryCheck, VectorOdometer odometer) {
+    int start = entryCheck.rowStartIndex;
+    double[] row =
+        Arrays.copyOfRange(
+            odometer.getProbabilities(), start, start + entryCheck.rowConstraints.length);
+    List<ProbabilityConstraint> rowConstraints =
+        Arrays.stream(entryCheck.rowConstraints)
+            .filter(Objects::nonNull)
+            .map(ProbabilityConstraint.class::cast)
+            .toList();
+    return new MappedCptRow(networkTable, start, row, rowConstraints);
+  }
+
   private void checkRowEntry(VectorOdometer odometer, int index, MissingEntryCheck entryCheck) {
     NodeState[] states = odometer.getStates();
     Optional<P> constraintOpt = getNextConstraintIfEntryMatches(entryCheck, states);
@@ -19,6 +19,22 @@ public enum AppProperty {
   SOLVER_LOG_PROGRESS("app.bayes.solver.logSolverProgress"),
   SOLVER_LOG_INTERVAL_SECONDS("app.bayes.solver.logIntervalSeconds"),
   SOLVER_CONVERGE_THRESHOLD("app.bayes.solver.convergeThreshold"),
+  SOLVER_WARM_START("app.bayes.solver.warmStart"),
+  SOLVER_CHECKPOINT_INTERVAL_SECONDS("app.bayes.solver.checkpointIntervalSeconds"),
+
+  // Sampler Properties
+  SAMPLER_GIBBS_BURN_IN("app.bayes.sampler.gibbsBurnIn"),
+  SAMPLER_GIBBS_THINNING("app.bayes.sampler.gibbsThinning"),
+  SAMPLER_GIBBS_CHAINS("app.bayes.sampler.gibbsChains"),
+  SAMPLER_AIS_LEARNING_ROUNDS("app.bayes.sampler.aisLearningRounds"),
+  SAMPLER_AIS_SAMPLES_PER_ROUND("app.bayes.sampler.aisSamplesPerRound"),
+
+  // Execution Properties
+  EXECUTION_PARALLELISM("app.bayes.execution.parallelism"),
+  EXECUTION_SEQUENTIAL_THRESHOLD("app.bayes.execution.sequentialThreshold"),
+
+  // Metrics Properties
+  METRICS_ENABLED("app.bayes.metrics.enabled"),
 
   // Internal Properties
   INTERNAL_DOUBLE_EQUALITY("app.bayes.internal.doubleEqualityPrecision"),
@@ -0,0 +1,46 @@
+package io.github.alecredmond.internal.method.utils;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class ParallelTasks {
+
+  private ParallelTasks() {}
+
+  public static <T, R> R run(
+      ExecutionContext context, Collection<T> items, Function<Stream<T>, R> pipeline) {
+    ExecutionContext ctx = context == null ? ExecutionContext.getGlobal() : context;
+    if (ctx.runsSequentially(items.size())) {
+      return pipeline.apply(items.stream());
+    }
+    ForkJoinPool pool = ctx.getPool();
+    if (pool == ForkJoinPool.commonPool() || ForkJoinTask.getPool() == pool) {
+      return pipeline.apply(items.parallelStream());
+    }
+    try {
+      return CompletableFuture.supplyAsync(() -> pipeline.apply(items.parallelStream()), pool)
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      throw e;
+    }
+  }
+
+  public static <T> void forEach(
+      ExecutionContext context, Collection<T> items, Consumer<? super T> action) {
+    run(
+        context,
+        items,
+        stream -> {
+          stream.forEach(action);
+          return null;
+        });
+  }
+}
@@ -4,6 +4,7 @@ import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.network.BayesianNetworkData;
 import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
 import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
 import io.github.alecredmond.internal.method.network.BayesianNetworkImpl;
 import io.github.alecredmond.internal.serialization.structure.NetworkTableSerializer;
 import io.github.alecredmond.internal.serialization.structure.NodeSerializer;
@@ -25,10 +26,18 @@ public class BayesianNetworkSerializer {
   }
 
   public BayesianNetwork deSerialize(SerializedBayesianNetwork serializedBayesianNetwork) {
+    return deSerialize(serializedBayesianNetwork, null);
+  }
+
+  public BayesianNetwork deSerialize(
+      SerializedBayesianNetwork serializedBayesianNetwork, CompiledJunctionTree junctionTree) {
     SerializationData serializationData = new SerializationData();
     createNodes(serializedBayesianNetwork, serializationData);
-    return new BayesianNetworkImpl(
-        deSerializeNetworkData(serializedBayesianNetwork, serializationData));
+    BayesianNetworkImpl network =
+        new BayesianNetworkImpl(
+            deSerializeNetworkData(serializedBayesianNetwork, serializationData));
+    network.setCompiledJunctionTree(junctionTree);
+    return network;
   }
 
   private void createNodes(SerializedBayesianNetwork sbn, SerializationData serializationData) {
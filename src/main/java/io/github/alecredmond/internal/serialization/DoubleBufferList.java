@@ -0,0 +1,31 @@
+package io.github.alecredmond.internal.serialization;
+
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+public class DoubleBufferList extends AbstractList<Double> implements RandomAccess {
+  private final DoubleBuffer values;
+
+  public DoubleBufferList(DoubleBuffer values) {
+    this.values = values;
+  }
+
+  @Override
+  public Double get(int index) {
+    return values.get(index);
+  }
+
+  @Override
+  public int size() {
+    return values.limit();
+  }
+
+  public void copyTo(double[] target) {
+    if (target.length != values.limit()) {
+      throw new IllegalArgumentException(
+          "Expected %d probabilities, found %d!".formatted(target.length, values.limit()));
+    }
+    values.get(0, target, 0, target.length);
+  }
+}
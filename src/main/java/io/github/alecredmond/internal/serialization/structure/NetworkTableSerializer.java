@@ -8,6 +8,7 @@ import io.github.alecredmond.export.probabilitytables.serialized.SerializedNetwo
 import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.ConditionalTableBuilder;
 import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.RootNodeTableBuilder;
 import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.TableBuilder;
+import io.github.alecredmond.internal.serialization.DoubleBufferList;
 import io.github.alecredmond.internal.serialization.SerializationData;
 import io.github.alecredmond.internal.serialization.SerializerUtils;
 import java.io.Serializable;
@@ -62,6 +63,10 @@ public class NetworkTableSerializer {
   private void deSerializeProbabilities(NetworkTable table, SerializedNetworkTable serialized) {
     List<Double> list = serialized.probabilities();
     double[] array = table.getProbabilities();
+    if (list instanceof DoubleBufferList mapped) {
+      mapped.copyTo(array);
+      return;
+    }
     IntStream.range(0, array.length).forEach(i -> array[i] = list.get(i));
   }
 }
@@ -10,13 +10,17 @@ module BayesSolver {
   requires org.slf4j;
   requires java.desktop;
   requires java.sql;
+  requires java.xml;
   requires java.rmi;
+  requires jdk.jfr;
   requires org.apache.commons.lang3;
 
   exports io.github.alecredmond.exceptions;
   exports io.github.alecredmond.export.constraints;
   exports io.github.alecredmond.export.constraints.serialized;
+  exports io.github.alecredmond.export.execution;
   exports io.github.alecredmond.export.inference;
+  exports io.github.alecredmond.export.metrics;
   exports io.github.alecredmond.export.network;
   exports io.github.alecredmond.export.network.serialized;
   exports io.github.alecredmond.export.node;
@@ -26,4 +30,5 @@ module BayesSolver {
   exports io.github.alecredmond.export.probabilitytables.serialized;
   exports io.github.alecredmond.export.sampler;
   exports io.github.alecredmond.export.solver;
+  exports io.github.alecredmond.internal.method.metrics to jdk.jfr;
 }
@@ -2,16 +2,38 @@ package io.github.alecredmond.export.method.inference;
 
 import static io.github.alecredmond.TestConfigs.DOUBLE_EQUALITY;
 import static io.github.alecredmond.TestConfigs.SOLVE_LONG_TESTS;
+import static java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory;
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.metrics.MetricsSnapshot;
 import io.github.alecredmond.export.solver.BayesSolver;
 import io.github.alecredmond.export.solver.SolverAlgorithm;
+import io.github.alecredmond.export.solver.SolverCancellationToken;
+import io.github.alecredmond.export.solver.SolverCheckpoint;
+import io.github.alecredmond.export.solver.SolverConstraintResult;
+import io.github.alecredmond.export.solver.SolverListener;
+import io.github.alecredmond.export.solver.SolverProgress;
+import io.github.alecredmond.export.solver.SolverResults;
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.method.network.NetworkScenario;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -44,6 +66,421 @@ class BayesSolverTest {
     assertArraysEqual(firstSolveCPTsFlat, secondSolveCPTsFlat);
   }
 
+  @Test
+  void testWarmSolveAfterEditMatchesColdSolve() {
+    BayesianNetwork warm = buildReversedChain(0.5);
+    List<Node> orderedNodes = List.copyOf(warm.buildNetworkData().getNetworkData().getNodes());
+    BayesSolver warmSolver = BayesSolver.create(warm);
+    assertTrue(warmSolver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    assertTrue(warm.removeConstraint("C:0"));
+    warm.addConstraint("C:0", 0.45);
+    assertTrue(warmSolver.warmSolve());
+    int warmCycles = warmSolver.getResults().cycles();
+
+    BayesianNetwork cold = buildReversedChain(0.45);
+    BayesSolver coldSolver = BayesSolver.create(cold);
+    assertTrue(coldSolver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    int coldCycles = coldSolver.getResults().cycles();
+
+    assertArraysEqual(
+        buildFlatCptArray(orderedNodes, cold), buildFlatCptArray(orderedNodes, warm));
+    assertTrue(warmCycles < coldCycles);
+  }
+
+
+  @ParameterizedTest
+  @MethodSource("streamScenarios")
+  void testListenerCanCancelSolver(BayesianNetwork network) {
+    BayesSolver solver = BayesSolver.create(network);
+    SolverCancellationToken token = new SolverCancellationToken();
+    List<SolverProgress> progress = new ArrayList<>();
+    List<SolverResults> finished = new ArrayList<>();
+    solver
+        .setCancellationToken(token)
+        .addListener(
+            new SolverListener() {
+              @Override
+              public void onCycleComplete(SolverProgress cycleProgress) {
+                progress.add(cycleProgress);
+                token.cancel();
+              }
+
+              @Override
+              public void onSolverFinished(SolverResults results) {
+                finished.add(results);
+              }
+            });
+    assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    assertEquals(1, progress.size());
+    assertEquals(0, progress.getFirst().cycle());
+    assertFalse(progress.getFirst().cliqueDurations().isEmpty());
+    assertEquals(List.of(solver.getResults()), finished);
+    assertTrue(network.isSolved());
+  }
+
+  @Test
+  void testResumeFromCheckpointMatchesUninterruptedRun(@TempDir Path directory)
+      throws IOException {
+    BayesianNetwork reference = NetworkScenario.CAR_TRIMS.get();
+    List<Node> orderedNodes = List.copyOf(reference.buildNetworkData().getNetworkData().getNodes());
+    BayesSolver referenceSolver = BayesSolver.create(reference);
+    assertTrue(referenceSolver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    SolverResults expected = referenceSolver.getResults();
+
+    Path file = directory.resolve("car_trims.checkpoint");
+    SolverCancellationToken token = new SolverCancellationToken();
+    BayesSolver interrupted =
+        BayesSolver.create(NetworkScenario.CAR_TRIMS.get())
+            .setCheckpointFile(file)
+            .setCancellationToken(token)
+            .addListener(
+                new SolverListener() {
+                  @Override
+                  public void onCycleComplete(SolverProgress progress) {
+                    if (progress.cycle() == 9) token.cancel();
+                  }
+                });
+    assertTrue(interrupted.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+
+    SolverCheckpoint checkpoint = SolverCheckpoint.read(file);
+    assertEquals(10, checkpoint.getCompletedCycles());
+    assertEquals(SolverAlgorithm.JUNCTION_TREE_IPFP, checkpoint.getSolverAlgorithm());
+    assertEquals(10, checkpoint.getErrorHistory().length);
+
+    BayesianNetwork resumed = NetworkScenario.CAR_TRIMS.get();
+    BayesSolver resumedSolver = BayesSolver.create(resumed);
+    assertTrue(resumedSolver.resume(checkpoint));
+    assertEquals(expected.cycles(), resumedSolver.getResults().cycles());
+    assertEquals(expected.finalError(), resumedSolver.getResults().finalError(), DOUBLE_EQUALITY);
+    resumedSolver
+        .getResults()
+        .constraintResults()
+        .values()
+        .forEach(result -> assertEquals(expected.cycles() + 1, result.errors().length));
+    assertArraysEqual(
+        buildFlatCptArray(orderedNodes, reference), buildFlatCptArray(orderedNodes, resumed));
+
+    assertFalse(BayesSolver.create(NetworkScenario.ASIA_NETWORK.get()).resume(checkpoint));
+  }
+
+  @Test
+  void testTruncatedOrCorruptCheckpointsAreRejected(@TempDir Path directory)
+      throws IOException {
+    Path file = directory.resolve("car_trims.checkpoint");
+    SolverCancellationToken token = new SolverCancellationToken();
+    BayesSolver.create(NetworkScenario.CAR_TRIMS.get())
+        .setCheckpointFile(file)
+        .setCancellationToken(token)
+        .addListener(
+            new SolverListener() {
+              @Override
+              public void onCycleComplete(SolverProgress progress) {
+                token.cancel();
+              }
+            })
+        .forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP);
+    byte[] bytes = Files.readAllBytes(file);
+    assertNotNull(SolverCheckpoint.read(file));
+
+    Path truncated = directory.resolve("truncated.checkpoint");
+    Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+    assertThrows(IOException.class, () -> SolverCheckpoint.read(truncated));
+
+    int algorithmLengthOffset = 16;
+    int algorithmLength = ByteBuffer.wrap(bytes).getInt(algorithmLengthOffset);
+    int cycleErrorsOffset = algorithmLengthOffset + 2 * Integer.BYTES + algorithmLength;
+    for (int offset : new int[] {algorithmLengthOffset, cycleErrorsOffset}) {
+      for (int length : new int[] {-1, Integer.MAX_VALUE, bytes.length}) {
+        Path corrupt = directory.resolve("corrupt.checkpoint");
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).putInt(offset, length);
+        Files.write(corrupt, copy);
+        assertThrows(IOException.class, () -> SolverCheckpoint.read(corrupt));
+      }
+    }
+  }
+
+  @Test
+  void testDisconnectedComponentsSolveIndependently() {
+    BayesianNetwork combined = BayesianNetwork.newNetwork("COMBINED");
+    BayesianNetwork first = BayesianNetwork.newNetwork("FIRST");
+    BayesianNetwork second = BayesianNetwork.newNetwork("SECOND");
+    addReversedPair(combined, "A", "B", 0.3, 0.8);
+    addReversedPair(combined, "C", "D", 0.6, 0.1);
+    addReversedPair(first, "A", "B", 0.3, 0.8);
+    addReversedPair(second, "C", "D", 0.6, 0.1);
+
+    Set<Integer> components = ConcurrentHashMap.newKeySet();
+    BayesSolver combinedSolver =
+        BayesSolver.create(combined)
+            .addListener(
+                new SolverListener() {
+                  @Override
+                  public void onCycleComplete(SolverProgress progress) {
+                    components.add(progress.component());
+                  }
+                });
+    assertTrue(combinedSolver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    assertEquals(Set.of(0, 1), components);
+    assertTrue(BayesSolver.create(first).forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    assertTrue(BayesSolver.create(second).forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+
+    assertEquals(6, combinedSolver.getResults().constraintResults().size());
+    for (BayesianNetwork component : List.of(first, second)) {
+      component
+          .getNetworkTables()
+          .forEach(
+              (node, table) ->
+                  assertArraysEqual(
+                      table.getProbabilities(),
+                      combined.getNetworkTable(node.getId()).getProbabilities()));
+    }
+
+    InferenceEngine combinedEngine =
+        combined.buildInferenceEngine().observeNetworkFromIds("B:TRUE");
+    InferenceEngine firstEngine = first.buildInferenceEngine().observeNetworkFromIds("B:TRUE");
+    assertEquals(
+        firstEngine.getPosteriorProbabilityById("A:TRUE"),
+        combinedEngine.getPosteriorProbabilityById("A:TRUE"),
+        DOUBLE_EQUALITY);
+    assertEquals(
+        second.buildInferenceEngine().getPosteriorProbabilityById("D:TRUE"),
+        combinedEngine.getPosteriorProbabilityById("D:TRUE"),
+        DOUBLE_EQUALITY);
+  }
+
+  @ParameterizedTest
+  @MethodSource("streamScenarios")
+  void testLbfgsSatisfiesConstraints(BayesianNetwork network) {
+    BayesSolver solver = BayesSolver.create(network);
+    assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_LBFGS));
+    assertEquals(0.0, solver.getResults().finalError(), 1e-12);
+  }
+
+  @Test
+  void testLbfgsFindsMaximumEntropySolution() {
+    BayesianNetwork network = NetworkScenario.WEATHER_NETWORK.get();
+    BayesSolver solver = BayesSolver.create(network);
+    assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_LBFGS));
+    InferenceEngine engine = network.buildInferenceEngine();
+    double unconstrainedMass = 0.55 / 3;
+    assertEquals(unconstrainedMass, engine.getPosteriorProbabilityById("CLOUD:CLEAR"), 1e-9);
+    assertEquals(
+        unconstrainedMass,
+        engine.getPosteriorProbabilityById(List.of("CLOUD:LIGHT", "PRECIP:SNOW")),
+        1e-9);
+  }
+
+  @Test
+  void testDirectlyMappedRowsStayFrozenDuringIpfp() {
+    BayesianNetwork network =
+        BayesianNetwork.newNetwork("PARTIAL")
+            .addNewNode("A", List.of("A:TRUE", "A:FALSE"))
+            .addNewNode("B", List.of("B:TRUE", "B:FALSE"))
+            .addNewNode("C", List.of("C:TRUE", "C:FALSE"))
+            .addParents("B", "A")
+            .addParents("C", "A")
+            .addConstraint("A:TRUE", 0.3)
+            .addConstraint("B:TRUE", "A:TRUE", 0.9)
+            .addConstraint("B:TRUE", "A:FALSE", 0.2)
+            .addConstraint("C:TRUE", "A:TRUE", 0.7)
+            .addConstraint("C:TRUE", 0.4);
+
+    BayesSolver solver = BayesSolver.create(network);
+    assertTrue(solver.forceSolve());
+
+    SolverResults results = solver.getResults();
+    assertEquals(9, results.constraintResults().size());
+    Node nodeB = network.getNode("B");
+    List<SolverConstraintResult> frozen =
+        results.constraintResults().values().stream()
+            .filter(result -> result.constraint().getEventNodes().contains(nodeB))
+            .toList();
+    assertEquals(4, frozen.size());
+    frozen.forEach(result -> assertEquals(0.0, result.lastError()));
+
+    InferenceEngine engine = network.buildInferenceEngine();
+    assertEquals(0.3, engine.getPosteriorProbabilityById("A:TRUE"), DOUBLE_EQUALITY);
+    assertEquals(0.4, engine.getPosteriorProbabilityById("C:TRUE"), DOUBLE_EQUALITY);
+    engine.observeNetworkFromIds("A:FALSE");
+    assertEquals(0.2, engine.getPosteriorProbabilityById("B:TRUE"), DOUBLE_EQUALITY);
+  }
+
+  @Test
+  void testResumeKeepsRowsFrozenByWarmSolve(@TempDir Path directory) throws IOException {
+    BayesianNetwork network =
+        BayesianNetwork.newNetwork("PARTIAL")
+            .addNewNode("A", List.of("A:TRUE", "A:FALSE"))
+            .addNewNode("B", List.of("B:TRUE", "B:FALSE"))
+            .addNewNode("C", List.of("C:TRUE", "C:FALSE"))
+            .addParents("B", "A")
+            .addParents("C", "A")
+            .addConstraint("A:TRUE", 0.3)
+            .addConstraint("B:TRUE", "A:TRUE", 0.9)
+            .addConstraint("B:TRUE", "A:FALSE", 0.2)
+            .addConstraint("C:TRUE", "A:TRUE", 0.7)
+            .addConstraint("C:TRUE", 0.4);
+
+    Path file = directory.resolve("partial.checkpoint");
+    SolverCancellationToken token = new SolverCancellationToken();
+    token.cancel();
+    BayesSolver solver =
+        BayesSolver.create(network).setCheckpointFile(file).setCancellationToken(token);
+    assertTrue(solver.warmSolve());
+    SolverCheckpoint checkpoint = SolverCheckpoint.read(file);
+
+    solver.setCheckpointFile(null).setCancellationToken(null);
+    assertTrue(solver.resume(checkpoint));
+
+    InferenceEngine engine = network.buildInferenceEngine().observeNetworkFromIds("A:FALSE");
+    assertEquals(0.2, engine.getPosteriorProbabilityById("B:TRUE"), DOUBLE_EQUALITY);
+    engine.resetObservations().observeNetworkFromIds("A:TRUE");
+    assertEquals(0.9, engine.getPosteriorProbabilityById("B:TRUE"), DOUBLE_EQUALITY);
+  }
+
+  @Test
+  void testExecutionContextKeepsWorkOnGivenPool() {
+    BayesianNetwork network = BayesianNetwork.newNetwork("ISOLATED");
+    addReversedPair(network, "A", "B", 0.3, 0.8);
+    addReversedPair(network, "C", "D", 0.6, 0.1);
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            2,
+            p -> {
+              ForkJoinWorkerThread thread = defaultForkJoinWorkerThreadFactory.newThread(p);
+              thread.setName("isolated-" + thread.getPoolIndex());
+              return thread;
+            },
+            null,
+            false);
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    try (ExecutionContext context = ExecutionContext.of(pool, 2)) {
+      BayesSolver solver =
+          BayesSolver.create(network)
+              .setExecutionContext(context)
+              .addListener(
+                  new SolverListener() {
+                    @Override
+                    public void onCycleComplete(SolverProgress progress) {
+                      threadNames.add(Thread.currentThread().getName());
+                    }
+                  });
+      assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    } finally {
+      pool.shutdown();
+    }
+
+    assertFalse(threadNames.isEmpty());
+    assertTrue(threadNames.stream().allMatch(name -> name.startsWith("isolated-")));
+  }
+
+  @Test
+  void testSolverFanOutRunsOnTheContextPool() {
+    BayesianNetwork reference = NetworkScenario.CAR_TRIMS.get();
+    List<Node> orderedNodes = List.copyOf(reference.buildNetworkData().getNetworkData().getNodes());
+    try (ExecutionContext sequential = ExecutionContext.sequential()) {
+      BayesSolver solver = BayesSolver.create(reference).setExecutionContext(sequential);
+      assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    }
+
+    for (int parallelism : List.of(1, 2)) {
+      BayesianNetwork network = NetworkScenario.CAR_TRIMS.get();
+      CountingPool pool = new CountingPool(parallelism);
+      List<Integer> cliqueCounts = new ArrayList<>();
+      try (ExecutionContext context = ExecutionContext.of(pool, 1)) {
+        BayesSolver solver =
+            BayesSolver.create(network)
+                .setExecutionContext(context)
+                .addListener(
+                    new SolverListener() {
+                      @Override
+                      public void onCycleComplete(SolverProgress progress) {
+                        cliqueCounts.add(progress.cliqueDurations().size());
+                      }
+                    });
+        assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+      } finally {
+        pool.shutdown();
+      }
+
+      int cliqueSteps = cliqueCounts.stream().mapToInt(Integer::intValue).sum();
+      if (parallelism == 1) {
+        assertEquals(0, pool.submissions.get());
+      } else {
+        assertTrue(pool.submissions.get() >= cliqueSteps);
+      }
+      assertArraysEqual(
+          buildFlatCptArray(orderedNodes, reference), buildFlatCptArray(orderedNodes, network));
+    }
+  }
+
+  @Test
+  void testMetricsAreCollectedOnlyWhenEnabled() {
+    BayesianNetwork network = NetworkScenario.WEATHER_NETWORK.get();
+    BayesSolver disabled = BayesSolver.create(network).setMetricsEnabled(false);
+    assertTrue(disabled.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    assertEquals(new MetricsSnapshot(0, 0, 0, 0, 0, 0, 0, 0), disabled.getMetrics());
+
+    BayesSolver enabled = BayesSolver.create(network).setMetricsEnabled(true);
+    assertTrue(enabled.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    MetricsSnapshot solverMetrics = enabled.getMetrics();
+    assertTrue(solverMetrics.solverCycles() > 0);
+    assertTrue(solverMetrics.allocatedTableBytes() > 0);
+
+    InferenceEngine engine = network.buildInferenceEngine().setMetricsEnabled(true);
+    engine.observeNetworkFromIds("CLOUD:CLEAR");
+    engine.resetObservations();
+    assertEquals(2, engine.getMetrics().propagations());
+    assertEquals(1, engine.getMetrics().priorRestores());
+  }
+
+  private static final class CountingPool extends ForkJoinPool {
+    private final AtomicInteger submissions = new AtomicInteger();
+
+    private CountingPool(int parallelism) {
+      super(parallelism);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      submissions.incrementAndGet();
+      super.execute(task);
+    }
+  }
+
+
+  private static BayesianNetwork buildReversedChain(double pC0) {
+    BayesianNetwork network =
+        BayesianNetwork.newNetwork("REVERSED_CHAIN")
+            .addNewNode("A", List.of("A:0", "A:1", "A:2"))
+            .addNewNode("B", List.of("B:0", "B:1", "B:2"))
+            .addNewNode("C", List.of("C:0", "C:1", "C:2"))
+            .addParents("B", "A")
+            .addParents("C", "B")
+            .addConstraint("C:0", pC0)
+            .addConstraint("C:1", 0.3);
+    double[][] bGivenC = {{0.7, 0.2}, {0.1, 0.6}, {0.3, 0.3}};
+    double[][] aGivenB = {{0.8, 0.1}, {0.2, 0.5}, {0.4, 0.4}};
+    for (int parent = 0; parent < 3; parent++) {
+      for (int state = 0; state < 2; state++) {
+        network.addConstraint("B:" + state, "C:" + parent, bGivenC[parent][state]);
+        network.addConstraint("A:" + state, "B:" + parent, aGivenB[parent][state]);
+      }
+    }
+    return network;
+  }
+  private static void addReversedPair(
+      BayesianNetwork network, String parent, String child, double pParent, double pChild) {
+    network
+        .addNewNode(parent, List.of(parent + ":TRUE", parent + ":FALSE"))
+        .addNewNode(child, List.of(child + ":TRUE", child + ":FALSE"))
+        .addParents(child, parent)
+        .addConstraint(child + ":TRUE", pChild)
+        .addConstraint(parent + ":TRUE", child + ":TRUE", pParent)
+        .addConstraint(parent + ":TRUE", child + ":FALSE", pParent / 2);
+  }
+
   private static double[] buildFlatCptArray(List<Node> orderedNodes, BayesianNetwork network) {
     return orderedNodes.stream()
         .map(node -> network.getNetworkTables().get(node))
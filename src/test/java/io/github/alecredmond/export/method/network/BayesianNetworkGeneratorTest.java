@@ -0,0 +1,84 @@
+package io.github.alecredmond.export.method.network;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.constraints.*;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkGenerator;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.solver.BayesSolver;
+import io.github.alecredmond.export.solver.SolverAlgorithm;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class BayesianNetworkGeneratorTest {
+
+  private static BayesianNetworkGenerator generator(long seed) {
+    return new BayesianNetworkGenerator(seed)
+        .setNodeCount(40)
+        .setStateCountRange(2, 4)
+        .setMaxInDegree(3)
+        .setTargetTreewidth(4)
+        .setDirichletConcentration(0.5);
+  }
+
+  private static double[] flatCpts(BayesianNetwork network) {
+    return network.getNetworkData().getNodes().stream()
+        .map(node -> network.getNetworkTables().get(node))
+        .flatMapToDouble(table -> Arrays.stream(table.getProbabilities()))
+        .toArray();
+  }
+
+  private static long countInstances(Set<ProbabilityConstraint> constraints, Class<?> type) {
+    return constraints.stream().filter(type::isInstance).count();
+  }
+
+  @Test
+  void testSameSeedGeneratesSameNetwork() {
+    BayesianNetwork first = generator(7L).generate().solveNetwork();
+    BayesianNetwork second = generator(7L).generate().solveNetwork();
+    BayesianNetwork other = generator(8L).generate().solveNetwork();
+    assertArrayEquals(flatCpts(first), flatCpts(second));
+    assertFalse(Arrays.equals(flatCpts(first), flatCpts(other)));
+  }
+
+  @Test
+  void testStructureRespectsConfiguration() {
+    BayesianNetwork network = generator(11L).generate();
+    assertEquals(40, network.getNodes().size());
+    for (int i = 0; i < 40; i++) {
+      Node node = network.getNode("N" + i);
+      int stateCount = node.getNodeStates().size();
+      assertTrue(stateCount >= 2 && stateCount <= 4);
+      assertTrue(node.getParents().size() <= 3);
+      assertEquals(i == 0, node.getParents().isEmpty());
+      for (Node parent : node.getParents()) {
+        int parentIndex = Integer.parseInt(parent.getId().toString().substring(1));
+        assertTrue(parentIndex < i && parentIndex >= i - 4);
+      }
+    }
+  }
+
+  @Test
+  void testGeneratedConstraintsAreSatisfiable() {
+    BayesianNetwork network =
+        generator(3L)
+            .setMarginalConstraintCount(10)
+            .setConditionalConstraintCount(10)
+            .setJointConstraintCount(10)
+            .setSumConstraintCount(5)
+            .setIncludeCpts(false)
+            .generate();
+    Set<ProbabilityConstraint> constraints = network.getNetworkData().getConstraints();
+    assertEquals(10, countInstances(constraints, MarginalConstraint.class));
+    assertEquals(10, countInstances(constraints, ConditionalConstraint.class));
+    assertEquals(10, countInstances(constraints, JointProbabilityConstraint.class));
+    assertEquals(5, countInstances(constraints, SumProbabilityConstraint.class));
+    assertEquals(35, constraints.size());
+
+    BayesSolver solver = BayesSolver.create(network);
+    assertTrue(solver.forceSolve(SolverAlgorithm.JUNCTION_TREE_IPFP));
+    assertEquals(0.0, solver.getResults().finalError(), 1e-6);
+  }
+}
@@ -0,0 +1,81 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static io.github.alecredmond.TestConfigs.NUMBER_OF_SAMPLES;
+import static io.github.alecredmond.export.method.sampler.SamplerAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.AdaptiveImportanceSampler;
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.PrecisionTarget;
+import io.github.alecredmond.export.sampler.SampleCollection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveImportanceSamplerTest {
+
+  private BayesianNetwork buildRareEvidenceNetwork() {
+    return BayesianNetwork.newNetwork()
+        .addNewNode("FRAUD", List.of("FRAUD:TRUE", "FRAUD:FALSE"))
+        .addNewNode("ALERT", List.of("ALERT:TRUE", "ALERT:FALSE"))
+        .addNewNode("BLOCK", List.of("BLOCK:TRUE", "BLOCK:FALSE"))
+        .addParents("ALERT", "FRAUD")
+        .addParents("BLOCK", "ALERT")
+        .addConstraint("FRAUD:TRUE", 0.0005)
+        .addConstraint("ALERT:TRUE", "FRAUD:TRUE", 0.95)
+        .addConstraint("ALERT:TRUE", "FRAUD:FALSE", 0.001)
+        .addConstraint("BLOCK:TRUE", "ALERT:TRUE", 0.9)
+        .addConstraint("BLOCK:TRUE", "ALERT:FALSE", 0.002)
+        .solveNetwork();
+  }
+
+  @Test
+  void testSampleFrequenciesMatchPosteriorsUnderRareEvidence() {
+    BayesianNetwork net = buildRareEvidenceNetwork();
+    InferenceEngine engine = InferenceEngine.create(net);
+    engine.observeNetworkFromIds(List.of("BLOCK:TRUE"));
+    SampleCollection samples =
+        AdaptiveImportanceSampler.create(net)
+            .setSeed(5L)
+            .generateSamplesById(List.of("BLOCK:TRUE"), NUMBER_OF_SAMPLES);
+    assertEquals(NUMBER_OF_SAMPLES, samples.countSamples());
+    assertFrequenciesMatchPosteriors(engine, samples);
+  }
+
+  @Test
+  void testAdaptationRaisesEffectiveSampleSize() {
+    BayesianNetwork net = buildRareEvidenceNetwork();
+    Set<NodeState> observed = net.getNodeStates(List.of("BLOCK:TRUE"));
+    Set<NodeState> queried = net.getNodeStates(List.of("FRAUD:TRUE"));
+    PrecisionTarget target = new PrecisionTarget(0.0001, 0.99, NUMBER_OF_SAMPLES);
+    SampleCollection adapted =
+        AdaptiveImportanceSampler.create(net)
+            .setSeed(5L)
+            .generateSamplesUntil(observed, queried, target);
+    SampleCollection weighted =
+        MonteCarloSampler.create(net).setSeed(5L).generateSamplesUntil(observed, queried, target);
+
+    double adaptedSize = effectiveSampleSize(adapted);
+    double weightedSize = effectiveSampleSize(weighted);
+    assertTrue(weightedSize < 0.05 * NUMBER_OF_SAMPLES);
+    assertTrue(adaptedSize > 10 * weightedSize);
+  }
+
+  private double effectiveSampleSize(SampleCollection samples) {
+    return samples.getIntervalEstimates().values().iterator().next().effectiveSampleSize();
+  }
+
+  @Test
+  void testSeededRunsAreRepeatable() {
+    BayesianNetwork net = buildRareEvidenceNetwork();
+    AdaptiveImportanceSampler sampler = AdaptiveImportanceSampler.create(net).setSeed(9L);
+    SampleCollection first = sampler.generateSamplesById(List.of("BLOCK:TRUE"), 10_000);
+    SampleCollection second = sampler.generateSamplesById(List.of("BLOCK:TRUE"), 10_000);
+    assertEquals(
+        first.countSamplesIncludingStates(net.getNodeStates(List.of("FRAUD:TRUE"))),
+        second.countSamplesIncludingStates(net.getNodeStates(List.of("FRAUD:TRUE"))));
+  }
+}
@@ -0,0 +1,92 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static io.github.alecredmond.TestConfigs.ALLOWED_STDEV;
+import static io.github.alecredmond.TestConfigs.NUMBER_OF_SAMPLES;
+import static io.github.alecredmond.export.method.network.NetworkScenario.*;
+import static io.github.alecredmond.export.method.sampler.SamplerAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.ChainDiagnostics;
+import io.github.alecredmond.export.sampler.GibbsSampler;
+import io.github.alecredmond.export.sampler.PrecisionTarget;
+import io.github.alecredmond.export.sampler.SampleCollection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class GibbsSamplerTest {
+
+  @Test
+  void testSampleFrequenciesMatchPosteriors() {
+    BayesianNetwork net = AH_NETWORK.get();
+    InferenceEngine engine = InferenceEngine.create(net);
+    engine.observeNetworkFromIds(List.of("H+"));
+    GibbsSampler sampler = GibbsSampler.create(net).setChains(4).setBurnIn(200).setSeed(3L);
+    SampleCollection samples = sampler.generateSamplesById(List.of("H+"), NUMBER_OF_SAMPLES);
+    assertEquals(NUMBER_OF_SAMPLES, samples.countSamples());
+    assertFrequenciesMatchPosteriors(engine, samples);
+    ChainDiagnostics diagnostics = sampler.getDiagnostics();
+    assertEquals(4, diagnostics.chains());
+    assertEquals(net.getNetworkData().getNodes().size() - 1, diagnostics.rHat().size());
+    assertTrue(diagnostics.maxRHat() < 1.05);
+  }
+
+  @Test
+  void testPrecisionRunsSampleWholeChains() {
+    BayesianNetwork net = AH_NETWORK.get();
+    InferenceEngine engine = InferenceEngine.create(net);
+    engine.observeNetworkFromIds(List.of("H+"));
+    List<NodeState> observed = List.copyOf(net.getNodeStates(List.of("H+")));
+    List<NodeState> queried = net.getNetworkData().getNodes().getFirst().getNodeStates();
+    GibbsSampler sampler = GibbsSampler.create(net).setChains(4).setBurnIn(200).setSeed(3L);
+    SampleCollection fixed = sampler.generateSamples(observed, NUMBER_OF_SAMPLES);
+    ChainDiagnostics fixedDiagnostics = sampler.getDiagnostics();
+    SampleCollection samples =
+        sampler.generateSamplesUntil(
+            observed, queried, new PrecisionTarget(0.0001, 0.99, NUMBER_OF_SAMPLES));
+
+    assertFalse(samples.isPrecisionTargetMet());
+    assertEquals(NUMBER_OF_SAMPLES, samples.countSamples());
+    assertEquals(fixedDiagnostics, sampler.getDiagnostics());
+    assertTrue(sampler.getDiagnostics().maxRHat() < 1.05);
+    for (NodeState state : queried) {
+      assertEquals(
+          fixed.countSamplesIncludingStates(state), samples.countSamplesIncludingStates(state));
+      assertEquals(
+          engine.getPosteriorProbability(state),
+          samples.getIntervalEstimates().get(state).estimate(),
+          ALLOWED_STDEV / Math.sqrt(NUMBER_OF_SAMPLES));
+    }
+  }
+
+  @Test
+  void testRHatFlagsChainsStuckInSeparateModes() {
+    BayesianNetwork net =
+        BayesianNetwork.newNetwork()
+            .addNewNode("X", List.of("X+", "X-"))
+            .addNewNode("Y", List.of("Y+", "Y-"))
+            .addParents("Y", "X")
+            .addConstraint("X+", 0.5)
+            .addConstraint("Y+", "X+", 0.9999)
+            .addConstraint("Y+", "X-", 0.0001)
+            .solveNetwork();
+    GibbsSampler sampler = GibbsSampler.create(net).setChains(4).setBurnIn(0).setSeed(1L);
+    sampler.generateSamples(NUMBER_OF_SAMPLES);
+
+    ChainDiagnostics diagnostics = sampler.getDiagnostics();
+    assertEquals(4, diagnostics.chains());
+    assertEquals(Set.of(net.getNode("X"), net.getNode("Y")), diagnostics.rHat().keySet());
+    assertTrue(diagnostics.maxRHat() > 1.1);
+  }
+
+  @Test
+  void testInvalidSettingsAreRejected() {
+    GibbsSampler sampler = GibbsSampler.create(SIMPLE_LINEAR.get());
+    assertThrows(IllegalArgumentException.class, () -> sampler.setChains(0));
+    assertThrows(IllegalArgumentException.class, () -> sampler.setThinning(0));
+    assertThrows(IllegalArgumentException.class, () -> sampler.setBurnIn(-1));
+  }
+}
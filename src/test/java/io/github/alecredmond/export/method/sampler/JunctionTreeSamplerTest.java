@@ -0,0 +1,44 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static io.github.alecredmond.TestConfigs.NUMBER_OF_SAMPLES;
+import static io.github.alecredmond.export.method.network.NetworkScenario.*;
+import static io.github.alecredmond.export.method.sampler.SamplerAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.SampleCollection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JunctionTreeSamplerTest {
+
+  @Test
+  void testSampleFrequenciesMatchPosteriors() {
+    BayesianNetwork net = AH_NETWORK.get();
+    InferenceEngine engine = InferenceEngine.create(net);
+    SampleCollection samples =
+        MonteCarloSampler.create(engine)
+            .setSeed(11L)
+            .generateSamplesById(List.of("H+"), NUMBER_OF_SAMPLES);
+    assertEquals(NUMBER_OF_SAMPLES, samples.countSamples());
+    assertFrequenciesMatchPosteriors(engine, samples);
+  }
+
+  @Test
+  void testImpossibleObservationsYieldNoSamples() {
+    BayesianNetwork net =
+        BayesianNetwork.newNetwork()
+            .addNewNode("X", List.of("X+", "X-"))
+            .addNewNode("Y", List.of("Y+", "Y-"))
+            .addParents("Y", "X")
+            .addConstraint("X+", 0.25)
+            .addConstraint("Y+", "X-", 0.0)
+            .solveNetwork();
+    SampleCollection samples =
+        MonteCarloSampler.create(InferenceEngine.create(net))
+            .generateSamplesById(List.of("X-", "Y+"), 100);
+    assertTrue(samples.getSamples().isEmpty());
+  }
+}
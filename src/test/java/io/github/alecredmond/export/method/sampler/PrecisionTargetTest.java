@@ -0,0 +1,91 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.method.network.NetworkScenario;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.IntervalEstimate;
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.PrecisionTarget;
+import io.github.alecredmond.export.sampler.SampleCollection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PrecisionTargetTest {
+  private static final List<String> OBSERVED = List.of("DYSPNOEA:TRUE");
+  private static final List<String> QUERIED = List.of("LUNG_CANCER:TRUE", "BRONCHITIS:TRUE");
+
+  @Test
+  void testStopsOnceTargetIsMet() {
+    BayesianNetwork net = NetworkScenario.ASIA_NETWORK.get();
+    InferenceEngine engine = InferenceEngine.create(net);
+    engine.observeNetworkFromIds(OBSERVED);
+    Set<NodeState> queried = net.getNodeStates(QUERIED);
+    SampleCollection samples =
+        MonteCarloSampler.create(net)
+            .setSeed(21L)
+            .generateSamplesUntil(
+                net.getNodeStates(OBSERVED), queried, new PrecisionTarget(0.01, 0.95, 1_000_000));
+
+    assertTrue(samples.isPrecisionTargetMet());
+    assertTrue(samples.countSamples() < 1_000_000);
+    assertEquals(queried, samples.getIntervalEstimates().keySet());
+    for (IntervalEstimate estimate : samples.getIntervalEstimates().values()) {
+      double exact = engine.getPosteriorProbability(estimate.state());
+      assertTrue(estimate.marginOfError() <= 0.01);
+      assertTrue(estimate.lower() <= estimate.estimate());
+      assertTrue(estimate.estimate() <= estimate.upper());
+      assertEquals(exact, estimate.estimate(), 0.02);
+      assertEquals(
+          (double) samples.countSamplesIncludingStates(estimate.state()) / samples.countSamples(),
+          estimate.estimate(),
+          0.005);
+    }
+  }
+
+  @Test
+  void testStopsAtBudgetWhenTargetIsUnreachable() {
+    BayesianNetwork net = NetworkScenario.ASIA_NETWORK.get().solveNetwork();
+    SampleCollection samples =
+        MonteCarloSampler.create(net)
+            .setSeed(4L)
+            .generateSamplesUntil(
+                net.getNodeStates(OBSERVED),
+                net.getNodeStates(QUERIED),
+                new PrecisionTarget(0.0005, 0.99, 20_000));
+
+    assertFalse(samples.isPrecisionTargetMet());
+    assertEquals(20_000, samples.countSamples());
+    samples.getIntervalEstimates().values().forEach(e -> assertTrue(e.marginOfError() > 0.0005));
+  }
+
+  @Test
+  void testFixedSizeRunsCarryNoEstimates() {
+    BayesianNetwork net = NetworkScenario.ASIA_NETWORK.get().solveNetwork();
+    SampleCollection samples = MonteCarloSampler.create(net).setSeed(1L).generateSamples(1_000);
+    assertTrue(samples.getIntervalEstimates().isEmpty());
+    assertFalse(samples.isPrecisionTargetMet());
+  }
+
+  @Test
+  void testInvalidTargetsAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(0.0, 0.95, 100));
+    assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(0.01, 1.0, 100));
+    assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(0.01, 0.95, 0));
+  }
+
+  @Test
+  void testQueryStatesOutsideTheNetworkAreRejected() {
+    BayesianNetwork net = NetworkScenario.ASIA_NETWORK.get().solveNetwork();
+    BayesianNetwork other = NetworkScenario.RAIN_NETWORK.get().solveNetwork();
+    Collection<NodeState> foreign = other.getNetworkData().getNodes().getFirst().getNodeStates();
+    MonteCarloSampler sampler = MonteCarloSampler.create(net);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> sampler.generateSamplesUntil(List.of(), foreign, new PrecisionTarget(0.1, 0.9, 10)));
+  }
+}
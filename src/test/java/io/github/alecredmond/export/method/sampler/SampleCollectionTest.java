@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import io.github.alecredmond.export.node.Node;
 import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.execution.ExecutionContext;
 import io.github.alecredmond.export.inference.InferenceEngine;
 import io.github.alecredmond.export.network.BayesianNetwork;
 import io.github.alecredmond.export.sampler.MonteCarloSampler;
@@ -187,6 +188,37 @@ class SampleCollectionTest {
       assertEquals(0,collection.countSamples());
       assertTrue(collection.getSamples().isEmpty());
     }
+
+    @Test
+    void testSeededSamplesAreIndependentOfThreadCount() {
+      BayesianNetwork net = AH_NETWORK.get();
+      int numberOfSamples = 200_000;
+      List<String> sequential;
+      List<String> parallel;
+      try (ExecutionContext context = ExecutionContext.sequential()) {
+        sequential =
+            describe(
+                MonteCarloSampler.create(net)
+                    .setSeed(42L)
+                    .setExecutionContext(context)
+                    .generateSamplesById(List.of("H+"), numberOfSamples));
+      }
+      try (ExecutionContext context = ExecutionContext.dedicated(4, 1)) {
+        parallel =
+            describe(
+                MonteCarloSampler.create(net)
+                    .setSeed(42L)
+                    .setExecutionContext(context)
+                    .generateSamplesById(List.of("H+"), numberOfSamples));
+      }
+      assertEquals(sequential, parallel);
+    }
+
+    private List<String> describe(SampleCollection collection) {
+      return collection.getSamples().stream()
+          .map(s -> Arrays.toString(s.getAllStates()) + "=" + s.count())
+          .toList();
+    }
   }
 
   @Nested
@@ -0,0 +1,87 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static io.github.alecredmond.export.method.network.NetworkScenario.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.SampleFileFormat;
+import io.github.alecredmond.export.sampler.WeightedSample;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SampleStreamTest {
+
+  @Test
+  void testParallelStreamMatchesSequentialStream() {
+    BayesianNetwork net = AH_NETWORK.get().solveNetwork();
+    MonteCarloSampler sampler = MonteCarloSampler.create(net).setSeed(7L);
+    List<WeightedSample> sequential =
+        sampler.streamSamples(net.getNodeStates(List.of("H+")), 300_000).toList();
+    List<WeightedSample> parallel =
+        sampler.streamSamples(net.getNodeStates(List.of("H+")), 300_000).parallel().toList();
+    assertEquals(sequential, parallel);
+    assertFalse(sequential.isEmpty());
+  }
+
+  @Test
+  void testPriorStreamYieldsEveryDrawWithUnitWeight() {
+    BayesianNetwork net = SIMPLE_LINEAR.get().solveNetwork();
+    int nodeCount = net.getNetworkData().getNodes().size();
+    assertTrue(nodeCount > 0);
+    List<WeightedSample> samples = MonteCarloSampler.create(net).streamSamples(1_000).toList();
+    assertEquals(1_000, samples.size());
+    samples.forEach(
+        s -> {
+          assertEquals(1.0, s.weight());
+          assertEquals(nodeCount, s.states().length);
+        });
+  }
+
+  @Test
+  void testWeightedSamplesCompareStatesByContent() {
+    WeightedSample sample = new WeightedSample(new int[] {0, 2, 1}, 0.25);
+    WeightedSample same = new WeightedSample(new int[] {0, 2, 1}, 0.25);
+    assertEquals(sample, same);
+    assertEquals(sample.hashCode(), same.hashCode());
+    assertNotEquals(sample, new WeightedSample(new int[] {0, 2, 0}, 0.25));
+    assertNotEquals(sample, new WeightedSample(new int[] {0, 2, 1}, 0.5));
+    assertEquals("WeightedSample[states=[0, 2, 1], weight=0.25]", sample.toString());
+  }
+
+  @Test
+  void testWriteSamplesAsCsv(@TempDir Path directory) throws IOException {
+    BayesianNetwork net = SIMPLE_LINEAR.get().solveNetwork();
+    Path file = directory.resolve("samples.csv");
+    long written =
+        MonteCarloSampler.create(net).writeSamples(List.of(), 500, file, SampleFileFormat.CSV);
+    List<String> lines = Files.readAllLines(file);
+    assertEquals(500, written);
+    assertEquals(501, lines.size());
+    assertTrue(lines.getFirst().endsWith(",weight"));
+  }
+
+  @Test
+  void testWriteSamplesAsBinary(@TempDir Path directory) throws IOException {
+    BayesianNetwork net = SIMPLE_LINEAR.get().solveNetwork();
+    List<Node> nodes = net.getNetworkData().getNodes();
+    assertFalse(nodes.isEmpty());
+    Path file = directory.resolve("samples.bin");
+    long written =
+        MonteCarloSampler.create(net).writeSamples(List.of(), 500, file, SampleFileFormat.BINARY);
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    assertEquals(0x4C575353, buffer.getInt());
+    assertEquals(1, buffer.getInt());
+    assertEquals(nodes.size(), buffer.getInt());
+    nodes.forEach(node -> assertEquals(node.getNodeStates().size(), buffer.getInt()));
+    int recordBytes = nodes.size() * Integer.BYTES + Double.BYTES;
+    assertEquals(500, written);
+    assertEquals(500L * recordBytes, buffer.remaining());
+  }
+}
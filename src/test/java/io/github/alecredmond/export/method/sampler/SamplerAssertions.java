@@ -0,0 +1,30 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static io.github.alecredmond.TestConfigs.ALLOWED_STDEV;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.SampleCollection;
+
+class SamplerAssertions {
+
+  private SamplerAssertions() {}
+
+  static void assertFrequenciesMatchPosteriors(InferenceEngine engine, SampleCollection samples) {
+    assertFrequenciesMatchPosteriors(engine, samples, null);
+  }
+
+  static void assertFrequenciesMatchPosteriors(
+      InferenceEngine engine, SampleCollection samples, String message) {
+    int numberOfSamples = samples.countSamples();
+    double tolerance = ALLOWED_STDEV / Math.sqrt(numberOfSamples);
+    for (Node node : engine.getNetwork().getNetworkData().getNodes()) {
+      for (NodeState state : node.getNodeStates()) {
+        double frequency = (double) samples.countSamplesIncludingStates(state) / numberOfSamples;
+        assertEquals(engine.getPosteriorProbability(state), frequency, tolerance, message);
+      }
+    }
+  }
+}
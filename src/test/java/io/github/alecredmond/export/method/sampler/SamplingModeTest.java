@@ -0,0 +1,90 @@
+package io.github.alecredmond.export.method.sampler;
+
+import static io.github.alecredmond.TestConfigs.NUMBER_OF_SAMPLES;
+import static io.github.alecredmond.export.method.sampler.SamplerAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.MonteCarloSampler;
+import io.github.alecredmond.export.sampler.SampleCollection;
+import io.github.alecredmond.export.sampler.SamplingMode;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SamplingModeTest {
+
+  private BayesianNetwork buildChainNetwork() {
+    return BayesianNetwork.newNetwork()
+        .addNewNode("RAIN", List.of("RAIN:TRUE", "RAIN:FALSE"))
+        .addNewNode("SPRINKLER", List.of("SPRINKLER:ON", "SPRINKLER:OFF"))
+        .addNewNode("GRASS", List.of("GRASS:WET", "GRASS:DAMP", "GRASS:DRY"))
+        .addParents("SPRINKLER", "RAIN")
+        .addParents("GRASS", List.of("RAIN", "SPRINKLER"))
+        .addConstraint("RAIN:TRUE", 0.23)
+        .addConstraint("SPRINKLER:ON", "RAIN:TRUE", 0.05)
+        .addConstraint("SPRINKLER:ON", "RAIN:FALSE", 0.45)
+        .addConstraint("GRASS:WET", List.of("RAIN:TRUE", "SPRINKLER:ON"), 0.9)
+        .addConstraint("GRASS:DAMP", List.of("RAIN:TRUE", "SPRINKLER:ON"), 0.08)
+        .addConstraint("GRASS:WET", List.of("RAIN:TRUE", "SPRINKLER:OFF"), 0.7)
+        .addConstraint("GRASS:DAMP", List.of("RAIN:TRUE", "SPRINKLER:OFF"), 0.2)
+        .addConstraint("GRASS:WET", List.of("RAIN:FALSE", "SPRINKLER:ON"), 0.6)
+        .addConstraint("GRASS:DAMP", List.of("RAIN:FALSE", "SPRINKLER:ON"), 0.3)
+        .addConstraint("GRASS:WET", List.of("RAIN:FALSE", "SPRINKLER:OFF"), 0.01)
+        .addConstraint("GRASS:DAMP", List.of("RAIN:FALSE", "SPRINKLER:OFF"), 0.1)
+        .solveNetwork();
+  }
+
+  @Test
+  void testEveryModeConvergesToPosteriors() {
+    BayesianNetwork net = buildChainNetwork();
+    InferenceEngine engine = InferenceEngine.create(net);
+    engine.observeNetworkFromIds(List.of("GRASS:DAMP"));
+    for (SamplingMode mode : SamplingMode.values()) {
+      SampleCollection samples =
+          MonteCarloSampler.create(net)
+              .setSeed(3L)
+              .setSamplingMode(mode)
+              .generateSamplesById(List.of("GRASS:DAMP"), NUMBER_OF_SAMPLES);
+      assertFrequenciesMatchPosteriors(engine, samples, mode.name());
+    }
+  }
+
+  @Test
+  void testStratifiedAndQuasiRandomModesReduceRootError() {
+    BayesianNetwork net = buildChainNetwork();
+    NodeState rain = net.getNodeState("RAIN:TRUE");
+    double randomError = meanRootError(net, rain, SamplingMode.RANDOM);
+    assertTrue(meanRootError(net, rain, SamplingMode.STRATIFIED) < randomError / 4);
+    assertTrue(meanRootError(net, rain, SamplingMode.QUASI_RANDOM) < randomError / 4);
+  }
+
+  private double meanRootError(BayesianNetwork net, NodeState state, SamplingMode mode) {
+    int runs = 20;
+    int samplesPerRun = 4_000;
+    double totalError = 0.0;
+    for (long seed = 0; seed < runs; seed++) {
+      SampleCollection samples =
+          MonteCarloSampler.create(net)
+              .setSeed(seed)
+              .setSamplingMode(mode)
+              .generateSamples(samplesPerRun);
+      double frequency = (double) samples.countSamplesIncludingStates(state) / samplesPerRun;
+      totalError += Math.abs(frequency - 0.23);
+    }
+    return totalError / runs;
+  }
+
+  @Test
+  void testSeededRunsAreRepeatableInEveryMode() {
+    BayesianNetwork net = buildChainNetwork();
+    NodeState wet = net.getNodeState("GRASS:WET");
+    for (SamplingMode mode : SamplingMode.values()) {
+      MonteCarloSampler sampler = MonteCarloSampler.create(net).setSeed(11L).setSamplingMode(mode);
+      assertEquals(
+          sampler.generateSamples(10_000).countSamplesIncludingStates(wet),
+          sampler.generateSamples(10_000).countSamplesIncludingStates(wet));
+    }
+  }
+}
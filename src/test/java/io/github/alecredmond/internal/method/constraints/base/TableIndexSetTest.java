@@ -0,0 +1,39 @@
+package io.github.alecredmond.internal.method.constraints.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class TableIndexSetTest {
+
+  static Stream<Arguments> indexSets() {
+    return Stream.of(
+        Arguments.of((Object) new int[] {}),
+        Arguments.of((Object) new int[] {3}),
+        Arguments.of((Object) new int[] {7, 1, 5, 3}),
+        Arguments.of((Object) new int[] {5, 6, 7, 0, 1, 2, 3}),
+        Arguments.of((Object) new int[] {9, 2, 3, 4, 8}));
+  }
+
+  @ParameterizedTest
+  @MethodSource("indexSets")
+  void sumAndScaleTouchOnlyIndexedEntries(int[] indexes) {
+    double[] probabilities = new double[10];
+    for (int i = 0; i < probabilities.length; i++) probabilities[i] = i + 1;
+    double expectedSum = 0;
+    for (int index : indexes) expectedSum += index + 1;
+
+    TableIndexSet indexSet = TableIndexSet.of(indexes);
+    assertEquals(expectedSum, indexSet.sum(probabilities));
+
+    indexSet.scale(probabilities, 2.0);
+    for (int i = 0; i < probabilities.length; i++) {
+      boolean indexed = false;
+      for (int index : indexes) indexed |= index == i;
+      assertEquals(indexed ? 2.0 * (i + 1) : i + 1, probabilities[i]);
+    }
+  }
+}
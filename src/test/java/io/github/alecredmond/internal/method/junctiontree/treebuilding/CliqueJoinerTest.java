@@ -0,0 +1,53 @@
+package io.github.alecredmond.internal.method.junctiontree.treebuilding;
+
+import static io.github.alecredmond.export.inference.InferenceAlgorithm.JUNCTION_TREE_ALGORITHM;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkData;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.internal.application.junctiontree.Clique;
+import io.github.alecredmond.internal.application.junctiontree.JunctionTreeData;
+import io.github.alecredmond.internal.method.probabilitytables.tablebuilders.JunctionTreeTableBuilder;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class CliqueJoinerTest {
+
+  @Test
+  void testJoiningThroughAMergedBranchBuildsASpanningTree() {
+    BayesianNetwork network = BayesianNetwork.newNetwork("JOIN");
+    for (String id : List.of("A", "B", "C", "D", "E")) {
+      network.addNewNode(id, List.of(id + ":TRUE", id + ":FALSE"));
+    }
+    BayesianNetworkData bnd = network.buildNetworkData().getNetworkData();
+
+    // Equal-weight edges are taken as {ABC,ABD}, {ABC,ACD}, {ABD,ACD}: the third closes a cycle
+    // once ABC's branch has been merged, and must give way to the lighter edge out to DE.
+    Clique[] cliques =
+        List.of("ABC", "ABD", "ACD", "DE").stream()
+            .map(ids -> buildClique(ids, bnd))
+            .toArray(Clique[]::new);
+    JunctionTreeData jtd = new JunctionTreeData();
+    jtd.setNetworkData(bnd);
+    jtd.setInferenceAlgorithm(JUNCTION_TREE_ALGORITHM);
+    jtd.setCliques(cliques);
+
+    new CliqueJoiner().joinCliques(jtd);
+
+    assertEquals(cliques.length - 1, jtd.getSeparators().length);
+    Set<Clique> reached = new HashSet<>();
+    Deque<Clique> queue = new ArrayDeque<>(List.of(cliques[0]));
+    while (!queue.isEmpty()) {
+      Clique clique = queue.poll();
+      if (reached.add(clique)) queue.addAll(clique.getSeparatorMap().keySet());
+    }
+    assertEquals(Set.of(cliques), reached);
+  }
+
+  private static Clique buildClique(String ids, BayesianNetworkData bnd) {
+    Set<Node> nodes = new LinkedHashSet<>();
+    for (char id : ids.toCharArray()) nodes.add(bnd.getNodeIDsMap().get(String.valueOf(id)));
+    return new Clique(nodes, new JunctionTreeTableBuilder().buildTable(nodes, bnd));
+  }
+}
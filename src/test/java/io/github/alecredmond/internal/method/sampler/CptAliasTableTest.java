@@ -0,0 +1,48 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CptAliasTableTest {
+  private static final int DRAWS = 100_000;
+
+  @Test
+  void testDrawsMatchEachCptRow() {
+    BayesianNetwork network =
+        BayesianNetwork.newNetwork("ALIAS")
+            .addNewNode("A", List.of("A:TRUE", "A:FALSE"))
+            .addNewNode("B", List.of("B:LOW", "B:MID", "B:HIGH"))
+            .addParents("B", "A")
+            .addConstraint("A:TRUE", 0.3)
+            .addConstraint("B:LOW", "A:TRUE", 0.2)
+            .addConstraint("B:MID", "A:TRUE", 0.5)
+            .addConstraint("B:LOW", "A:FALSE", 0.0)
+            .addConstraint("B:MID", "A:FALSE", 0.9)
+            .solveNetwork();
+    Node nodeA = network.getNode("A");
+    Node nodeB = network.getNode("B");
+    CptAliasTable aliasTable =
+        new CptAliasTable(network.getNetworkTable("B"), Map.of(nodeA, 0, nodeB, 1));
+
+    assertDrawFrequencies(aliasTable, new int[] {0, 0}, new double[] {0.2, 0.5, 0.3});
+    assertDrawFrequencies(aliasTable, new int[] {1, 0}, new double[] {0.0, 0.9, 0.1});
+  }
+
+  private static void assertDrawFrequencies(
+      CptAliasTable aliasTable, int[] sample, double[] expected) {
+    int row = aliasTable.rowOffset(sample);
+    int[] counts = new int[expected.length];
+    for (int i = 0; i < DRAWS; i++) {
+      counts[aliasTable.draw(row, (i + 0.5) / DRAWS)]++;
+    }
+    for (int s = 0; s < expected.length; s++) {
+      assertEquals(expected[s], aliasTable.probability(row, s), 1e-9);
+      assertEquals(expected[s], (double) counts[s] / DRAWS, 1e-4);
+    }
+  }
+}
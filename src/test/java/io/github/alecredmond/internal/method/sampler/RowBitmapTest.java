@@ -0,0 +1,47 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RowBitmapTest {
+  private static final int ROWS = 200_000;
+
+  @Test
+  void testIntersectionMatchesSetIntersectionAcrossContainerTypes() {
+    SplittableRandom random = new SplittableRandom(17L);
+    int[] dense = IntStream.range(0, ROWS).filter(r -> random.nextDouble() < 0.6).toArray();
+    int[] sparse = IntStream.range(0, ROWS).filter(r -> random.nextDouble() < 0.02).toArray();
+    int[] mixed =
+        IntStream.range(0, ROWS)
+            .filter(r -> random.nextDouble() < (r < ROWS / 2 ? 0.9 : 0.01))
+            .toArray();
+
+    assertIntersection(dense, mixed);
+    assertIntersection(dense, sparse, mixed);
+    assertIntersection(sparse);
+  }
+
+  @Test
+  void testDisjointBlocksYieldNothing() {
+    int[] low = IntStream.range(0, 1000).toArray();
+    int[] high = IntStream.range(100_000, 101_000).toArray();
+    List<Integer> rows = new ArrayList<>();
+    RowBitmap.forEachIntersecting(
+        new RowBitmap[] {new RowBitmap(low), new RowBitmap(high)}, rows::add);
+    assertTrue(rows.isEmpty());
+  }
+
+  private void assertIntersection(int[]... rowSets) {
+    Set<Integer> expected = new TreeSet<>(Arrays.stream(rowSets[0]).boxed().toList());
+    for (int[] rowSet : rowSets) {
+      expected.retainAll(new HashSet<>(Arrays.stream(rowSet).boxed().toList()));
+    }
+    RowBitmap[] bitmaps = Arrays.stream(rowSets).map(RowBitmap::new).toArray(RowBitmap[]::new);
+    List<Integer> actual = new ArrayList<>();
+    RowBitmap.forEachIntersecting(bitmaps, actual::add);
+    assertEquals(new ArrayList<>(expected), actual);
+  }
+}
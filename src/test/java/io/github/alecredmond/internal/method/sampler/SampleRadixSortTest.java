@@ -0,0 +1,50 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.execution.ExecutionContext;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.node.NodeState;
+import io.github.alecredmond.export.sampler.Sample;
+import java.util.*;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SampleRadixSortTest {
+  private static final int ROWS = 150_000;
+
+  @Test
+  void testOrderMatchesStableComparatorSort() {
+    BayesianNetwork network =
+        BayesianNetwork.newNetwork("RADIX")
+            .addNewNode("A", List.of("A:TRUE", "A:FALSE"))
+            .addNewNode("B", List.of("B:LOW", "B:MID", "B:HIGH"))
+            .addNewNode("C", List.of("C:TRUE", "C:FALSE"));
+    Node[] nodes = {network.getNode("A"), network.getNode("B"), network.getNode("C")};
+    SplittableRandom random = new SplittableRandom(5L);
+    int[][] ordinals = new int[ROWS][nodes.length];
+    List<Sample> samples = new ArrayList<>();
+    for (int[] row : ordinals) {
+      NodeState[] states = new NodeState[nodes.length];
+      for (int n = 0; n < nodes.length; n++) {
+        row[n] = random.nextInt(nodes[n].getNodeStates().size());
+        states[n] = nodes[n].getNodeStates().get(row[n]);
+      }
+      samples.add(new SampleImpl(states));
+    }
+    int[] sortNodes = {2, 0};
+    List<Integer> expected = new ArrayList<>(IntStream.range(0, ROWS).boxed().toList());
+    expected.sort(
+        Comparator.comparingInt((Integer r) -> ordinals[r][2])
+            .thenComparingInt(r -> ordinals[r][0]));
+
+    SampleColumns columns = new SampleColumns(samples, nodes);
+    try (ExecutionContext parallel = ExecutionContext.dedicated(4, 2)) {
+      for (ExecutionContext context : List.of(ExecutionContext.sequential(), parallel)) {
+        int[] order = new SampleRadixSort(columns, sortNodes, context).sort();
+        assertEquals(expected, Arrays.stream(order).boxed().toList());
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package io.github.alecredmond.internal.method.sampler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.node.Node;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class WeightedSampleMapTest {
+
+  @Test
+  void testMultiWordKeysRoundTripAndAggregate() {
+    BayesianNetwork network = BayesianNetwork.newNetwork("CODEC");
+    for (int n = 0; n < 30; n++) {
+      List<String> states = new ArrayList<>();
+      for (int s = 0; s < 5; s++) states.add("N%d:S%d".formatted(n, s));
+      network.addNewNode("N" + n, states);
+    }
+    Node[] nodes = network.buildNetworkData().getNetworkData().getNodes().toArray(Node[]::new);
+    SampleKeyCodec codec = new SampleKeyCodec(nodes);
+    assertEquals(2, codec.getWordCount());
+
+    SplittableRandom random = new SplittableRandom(5L);
+    WeightedSampleMap map = new WeightedSampleMap(codec.getWordCount());
+    Map<List<Integer>, Double> expected = new HashMap<>();
+    long[] key = new long[codec.getWordCount()];
+    for (int i = 0; i < 5_000; i++) {
+      int[] sample = new int[nodes.length];
+      for (int n = 0; n < nodes.length; n++) sample[n] = random.nextInt(i % 3 == 0 ? 5 : 1);
+      codec.encode(sample, key);
+      map.add(key, 0, 0.5);
+      expected.merge(Arrays.stream(sample).boxed().toList(), 0.5, Double::sum);
+    }
+
+    assertEquals(expected.size(), map.size());
+    int[] decoded = new int[nodes.length];
+    for (int slot = 0; slot < map.capacity(); slot++) {
+      if (!map.isUsed(slot)) continue;
+      codec.decode(map.getKeys(), map.keyOffset(slot), decoded);
+      assertEquals(expected.get(Arrays.stream(decoded).boxed().toList()), map.weightAt(slot));
+    }
+  }
+}
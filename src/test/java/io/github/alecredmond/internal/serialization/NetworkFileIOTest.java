@@ -5,16 +5,31 @@ import static io.github.alecredmond.export.method.network.NetworkScenario.*;
 import static io.github.alecredmond.internal.method.utils.AppProperty.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.github.alecredmond.export.inference.InferenceEngine;
 import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.BayesianNetworkBuilder;
+import io.github.alecredmond.export.node.Node;
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import io.github.alecredmond.internal.application.junctiontree.CompiledJunctionTree;
+import io.github.alecredmond.internal.fileio.NetworkBinaryFileIO;
 import io.github.alecredmond.internal.fileio.NetworkFileIO;
+import io.github.alecredmond.internal.method.junctiontree.JunctionTreeCompiler;
+import io.github.alecredmond.internal.method.network.BayesianNetworkImpl;
 import io.github.alecredmond.internal.method.utils.PropertiesLoader;
 import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -92,4 +107,143 @@ class NetworkFileIOTest {
     BayesianNetwork loaded = test.loadNetwork(totalPath);
     assertEquals(network.getNetworkData(), loaded.getNetworkData());
   }
+
+  @ParameterizedTest
+  @MethodSource("provideNetworks")
+  void binaryRoundTrip(BayesianNetwork network, @TempDir Path directory) throws IOException {
+    Path file = directory.resolve("network" + EXTENSION);
+    NetworkBinaryFileIO binary = new NetworkBinaryFileIO();
+    binary.write(network, file);
+    assertTrue(binary.isBinaryNetwork(file));
+
+    SerializedBayesianNetwork expected = new BayesianNetworkSerializer().serialize(network);
+    SerializedBayesianNetwork actual = binary.read(file).network();
+    assertEquals(expected.networkName(), actual.networkName());
+    assertEquals(expected.serializedNodes(), actual.serializedNodes());
+    assertEquals(expected.serializedCPTs(), actual.serializedCPTs());
+    assertEquals(expected.serializedConstraints(), actual.serializedConstraints());
+    assertEquals(network.getNetworkData(), test.loadNetwork(file.toFile()).getNetworkData());
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideNetworks")
+  void compiledJunctionTreeRoundTrip(BayesianNetwork network, @TempDir Path directory) {
+    File file = directory.resolve("compiled" + EXTENSION).toFile();
+    assertTrue(test.saveNetwork(network, file, true));
+    BayesianNetwork loaded = test.loadNetwork(file);
+    CompiledJunctionTree compiled = ((BayesianNetworkImpl) loaded).getCompiledJunctionTree();
+    assertNotNull(compiled);
+    JunctionTreeCompiler compiler = new JunctionTreeCompiler();
+    CompiledJunctionTree original =
+        compiler.compile(network.getNetworkData(), compiled.inferenceAlgorithm());
+    assertEquals(original.networkFingerprint(), compiled.networkFingerprint());
+    assertEquals(original.cliqueNodeIds(), compiled.cliqueNodeIds());
+    assertArrayEquals(original.separatorCliques(), compiled.separatorCliques());
+    assertArrayEquals(original.priorCliqueTables(), compiled.priorCliqueTables());
+    assertArrayEquals(original.priorSeparatorTables(), compiled.priorSeparatorTables());
+    assertTrue(compiler.matches(compiled, loaded.getNetworkData(), compiled.inferenceAlgorithm()));
+
+    InferenceEngine expected = InferenceEngine.create(network);
+    InferenceEngine actual = InferenceEngine.create(loaded);
+    assertObservedTablesEqual(network, expected, actual);
+
+    Serializable evidence =
+        network.getNetworkData().getNodes().getLast().getNodeStates().getFirst().getId();
+    expected.observeNetworkFromIds(evidence);
+    actual.observeNetworkFromIds(evidence);
+    assertObservedTablesEqual(network, expected, actual);
+
+    expected.resetObservations();
+    actual.resetObservations();
+    assertObservedTablesEqual(network, expected, actual);
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideNetworks")
+  void compiledJunctionTreeIsRebuiltAfterCptChange(
+      BayesianNetwork network, @TempDir Path directory) {
+    File file = directory.resolve("compiled" + EXTENSION).toFile();
+    assertTrue(test.saveNetwork(network, file, true));
+    BayesianNetwork loaded = test.loadNetwork(file);
+    CompiledJunctionTree compiled = ((BayesianNetworkImpl) loaded).getCompiledJunctionTree();
+
+    Node root =
+        network.getNetworkData().getNodes().stream()
+            .filter(node -> node.getParents().isEmpty())
+            .findFirst()
+            .orElseThrow();
+    swapFirstTwoEntries(network.getNetworkTable(root.getId()).getProbabilities());
+    swapFirstTwoEntries(loaded.getNetworkTable(root.getId()).getProbabilities());
+    assertFalse(
+        new JunctionTreeCompiler()
+            .matches(compiled, loaded.getNetworkData(), compiled.inferenceAlgorithm()));
+
+    InferenceEngine expected = InferenceEngine.create(network);
+    InferenceEngine actual = InferenceEngine.create(loaded);
+    assertObservedTablesEqual(network, expected, actual);
+    assertArrayEquals(
+        network.getNetworkTable(root.getId()).getProbabilities(),
+        actual.getObservedTableById(root.getId()).getProbabilities(),
+        1E-9);
+  }
+
+  private static void swapFirstTwoEntries(double[] probabilities) {
+    double first = probabilities[0];
+    probabilities[0] = probabilities[1];
+    probabilities[1] = first;
+  }
+
+  private void assertObservedTablesEqual(
+      BayesianNetwork network, InferenceEngine expected, InferenceEngine actual) {
+    for (Node node : network.getNetworkData().getNodes()) {
+      assertArrayEquals(
+          expected.getObservedTableById(node.getId()).getProbabilities(),
+          actual.getObservedTableById(node.getId()).getProbabilities(),
+          1E-9);
+    }
+  }
+
+  @Test
+  void enumIdentifiersRoundTrip(@TempDir Path directory) throws IOException {
+    BayesianNetwork network =
+        new BayesianNetworkBuilder("ENUM_IDS")
+            .addNode(
+                WeatherId.RAIN, List.of(WeatherId.RAINING, WeatherId.DRY), new double[] {0.2, 0.8})
+            .addNode(
+                WeatherId.GRASS,
+                List.of(WeatherId.WET, WeatherId.NOT_WET),
+                List.of(WeatherId.RAIN, WeatherId.GRASS),
+                new double[] {0.9, 0.1, 0.2, 0.8})
+            .build()
+            .solveNetwork();
+    File file = directory.resolve("enum" + EXTENSION).toFile();
+    assertTrue(test.saveNetwork(network, file));
+    assertFalse(new NetworkBinaryFileIO().isBinaryNetwork(file.toPath()));
+
+    BayesianNetwork loaded = test.loadNetwork(file);
+    assertNotNull(loaded);
+    assertEquals(network.getNetworkData(), loaded.getNetworkData());
+    assertSame(WeatherId.WET, loaded.getNodeState(WeatherId.WET).getId());
+  }
+
+  enum WeatherId {
+    RAIN,
+    RAINING,
+    DRY,
+    GRASS,
+    WET,
+    NOT_WET
+  }
+
+  @Test
+  void binaryRejectsTruncatedFile(@TempDir Path directory) throws IOException {
+    Path file = directory.resolve("truncated" + EXTENSION);
+    NetworkBinaryFileIO binary = new NetworkBinaryFileIO();
+    binary.write(RAIN_NETWORK.get(), file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+
+    assertThrows(IOException.class, () -> binary.read(file));
+    assertNull(test.loadNetwork(file.toFile()));
+  }
 }
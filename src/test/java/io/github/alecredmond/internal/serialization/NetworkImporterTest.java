@@ -0,0 +1,165 @@
+package io.github.alecredmond.internal.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.alecredmond.export.inference.InferenceEngine;
+import io.github.alecredmond.export.network.BayesianNetwork;
+import io.github.alecredmond.export.network.NetworkFileFormat;
+import io.github.alecredmond.export.network.serialized.SerializedBayesianNetwork;
+import io.github.alecredmond.export.probabilitytables.serialized.SerializedNetworkTable;
+import io.github.alecredmond.internal.fileio.NetworkImporter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NetworkImporterTest {
+  static final String BIF =
+      """
+      // rain network
+      network sprinkler { property "origin"; }
+      variable RAIN { type discrete [ 2 ] { TRUE, FALSE }; }
+      variable SPRINKLER { type discrete [ 2 ] { TRUE, FALSE }; }
+      variable GRASS { type discrete [ 2 ] { WET, DRY }; }
+      probability ( GRASS | SPRINKLER, RAIN ) {
+        (TRUE, TRUE) 0.99, 0.01;
+        default 0.9, 0.1;
+        (FALSE, TRUE) 0.8, 0.2;
+        (FALSE, FALSE) 0.0, 1.0;
+      }
+      probability ( SPRINKLER | RAIN ) { table 0.01, 0.4, 0.99, 0.6; }
+      /* priors */
+      probability ( RAIN ) { table 0.2, 0.8; }
+      """;
+  static final String XMLBIF =
+      """
+      <?xml version="1.0"?>
+      <BIF VERSION="0.3"><NETWORK><NAME>sprinkler</NAME>
+        <VARIABLE TYPE="nature"><NAME>RAIN</NAME><OUTCOME>TRUE</OUTCOME><OUTCOME>FALSE</OUTCOME>
+        </VARIABLE>
+        <VARIABLE TYPE="nature"><NAME>SPRINKLER</NAME><OUTCOME>TRUE</OUTCOME>
+          <OUTCOME>FALSE</OUTCOME></VARIABLE>
+        <VARIABLE TYPE="nature"><NAME>GRASS</NAME><OUTCOME>WET</OUTCOME><OUTCOME>DRY</OUTCOME>
+        </VARIABLE>
+        <DEFINITION><FOR>RAIN</FOR><TABLE>0.2 0.8</TABLE></DEFINITION>
+        <DEFINITION><FOR>SPRINKLER</FOR><GIVEN>RAIN</GIVEN><TABLE>0.01 0.99 0.4 0.6</TABLE>
+        </DEFINITION>
+        <DEFINITION><FOR>GRASS</FOR><GIVEN>SPRINKLER</GIVEN><GIVEN>RAIN</GIVEN>
+          <TABLE>0.99 0.01 0.9 0.1 <!-- split -->
+          0.8 0.2 0.0 1.0</TABLE>
+        </DEFINITION>
+      </NETWORK></BIF>
+      """;
+  static final String HUGIN =
+      """
+      net { name = "sprinkler"; }
+      node RAIN { label = "Rain"; states = ("TRUE" "FALSE"); }
+      discrete node SPRINKLER { states = ("TRUE" "FALSE"); }
+      node GRASS { states = ("WET" "DRY"); }
+      % child varies fastest
+      potential (RAIN) { data = (0.2 0.8); }
+      potential (SPRINKLER | RAIN) { data = ((0.01 0.99) (0.4 0.6)); }
+      potential (GRASS | SPRINKLER RAIN) {
+        data = (((0.99 0.01) (0.9 0.1)) ((0.8 0.2) (0.0 1.0)));
+      }
+      """;
+  static final Map<Serializable, List<Double>> EXPECTED =
+      Map.of(
+          "RAIN", List.of(0.2, 0.8),
+          "SPRINKLER", List.of(0.01, 0.99, 0.4, 0.6),
+          // conditioned on RAIN then SPRINKLER, as NetworkDataBuilder orders them
+          "GRASS", List.of(0.99, 0.01, 0.8, 0.2, 0.9, 0.1, 0.0, 1.0));
+
+  NetworkImporter importer = new NetworkImporter(new BayesianNetworkSerializer());
+  @TempDir Path directory;
+
+  @Test
+  void bifImport() throws IOException {
+    assertImported(read("sprinkler.bif", BIF, NetworkFileFormat.BIF));
+  }
+
+  @Test
+  void xmlBifImport() throws IOException {
+    assertImported(read("sprinkler.xml", XMLBIF, NetworkFileFormat.XMLBIF));
+  }
+
+  @Test
+  void huginImport() throws IOException {
+    assertImported(read("sprinkler.net", HUGIN, NetworkFileFormat.HUGIN));
+  }
+
+  @Test
+  void importedNetworkSupportsInference() throws IOException {
+    Path file = directory.resolve("sprinkler.bif");
+    Files.writeString(file, BIF);
+    BayesianNetwork network = BayesianNetwork.importNetwork(file);
+    assertEquals("sprinkler", network.getNetworkData().getNetworkName());
+
+    InferenceEngine engine = InferenceEngine.create(network);
+    double wet = 0.2 * (0.01 * 0.99 + 0.99 * 0.8) + 0.8 * (0.4 * 0.9 + 0.6 * 0.0);
+    assertEquals(wet, engine.getPosteriorProbability(network.getNodeState("GRASS:WET")), 1e-9);
+    engine.observeNetwork(network.getNodeState("GRASS:WET"));
+    double rain = 0.2 * (0.01 * 0.99 + 0.99 * 0.8) / wet;
+    assertEquals(rain, engine.getPosteriorProbability(network.getNodeState("RAIN:TRUE")), 1e-9);
+  }
+
+  @Test
+  void importedTablesSurviveEdits() throws IOException {
+    Path file = directory.resolve("sprinkler.net");
+    Files.writeString(file, HUGIN);
+    BayesianNetwork network = BayesianNetwork.importNetwork(file);
+    assertTrue(network.removeConstraint("RAIN:TRUE"));
+    assertTrue(network.removeConstraint("RAIN:FALSE"));
+    network.addConstraint("RAIN:TRUE", 0.3).solveNetwork();
+
+    assertTrue(network.isSolved());
+    assertArrayEquals(
+        new double[] {0.3, 0.7}, network.getNetworkTable("RAIN").getProbabilities(), 1e-9);
+    for (String node : List.of("SPRINKLER", "GRASS")) {
+      double[] expected = EXPECTED.get(node).stream().mapToDouble(Double::doubleValue).toArray();
+      assertArrayEquals(expected, network.getNetworkTable(node).getProbabilities(), 1e-9);
+    }
+  }
+
+  @Test
+  void rejectsMalformedFiles() throws IOException {
+    String missingRow = BIF.replace("default 0.9, 0.1;", "");
+    String shortTable = XMLBIF.replace("0.2 0.8", "0.2");
+    String cycle =
+        HUGIN.replace("(RAIN) { data = (0.2 0.8)", "(RAIN | GRASS) { data = ((0.2 0.8) (0.2 0.8))");
+    assertThrows(IOException.class, () -> read("a.bif", missingRow, NetworkFileFormat.BIF));
+    assertThrows(IOException.class, () -> read("b.xml", shortTable, NetworkFileFormat.XMLBIF));
+    assertThrows(IOException.class, () -> read("c.net", cycle, NetworkFileFormat.HUGIN));
+    assertThrows(IOException.class, () -> NetworkImporter.detectFormat(Path.of("net.txt")));
+  }
+
+  SerializedBayesianNetwork read(String fileName, String content, NetworkFileFormat format)
+      throws IOException {
+    Path file = directory.resolve(fileName);
+    Files.writeString(file, content);
+    assertEquals(format, NetworkImporter.detectFormat(file));
+    return importer.read(file, format);
+  }
+
+  void assertImported(SerializedBayesianNetwork network) {
+    assertEquals("sprinkler", network.networkName());
+    assertTrue(network.solved());
+    assertEquals(
+        List.of("RAIN", "SPRINKLER", "GRASS"),
+        network.serializedNodes().stream().map(n -> n.id()).toList());
+    assertEquals(List.of("RAIN:TRUE", "RAIN:FALSE"), network.serializedNodes().get(0).stateIds());
+    Map<Serializable, List<Double>> tables =
+        network.serializedCPTs().stream()
+            .collect(
+                Collectors.toMap(
+                    SerializedNetworkTable::networkNodeId,
+                    t -> List.copyOf(t.probabilities())));
+    assertEquals(EXPECTED, tables);
+    assertEquals(14, network.serializedConstraints().size());
+  }
+}